@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <h1>BenchmarkBaseline</h1>
+ * 基准测试基线类 (运行 JMH 基准测试并记录基线, 或与已记录的基线比较以发现性能回退)
+ *
+ * <p>用法: {@code java -cp benchmarks.jar com.minecraft.moonlake.auth.benchmark.BenchmarkBaseline record <基线文件> [JMH 参数...]}
+ * 或 {@code ... compare <基线文件> [容差] [JMH 参数...]}. 比较时任意基准测试比基线差超过容差 (默认 0.15 即 15%) 则以退出码 1 结束.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ */
+public class BenchmarkBaseline {
+
+    /**
+     * 默认的回退容差
+     */
+    public final static double DEFAULT_TOLERANCE = 0.15d;
+
+    private BenchmarkBaseline() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if(args.length < 2 || !(args[0].equals("record") || args[0].equals("compare"))) {
+            System.err.println("用法: BenchmarkBaseline record <基线文件> [JMH 参数...]");
+            System.err.println("      BenchmarkBaseline compare <基线文件> [容差] [JMH 参数...]");
+            System.exit(2);
+            return;
+        }
+        boolean record = args[0].equals("record");
+        File file = new File(args[1]);
+        double tolerance = DEFAULT_TOLERANCE;
+        int index = 2;
+        if(!record && args.length > 2 && !args[2].startsWith("-") && isNumber(args[2])) {
+            tolerance = Double.parseDouble(args[2]);
+            index = 3;
+        }
+        Properties baseline = null;
+        if(!record) {
+            if(!file.isFile()) {
+                System.err.println("基线文件不存在: " + file);
+                System.exit(2);
+                return;
+            }
+            baseline = load(file);
+        }
+        Collection<RunResult> results = new Runner(new CommandLineOptions(Arrays.copyOfRange(args, index, args.length))).run();
+        Properties current = toProperties(results);
+        if(record) {
+            store(current, file);
+            System.out.println("已记录 " + results.size() + " 个基准测试结果到基线文件: " + file);
+            return;
+        }
+        int regressions = compare(baseline, current, tolerance);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * 将指定 JMH 运行结果转换为基线属性 (键为基准测试名和参数, 值为分数, 另外记录单位和模式)
+     *
+     * @param results 运行结果
+     * @return 基线属性
+     */
+    private static Properties toProperties(Collection<RunResult> results) {
+        Properties properties = new Properties();
+        for(RunResult result : results) {
+            String key = getKey(result.getParams());
+            Result primary = result.getPrimaryResult();
+            properties.setProperty(key, String.valueOf(primary.getScore()));
+            properties.setProperty(key + ".unit", primary.getScoreUnit());
+            properties.setProperty(key + ".mode", result.getParams().getMode().name());
+        }
+        return properties;
+    }
+
+    /**
+     * 获取指定基准测试参数的基线键 (例如 {@code SkinRenderBenchmark.renderHead:zoom=8})
+     *
+     * @param params 基准测试参数
+     * @return 基线键
+     */
+    private static String getKey(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        int index = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1);
+        StringBuilder builder = new StringBuilder(benchmark.substring(index + 1));
+        List<String> keys = new ArrayList<>(params.getParamsKeys());
+        Collections.sort(keys);
+        for(String key : keys)
+            builder.append(':').append(key).append('=').append(params.getParam(key));
+        return builder.toString();
+    }
+
+    /**
+     * 比较指定基线和当前结果, 输出比较表格
+     *
+     * @param baseline 基线属性
+     * @param current 当前属性
+     * @param tolerance 回退容差
+     * @return 回退数量
+     */
+    private static int compare(Properties baseline, Properties current, double tolerance) {
+        int regressions = 0;
+        List<String> keys = new ArrayList<>();
+        for(String key : current.stringPropertyNames())
+            if(!key.endsWith(".unit") && !key.endsWith(".mode"))
+                keys.add(key);
+        Collections.sort(keys);
+        for(String key : keys) {
+            double score = Double.parseDouble(current.getProperty(key));
+            String unit = current.getProperty(key + ".unit");
+            String base = baseline.getProperty(key);
+            if(base == null) {
+                System.out.println(String.format("%-60s %12.3f %-10s (无基线)", key, score, unit));
+                continue;
+            }
+            double baseScore = Double.parseDouble(base);
+            // 吞吐量模式越大越好, 其他模式 (时间) 越小越好
+            boolean higherIsBetter = Mode.Throughput.name().equals(current.getProperty(key + ".mode"));
+            double change = baseScore == 0d ? 0d : (score - baseScore) / baseScore;
+            boolean regression = higherIsBetter ? change < -tolerance : change > tolerance;
+            if(regression)
+                regressions++;
+            System.out.println(String.format("%-60s %12.3f %-10s 基线 %12.3f  %+7.1f%% %s", key, score, unit, baseScore, change * 100d, regression ? "回退" : ""));
+        }
+        System.out.println(regressions > 0 ? ("发现 " + regressions + " 个性能回退 (容差 " + (tolerance * 100d) + "%).") : "没有发现性能回退.");
+        return regressions;
+    }
+
+    /**
+     * 从指定文件加载基线属性
+     *
+     * @param file 文件
+     * @return 基线属性
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static Properties load(File file) throws IOException {
+        Properties properties = new Properties();
+        InputStream input = new FileInputStream(file);
+        try {
+            properties.load(input);
+        } finally {
+            input.close();
+        }
+        return properties;
+    }
+
+    /**
+     * 将指定基线属性保存到指定文件
+     *
+     * @param properties 基线属性
+     * @param file 文件
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void store(Properties properties, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if(parent != null && !parent.isDirectory() && !parent.mkdirs())
+            throw new IOException("无法创建目录: " + parent);
+        OutputStream output = new FileOutputStream(file);
+        try {
+            properties.store(output, "MoonLakeAuth benchmark baseline (java " + System.getProperty("java.version") + ", " + System.getProperty("os.name") + ")");
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * 获取指定字符串是否为数字
+     *
+     * @param value 字符串
+     * @return 是否为数字
+     */
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
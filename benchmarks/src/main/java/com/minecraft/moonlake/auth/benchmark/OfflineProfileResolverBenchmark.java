@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.minecraft.moonlake.auth.service.profile.OfflineProfileResolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>OfflineProfileResolverBenchmark</h1>
+ * 离线用户 Id 基准测试类 (线程复用摘要与每次创建摘要的 UUID.nameUUIDFromBytes 对比)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see OfflineProfileResolver
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfflineProfileResolverBenchmark {
+
+    private String name;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        name = "Month_Light";
+        names = new String[100];
+        for(int i = 0; i < names.length; i++)
+            names[i] = "Player_" + i;
+    }
+
+    @Benchmark
+    public UUID nameUUIDFromBytes() {
+        return UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public UUID getOfflineId() {
+        return OfflineProfileResolver.getOfflineId(name);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public UUID[] getOfflineIds() {
+        return OfflineProfileResolver.getOfflineIds(names);
+    }
+}
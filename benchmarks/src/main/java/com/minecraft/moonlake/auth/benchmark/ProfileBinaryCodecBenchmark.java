@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileBinaryCodec;
+import com.minecraft.moonlake.auth.data.Property;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ProfileBinaryCodecBenchmark</h1>
+ * 游戏档案缓存编解码基准测试类 (二进制格式与 JSON 对比, 已签名的 4096 位材质属性)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileBinaryCodec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileBinaryCodecBenchmark {
+
+    private Gson gson;
+    private GameProfile profile;
+    private String json;
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws Exception {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(GameProfile.class, new GameProfile.Serializer())
+                .registerTypeAdapter(Property.class, new Property.Serializer())
+                .create();
+        profile = new GameProfile(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"), "Benchmark");
+        profile.getProperties().add(SignatureBenchmark.signTextures(SignatureBenchmark.generateKeyPair(4096), "Benchmark"));
+        json = gson.toJson(profile);
+        binary = ProfileBinaryCodec.encodeProfile(profile);
+    }
+
+    @Benchmark
+    public String encodeJson() {
+        return gson.toJson(profile);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return ProfileBinaryCodec.encodeProfile(profile);
+    }
+
+    @Benchmark
+    public GameProfile decodeJson() {
+        return gson.fromJson(json, GameProfile.class);
+    }
+
+    @Benchmark
+    public GameProfile decodeBinary() {
+        return ProfileBinaryCodec.decodeProfile(binary);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.Property;
+import com.minecraft.moonlake.auth.response.MojangBaseResponse;
+import com.minecraft.moonlake.auth.response.MojangStatusResponse;
+import com.minecraft.moonlake.auth.response.ProfileHistoryResponse;
+import com.minecraft.moonlake.auth.response.ProfileSearchResponse;
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ProfileSearchResponseBenchmark</h1>
+ * 档案搜索响应解码基准测试类 (与认证服务使用相同的 Gson 配置解码 /profiles/minecraft 响应, 配置需要与 MoonLakeAuthBaseService 保持一致)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileSearchResponse.Serializer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileSearchResponseBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int profiles;
+
+    private Gson gson;
+    private String json;
+
+    @Setup
+    public void setup() {
+        gson = new GsonBuilder()
+                .registerTypeAdapter(UUID.class, new UUIDSerializer())
+                .registerTypeAdapter(GameProfile.class, new GameProfile.Serializer())
+                .registerTypeAdapter(Property.class, new Property.Serializer())
+                .registerTypeAdapter(ProfileTexture.class, new ProfileTexture.Serializer())
+                .registerTypeAdapter(MojangBaseResponse.class, new MojangBaseResponse.Serializer())
+                .registerTypeAdapterFactory(new ProfileSearchResponse.Serializer())
+                .registerTypeAdapter(ProfileHistoryResponse.class, new ProfileHistoryResponse.Serializer())
+                .registerTypeAdapter(MojangStatusResponse.class, new MojangStatusResponse.Serializer())
+                .create();
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < profiles; i++) {
+            if(i > 0)
+                builder.append(',');
+            UUID id = UUID.nameUUIDFromBytes(("Benchmark:" + i).getBytes());
+            builder.append("{\"id\":\"").append(UUIDSerializer.fromUUID(id)).append("\",\"name\":\"Player").append(i).append("\"}");
+        }
+        json = builder.append(']').toString();
+    }
+
+    @Benchmark
+    public ProfileSearchResponse decode() {
+        return gson.fromJson(json, ProfileSearchResponse.class);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.TextureType;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.HostEndpointResolver;
+import com.minecraft.moonlake.auth.service.SignatureKeyRegistry;
+import com.minecraft.moonlake.auth.service.mc.MinecraftAuthService;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.Proxy;
+import java.security.KeyPair;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ProfileTexturesBenchmark</h1>
+ * 游戏档案材质解析基准测试类 (解码 textures 属性, 可选验证签名, 不发送任何 HTTP 请求)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MinecraftAuthService#getProfileTextures(GameProfile, boolean)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileTexturesBenchmark {
+
+    private MinecraftAuthService minecraftAuthService;
+    private GameProfile profile;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPair keyPair = SignatureBenchmark.generateKeyPair(4096);
+        SignatureKeyRegistry keyRegistry = new SignatureKeyRegistry().register("benchmark", keyPair.getPublic());
+        EndpointProfile endpointProfile = new EndpointProfile("benchmark",
+                HostEndpointResolver.ORIGIN_API,
+                HostEndpointResolver.ORIGIN_SESSION,
+                HostEndpointResolver.ORIGIN_AUTH,
+                HostEndpointResolver.ORIGIN_STATUS,
+                HostEndpointResolver.ORIGIN_TEXTURES,
+                keyRegistry);
+        minecraftAuthService = new MinecraftAuthService(Proxy.NO_PROXY, endpointProfile);
+        profile = new GameProfile(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"), "Benchmark");
+        profile.getProperties().add(SignatureBenchmark.signTextures(keyPair, "Benchmark"));
+    }
+
+    @Benchmark
+    public Map<TextureType, ProfileTexture> getProfileTextures() throws MoonLakeProfileException {
+        return minecraftAuthService.getProfileTextures(profile, false);
+    }
+
+    @Benchmark
+    public Map<TextureType, ProfileTexture> getProfileTexturesSecure() throws MoonLakeProfileException {
+        return minecraftAuthService.getProfileTextures(profile, true);
+    }
+}
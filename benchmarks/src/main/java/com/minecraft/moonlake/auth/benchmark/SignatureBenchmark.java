@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.minecraft.moonlake.auth.data.Property;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
+import com.minecraft.moonlake.auth.service.SignatureKeyRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>SignatureBenchmark</h1>
+ * 属性签名验证基准测试类 (直接 RSA 验证与签名公钥注册表缓存命中的对比, Mojang 公钥为 4096 位)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see Property#validateSignature(java.security.PublicKey)
+ * @see SignatureKeyRegistry
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    @Param({ "2048", "4096" })
+    public int keySize;
+
+    private KeyPair keyPair;
+    private Property property;
+    private SignatureKeyRegistry keyRegistry;
+
+    @Setup
+    public void setup() throws Exception {
+        keyPair = generateKeyPair(keySize);
+        property = signTextures(keyPair, "Benchmark");
+        keyRegistry = new SignatureKeyRegistry().register("benchmark", keyPair.getPublic());
+        keyRegistry.verify(property);
+    }
+
+    @Benchmark
+    public boolean validateSignature() throws MoonLakeProfileException {
+        return property.validateSignature(keyPair.getPublic());
+    }
+
+    @Benchmark
+    public boolean registryVerifyCached() {
+        return keyRegistry.verify(property);
+    }
+
+    /**
+     * 生成指定位数的 RSA 密钥对
+     *
+     * @param keySize 密钥位数
+     * @return 密钥对
+     * @throws Exception 如果生成错误则抛出异常
+     */
+    static KeyPair generateKeyPair(int keySize) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(keySize);
+        return generator.generateKeyPair();
+    }
+
+    /**
+     * 使用指定密钥对签名指定用户名的材质属性 (格式与会话服务器返回的 textures 属性相同)
+     *
+     * @param keyPair 密钥对
+     * @param name 用户名
+     * @return 材质属性
+     * @throws Exception 如果签名错误则抛出异常
+     */
+    static Property signTextures(KeyPair keyPair, String name) throws Exception {
+        String payload = "{\"timestamp\":1500000000000,\"profileId\":\"069a79f444e94726a5befca90e38aaf5\",\"profileName\":\"" + name + "\","
+                + "\"textures\":{\"SKIN\":{\"url\":\"http://textures.minecraft.net/texture/292009a4925b58f02c77dadc3ecef07ea4c7472f64e0fdc32ce5522489362680\"}}}";
+        String value = Base64.getEncoder().encodeToString(payload.getBytes("utf-8"));
+        Signature signature = Signature.getInstance("SHA1withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(value.getBytes());
+        return new Property("textures", value, Base64.getEncoder().encodeToString(signature.sign()));
+    }
+}
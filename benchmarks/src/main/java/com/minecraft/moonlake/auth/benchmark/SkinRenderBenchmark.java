@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+import com.minecraft.moonlake.auth.render.RasterSkinRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>SkinRenderBenchmark</h1>
+ * 皮肤渲染基准测试类 (头像和 2D 模型在不同缩放倍数下的渲染时间, 使用固定随机种子生成的 64x64 皮肤)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see RasterSkinRenderer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SkinRenderBenchmark {
+
+    @Param({ "1", "4", "8", "16" })
+    public int zoom;
+
+    private RasterSkinRenderer renderer;
+    private BufferedImage skinRawImage;
+
+    @Setup
+    public void setup() {
+        renderer = new RasterSkinRenderer();
+        skinRawImage = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        Random random = new Random(64L);
+        for(int y = 0; y < 64; y++)
+            for(int x = 0; x < 64; x++)
+                skinRawImage.setRGB(x, y, random.nextInt(4) == 0 ? 0 : 0xFF000000 | random.nextInt(0xFFFFFF));
+    }
+
+    @Benchmark
+    public BufferedImage renderHead() throws MoonLakeSkinException {
+        return renderer.renderHead(skinRawImage, zoom, true);
+    }
+
+    @Benchmark
+    public BufferedImage renderModel2D() throws MoonLakeSkinException {
+        return renderer.renderModel2D(skinRawImage, zoom, true, false);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.benchmark;
+
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>UUIDSerializerBenchmark</h1>
+ * UUID 序列化基准测试类 (32 位字符串 UUID 与 UUID 对象互相转换)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see UUIDSerializer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UUIDSerializerBenchmark {
+
+    private UUID uuid;
+    private String value;
+    private String dashed;
+
+    @Setup
+    public void setup() {
+        uuid = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        value = UUIDSerializer.fromUUID(uuid);
+        dashed = uuid.toString();
+    }
+
+    @Benchmark
+    public UUID fromString() {
+        return UUIDSerializer.fromString(value);
+    }
+
+    @Benchmark
+    public UUID fromDashedString() {
+        return UUIDSerializer.fromString(dashed);
+    }
+
+    @Benchmark
+    public String fromUUID() {
+        return UUIDSerializer.fromUUID(uuid);
+    }
+}
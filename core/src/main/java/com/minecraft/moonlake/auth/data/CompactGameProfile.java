@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <h1>CompactGameProfile</h1>
+ * 紧凑的不可变 Minecraft 游戏档案类 (可以在多个线程之间直接共享)
+ *
+ * <p>UUID 以两个 long 保存, 用户名经过驻留, 属性保存在固定长度的数组中,
+ * 材质属性的位置在构造时就已确定, 因此 {@link #getTexturesProperty()} 不需要遍历.
+ * 适合需要长时间缓存大量游戏档案的场景, 可以通过 {@link #fromProfile(GameProfile)}
+ * 和 {@link #toProfile()} 与 {@link GameProfile} 互相转换.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see GameProfile
+ */
+public final class CompactGameProfile {
+
+    private final static Property[] NO_PROPERTIES = new Property[0];
+    private final static String TEXTURES = "textures";
+    private final static byte FLAG_ID = 1;
+    private final static byte FLAG_LEGACY = 2;
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+    private final String name;
+    private final Property[] properties;
+    private final byte flags;
+    private final byte texturesIndex;
+
+    /**
+     * 紧凑的不可变 Minecraft 游戏档案类构造函数
+     *
+     * @param id 用户 Id
+     * @param name 用户名
+     * @param properties 属性集合
+     * @param legacy 是否为旧版本账户
+     * @throws IllegalArgumentException 如果属性数量大于 127 则抛出异常
+     */
+    public CompactGameProfile(UUID id, String name, Collection<Property> properties, boolean legacy) {
+        this.mostSigBits = id != null ? id.getMostSignificantBits() : 0L;
+        this.leastSigBits = id != null ? id.getLeastSignificantBits() : 0L;
+        this.name = name != null ? name.intern() : null;
+        this.properties = properties != null && !properties.isEmpty() ? properties.toArray(new Property[properties.size()]) : NO_PROPERTIES;
+        if(this.properties.length > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("属性数量不能大于 " + Byte.MAX_VALUE + ".");
+        this.flags = (byte) ((id != null ? FLAG_ID : 0) | (legacy ? FLAG_LEGACY : 0));
+        this.texturesIndex = (byte) indexOf(this.properties, TEXTURES);
+    }
+
+    /**
+     * 从指定 Minecraft 游戏档案创建紧凑的不可变游戏档案 (不包含已解析的材质)
+     *
+     * @param profile 游戏档案
+     * @return 紧凑的不可变游戏档案
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public static CompactGameProfile fromProfile(GameProfile profile) {
+        if(profile == null)
+            throw new IllegalArgumentException("游戏档案对象不能为 null 值.");
+        return new CompactGameProfile(profile.getId(), profile.getName(), profile.getPropertiesOrNull(), profile.isLegacy());
+    }
+
+    /**
+     * 将此紧凑的不可变游戏档案转换为新的 Minecraft 游戏档案
+     *
+     * @return 游戏档案
+     */
+    public GameProfile toProfile() {
+        return new GameProfile(getId(), name, properties.length > 0 ? Arrays.asList(properties.clone()) : null, isLegacy());
+    }
+
+    /**
+     * 获取此紧凑游戏档案的用户 Id
+     *
+     * @return 用户 Id, 不存在则返回 {@code null}
+     */
+    public UUID getId() {
+        return hasId() ? new UUID(mostSigBits, leastSigBits) : null;
+    }
+
+    /**
+     * 获取此紧凑游戏档案是否存在用户 Id
+     *
+     * @return 是否存在用户 Id
+     */
+    public boolean hasId() {
+        return (flags & FLAG_ID) != 0;
+    }
+
+    /**
+     * 获取此紧凑游戏档案用户 Id 的高 64 位
+     *
+     * @return 高 64 位
+     */
+    public long getMostSignificantBits() {
+        return mostSigBits;
+    }
+
+    /**
+     * 获取此紧凑游戏档案用户 Id 的低 64 位
+     *
+     * @return 低 64 位
+     */
+    public long getLeastSignificantBits() {
+        return leastSigBits;
+    }
+
+    /**
+     * 获取此紧凑游戏档案的用户名 (已驻留)
+     *
+     * @return 用户名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取此紧凑游戏档案是否为旧版本账户
+     *
+     * @return 是否为旧版本账户
+     */
+    public boolean isLegacy() {
+        return (flags & FLAG_LEGACY) != 0;
+    }
+
+    /**
+     * 获取此紧凑游戏档案的属性数量
+     *
+     * @return 属性数量
+     */
+    public int getPropertyCount() {
+        return properties.length;
+    }
+
+    /**
+     * 获取此紧凑游戏档案指定索引的属性
+     *
+     * @param index 索引
+     * @return 属性
+     * @throws IndexOutOfBoundsException 如果索引超出范围则抛出异常
+     */
+    public Property getProperty(int index) {
+        return properties[index];
+    }
+
+    /**
+     * 获取此紧凑游戏档案的属性列表 (不可修改)
+     *
+     * @return 属性列表
+     */
+    public List<Property> getProperties() {
+        return Collections.unmodifiableList(Arrays.asList(properties));
+    }
+
+    /**
+     * 获取此紧凑游戏档案指定名称的属性
+     *
+     * @param name 名称
+     * @return 属性, 不存在则返回 {@code null}
+     */
+    public Property getProperty(String name) {
+        if(TEXTURES.equals(name))
+            return getTexturesProperty();
+        int index = indexOf(properties, name);
+        return index != -1 ? properties[index] : null;
+    }
+
+    /**
+     * 获取此紧凑游戏档案的材质属性
+     *
+     * @return 材质属性, 不存在则返回 {@code null}
+     */
+    public Property getTexturesProperty() {
+        return texturesIndex != -1 ? properties[texturesIndex] : null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == this)
+            return true;
+        if(obj instanceof CompactGameProfile) {
+            CompactGameProfile other = (CompactGameProfile) obj;
+            return mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits && flags == other.flags &&
+                    (name != null ? name.equals(other.name) : other.name == null);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = mostSigBits ^ leastSigBits;
+        int result = hasId() ? (int) (bits >> 32) ^ (int) bits : 0;
+        result = 31 * result + (name != null ? name.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactGameProfile{" +
+                "id=" + getId() +
+                ", name='" + name + '\'' +
+                ", properties=" + Arrays.toString(properties) +
+                ", legacy=" + isLegacy() +
+                '}';
+    }
+
+    /**
+     * 获取指定名称的属性在指定属性数组中的索引
+     *
+     * @param properties 属性数组
+     * @param name 名称
+     * @return 索引, 不存在则返回 -1
+     */
+    private static int indexOf(Property[] properties, String name) {
+        for(int i = 0; i < properties.length; i++)
+            if(properties[i] != null && properties[i].getName() != null && properties[i].getName().equals(name))
+                return i;
+        return -1;
+    }
+}
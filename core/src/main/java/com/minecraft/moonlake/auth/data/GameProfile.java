@@ -18,8 +18,15 @@
 
 package com.minecraft.moonlake.auth.data;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.Expose;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minecraft.moonlake.auth.util.JsonCodecs;
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
 
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -62,6 +69,21 @@ public class GameProfile {
         this.name = name;
     }
 
+    /**
+     * Minecraft 游戏档案类构造函数
+     *
+     * @param id 用户 Id
+     * @param name 用户名
+     * @param properties 属性列表
+     * @param legacy 是否为旧版本账户
+     */
+    GameProfile(UUID id, String name, List<Property> properties, boolean legacy) {
+        this.id = id;
+        this.name = name;
+        this.properties = properties != null ? new ArrayList<>(properties) : null;
+        this.legacy = legacy;
+    }
+
     /**
      * 获取此 Minecraft 游戏档案的用户 Id
      *
@@ -100,6 +122,15 @@ public class GameProfile {
         return properties;
     }
 
+    /**
+     * 获取此 Minecraft 游戏档案的属性列表 (不会创建空列表)
+     *
+     * @return 属性列表, 不存在则返回 {@code null}
+     */
+    List<Property> getPropertiesOrNull() {
+        return properties;
+    }
+
     /**
      * 获取此 Minecraft 游戏档案指定名称的属性
      *
@@ -107,7 +138,9 @@ public class GameProfile {
      * @return 属性
      */
     public Property getProperty(String name) {
-        for(Property property : getProperties())
+        if(properties == null)
+            return null;
+        for(Property property : properties)
             if(property.getName().equals(name))
                 return property;
         return null;
@@ -162,4 +195,62 @@ public class GameProfile {
                 ", legacy=" + legacy +
                 '}';
     }
+
+    /**
+     * <h1>Serializer</h1>
+     * Minecraft 游戏档案序列化类 (不包含材质字段)
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    public final static class Serializer extends TypeAdapter<GameProfile> {
+
+        private final static Property.Serializer PROPERTY = new Property.Serializer();
+
+        @Override
+        public void write(JsonWriter jsonWriter, GameProfile profile) throws IOException {
+            if(profile == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginObject();
+            jsonWriter.name("id").value(profile.id != null ? UUIDSerializer.fromUUID(profile.id) : null);
+            jsonWriter.name("name").value(profile.name);
+            if(profile.properties != null) {
+                jsonWriter.name("properties");
+                JsonCodecs.writeList(jsonWriter, profile.properties, PROPERTY);
+            }
+            jsonWriter.name("legacy").value(profile.legacy);
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public GameProfile read(JsonReader jsonReader) throws IOException {
+            if(jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                return null;
+            }
+            GameProfile profile = new GameProfile((UUID) null, null);
+            jsonReader.beginObject();
+            while(jsonReader.hasNext()) {
+                String key = jsonReader.nextName();
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                } else if(key.equals("id")) {
+                    profile.id = UUIDSerializer.fromString(jsonReader.nextString());
+                } else if(key.equals("name")) {
+                    profile.name = jsonReader.nextString();
+                } else if(key.equals("properties")) {
+                    profile.properties = JsonCodecs.readList(jsonReader, PROPERTY);
+                } else if(key.equals("legacy")) {
+                    profile.legacy = jsonReader.nextBoolean();
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return profile;
+        }
+    }
 }
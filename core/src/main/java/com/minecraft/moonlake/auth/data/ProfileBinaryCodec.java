@@ -0,0 +1,701 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.data;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <h1>ProfileBinaryCodec</h1>
+ * 游戏档案二进制编解码类 (用于缓存的紧凑二进制格式, 比 JSON 更小并且编解码更快)
+ *
+ * <p>每个编码结果以魔数, 格式版本和类型标记开头, 之后的长度和数量都使用变长整数.
+ * 标准 Base64 格式的属性值和签名以原始字节保存, {@code textures.minecraft.net} 的材质链接只保存哈希值字节,
+ * 解码后得到的字符串与编码前完全相同.</p>
+ *
+ * <pre>
+ * 档案:   flags(varint) [id(16)] [name] [count(varint) property...] [count(varint) (type, texture)...]
+ * 属性:   name value signature
+ * 材质:   url metadataCount(varint) (key, value)...
+ * 历史:   count(varint) (name, changedToAt + 1 (varlong))...
+ * </pre>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see GameProfile
+ * @see Property
+ * @see ProfileTexture
+ * @see ProfileHistoryList
+ */
+public final class ProfileBinaryCodec {
+
+    /**
+     * 当前二进制格式版本
+     */
+    public final static int VERSION = 1;
+
+    private final static Charset UTF_8 = Charset.forName("utf-8");
+    private final static byte MAGIC = (byte) 0xB1;
+    private final static byte TYPE_PROFILE = 1;
+    private final static byte TYPE_PROPERTY = 2;
+    private final static byte TYPE_TEXTURE = 3;
+    private final static byte TYPE_HISTORY = 4;
+    private final static int PROFILE_ID = 1;
+    private final static int PROFILE_NAME = 2;
+    private final static int PROFILE_LEGACY = 4;
+    private final static int PROFILE_PROPERTIES = 8;
+    private final static int PROFILE_TEXTURES = 16;
+    private final static byte VALUE_NULL = 0;
+    private final static byte VALUE_STRING = 1;
+    private final static byte VALUE_BASE64 = 2;
+    private final static byte VALUE_TEXTURE_HASH = 3;
+    private final static String TEXTURE_URL_PREFIX = "http://textures.minecraft.net/texture/";
+
+    private ProfileBinaryCodec() {
+    }
+
+    /**
+     * 获取指定数据是否为此二进制格式 (可以用于区分旧的 JSON 缓存数据)
+     *
+     * @param data 数据
+     * @return 是否为此二进制格式
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 3 && data[0] == MAGIC;
+    }
+
+    /**
+     * 将指定游戏档案编码为二进制数据 (包含属性和已解析的材质)
+     *
+     * @param profile 游戏档案
+     * @return 二进制数据
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public static byte[] encodeProfile(GameProfile profile) {
+        if(profile == null)
+            throw new IllegalArgumentException("游戏档案对象不能为 null 值.");
+        Output output = new Output(TYPE_PROFILE);
+        writeProfile(output, profile);
+        return output.toByteArray();
+    }
+
+    /**
+     * 将指定二进制数据解码为游戏档案
+     *
+     * @param data 二进制数据
+     * @return 游戏档案
+     * @throws IllegalArgumentException 如果二进制数据无效或版本不支持则抛出异常
+     */
+    public static GameProfile decodeProfile(byte[] data) {
+        Input input = new Input(data, TYPE_PROFILE);
+        GameProfile profile = readProfile(input);
+        input.checkEnd();
+        return profile;
+    }
+
+    /**
+     * 将指定游戏档案属性编码为二进制数据
+     *
+     * @param property 游戏档案属性
+     * @return 二进制数据
+     * @throws IllegalArgumentException 如果游戏档案属性对象为 {@code null} 则抛出异常
+     */
+    public static byte[] encodeProperty(Property property) {
+        if(property == null)
+            throw new IllegalArgumentException("游戏档案属性对象不能为 null 值.");
+        Output output = new Output(TYPE_PROPERTY);
+        writeProperty(output, property);
+        return output.toByteArray();
+    }
+
+    /**
+     * 将指定二进制数据解码为游戏档案属性
+     *
+     * @param data 二进制数据
+     * @return 游戏档案属性
+     * @throws IllegalArgumentException 如果二进制数据无效或版本不支持则抛出异常
+     */
+    public static Property decodeProperty(byte[] data) {
+        Input input = new Input(data, TYPE_PROPERTY);
+        Property property = readProperty(input);
+        input.checkEnd();
+        return property;
+    }
+
+    /**
+     * 将指定档案材质编码为二进制数据
+     *
+     * @param texture 档案材质
+     * @return 二进制数据
+     * @throws IllegalArgumentException 如果档案材质对象为 {@code null} 则抛出异常
+     */
+    public static byte[] encodeTexture(ProfileTexture texture) {
+        if(texture == null)
+            throw new IllegalArgumentException("档案材质对象不能为 null 值.");
+        Output output = new Output(TYPE_TEXTURE);
+        writeTexture(output, texture);
+        return output.toByteArray();
+    }
+
+    /**
+     * 将指定二进制数据解码为档案材质
+     *
+     * @param data 二进制数据
+     * @return 档案材质
+     * @throws IllegalArgumentException 如果二进制数据无效或版本不支持则抛出异常
+     */
+    public static ProfileTexture decodeTexture(byte[] data) {
+        Input input = new Input(data, TYPE_TEXTURE);
+        ProfileTexture texture = readTexture(input);
+        input.checkEnd();
+        return texture;
+    }
+
+    /**
+     * 将指定档案历史记录列表编码为二进制数据
+     *
+     * @param historyList 档案历史记录列表
+     * @return 二进制数据
+     * @throws IllegalArgumentException 如果档案历史记录列表对象为 {@code null} 则抛出异常
+     */
+    public static byte[] encodeHistory(ProfileHistoryList historyList) {
+        if(historyList == null)
+            throw new IllegalArgumentException("档案历史记录列表对象不能为 null 值.");
+        Output output = new Output(TYPE_HISTORY);
+        output.writeVarInt(historyList.size());
+        for(ProfileHistory history : historyList) {
+            writeString(output, history.getName());
+            output.writeVarLong(history.hasChangedToAt() ? history.getChangedToAt() + 1L : 0L);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * 将指定二进制数据解码为档案历史记录列表
+     *
+     * @param data 二进制数据
+     * @return 档案历史记录列表
+     * @throws IllegalArgumentException 如果二进制数据无效或版本不支持则抛出异常
+     */
+    public static ProfileHistoryList decodeHistory(byte[] data) {
+        Input input = new Input(data, TYPE_HISTORY);
+        int count = input.readCount();
+        List<ProfileHistory> histories = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            String name = readString(input);
+            long changedToAt = input.readVarLong();
+            histories.add(changedToAt == 0L ? new ProfileHistory(name) : new ProfileHistory(name, changedToAt - 1L));
+        }
+        input.checkEnd();
+        return new ProfileHistoryList(histories);
+    }
+
+    /**
+     * 将指定游戏档案写出到指定输出
+     *
+     * @param output 输出
+     * @param profile 游戏档案
+     */
+    private static void writeProfile(Output output, GameProfile profile) {
+        UUID id = profile.getId();
+        String name = profile.getName();
+        List<Property> properties = profile.getPropertiesOrNull();
+        int textures = 0;
+        for(TextureType type : TextureType.values())
+            if(profile.getTexture(type) != null)
+                textures++;
+        int flags = (id != null ? PROFILE_ID : 0) | (name != null ? PROFILE_NAME : 0) | (profile.isLegacy() ? PROFILE_LEGACY : 0) |
+                (properties != null ? PROFILE_PROPERTIES : 0) | (textures > 0 ? PROFILE_TEXTURES : 0);
+        output.writeVarInt(flags);
+        if(id != null) {
+            output.writeLong(id.getMostSignificantBits());
+            output.writeLong(id.getLeastSignificantBits());
+        }
+        if(name != null)
+            writeString(output, name);
+        if(properties != null) {
+            output.writeVarInt(properties.size());
+            for(Property property : properties)
+                writeProperty(output, property);
+        }
+        if(textures > 0) {
+            output.writeVarInt(textures);
+            for(TextureType type : TextureType.values()) {
+                ProfileTexture texture = profile.getTexture(type);
+                if(texture != null) {
+                    writeString(output, type.name());
+                    writeTexture(output, texture);
+                }
+            }
+        }
+    }
+
+    /**
+     * 从指定输入读取游戏档案
+     *
+     * @param input 输入
+     * @return 游戏档案
+     */
+    private static GameProfile readProfile(Input input) {
+        int flags = input.readVarInt();
+        UUID id = (flags & PROFILE_ID) != 0 ? new UUID(input.readLong(), input.readLong()) : null;
+        String name = (flags & PROFILE_NAME) != 0 ? readString(input) : null;
+        List<Property> properties = null;
+        if((flags & PROFILE_PROPERTIES) != 0) {
+            int count = input.readCount();
+            properties = new ArrayList<>(count);
+            for(int i = 0; i < count; i++)
+                properties.add(readProperty(input));
+        }
+        GameProfile profile = new GameProfile(id, name, properties, (flags & PROFILE_LEGACY) != 0);
+        if((flags & PROFILE_TEXTURES) != 0) {
+            int count = input.readCount();
+            for(int i = 0; i < count; i++) {
+                String type = readString(input);
+                ProfileTexture texture = readTexture(input);
+                try {
+                    profile.getTextures().put(TextureType.valueOf(type), texture);
+                } catch (IllegalArgumentException e) {
+                    // 忽略当前版本未知的材质类型
+                }
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * 将指定游戏档案属性写出到指定输出
+     *
+     * @param output 输出
+     * @param property 游戏档案属性
+     */
+    private static void writeProperty(Output output, Property property) {
+        writeValue(output, property.getName());
+        writeValue(output, property.getValue());
+        writeValue(output, property.getSignature());
+    }
+
+    /**
+     * 从指定输入读取游戏档案属性
+     *
+     * @param input 输入
+     * @return 游戏档案属性
+     */
+    private static Property readProperty(Input input) {
+        return new Property(readValue(input), readValue(input), readValue(input));
+    }
+
+    /**
+     * 将指定档案材质写出到指定输出
+     *
+     * @param output 输出
+     * @param texture 档案材质
+     */
+    private static void writeTexture(Output output, ProfileTexture texture) {
+        writeValue(output, texture.getUrl());
+        Map<String, String> metadata = texture.getMetadata();
+        output.writeVarInt(metadata.size());
+        for(Map.Entry<String, String> entry : metadata.entrySet()) {
+            writeString(output, entry.getKey());
+            writeValue(output, entry.getValue());
+        }
+    }
+
+    /**
+     * 从指定输入读取档案材质
+     *
+     * @param input 输入
+     * @return 档案材质
+     */
+    private static ProfileTexture readTexture(Input input) {
+        String url = readValue(input);
+        int count = input.readCount();
+        Map<String, String> metadata = null;
+        if(count > 0) {
+            metadata = new LinkedHashMap<>();
+            for(int i = 0; i < count; i++)
+                metadata.put(readString(input), readValue(input));
+        }
+        return new ProfileTexture(url, metadata);
+    }
+
+    /**
+     * 将指定非 null 字符串写出到指定输出 (UTF-8 字节长度 + 字节)
+     *
+     * @param output 输出
+     * @param value 字符串
+     */
+    private static void writeString(Output output, String value) {
+        byte[] bytes = value.getBytes(UTF_8);
+        output.writeVarInt(bytes.length);
+        output.writeBytes(bytes);
+    }
+
+    /**
+     * 从指定输入读取非 null 字符串
+     *
+     * @param input 输入
+     * @return 字符串
+     */
+    private static String readString(Input input) {
+        int length = input.readCount();
+        String value = new String(input.data, input.position, length, UTF_8);
+        input.skip(length);
+        return value;
+    }
+
+    /**
+     * 将指定可以为 null 的值写出到指定输出 (选择最紧凑的表示方式)
+     *
+     * @param output 输出
+     * @param value 值
+     */
+    private static void writeValue(Output output, String value) {
+        if(value == null) {
+            output.writeByte(VALUE_NULL);
+            return;
+        }
+        byte[] hash = value.startsWith(TEXTURE_URL_PREFIX) ? decodeHex(value, TEXTURE_URL_PREFIX.length()) : null;
+        if(hash != null) {
+            output.writeByte(VALUE_TEXTURE_HASH);
+            output.writeVarInt(value.length() - TEXTURE_URL_PREFIX.length());
+            output.writeBytes(hash);
+            return;
+        }
+        byte[] raw = decodeBase64(value);
+        if(raw != null) {
+            output.writeByte(VALUE_BASE64);
+            output.writeVarInt(raw.length);
+            output.writeBytes(raw);
+            return;
+        }
+        output.writeByte(VALUE_STRING);
+        writeString(output, value);
+    }
+
+    /**
+     * 从指定输入读取可以为 null 的值
+     *
+     * @param input 输入
+     * @return 值
+     */
+    private static String readValue(Input input) {
+        byte kind = input.readByte();
+        switch (kind) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(input);
+            case VALUE_BASE64:
+                return Base64.getEncoder().encodeToString(input.readBytes(input.readCount()));
+            case VALUE_TEXTURE_HASH:
+                int digits = input.readVarInt();
+                if(digits <= 0)
+                    throw new IllegalArgumentException("无效的二进制材质哈希值长度: " + digits);
+                return TEXTURE_URL_PREFIX + encodeHex(input.readBytes((digits + 1) / 2), digits);
+            default:
+                throw new IllegalArgumentException("无效的二进制值类型: " + kind);
+        }
+    }
+
+    /**
+     * 将指定标准 Base64 字符串解码为原始字节 (只有重新编码后完全相同才返回)
+     *
+     * @param value 字符串
+     * @return 原始字节, 不是标准 Base64 则返回 {@code null}
+     */
+    private static byte[] decodeBase64(String value) {
+        // 至少 8 个字符才有收益, 长度必须是 4 的倍数 (带填充)
+        if(value.length() < 8 || (value.length() & 3) != 0)
+            return null;
+        try {
+            byte[] raw = Base64.getDecoder().decode(value);
+            return Base64.getEncoder().encodeToString(raw).equals(value) ? raw : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 将指定字符串从指定偏移开始的小写十六进制解码为字节 (奇数长度在开头补 0)
+     *
+     * @param value 字符串
+     * @param offset 偏移
+     * @return 字节, 不是小写十六进制则返回 {@code null}
+     */
+    private static byte[] decodeHex(String value, int offset) {
+        int digits = value.length() - offset;
+        if(digits <= 0)
+            return null;
+        byte[] bytes = new byte[(digits + 1) / 2];
+        int shift = digits & 1;
+        for(int i = 0; i < digits; i++) {
+            char ch = value.charAt(offset + i);
+            int digit = ch >= '0' && ch <= '9' ? ch - '0' : ch >= 'a' && ch <= 'f' ? ch - 'a' + 10 : -1;
+            if(digit == -1)
+                return null;
+            int index = (i + shift) >> 1;
+            bytes[index] = (byte) (((i + shift) & 1) == 0 ? digit << 4 : bytes[index] | digit);
+        }
+        return bytes;
+    }
+
+    /**
+     * 将指定字节编码为指定位数的小写十六进制
+     *
+     * @param bytes 字节
+     * @param digits 位数
+     * @return 十六进制字符串
+     */
+    private static String encodeHex(byte[] bytes, int digits) {
+        char[] chars = new char[bytes.length * 2];
+        for(int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            chars[i * 2 + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(chars, chars.length - digits, digits);
+    }
+
+    /**
+     * <h1>Output</h1>
+     * 二进制输出缓冲
+     */
+    private final static class Output {
+
+        private byte[] buffer;
+        private int position;
+
+        /**
+         * 二进制输出缓冲构造函数 (写出文件头)
+         *
+         * @param type 类型标记
+         */
+        private Output(byte type) {
+            this.buffer = new byte[256];
+            writeByte(MAGIC);
+            writeByte(VERSION);
+            writeByte(type);
+        }
+
+        /**
+         * 确保此缓冲还可以写入指定数量的字节
+         *
+         * @param length 字节数量
+         */
+        private void ensure(int length) {
+            if(position + length > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+        }
+
+        /**
+         * 写出一个字节
+         *
+         * @param value 字节
+         */
+        private void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        /**
+         * 写出字节数组
+         *
+         * @param bytes 字节数组
+         */
+        private void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        /**
+         * 写出 8 字节大端序 long
+         *
+         * @param value 值
+         */
+        private void writeLong(long value) {
+            ensure(8);
+            for(int shift = 56; shift >= 0; shift -= 8)
+                buffer[position++] = (byte) (value >>> shift);
+        }
+
+        /**
+         * 写出无符号变长 int
+         *
+         * @param value 值
+         */
+        private void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        /**
+         * 写出无符号变长 long
+         *
+         * @param value 值
+         */
+        private void writeVarLong(long value) {
+            ensure(10);
+            while((value & ~0x7FL) != 0L) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        /**
+         * 获取此缓冲已写出的字节
+         *
+         * @return 字节数组
+         */
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    /**
+     * <h1>Input</h1>
+     * 二进制输入游标
+     */
+    private final static class Input {
+
+        private final byte[] data;
+        private int position;
+
+        /**
+         * 二进制输入游标构造函数 (校验文件头)
+         *
+         * @param data 数据
+         * @param type 期望的类型标记
+         * @throws IllegalArgumentException 如果文件头无效则抛出异常
+         */
+        private Input(byte[] data, byte type) {
+            if(data == null)
+                throw new IllegalArgumentException("二进制数据对象不能为 null 值.");
+            if(!isEncoded(data))
+                throw new IllegalArgumentException("不是有效的二进制档案数据.");
+            if(data[1] != VERSION)
+                throw new IllegalArgumentException("不支持的二进制档案格式版本: " + data[1]);
+            if(data[2] != type)
+                throw new IllegalArgumentException("二进制档案数据类型不匹配: " + data[2] + " (期望 " + type + ")");
+            this.data = data;
+            this.position = 3;
+        }
+
+        /**
+         * 跳过指定数量的字节
+         *
+         * @param length 字节数量
+         */
+        private void skip(int length) {
+            if(length < 0 || length > data.length - position)
+                throw new IllegalArgumentException("二进制档案数据不完整.");
+            position += length;
+        }
+
+        /**
+         * 读取一个字节
+         *
+         * @return 字节
+         */
+        private byte readByte() {
+            skip(1);
+            return data[position - 1];
+        }
+
+        /**
+         * 读取指定数量的字节
+         *
+         * @param length 字节数量
+         * @return 字节数组
+         */
+        private byte[] readBytes(int length) {
+            skip(length);
+            return Arrays.copyOfRange(data, position - length, position);
+        }
+
+        /**
+         * 读取 8 字节大端序 long
+         *
+         * @return 值
+         */
+        private long readLong() {
+            skip(8);
+            long value = 0L;
+            for(int i = position - 8; i < position; i++)
+                value = value << 8 | (data[i] & 0xFF);
+            return value;
+        }
+
+        /**
+         * 读取无符号变长 int
+         *
+         * @return 值
+         */
+        private int readVarInt() {
+            long value = readVarLong();
+            if(value > 0xFFFFFFFFL)
+                throw new IllegalArgumentException("无效的二进制变长整数.");
+            return (int) value;
+        }
+
+        /**
+         * 读取非负的数量或长度 (不能超过剩余的字节数量)
+         *
+         * @return 数量或长度
+         */
+        private int readCount() {
+            int value = readVarInt();
+            if(value < 0 || value > data.length - position)
+                throw new IllegalArgumentException("二进制档案数据不完整.");
+            return value;
+        }
+
+        /**
+         * 读取无符号变长 long
+         *
+         * @return 值
+         */
+        private long readVarLong() {
+            long value = 0L;
+            for(int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if((b & 0x80) == 0)
+                    return value;
+            }
+            throw new IllegalArgumentException("无效的二进制变长整数.");
+        }
+
+        /**
+         * 校验是否已经读取到数据末尾
+         *
+         * @throws IllegalArgumentException 如果存在多余的字节则抛出异常
+         */
+        private void checkEnd() {
+            if(position != data.length)
+                throw new IllegalArgumentException("二进制档案数据存在多余的字节.");
+        }
+    }
+}
@@ -18,13 +18,14 @@
 
 package com.minecraft.moonlake.auth.data;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * <h1>ProfileHistoryList</h1>
- * 档案历史记录列表
+ * 档案历史记录列表 (不可变, 按更改时间从早到晚排序)
  *
  * @version 1.0
  * @author Month_Light
@@ -34,26 +35,38 @@ import java.util.List;
 public class ProfileHistoryList implements Iterable<ProfileHistory> {
 
     private final List<ProfileHistory> historyList;
+    private final ProfileHistory latest;
 
     /**
-     * 档案历史记录列表构造函数
+     * 档案历史记录列表构造函数 (复制并排序一次, 之后不会再修改传入的列表)
      *
      * @param historyList 历史记录列表
      */
     public ProfileHistoryList(List<ProfileHistory> historyList) {
-        this.historyList = historyList;
+        List<ProfileHistory> sorted = historyList != null ? new ArrayList<>(historyList) : new ArrayList<ProfileHistory>();
+        Collections.sort(sorted); // 稳定排序, 没有更改时间的原始用户名排在最前
+        this.historyList = Collections.unmodifiableList(sorted);
+        this.latest = sorted.isEmpty() ? null : sorted.get(sorted.size() - 1);
     }
 
     /**
      * 获取当前档案历史记录列表最新(当前)正在使用的档案
      *
-     * @return 档案历史记录
+     * @return 档案历史记录, 列表为空则返回 {@code null}
      */
     public ProfileHistory getLatest() {
-        if(historyList.size() == 1)
-            return historyList.get(0);
-        Collections.sort(historyList);
-        return historyList.get(historyList.size() - 1);
+        return latest;
+    }
+
+    /**
+     * 获取此档案历史记录列表指定索引的档案历史记录
+     *
+     * @param index 索引
+     * @return 档案历史记录
+     * @throws IndexOutOfBoundsException 如果索引超出范围则抛出异常
+     */
+    public ProfileHistory get(int index) {
+        return historyList.get(index);
     }
 
     /**
@@ -76,14 +89,14 @@ public class ProfileHistoryList implements Iterable<ProfileHistory> {
             return true;
         if(obj instanceof ProfileHistoryList) {
             ProfileHistoryList other = (ProfileHistoryList) obj;
-            return historyList != null ? historyList.equals(other.historyList) : other.historyList == null;
+            return historyList.equals(other.historyList);
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        return historyList != null ? historyList.hashCode() : 0;
+        return historyList.hashCode();
     }
 
     @Override
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.data;
+
+import java.io.IOException;
+
+/**
+ * <h1>ProfileResolveSink</h1>
+ * 档案解析输出接口 (流式批量查找的结果按顺序同步写入, 写入缓慢时会减慢输入的读取)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see GameProfile
+ */
+public interface ProfileResolveSink {
+
+    /**
+     * 查找成功
+     *
+     * @param name 输入的用户名
+     * @param profile 游戏档案
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    void onResolved(String name, GameProfile profile) throws IOException;
+
+    /**
+     * 服务器不存在此用户名的游戏档案
+     *
+     * @param name 输入的用户名
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    void onNotFound(String name) throws IOException;
+
+    /**
+     * 将已经写入的结果持久化, 在保存检查点之前调用
+     *
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    void flush() throws IOException;
+}
@@ -18,6 +18,13 @@
 
 package com.minecraft.moonlake.auth.data;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minecraft.moonlake.auth.util.JsonCodecs;
+
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -96,4 +103,55 @@ public class ProfileTexture {
                 ", hash=" + getHash() +
                 '}';
     }
+
+    /**
+     * <h1>Serializer</h1>
+     * 档案材质序列化类
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    public final static class Serializer extends TypeAdapter<ProfileTexture> {
+
+        @Override
+        public void write(JsonWriter jsonWriter, ProfileTexture texture) throws IOException {
+            if(texture == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginObject();
+            jsonWriter.name("url").value(texture.url);
+            if(texture.metadata != null) {
+                jsonWriter.name("metadata");
+                JsonCodecs.writeStringMap(jsonWriter, texture.metadata);
+            }
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public ProfileTexture read(JsonReader jsonReader) throws IOException {
+            if(jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                return null;
+            }
+            String url = null;
+            Map<String, String> metadata = null;
+            jsonReader.beginObject();
+            while(jsonReader.hasNext()) {
+                String key = jsonReader.nextName();
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                } else if(key.equals("url")) {
+                    url = jsonReader.nextString();
+                } else if(key.equals("metadata")) {
+                    metadata = JsonCodecs.readStringMap(jsonReader);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return new ProfileTexture(url, metadata);
+        }
+    }
 }
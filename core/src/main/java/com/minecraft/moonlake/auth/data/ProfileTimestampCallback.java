@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.data;
+
+/**
+ * <h1>ProfileTimestampCallback</h1>
+ * 档案时间戳查询回调接口
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileTimestampQuery
+ * @see GameProfile
+ */
+public interface ProfileTimestampCallback {
+
+    /**
+     * 查找成功
+     *
+     * @param query 档案时间戳查询
+     * @param profile 游戏档案
+     */
+    void onLookupSucceeded(ProfileTimestampQuery query, GameProfile profile);
+
+    /**
+     * 查找失败
+     *
+     * @param query 档案时间戳查询
+     * @param ex 异常
+     */
+    void onLookupFailed(ProfileTimestampQuery query, Exception ex);
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.data;
+
+/**
+ * <h1>ProfileTimestampQuery</h1>
+ * 档案时间戳查询类 (查询指定时间戳时拥有指定用户名的游戏档案, 用户名不区分大小写, 负数时间戳表示当前拥有者)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileTimestampCallback
+ */
+public class ProfileTimestampQuery {
+
+    private final String name;
+    private final long timestamp;
+
+    /**
+     * 档案时间戳查询类构造函数 (查询当前拥有者)
+     *
+     * @param name 用户名
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     */
+    public ProfileTimestampQuery(String name) {
+        this(name, -1L);
+    }
+
+    /**
+     * 档案时间戳查询类构造函数
+     *
+     * @param name 用户名
+     * @param timestamp UNIX 时间戳 (秒, 即 Mojang API 的 {@code at} 参数, 不是毫秒), 负数表示当前拥有者
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     */
+    public ProfileTimestampQuery(String name, long timestamp) {
+        if(name == null)
+            throw new IllegalArgumentException("名称对象不能为 null 值.");
+        this.name = name;
+        this.timestamp = timestamp < 0L ? -1L : timestamp;
+    }
+
+    /**
+     * 获取此档案时间戳查询的用户名
+     *
+     * @return 用户名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取此档案时间戳查询的时间戳
+     *
+     * @return UNIX 时间戳 (秒), 查询当前拥有者则返回 {@code -1}
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * 获取此档案时间戳查询是否为查询当前拥有者
+     *
+     * @return 是否为查询当前拥有者
+     */
+    public boolean isCurrent() {
+        return timestamp < 0L;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == this)
+            return true;
+        if(obj instanceof ProfileTimestampQuery) {
+            ProfileTimestampQuery other = (ProfileTimestampQuery) obj;
+            return timestamp == other.timestamp && name.equalsIgnoreCase(other.name);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name.toLowerCase().hashCode();
+        result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileTimestampQuery{" +
+                "name='" + name + '\'' +
+                ", timestamp=" + timestamp +
+                '}';
+    }
+}
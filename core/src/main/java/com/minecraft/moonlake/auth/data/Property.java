@@ -18,8 +18,13 @@
 
 package com.minecraft.moonlake.auth.data;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
 
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.security.PublicKey;
 import java.security.Signature;
@@ -35,9 +40,9 @@ import java.util.Base64;
  */
 public class Property {
 
-    private String name;
-    private String value;
-    private String signature;
+    private final String name;
+    private final String value;
+    private final String signature;
 
     /**
      * 游戏档案属性类构造函数
@@ -147,4 +152,54 @@ public class Property {
                 ", signature='" + signature + '\'' +
                 '}';
     }
+
+    /**
+     * <h1>Serializer</h1>
+     * 游戏档案属性序列化类
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    public final static class Serializer extends TypeAdapter<Property> {
+
+        @Override
+        public void write(JsonWriter jsonWriter, Property property) throws IOException {
+            if(property == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginObject();
+            jsonWriter.name("name").value(property.name);
+            jsonWriter.name("value").value(property.value);
+            jsonWriter.name("signature").value(property.signature);
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public Property read(JsonReader jsonReader) throws IOException {
+            if(jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                return null;
+            }
+            String name = null, value = null, signature = null;
+            jsonReader.beginObject();
+            while(jsonReader.hasNext()) {
+                String key = jsonReader.nextName();
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                } else if(key.equals("name")) {
+                    name = jsonReader.nextString();
+                } else if(key.equals("value")) {
+                    value = jsonReader.nextString();
+                } else if(key.equals("signature")) {
+                    signature = jsonReader.nextString();
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return new Property(name, value, signature);
+        }
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * <h1>MojangBaseResponse</h1>
+ * Mojang 基础响应类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see Response
+ */
+public class MojangBaseResponse extends Response {
+
+    private String error;
+    private String cause;
+    private String errorMessage;
+
+    /**
+     * 获取此 Mojang 基础响应的错误
+     *
+     * @return 错误
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * 获取此 Mojang 基础响应的原因
+     *
+     * @return 原因
+     */
+    public String getCause() {
+        return cause;
+    }
+
+    /**
+     * 获取此 Mojang 基础响应的错误消息
+     *
+     * @return 错误消息
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * 设置此 Mojang 基础响应的错误
+     *
+     * @param error 错误
+     */
+    protected void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * 设置此 Mojang 基础响应的原因
+     *
+     * @param cause 原因
+     */
+    protected void setCause(String cause) {
+        this.cause = cause;
+    }
+
+    /**
+     * 设置此 Mojang 基础响应的错误消息
+     *
+     * @param errorMessage 错误消息
+     */
+    protected void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * <h1>Codec</h1>
+     * Mojang 基础响应编解码抽象类 (读写错误字段, 其他字段交给子类)
+     *
+     * @param <T> 响应类型
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    public abstract static class Codec<T extends MojangBaseResponse> extends TypeAdapter<T> {
+
+        /**
+         * 创建一个新的空响应对象
+         *
+         * @return 响应对象
+         */
+        protected abstract T create();
+
+        /**
+         * 从指定 JSON 读取器读取指定响应的字段值 (值不会为 {@code null})
+         *
+         * @param jsonReader JSON 读取器
+         * @param response 响应对象
+         * @param name 字段名称
+         * @return 是否已读取, 否则值将被跳过
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        protected abstract boolean readField(JsonReader jsonReader, T response, String name) throws IOException;
+
+        /**
+         * 将指定响应除错误字段之外的字段写出到指定 JSON 写出器
+         *
+         * @param jsonWriter JSON 写出器
+         * @param response 响应对象
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        protected abstract void writeFields(JsonWriter jsonWriter, T response) throws IOException;
+
+        @Override
+        public void write(JsonWriter jsonWriter, T response) throws IOException {
+            if(response == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginObject();
+            writeFields(jsonWriter, response);
+            jsonWriter.name("error").value(response.getError());
+            jsonWriter.name("cause").value(response.getCause());
+            jsonWriter.name("errorMessage").value(response.getErrorMessage());
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public T read(JsonReader jsonReader) throws IOException {
+            if(jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.nextNull();
+                return null;
+            }
+            T response = create();
+            jsonReader.beginObject();
+            while(jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                } else if(name.equals("error")) {
+                    response.setError(jsonReader.nextString());
+                } else if(name.equals("cause")) {
+                    response.setCause(jsonReader.nextString());
+                } else if(name.equals("errorMessage")) {
+                    response.setErrorMessage(jsonReader.nextString());
+                } else if(!readField(jsonReader, response, name)) {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return response;
+        }
+    }
+
+    /**
+     * <h1>Serializer</h1>
+     * Mojang 基础响应序列化类 (只包含错误字段)
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see Codec
+     */
+    public final static class Serializer extends Codec<MojangBaseResponse> {
+
+        @Override
+        protected MojangBaseResponse create() {
+            return new MojangBaseResponse();
+        }
+
+        @Override
+        protected boolean readField(JsonReader jsonReader, MojangBaseResponse response, String name) throws IOException {
+            return false;
+        }
+
+        @Override
+        protected void writeFields(JsonWriter jsonWriter, MojangBaseResponse response) throws IOException {
+        }
+    }
+}
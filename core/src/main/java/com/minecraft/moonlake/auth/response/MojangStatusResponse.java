@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minecraft.moonlake.auth.data.StatusService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>MojangStatusResponse</h1>
+ * Mojang 状态响应类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MojangBaseResponse
+ */
+public class MojangStatusResponse extends MojangBaseResponse {
+
+    private StatusService[] services;
+
+    /**
+     * Mojang 状态响应类构造函数
+     *
+     * @param services 状态服务数组
+     */
+    public MojangStatusResponse(StatusService[] services) {
+        this.services = services;
+    }
+
+    /**
+     * 获取此 Mojang 状态响应的状态服务数组
+     *
+     * @return 状态服务数组
+     */
+    public StatusService[] getServices() {
+        return services;
+    }
+
+    /**
+     * <h1>Serializer</h1>
+     * Mojang 状态响应序列化类 (流式读取到状态服务数组)
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    public final static class Serializer extends TypeAdapter<MojangStatusResponse> {
+
+        @Override
+        public void write(JsonWriter jsonWriter, MojangStatusResponse response) throws IOException {
+            if(response == null || response.services == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginArray();
+            for(StatusService service : response.services) {
+                jsonWriter.beginObject();
+                jsonWriter.name(service.getHost()).value(service.getType() != null ? service.getType().name().toLowerCase() : null);
+                jsonWriter.endObject();
+            }
+            jsonWriter.endArray();
+        }
+
+        @Override
+        public MojangStatusResponse read(JsonReader jsonReader) throws IOException {
+            if(jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+                jsonReader.skipValue();
+                return null;
+            }
+            List<StatusService> services = new ArrayList<>();
+            jsonReader.beginArray();
+            while(jsonReader.hasNext()) {
+                // 每个对象只有一个 "主机": "状态" 键值对, 多个则以最后一个为准, null 状态视为未知状态
+                String host = "", status = "";
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    host = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                        status = "";
+                    } else {
+                        status = jsonReader.nextString();
+                    }
+                }
+                jsonReader.endObject();
+                services.add(new StatusService(host, StatusService.Type.fromName(status)));
+            }
+            jsonReader.endArray();
+            return new MojangStatusResponse(services.toArray(new StatusService[services.size()]));
+        }
+    }
+}
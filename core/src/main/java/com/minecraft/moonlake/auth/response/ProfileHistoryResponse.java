@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.response;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minecraft.moonlake.auth.data.ProfileHistory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>ProfileHistoryResponse</h1>
+ * 档案历史记录响应类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MojangBaseResponse
+ */
+public class ProfileHistoryResponse extends MojangBaseResponse {
+
+    private ProfileHistory[] histories;
+
+    /**
+     * 档案历史记录响应类构造函数
+     *
+     * @param histories 档案历史数组
+     */
+    public ProfileHistoryResponse(ProfileHistory[] histories) {
+        this.histories = histories;
+    }
+
+    /**
+     * 获取此档案历史记录响应的档案历史记录数组
+     *
+     * @return 档案历史记录数组
+     */
+    public ProfileHistory[] getHistories() {
+        return histories;
+    }
+
+    /**
+     * <h1>Serializer</h1>
+     * 档案历史记录响应序列化类 (流式读取到档案历史记录数组)
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    public final static class Serializer extends TypeAdapter<ProfileHistoryResponse> {
+
+        @Override
+        public void write(JsonWriter jsonWriter, ProfileHistoryResponse response) throws IOException {
+            if(response == null || response.histories == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginArray();
+            for(ProfileHistory history : response.histories) {
+                jsonWriter.beginObject();
+                jsonWriter.name("name").value(history.getName());
+                if(history.hasChangedToAt())
+                    jsonWriter.name("changedToAt").value(history.getChangedToAt());
+                jsonWriter.endObject();
+            }
+            jsonWriter.endArray();
+        }
+
+        @Override
+        public ProfileHistoryResponse read(JsonReader jsonReader) throws IOException {
+            if(jsonReader.peek() != JsonToken.BEGIN_ARRAY) {
+                jsonReader.skipValue();
+                return null;
+            }
+            List<ProfileHistory> histories = new ArrayList<>();
+            jsonReader.beginArray();
+            while(jsonReader.hasNext()) {
+                String name = null;
+                long changedToAt = -1L;
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String key = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(key.equals("name")) {
+                        name = jsonReader.nextString();
+                    } else if(key.equals("changedToAt")) {
+                        changedToAt = jsonReader.nextLong();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                histories.add(new ProfileHistory(name, changedToAt));
+            }
+            jsonReader.endArray();
+            return new ProfileHistoryResponse(histories.toArray(new ProfileHistory[histories.size()]));
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.response;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minecraft.moonlake.auth.data.GameProfile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>ProfileSearchResponse</h1>
+ * 档案搜索响应类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MojangBaseResponse
+ */
+public class ProfileSearchResponse extends MojangBaseResponse {
+
+    private GameProfile[] profiles;
+
+    /**
+     * 档案搜索响应类构造函数
+     */
+    public ProfileSearchResponse() {
+    }
+
+    /**
+     * 获取此档案搜索响应的游戏档案数组
+     *
+     * @return 游戏档案数组
+     */
+    public GameProfile[] getProfiles() {
+        return profiles;
+    }
+
+    /**
+     * <h1>Serializer</h1>
+     * 档案搜索响应序列化类 (流式读取, 游戏档案数组元素交给 Gson 的游戏档案适配器)
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapterFactory
+     */
+    public final static class Serializer implements TypeAdapterFactory {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+            if(typeToken.getRawType() != ProfileSearchResponse.class)
+                return null;
+            return (TypeAdapter<T>) new Adapter(gson.getAdapter(GameProfile.class));
+        }
+    }
+
+    /**
+     * <h1>Adapter</h1>
+     * 档案搜索响应流式适配器类
+     *
+     * @version 1.0
+     * @author Month_Light
+     * @see TypeAdapter
+     */
+    private final static class Adapter extends TypeAdapter<ProfileSearchResponse> {
+
+        private final TypeAdapter<GameProfile> profileAdapter;
+
+        /**
+         * 档案搜索响应流式适配器类构造函数
+         *
+         * @param profileAdapter 游戏档案适配器
+         */
+        private Adapter(TypeAdapter<GameProfile> profileAdapter) {
+            this.profileAdapter = profileAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter jsonWriter, ProfileSearchResponse response) throws IOException {
+            if(response == null) {
+                jsonWriter.nullValue();
+            } else if(response.profiles == null) {
+                jsonWriter.beginObject();
+                jsonWriter.name("error").value(response.getError());
+                jsonWriter.name("cause").value(response.getCause());
+                jsonWriter.name("errorMessage").value(response.getErrorMessage());
+                jsonWriter.endObject();
+            } else {
+                jsonWriter.beginArray();
+                for(GameProfile profile : response.profiles)
+                    profileAdapter.write(jsonWriter, profile);
+                jsonWriter.endArray();
+            }
+        }
+
+        @Override
+        public ProfileSearchResponse read(JsonReader jsonReader) throws IOException {
+            ProfileSearchResponse response = new ProfileSearchResponse();
+            switch (jsonReader.peek()) {
+                case BEGIN_ARRAY:
+                    List<GameProfile> profiles = new ArrayList<>();
+                    jsonReader.beginArray();
+                    while(jsonReader.hasNext())
+                        profiles.add(profileAdapter.read(jsonReader));
+                    jsonReader.endArray();
+                    response.profiles = profiles.toArray(new GameProfile[profiles.size()]);
+                    break;
+                case BEGIN_OBJECT:
+                    jsonReader.beginObject();
+                    while(jsonReader.hasNext()) {
+                        String name = jsonReader.nextName();
+                        if(jsonReader.peek() == JsonToken.NULL) {
+                            jsonReader.nextNull();
+                        } else if(name.equals("error")) {
+                            response.setError(jsonReader.nextString());
+                        } else if(name.equals("cause")) {
+                            response.setCause(jsonReader.nextString());
+                        } else if(name.equals("errorMessage")) {
+                            response.setErrorMessage(jsonReader.nextString());
+                        } else {
+                            jsonReader.skipValue();
+                        }
+                    }
+                    jsonReader.endObject();
+                    break;
+                default:
+                    jsonReader.skipValue();
+                    break;
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+
+/**
+ * <h1>DefaultHttpTransport</h1>
+ * 默认 HTTP 传输类 (使用 {@link HttpURLConnection}, 设置连接和读取超时并禁用 JDK 缓存)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see HttpTransport
+ */
+public class DefaultHttpTransport implements HttpTransport {
+
+    /**
+     * 默认的连接超时时间 (毫秒)
+     */
+    public final static int DEFAULT_CONNECT_TIMEOUT = 15000;
+
+    /**
+     * 默认的读取超时时间 (毫秒)
+     */
+    public final static int DEFAULT_READ_TIMEOUT = 15000;
+
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    /**
+     * 默认 HTTP 传输类构造函数
+     */
+    public DefaultHttpTransport() {
+        this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_READ_TIMEOUT);
+    }
+
+    /**
+     * 默认 HTTP 传输类构造函数
+     *
+     * @param connectTimeout 连接超时时间 (毫秒)
+     * @param readTimeout 读取超时时间 (毫秒)
+     * @throws IllegalArgumentException 如果超时时间小于 0 则抛出异常
+     */
+    public DefaultHttpTransport(int connectTimeout, int readTimeout) {
+        if(connectTimeout < 0 || readTimeout < 0)
+            throw new IllegalArgumentException("超时时间不能小于 0.");
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * 获取此默认 HTTP 传输的连接超时时间 (毫秒)
+     *
+     * @return 连接超时时间
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    /**
+     * 获取此默认 HTTP 传输的读取超时时间 (毫秒)
+     *
+     * @return 读取超时时间
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    @Override
+    public HttpURLConnection openConnection(Proxy proxy, URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection(proxy);
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
+        connection.setUseCaches(false);
+        return connection;
+    }
+}
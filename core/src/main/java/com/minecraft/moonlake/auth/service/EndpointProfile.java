@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import java.nio.charset.Charset;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * <h1>EndpointProfile</h1>
+ * 端点配置类 (一组认证服务器的基础地址和受信任的材质签名公钥注册表, 可以为每个服务实例单独选择)
+ *
+ * <p>用于兼容 Yggdrasil 协议的第三方认证服务器 (例如 authlib-injector 风格的服务器). 服务中的官方链接会先按此端点配置替换基础地址,
+ * 再经过全局的 {@link EndpointResolver} 解析. 不同端点配置的服务共用同一个 {@link HttpTransport}, 因此也共用 JDK 的 HTTP 连接池.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MoonLakeAuthBaseService#setEndpointProfile(EndpointProfile)
+ */
+public class EndpointProfile implements EndpointResolver {
+
+    /**
+     * Mojang 官方端点配置 (使用默认的签名公钥注册表)
+     */
+    public final static EndpointProfile MOJANG = new EndpointProfile("mojang",
+            HostEndpointResolver.ORIGIN_API,
+            HostEndpointResolver.ORIGIN_SESSION,
+            HostEndpointResolver.ORIGIN_AUTH,
+            HostEndpointResolver.ORIGIN_STATUS,
+            HostEndpointResolver.ORIGIN_TEXTURES,
+            SignatureKeyRegistry.getDefault());
+
+    private final String name;
+    private final String apiUrl;
+    private final String sessionUrl;
+    private final String authUrl;
+    private final String statusUrl;
+    private final String texturesUrl;
+    private final SignatureKeyRegistry keyRegistry;
+    private final HostEndpointResolver resolver;
+
+    /**
+     * 端点配置类构造函数
+     *
+     * @param name 名称
+     * @param apiUrl 档案 API 服务器基础地址 (替换 {@code https://api.mojang.com})
+     * @param sessionUrl 会话服务器基础地址 (替换 {@code https://sessionserver.mojang.com})
+     * @param authUrl 认证服务器基础地址 (替换 {@code https://authserver.mojang.com})
+     * @param statusUrl 状态服务器基础地址 (替换 {@code https://status.mojang.com})
+     * @param texturesUrl 材质服务器基础地址 (替换 {@code http://textures.minecraft.net})
+     * @param signatureKey 材质签名公钥 (以端点配置的名称作为 Id 注册到新的签名公钥注册表), {@code null} 则使用默认的签名公钥注册表
+     * @throws IllegalArgumentException 如果名称或任意基础地址对象为 {@code null} 则抛出异常
+     */
+    public EndpointProfile(String name, String apiUrl, String sessionUrl, String authUrl, String statusUrl, String texturesUrl, PublicKey signatureKey) {
+        this(name, apiUrl, sessionUrl, authUrl, statusUrl, texturesUrl, signatureKey != null ? new SignatureKeyRegistry().register(name, signatureKey) : SignatureKeyRegistry.getDefault());
+    }
+
+    /**
+     * 端点配置类构造函数
+     *
+     * @param name 名称
+     * @param apiUrl 档案 API 服务器基础地址 (替换 {@code https://api.mojang.com})
+     * @param sessionUrl 会话服务器基础地址 (替换 {@code https://sessionserver.mojang.com})
+     * @param authUrl 认证服务器基础地址 (替换 {@code https://authserver.mojang.com})
+     * @param statusUrl 状态服务器基础地址 (替换 {@code https://status.mojang.com})
+     * @param texturesUrl 材质服务器基础地址 (替换 {@code http://textures.minecraft.net})
+     * @param keyRegistry 签名公钥注册表 (例如同时信任 Mojang 公钥和自有服务器公钥)
+     * @throws IllegalArgumentException 如果名称、任意基础地址或签名公钥注册表对象为 {@code null} 则抛出异常
+     */
+    public EndpointProfile(String name, String apiUrl, String sessionUrl, String authUrl, String statusUrl, String texturesUrl, SignatureKeyRegistry keyRegistry) {
+        if(name == null)
+            throw new IllegalArgumentException("名称对象不能为 null 值.");
+        if(keyRegistry == null)
+            throw new IllegalArgumentException("签名公钥注册表对象不能为 null 值.");
+        this.name = name;
+        this.apiUrl = apiUrl;
+        this.sessionUrl = sessionUrl;
+        this.authUrl = authUrl;
+        this.statusUrl = statusUrl;
+        this.texturesUrl = texturesUrl;
+        this.keyRegistry = keyRegistry;
+        this.resolver = new HostEndpointResolver()
+                .map(HostEndpointResolver.ORIGIN_API, apiUrl)
+                .map(HostEndpointResolver.ORIGIN_SESSION, sessionUrl)
+                .map(HostEndpointResolver.ORIGIN_AUTH, authUrl)
+                .map(HostEndpointResolver.ORIGIN_STATUS, statusUrl)
+                .map(HostEndpointResolver.ORIGIN_TEXTURES, texturesUrl);
+    }
+
+    /**
+     * 创建 authlib-injector 风格的 Yggdrasil 兼容服务器端点配置
+     *
+     * <p>服务器根地址下的 {@code /api}, {@code /sessionserver}, {@code /authserver} 分别对应档案、会话和认证服务器,
+     * 状态和材质服务器仍然使用 Mojang 官方地址 (第三方服务器的材质链接由档案属性直接给出).</p>
+     *
+     * @param name 名称
+     * @param root 服务器根地址 (例如 {@code https://auth.example.com/yggdrasil})
+     * @param keyRegistry 签名公钥注册表
+     * @return 端点配置
+     * @throws IllegalArgumentException 如果名称、服务器根地址或签名公钥注册表对象为 {@code null} 则抛出异常
+     */
+    public static EndpointProfile yggdrasil(String name, String root, SignatureKeyRegistry keyRegistry) {
+        if(root == null)
+            throw new IllegalArgumentException("服务器根地址对象不能为 null 值.");
+        while(root.endsWith("/"))
+            root = root.substring(0, root.length() - 1);
+        return new EndpointProfile(name, root + "/api", root + "/sessionserver", root + "/authserver", HostEndpointResolver.ORIGIN_STATUS, HostEndpointResolver.ORIGIN_TEXTURES, keyRegistry);
+    }
+
+    /**
+     * 解码指定 PEM 或 Base64 格式的 X.509 RSA 公钥 (例如 Yggdrasil 服务器元数据的 {@code signaturePublickey})
+     *
+     * @param encoded PEM 或 Base64 格式的公钥
+     * @return 公钥
+     * @throws IllegalArgumentException 如果公钥对象为 {@code null} 或无效则抛出异常
+     */
+    public static PublicKey decodePublicKey(String encoded) {
+        if(encoded == null)
+            throw new IllegalArgumentException("公钥对象不能为 null 值.");
+        String base64 = encoded.replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "").replaceAll("\\s", "");
+        try {
+            return decodePublicKey(Base64.getDecoder().decode(base64.getBytes(Charset.forName("utf-8"))));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的公钥: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解码指定 DER 格式的 X.509 RSA 公钥
+     *
+     * @param der DER 格式的公钥
+     * @return 公钥
+     * @throws IllegalArgumentException 如果公钥对象为 {@code null} 或无效则抛出异常
+     */
+    public static PublicKey decodePublicKey(byte[] der) {
+        if(der == null)
+            throw new IllegalArgumentException("公钥对象不能为 null 值.");
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(der));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("无效的公钥: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取此端点配置的名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取此端点配置的档案 API 服务器基础地址
+     *
+     * @return 档案 API 服务器基础地址
+     */
+    public String getApiUrl() {
+        return apiUrl;
+    }
+
+    /**
+     * 获取此端点配置的会话服务器基础地址
+     *
+     * @return 会话服务器基础地址
+     */
+    public String getSessionUrl() {
+        return sessionUrl;
+    }
+
+    /**
+     * 获取此端点配置的认证服务器基础地址
+     *
+     * @return 认证服务器基础地址
+     */
+    public String getAuthUrl() {
+        return authUrl;
+    }
+
+    /**
+     * 获取此端点配置的状态服务器基础地址
+     *
+     * @return 状态服务器基础地址
+     */
+    public String getStatusUrl() {
+        return statusUrl;
+    }
+
+    /**
+     * 获取此端点配置的材质服务器基础地址
+     *
+     * @return 材质服务器基础地址
+     */
+    public String getTexturesUrl() {
+        return texturesUrl;
+    }
+
+    /**
+     * 获取此端点配置的签名公钥注册表
+     *
+     * @return 签名公钥注册表
+     */
+    public SignatureKeyRegistry getKeyRegistry() {
+        return keyRegistry;
+    }
+
+    @Override
+    public String resolve(String url) {
+        return resolver.resolve(url);
+    }
+
+    @Override
+    public String toString() {
+        return "EndpointProfile{" +
+                "name='" + name + '\'' +
+                ", apiUrl='" + apiUrl + '\'' +
+                ", sessionUrl='" + sessionUrl + '\'' +
+                ", authUrl='" + authUrl + '\'' +
+                ", statusUrl='" + statusUrl + '\'' +
+                ", texturesUrl='" + texturesUrl + '\'' +
+                ", keyRegistry=" + keyRegistry +
+                '}';
+    }
+}
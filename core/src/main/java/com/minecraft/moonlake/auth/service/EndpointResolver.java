@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+/**
+ * <h1>EndpointResolver</h1>
+ * 端点解析器接口 (将服务中的官方 Mojang 链接解析为实际请求的链接, 可通过 {@link java.util.ServiceLoader} 或 {@link MoonLakeAuthBaseService#setEndpointResolver(EndpointResolver)} 替换)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see HostEndpointResolver
+ * @see MoonLakeAuthBaseService
+ */
+public interface EndpointResolver {
+
+    /**
+     * 默认的端点解析器 (原样返回官方链接)
+     */
+    EndpointResolver DEFAULT = new EndpointResolver() {
+        @Override
+        public String resolve(String url) {
+            return url;
+        }
+    };
+
+    /**
+     * 解析指定官方链接为实际请求的链接
+     *
+     * @param url 官方链接 (例如 {@code https://api.mojang.com/profiles/minecraft})
+     * @return 实际请求的链接
+     */
+    String resolve(String url);
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>HostEndpointResolver</h1>
+ * 主机端点解析器类 (按源地址前缀替换链接, 例如将 {@code https://api.mojang.com} 替换为 {@code http://127.0.0.1:8080/api})
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see EndpointResolver
+ */
+public class HostEndpointResolver implements EndpointResolver {
+
+    /**
+     * Mojang API 服务器源地址
+     */
+    public final static String ORIGIN_API = "https://api.mojang.com";
+
+    /**
+     * Mojang 会话服务器源地址
+     */
+    public final static String ORIGIN_SESSION = "https://sessionserver.mojang.com";
+
+    /**
+     * Mojang 认证服务器源地址
+     */
+    public final static String ORIGIN_AUTH = "https://authserver.mojang.com";
+
+    /**
+     * Mojang 状态服务器源地址
+     */
+    public final static String ORIGIN_STATUS = "https://status.mojang.com";
+
+    /**
+     * Minecraft 材质服务器源地址
+     */
+    public final static String ORIGIN_TEXTURES = "http://textures.minecraft.net";
+
+    private final Map<String, String> mappings;
+
+    /**
+     * 主机端点解析器类构造函数
+     */
+    public HostEndpointResolver() {
+        this.mappings = new LinkedHashMap<>();
+    }
+
+    /**
+     * 将指定源地址映射到指定目标地址
+     *
+     * @param origin 源地址 (协议和主机, 例如 {@link #ORIGIN_API})
+     * @param target 目标地址 (可以包含路径前缀)
+     * @return 此主机端点解析器
+     * @throws IllegalArgumentException 如果源地址或目标地址对象为 {@code null} 则抛出异常
+     */
+    public HostEndpointResolver map(String origin, String target) {
+        if(origin == null || target == null)
+            throw new IllegalArgumentException("源地址或目标地址对象不能为 null 值.");
+        synchronized (mappings) {
+            mappings.put(trimSlash(origin), trimSlash(target));
+        }
+        return this;
+    }
+
+    /**
+     * 获取此主机端点解析器的映射 Map 集
+     *
+     * @return 映射 Map 集 (不能修改)
+     */
+    public Map<String, String> getMappings() {
+        synchronized (mappings) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(mappings));
+        }
+    }
+
+    @Override
+    public String resolve(String url) {
+        if(url == null)
+            return null;
+        synchronized (mappings) {
+            for(Map.Entry<String, String> entry : mappings.entrySet()) {
+                String origin = entry.getKey();
+                if(url.startsWith(origin) && (url.length() == origin.length() || url.charAt(origin.length()) == '/' || url.charAt(origin.length()) == '?'))
+                    return entry.getValue() + url.substring(origin.length());
+            }
+        }
+        return url;
+    }
+
+    /**
+     * 去除指定地址末尾的斜杠
+     *
+     * @param address 地址
+     * @return 地址
+     */
+    private static String trimSlash(String address) {
+        while(address.endsWith("/"))
+            address = address.substring(0, address.length() - 1);
+        return address;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+
+/**
+ * <h1>HttpTransport</h1>
+ * HTTP 传输接口 (负责为认证服务创建 HTTP 连接, 可通过 {@link java.util.ServiceLoader} 或 {@link MoonLakeAuthBaseService#setTransport(HttpTransport)} 替换)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see DefaultHttpTransport
+ * @see MoonLakeAuthBaseService
+ */
+public interface HttpTransport {
+
+    /**
+     * 以指定代理打开到指定链接的 HTTP 连接 (连接尚未发送请求, 调用者会继续设置请求头)
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接 (已经过端点解析器解析)
+     * @return HTTP 连接对象
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    HttpURLConnection openConnection(Proxy proxy, URL url) throws IOException;
+}
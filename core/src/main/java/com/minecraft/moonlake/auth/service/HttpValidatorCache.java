@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>HttpValidatorCache</h1>
+ * HTTP 验证器缓存类 (保存 GET 响应的 ETag、Last-Modified 和正文, 重新请求时发送条件请求, 304 时直接使用本地正文)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MoonLakeAuthBaseService
+ */
+public class HttpValidatorCache {
+
+    /**
+     * 默认的最大缓存数量
+     */
+    public final static int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * 默认的单个正文最大字节数 (超过则不缓存)
+     */
+    public final static int DEFAULT_MAX_BODY_SIZE = 1024 * 1024;
+
+    private final int maxSize;
+    private final int maxBodySize;
+    private final Map<String, Entry> cache;
+
+    /**
+     * HTTP 验证器缓存类构造函数
+     */
+    public HttpValidatorCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_MAX_BODY_SIZE);
+    }
+
+    /**
+     * HTTP 验证器缓存类构造函数
+     *
+     * @param maxSize 最大缓存数量
+     * @param maxBodySize 单个正文最大字节数
+     * @throws IllegalArgumentException 如果最大缓存数量或单个正文最大字节数小于等于 0 则抛出异常
+     */
+    public HttpValidatorCache(int maxSize, int maxBodySize) {
+        if(maxSize <= 0 || maxBodySize <= 0)
+            throw new IllegalArgumentException("最大缓存数量和单个正文最大字节数必须大于 0.");
+        this.maxSize = maxSize;
+        this.maxBodySize = maxBodySize;
+        this.cache = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HttpValidatorCache.Entry> eldest) {
+                return size() > HttpValidatorCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取此 HTTP 验证器缓存指定链接的缓存项
+     *
+     * @param url 链接
+     * @return 缓存项, 不存在则返回 {@code null}
+     */
+    public Entry get(String url) {
+        if(url == null)
+            return null;
+        synchronized (cache) {
+            return cache.get(url);
+        }
+    }
+
+    /**
+     * 将指定链接的响应验证器和正文放入此 HTTP 验证器缓存 (没有任何验证器或正文过大则忽略)
+     *
+     * @param url 链接
+     * @param etag ETag
+     * @param lastModified Last-Modified
+     * @param body 正文
+     */
+    public void put(String url, String etag, String lastModified, byte[] body) {
+        if(url == null || body == null || (etag == null && lastModified == null) || body.length > maxBodySize)
+            return;
+        synchronized (cache) {
+            cache.put(url, new Entry(etag, lastModified, body));
+        }
+    }
+
+    /**
+     * 将指定链接的缓存项从此 HTTP 验证器缓存中移除
+     *
+     * @param url 链接
+     */
+    public void remove(String url) {
+        synchronized (cache) {
+            cache.remove(url);
+        }
+    }
+
+    /**
+     * 清除此 HTTP 验证器缓存的所有缓存项
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取此 HTTP 验证器缓存的数量大小
+     *
+     * @return 数量大小
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 获取此 HTTP 验证器缓存的最大缓存数量
+     *
+     * @return 最大缓存数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取此 HTTP 验证器缓存的单个正文最大字节数
+     *
+     * @return 单个正文最大字节数
+     */
+    public int getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * <h1>Entry</h1>
+     * HTTP 验证器缓存项
+     */
+    public static class Entry {
+
+        private final String etag;
+        private final String lastModified;
+        private final byte[] body;
+
+        /**
+         * HTTP 验证器缓存项构造函数
+         *
+         * @param etag ETag
+         * @param lastModified Last-Modified
+         * @param body 正文
+         */
+        Entry(String etag, String lastModified, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = body;
+        }
+
+        /**
+         * 获取此缓存项的 ETag
+         *
+         * @return ETag, 不存在则返回 {@code null}
+         */
+        public String getETag() {
+            return etag;
+        }
+
+        /**
+         * 获取此缓存项的 Last-Modified
+         *
+         * @return Last-Modified, 不存在则返回 {@code null}
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * 获取此缓存项的正文 (不能修改)
+         *
+         * @return 正文
+         */
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
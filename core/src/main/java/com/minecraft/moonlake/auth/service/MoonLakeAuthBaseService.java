@@ -0,0 +1,658 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.Property;
+import com.minecraft.moonlake.auth.response.MojangBaseResponse;
+import com.minecraft.moonlake.auth.response.MojangStatusResponse;
+import com.minecraft.moonlake.auth.response.ProfileHistoryResponse;
+import com.minecraft.moonlake.auth.response.ProfileSearchResponse;
+import com.minecraft.moonlake.auth.exception.MoonLakeInvalidCredentialsException;
+import com.minecraft.moonlake.auth.exception.MoonLakeRequestException;
+import com.minecraft.moonlake.auth.exception.MoonLakeServiceUnavailableException;
+import com.minecraft.moonlake.auth.exception.MoonLakeUserMigratedException;
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.Proxy;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <h1>MoonLakeAuthBaseService</h1>
+ * 月色之湖认证基础服务类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MoonLakeAuthService
+ */
+public abstract class MoonLakeAuthBaseService implements MoonLakeAuthService {
+
+    private final static Map<Class<?>, TypeAdapter<?>> CODECS = new ConcurrentHashMap<>();
+    private final static Gson GSON;
+
+    static {
+        // 所有线路类型都使用手写的编解码器, Gson 不需要对它们进行反射
+        GSON = new GsonBuilder()
+                .registerTypeAdapterFactory(new TypeAdapterFactory() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+                        return (TypeAdapter<T>) CODECS.get(typeToken.getRawType());
+                    }
+                })
+                .registerTypeAdapter(UUID.class, new UUIDSerializer())
+                .registerTypeAdapter(GameProfile.class, new GameProfile.Serializer())
+                .registerTypeAdapter(Property.class, new Property.Serializer())
+                .registerTypeAdapter(ProfileTexture.class, new ProfileTexture.Serializer())
+                .registerTypeAdapter(MojangBaseResponse.class, new MojangBaseResponse.Serializer())
+                .registerTypeAdapterFactory(new ProfileSearchResponse.Serializer())
+                .registerTypeAdapter(ProfileHistoryResponse.class, new ProfileHistoryResponse.Serializer())
+                .registerTypeAdapter(MojangStatusResponse.class, new MojangStatusResponse.Serializer())
+                .create();
+    }
+
+    private static volatile HttpValidatorCache validatorCache = new HttpValidatorCache();
+    private static volatile HttpTransport transport = loadService(HttpTransport.class, new DefaultHttpTransport());
+    private static volatile EndpointResolver endpointResolver = loadService(EndpointResolver.class, EndpointResolver.DEFAULT);
+
+    private Proxy proxy;
+    private volatile EndpointProfile endpointProfile;
+
+    /**
+     * 月色之湖认证基础服务类构造函数
+     */
+    protected MoonLakeAuthBaseService() {
+        this.proxy = Proxy.NO_PROXY;
+        this.endpointProfile = EndpointProfile.MOJANG;
+    }
+
+    /**
+     * 月色之湖认证基础服务类构造函数
+     *
+     * @param proxy 代理
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     */
+    public MoonLakeAuthBaseService(Proxy proxy) {
+        this(proxy, EndpointProfile.MOJANG);
+    }
+
+    /**
+     * 月色之湖认证基础服务类构造函数
+     *
+     * @param proxy 代理
+     * @param endpointProfile 端点配置
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果端点配置对象为 {@code null} 则抛出异常
+     */
+    public MoonLakeAuthBaseService(Proxy proxy, EndpointProfile endpointProfile) {
+        if(proxy == null)
+            throw new IllegalArgumentException("代理对象不能为 null 值.");
+        if(endpointProfile == null)
+            throw new IllegalArgumentException("端点配置对象不能为 null 值.");
+        this.proxy = proxy;
+        this.endpointProfile = endpointProfile;
+    }
+
+    @Override
+    public Proxy getProxy() {
+        return proxy;
+    }
+
+    /**
+     * 获取此月色之湖认证服务的端点配置
+     *
+     * @return 端点配置
+     */
+    public EndpointProfile getEndpointProfile() {
+        return endpointProfile;
+    }
+
+    /**
+     * 设置此月色之湖认证服务的端点配置
+     *
+     * @param endpointProfile 端点配置
+     * @throws IllegalArgumentException 如果端点配置对象为 {@code null} 则抛出异常
+     */
+    public void setEndpointProfile(EndpointProfile endpointProfile) {
+        validate(endpointProfile, "端点配置对象不能为 null 值.");
+        this.endpointProfile = endpointProfile;
+    }
+
+    /**
+     * 将指定官方链接按此月色之湖认证服务的端点配置解析为请求链接
+     *
+     * @param url 官方链接
+     * @return 请求链接
+     */
+    protected String endpoint(String url) {
+        return endpointProfile.resolve(url);
+    }
+
+    /**
+     * 验证指定 Object 对象是否为 {@code null} 则抛出异常
+     *
+     * @param obj 对象
+     * @param message 异常信息
+     * @throws IllegalArgumentException 如果对象为 {@code null} 则抛出异常
+     */
+    protected static void validate(Object obj, String message) throws IllegalArgumentException {
+        if(obj == null)
+            throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * 验证指定布尔表达式是否为 {@code true} 否则抛出异常
+     *
+     * @param expression 表达式
+     * @param message 异常信息
+     * @throws IllegalArgumentException 如果布尔表达式不为 {@code true} 则抛出异常
+     */
+    protected static void validateTrue(boolean expression, String message) throws IllegalArgumentException {
+        if(!expression)
+            throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * 验证指定代理和链接对象是否为 {@code null} 则抛出异常
+     *
+     * @param proxy 代理对象
+     * @param url 链接对象
+     * @throws IllegalArgumentException 如果代理或链接对象为 {@code null} 则抛出异常
+     */
+    private static void validateProxyAndURL(Proxy proxy, String url) throws IllegalArgumentException {
+        validate(proxy, "代理对象不能为 null 值.");
+        validate(url, "目标 URL 对象不能为 null 值.");
+    }
+
+    /**
+     * 创建以默认代理连接的 HTTP 连接对象
+     *
+     * @param url 目标链接
+     * @return HTTP 连接对象
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果目标链接对象为 {@code null} 则抛出异常
+     */
+    private static HttpURLConnection createURLConnection(String url) throws IOException {
+        return createURLConnection(Proxy.NO_PROXY, url);
+    }
+
+    /**
+     * 创建以指定代理连接的 HTTP 连接对象 (链接先经过端点解析器解析, 再由 HTTP 传输打开连接)
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接
+     * @return HTTP 连接对象
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果目标链接对象为 {@code null} 则抛出异常
+     */
+    private static HttpURLConnection createURLConnection(Proxy proxy, String url) throws IOException {
+        validateProxyAndURL(proxy, url);
+        String resolved = endpointResolver.resolve(url);
+        HttpURLConnection connection = transport.openConnection(proxy, new URL(resolved != null ? resolved : url));
+        connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
+        return connection;
+    }
+
+    /**
+     * 打开指定 HTTP 连接对象的响应输入流 (错误响应则打开错误流), 并按 Content-Encoding 透明解压
+     *
+     * @param connection 连接对象
+     * @return 响应输入流, 没有正文则返回空输入流
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static InputStream openResponseStream(HttpURLConnection connection) throws IOException {
+        InputStream input;
+        try {
+            input = connection.getInputStream();
+        } catch (Exception e) {
+            input = connection.getErrorStream();
+        }
+        if(input == null)
+            return new ByteArrayInputStream(new byte[0]);
+        return decodeContentEncoding(connection.getContentEncoding(), input);
+    }
+
+    /**
+     * 将指定输入流按指定 Content-Encoding 包装为解压输入流
+     *
+     * <p>deflate 编码按规范应为 zlib 格式, 但部分服务器发送不带 zlib 头的原始 deflate 数据, 因此会先检查 zlib 头再决定解压方式.</p>
+     *
+     * @param encoding 正文编码
+     * @param input 输入流
+     * @return 解压输入流, 未压缩则返回原输入流
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static InputStream decodeContentEncoding(String encoding, InputStream input) throws IOException {
+        if(encoding == null)
+            return input;
+        encoding = encoding.trim().toLowerCase();
+        boolean gzip = encoding.equals("gzip") || encoding.equals("x-gzip");
+        if(!gzip && !encoding.equals("deflate"))
+            return input;
+        PushbackInputStream pushback = new PushbackInputStream(input, 2);
+        int b0 = pushback.read();
+        if(b0 == -1)
+            return pushback; // 304 等响应可能声明编码但没有正文
+        int b1 = pushback.read();
+        if(b1 != -1)
+            pushback.unread(b1);
+        pushback.unread(b0);
+        if(gzip)
+            return new GZIPInputStream(pushback, 8192);
+        boolean zlib = b1 != -1 && (b0 & 0x0F) == 8 && ((b0 << 8) | b1) % 31 == 0;
+        return new InflaterInputStream(pushback, new Inflater(!zlib), 8192);
+    }
+
+    /**
+     * 读取指定输入流的全部字节并关闭输入流
+     *
+     * @param input 输入流
+     * @return 全部字节
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static byte[] readFully(InputStream input) throws IOException {
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int length;
+            while((length = input.read(buffer)) != -1)
+                output.write(buffer, 0, length);
+            return output.toByteArray();
+        } finally {
+            try {
+                input.close();
+            } catch (Exception e) {
+            }
+        }
+    }
+
+    /**
+     * 向指定链接发送以指定代理 GET 模式的条件 HTTP 连接请求, 并打开已解压的响应输入流
+     *
+     * <p>如果验证器缓存存在此链接的 ETag 或 Last-Modified 则附带 If-None-Match 或 If-Modified-Since 请求头,
+     * 服务器响应 304 时直接返回本地缓存的正文; 响应 200 时在读取正文的同时收集正文, 读取完毕后连同新的验证器放入验证器缓存.</p>
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接
+     * @param allowError 是否允许返回错误响应的正文
+     * @return 响应输入流 (调用者负责关闭)
+     * @throws IOException 如果 IO 错误或不允许错误响应时服务器响应错误则抛出异常
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果目标链接对象为 {@code null} 则抛出异常
+     */
+    private static InputStream openGetStream(Proxy proxy, String url, boolean allowError) throws IOException {
+        validateProxyAndURL(proxy, url);
+        HttpValidatorCache cache = validatorCache;
+        HttpValidatorCache.Entry cached = cache != null ? cache.get(url) : null;
+        HttpURLConnection connection = createURLConnection(proxy, url);
+        connection.setDoInput(true);
+        if(cached != null) {
+            if(cached.getETag() != null)
+                connection.setRequestProperty("If-None-Match", cached.getETag());
+            if(cached.getLastModified() != null)
+                connection.setRequestProperty("If-Modified-Since", cached.getLastModified());
+        }
+        int code = connection.getResponseCode();
+        if(code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+            readFully(openResponseStream(connection));
+            return new ByteArrayInputStream(cached.getBody());
+        }
+        if(!allowError && code != HttpURLConnection.HTTP_OK) {
+            readFully(openResponseStream(connection));
+            throw new IOException("服务器返回错误的响应码: " + code + " (" + url + ")");
+        }
+        InputStream input = openResponseStream(connection);
+        if(cache == null || code != HttpURLConnection.HTTP_OK)
+            return input;
+        String cacheControl = connection.getHeaderField("Cache-Control");
+        if(cacheControl != null && cacheControl.toLowerCase().contains("no-store")) {
+            cache.remove(url);
+            return input;
+        }
+        String etag = connection.getHeaderField("ETag");
+        String lastModified = connection.getHeaderField("Last-Modified");
+        if(etag == null && lastModified == null)
+            return input;
+        return new ValidatorCachingInputStream(input, cache, url, etag, lastModified);
+    }
+
+    /**
+     * 向指定链接发送以指定代理 POST 模式的 HTTP 连接请求, 并打开已解压的响应输入流
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接
+     * @param postData POST 数据
+     * @param contentType 正文类型
+     * @return 响应输入流 (调用者负责关闭)
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果目标链接对象为 {@code null} 则抛出异常
+     */
+    private static InputStream openPostStream(Proxy proxy, String url, String postData, String contentType) throws IOException {
+        validateProxyAndURL(proxy, url);
+        byte[] bytes = postData.getBytes(Charset.forName("utf-8"));
+        HttpURLConnection connection = createURLConnection(proxy, url);
+        connection.setRequestProperty("Content-Type", contentType + "; charset=utf-8");
+        connection.setRequestProperty("Content-Length", String.valueOf(bytes.length));
+        connection.setDoInput(true);
+        connection.setDoOutput(true);
+
+        OutputStream out = null;
+        try {
+            out = connection.getOutputStream();
+            out.write(bytes);
+        } finally {
+            if(out != null) try {
+                out.close();
+            } catch (Exception e) {
+            }
+        }
+        return openResponseStream(connection);
+    }
+
+    /**
+     * 注册指定线路类型的编解码器到共享的 GSON 对象
+     *
+     * <p>子类应该在自己的静态初始化块中注册私有的请求和响应类型, 保证在第一次请求之前完成注册.</p>
+     *
+     * @param type 线路类型
+     * @param codec 编解码器
+     * @param <T> 线路类型
+     * @throws IllegalArgumentException 如果线路类型对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果编解码器对象为 {@code null} 则抛出异常
+     */
+    protected static <T> void registerCodec(Class<T> type, TypeAdapter<T> codec) {
+        validate(type, "线路类型对象不能为 null 值.");
+        validate(codec, "编解码器对象不能为 null 值.");
+        CODECS.put(type, codec);
+    }
+
+    /**
+     * 获取当前月色之湖认证基础服务的 GSON 对象
+     *
+     * @return Gson
+     */
+    protected static Gson getGson() {
+        return GSON;
+    }
+
+    /**
+     * 获取月色之湖认证基础服务共享的 HTTP 验证器缓存
+     *
+     * @return HTTP 验证器缓存, 禁用则返回 {@code null}
+     */
+    public static HttpValidatorCache getValidatorCache() {
+        return validatorCache;
+    }
+
+    /**
+     * 设置月色之湖认证基础服务共享的 HTTP 验证器缓存
+     *
+     * @param validatorCache HTTP 验证器缓存, {@code null} 则禁用条件请求
+     */
+    public static void setValidatorCache(HttpValidatorCache validatorCache) {
+        MoonLakeAuthBaseService.validatorCache = validatorCache;
+    }
+
+    /**
+     * 获取月色之湖认证基础服务共享的 HTTP 传输
+     *
+     * @return HTTP 传输
+     */
+    public static HttpTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * 设置月色之湖认证基础服务共享的 HTTP 传输
+     *
+     * @param transport HTTP 传输
+     * @throws IllegalArgumentException 如果 HTTP 传输对象为 {@code null} 则抛出异常
+     */
+    public static void setTransport(HttpTransport transport) {
+        validate(transport, "HTTP 传输对象不能为 null 值.");
+        MoonLakeAuthBaseService.transport = transport;
+    }
+
+    /**
+     * 获取月色之湖认证基础服务共享的端点解析器
+     *
+     * @return 端点解析器
+     */
+    public static EndpointResolver getEndpointResolver() {
+        return endpointResolver;
+    }
+
+    /**
+     * 设置月色之湖认证基础服务共享的端点解析器
+     *
+     * @param endpointResolver 端点解析器
+     * @throws IllegalArgumentException 如果端点解析器对象为 {@code null} 则抛出异常
+     */
+    public static void setEndpointResolver(EndpointResolver endpointResolver) {
+        validate(endpointResolver, "端点解析器对象不能为 null 值.");
+        MoonLakeAuthBaseService.endpointResolver = endpointResolver;
+    }
+
+    /**
+     * 通过 {@link ServiceLoader} 加载指定服务接口的第一个实现, 不存在则返回默认实现
+     *
+     * @param service 服务接口
+     * @param def 默认实现
+     * @param <T> 服务接口
+     * @return 服务实现
+     */
+    private static <T> T loadService(Class<T> service, T def) {
+        Iterator<T> iterator = ServiceLoader.load(service, MoonLakeAuthBaseService.class.getClassLoader()).iterator();
+        return iterator.hasNext() ? iterator.next() : def;
+    }
+
+    /**
+     * 获取指定字符串是否为空白内容
+     *
+     * @param str 字符串
+     * @return 是否为空白内容
+     */
+    protected static boolean isBlank(String str) {
+        return str == null || str.equals("");
+    }
+
+    /**
+     * 向指定链接以指定代理发送 HTTP 请求
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接
+     * @param request 请求数据
+     * @throws MoonLakeRequestException 如果请求错误则抛出异常
+     */
+    protected static void makeRequest(Proxy proxy, String url, Object request) throws MoonLakeRequestException {
+        makeRequest(proxy, url, request, MojangBaseResponse.class);
+    }
+
+    /**
+     * 向指定链接以指定代理发送 HTTP 请求
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接
+     * @param request 请求数据
+     * @param responseClass 响应类
+     * @param <T> 响应类
+     * @return 响应结果
+     * @throws MoonLakeRequestException 如果请求错误则抛出异常
+     */
+    protected static <T extends MojangBaseResponse> T makeRequest(Proxy proxy, String url, Object request, Class<T> responseClass) throws MoonLakeRequestException {
+        MojangBaseResponse response = null;
+        InputStream input = null;
+        try {
+            input = request == null ? openGetStream(proxy, url, true) : openPostStream(proxy, url, GSON.toJson(request), "application/json");
+            response = GSON.fromJson(new InputStreamReader(input, Charset.forName("utf-8")), responseClass);
+        } catch (Exception e) {
+            throw new MoonLakeServiceUnavailableException("无法创建服务请求: " + url, e);
+        } finally {
+            if(input != null) try {
+                input.close();
+            } catch (Exception e) {
+            }
+        }
+        if(response != null && !isBlank(response.getError())) {
+            if(!response.getError().equals("ForbiddenOperationException"))
+                throw new MoonLakeRequestException(response.getErrorMessage());
+            if(response.getCause() != null && response.getCause().equals("UserMigratedException"))
+                throw new MoonLakeUserMigratedException(response.getErrorMessage());
+            else
+                throw new MoonLakeInvalidCredentialsException(response.getErrorMessage());
+        }
+        return (T) response;
+    }
+
+    /**
+     * 向指定链接以指定代理发送 GET 模式的二进制 HTTP 请求 (支持 ETag 和 Last-Modified 条件请求)
+     *
+     * @param proxy 代理对象
+     * @param url 目标链接
+     * @return 响应正文
+     * @throws MoonLakeRequestException 如果请求错误则抛出异常
+     */
+    protected static byte[] makeBinaryRequest(Proxy proxy, String url) throws MoonLakeRequestException {
+        try {
+            return readFully(openGetStream(proxy, url, false));
+        } catch (Exception e) {
+            throw new MoonLakeServiceUnavailableException("无法创建服务请求: " + url, e);
+        }
+    }
+
+    /**
+     * 开始运行指定 Runnable 对象
+     *
+     * @param runnable Runnable
+     * @param async 异步
+     */
+    protected void start(final Runnable runnable, final boolean async) {
+
+    }
+
+    /**
+     * <h1>ValidatorCachingInputStream</h1>
+     * 验证器缓存输入流 (在读取正文的同时收集正文, 完整读取到末尾后放入验证器缓存, 正文过大则放弃收集)
+     */
+    private static class ValidatorCachingInputStream extends FilterInputStream {
+
+        private final HttpValidatorCache cache;
+        private final String url;
+        private final String etag;
+        private final String lastModified;
+        private ByteArrayOutputStream body;
+        private boolean eof;
+
+        /**
+         * 验证器缓存输入流构造函数
+         *
+         * @param input 输入流
+         * @param cache HTTP 验证器缓存
+         * @param url 链接
+         * @param etag ETag
+         * @param lastModified Last-Modified
+         */
+        ValidatorCachingInputStream(InputStream input, HttpValidatorCache cache, String url, String etag, String lastModified) {
+            super(input);
+            this.cache = cache;
+            this.url = url;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.body = new ByteArrayOutputStream();
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if(b == -1)
+                eof = true;
+            else if(body != null) {
+                body.write(b);
+                checkBodySize();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int length = super.read(b, off, len);
+            if(length == -1)
+                eof = true;
+            else if(body != null) {
+                body.write(b, off, length);
+                checkBodySize();
+            }
+            return length;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            body = null;
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if(body != null && !eof) {
+                    byte[] buffer = new byte[8192];
+                    while(body != null && read(buffer, 0, buffer.length) != -1) {
+                    }
+                }
+                if(body != null && eof)
+                    cache.put(url, etag, lastModified, body.toByteArray());
+                body = null;
+            } finally {
+                super.close();
+            }
+        }
+
+        /**
+         * 检查已收集的正文是否超过验证器缓存的单个正文最大字节数, 超过则放弃收集
+         */
+        private void checkBodySize() {
+            if(body.size() > cache.getMaxBodySize())
+                body = null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>RequestRateLimiter</h1>
+ * 请求速率限制器类 (令牌桶, 空闲时最多积累指定突发数量的许可, 之后按固定间隔发放许可)
+ *
+ * <p>Mojang API 对每个 IP 的请求数量有限制 (10 分钟 600 次), 超过限制时服务器会响应 429.
+ * 在客户端提前限速可以避免批量查询时大量请求失败后重试.</p>
+ *
+ * <p>发放间隔为 {@code period / (permits - burst + 1)}, 因此突发许可加上之后按间隔发放的许可,
+ * 在任意长度为时间段的窗口内都不会超过指定的许可数量.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MoonLakeAuthBaseService
+ */
+public class RequestRateLimiter {
+
+    private final int permits;
+    private final int burst;
+    private final long intervalNanos;
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    /**
+     * 请求速率限制器类构造函数 (突发数量为许可数量的 1/10)
+     *
+     * @param permits 指定时间段内的许可数量
+     * @param period 时间段
+     * @param unit 时间单位
+     * @throws IllegalArgumentException 如果许可数量或时间段小于等于 0 则抛出异常
+     * @throws IllegalArgumentException 如果时间单位对象为 {@code null} 则抛出异常
+     */
+    public RequestRateLimiter(int permits, long period, TimeUnit unit) {
+        this(permits, Math.max(1, permits / 10), period, unit);
+    }
+
+    /**
+     * 请求速率限制器类构造函数
+     *
+     * @param permits 指定时间段内的许可数量
+     * @param burst 空闲后可以立即获取的许可数量 (1 到许可数量之间)
+     * @param period 时间段
+     * @param unit 时间单位
+     * @throws IllegalArgumentException 如果许可数量或时间段小于等于 0 则抛出异常
+     * @throws IllegalArgumentException 如果突发数量小于 1 或大于许可数量则抛出异常
+     * @throws IllegalArgumentException 如果时间单位对象为 {@code null} 则抛出异常
+     */
+    public RequestRateLimiter(int permits, int burst, long period, TimeUnit unit) {
+        if(permits <= 0 || period <= 0L)
+            throw new IllegalArgumentException("许可数量和时间段必须大于 0.");
+        if(burst < 1 || burst > permits)
+            throw new IllegalArgumentException("突发数量必须在 1 到许可数量之间.");
+        if(unit == null)
+            throw new IllegalArgumentException("时间单位对象不能为 null 值.");
+        long refills = permits - burst + 1L;
+        this.permits = permits;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1L, (unit.toNanos(period) + refills - 1L) / refills); // 向上取整, 宁可稍慢也不超过限制
+        this.storedPermits = burst - 1;
+        this.nextFreeNanos = nanoTime();
+    }
+
+    /**
+     * 从此请求速率限制器获取一个许可, 没有可用许可时阻塞等待
+     *
+     * @throws InterruptedException 如果等待时线程被中断则抛出异常
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve(false);
+        if(wait > 0L)
+            TimeUnit.NANOSECONDS.sleep(wait);
+    }
+
+    /**
+     * 尝试从此请求速率限制器立即获取一个许可
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        return reserve(true) == 0L;
+    }
+
+    /**
+     * 获取此请求速率限制器时间段内的许可数量
+     *
+     * @return 许可数量
+     */
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * 获取此请求速率限制器空闲后可以立即获取的许可数量
+     *
+     * @return 突发数量
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * 获取此请求速率限制器发放每个许可的间隔 (纳秒)
+     *
+     * @return 许可间隔
+     */
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * 获取此请求速率限制器的当前时间 (纳秒)
+     *
+     * @return 当前时间
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 预约一个许可并返回需要等待的时间
+     *
+     * @param immediate 是否只在不需要等待时预约
+     * @return 等待时间 (纳秒), 只在不需要等待时预约且需要等待则返回 -1
+     */
+    private synchronized long reserve(boolean immediate) {
+        long now = nanoTime();
+        refill(now);
+        long wait = Math.max(0L, nextFreeNanos - now);
+        if(immediate && wait > 0L)
+            return -1L;
+        double fromStored = Math.min(1d, storedPermits);
+        storedPermits -= fromStored;
+        nextFreeNanos += (long) ((1d - fromStored) * intervalNanos);
+        return wait;
+    }
+
+    /**
+     * 按照指定当前时间积累空闲期间的许可 (最多积累突发数量减 1 个, 另一个为下一个空闲时间的许可)
+     *
+     * @param now 当前时间 (纳秒)
+     */
+    private void refill(long now) {
+        if(now - nextFreeNanos > 0L) {
+            storedPermits = Math.min(burst - 1, storedPermits + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service;
+
+import com.minecraft.moonlake.auth.data.Property;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.PublicKey;
+import java.util.*;
+
+/**
+ * <h1>SignatureKeyRegistry</h1>
+ * 签名公钥注册表类 (保存多个受信任的材质签名公钥, 公钥在第一次验证时才加载)
+ *
+ * <p>验证属性签名时可以指定公钥 Id, 也可以按注册顺序依次尝试所有公钥. 验证通过的结果会按属性值和签名缓存,
+ * 之后同一属性直接命中缓存而不再进行 RSA 验证. 注册或移除公钥立即生效, 不需要重启; 被移除或替换的公钥的缓存结果会自动失效.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see EndpointProfile
+ */
+public class SignatureKeyRegistry {
+
+    /**
+     * 内置 Mojang yggdrasil 公钥的 Id
+     */
+    public final static String MOJANG_KEY_ID = "mojang";
+
+    /**
+     * 内置 Mojang yggdrasil 公钥的资源路径
+     */
+    public final static String MOJANG_KEY_RESOURCE = "/yggdrasil_session_pubkey.der";
+
+    /**
+     * 默认的验证结果缓存数量
+     */
+    public final static int DEFAULT_CACHE_SIZE = 1024;
+
+    private final Map<String, VerifiedEntry> cache;
+    private volatile Map<String, KeyEntry> keys;
+
+    /**
+     * 签名公钥注册表类构造函数 (不包含任何公钥)
+     */
+    public SignatureKeyRegistry() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * 签名公钥注册表类构造函数 (不包含任何公钥)
+     *
+     * @param cacheSize 验证结果缓存数量
+     * @throws IllegalArgumentException 如果验证结果缓存数量小于 0 则抛出异常
+     */
+    public SignatureKeyRegistry(final int cacheSize) {
+        if(cacheSize < 0)
+            throw new IllegalArgumentException("验证结果缓存数量不能小于 0.");
+        this.keys = Collections.emptyMap();
+        this.cache = new LinkedHashMap<String, VerifiedEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedEntry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 获取默认的签名公钥注册表 (只包含内置的 Mojang yggdrasil 公钥, 第一次调用时创建)
+     *
+     * @return 默认的签名公钥注册表
+     */
+    public static SignatureKeyRegistry getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * 向此签名公钥注册表注册指定 Id 的公钥 (已存在则替换)
+     *
+     * @param id 公钥 Id
+     * @param key 公钥
+     * @return 此签名公钥注册表
+     * @throws IllegalArgumentException 如果公钥 Id 或公钥对象为 {@code null} 则抛出异常
+     */
+    public SignatureKeyRegistry register(String id, PublicKey key) {
+        if(key == null)
+            throw new IllegalArgumentException("公钥对象不能为 null 值.");
+        return register(id, new KeyEntry(key, null));
+    }
+
+    /**
+     * 向此签名公钥注册表注册指定 Id 的类路径资源公钥 (DER 格式, 第一次验证时才加载, 已存在则替换)
+     *
+     * @param id 公钥 Id
+     * @param resource 类路径资源路径
+     * @return 此签名公钥注册表
+     * @throws IllegalArgumentException 如果公钥 Id 或资源路径对象为 {@code null} 则抛出异常
+     */
+    public SignatureKeyRegistry registerResource(String id, String resource) {
+        if(resource == null)
+            throw new IllegalArgumentException("资源路径对象不能为 null 值.");
+        return register(id, new KeyEntry(null, resource));
+    }
+
+    /**
+     * 向此签名公钥注册表注册指定 Id 的公钥项
+     *
+     * @param id 公钥 Id
+     * @param entry 公钥项
+     * @return 此签名公钥注册表
+     */
+    private synchronized SignatureKeyRegistry register(String id, KeyEntry entry) {
+        if(id == null)
+            throw new IllegalArgumentException("公钥 Id 对象不能为 null 值.");
+        Map<String, KeyEntry> copy = new LinkedHashMap<>(keys);
+        copy.put(id, entry);
+        keys = Collections.unmodifiableMap(copy);
+        return this;
+    }
+
+    /**
+     * 从此签名公钥注册表移除指定 Id 的公钥
+     *
+     * @param id 公钥 Id
+     * @return 是否移除成功
+     */
+    public synchronized boolean unregister(String id) {
+        if(id == null || !keys.containsKey(id))
+            return false;
+        Map<String, KeyEntry> copy = new LinkedHashMap<>(keys);
+        copy.remove(id);
+        keys = Collections.unmodifiableMap(copy);
+        return true;
+    }
+
+    /**
+     * 获取此签名公钥注册表的所有公钥 Id (按注册顺序)
+     *
+     * @return 公钥 Id 集合
+     */
+    public Set<String> getKeyIds() {
+        return keys.keySet();
+    }
+
+    /**
+     * 获取此签名公钥注册表指定 Id 的公钥 (资源公钥在此时加载)
+     *
+     * @param id 公钥 Id
+     * @return 公钥, 不存在或加载失败则返回 {@code null}
+     */
+    public PublicKey getKey(String id) {
+        KeyEntry entry = id != null ? keys.get(id) : null;
+        return entry != null ? entry.get() : null;
+    }
+
+    /**
+     * 获取此签名公钥注册表的公钥加载错误 (资源公钥在此时加载)
+     *
+     * <p>只要有任意一个公钥可用就返回 {@code null}, 否则返回第一个加载失败的资源公钥的错误,
+     * 用于在签名验证失败时区分签名无效和没有任何可用的公钥.</p>
+     *
+     * @return 公钥加载错误, 存在可用的公钥或没有加载失败的公钥则返回 {@code null}
+     */
+    public Exception getLoadFailure() {
+        Exception failure = null;
+        for(KeyEntry entry : keys.values()) {
+            if(entry.get() != null)
+                return null;
+            if(failure == null)
+                failure = entry.failure;
+        }
+        return failure;
+    }
+
+    /**
+     * 使用此签名公钥注册表的所有公钥按注册顺序验证指定属性的签名
+     *
+     * @param property 属性
+     * @return 是否验证通过
+     * @throws IllegalArgumentException 如果属性对象为 {@code null} 则抛出异常
+     */
+    public boolean verify(Property property) {
+        return verify(property, null);
+    }
+
+    /**
+     * 使用此签名公钥注册表指定 Id 的公钥验证指定属性的签名
+     *
+     * @param property 属性
+     * @param id 公钥 Id, {@code null} 则按注册顺序尝试所有公钥
+     * @return 是否验证通过
+     * @throws IllegalArgumentException 如果属性对象为 {@code null} 则抛出异常
+     */
+    public boolean verify(Property property, String id) {
+        if(property == null)
+            throw new IllegalArgumentException("属性对象不能为 null 值.");
+        if(!property.hasSignature() || property.getValue() == null)
+            return false;
+        Map<String, KeyEntry> current = keys;
+        VerifiedEntry verified;
+        synchronized (cache) {
+            verified = cache.get(property.getSignature());
+        }
+        if(verified != null && verified.value.equals(property.getValue()) && (id == null || id.equals(verified.id)) && current.get(verified.id) == verified.entry)
+            return true;
+        if(id != null) {
+            KeyEntry entry = current.get(id);
+            return entry != null && verify(property, id, entry);
+        }
+        for(Map.Entry<String, KeyEntry> entry : current.entrySet())
+            if(verify(property, entry.getKey(), entry.getValue()))
+                return true;
+        return false;
+    }
+
+    /**
+     * 清除此签名公钥注册表的验证结果缓存
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 使用指定公钥项验证指定属性的签名, 验证通过则放入验证结果缓存
+     *
+     * @param property 属性
+     * @param id 公钥 Id
+     * @param entry 公钥项
+     * @return 是否验证通过
+     */
+    private boolean verify(Property property, String id, KeyEntry entry) {
+        PublicKey key = entry.get();
+        if(key == null)
+            return false;
+        try {
+            if(!property.validateSignature(key))
+                return false;
+        } catch (MoonLakeProfileException e) {
+            return false;
+        }
+        synchronized (cache) {
+            cache.put(property.getSignature(), new VerifiedEntry(property.getValue(), id, entry));
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "SignatureKeyRegistry{" +
+                "keys=" + keys.keySet() +
+                '}';
+    }
+
+    /**
+     * 默认签名公钥注册表持有类 (只有在第一次使用时才会创建)
+     */
+    private static class DefaultHolder {
+        private final static SignatureKeyRegistry DEFAULT = new SignatureKeyRegistry().registerResource(MOJANG_KEY_ID, MOJANG_KEY_RESOURCE);
+    }
+
+    /**
+     * 公钥项类 (资源公钥在第一次使用时加载, 加载失败则记录错误不再重试)
+     */
+    private static class KeyEntry {
+
+        private final String resource;
+        private volatile PublicKey key;
+        private volatile Exception failure;
+
+        /**
+         * 公钥项类构造函数
+         *
+         * @param key 公钥
+         * @param resource 类路径资源路径
+         */
+        KeyEntry(PublicKey key, String resource) {
+            this.key = key;
+            this.resource = resource;
+        }
+
+        /**
+         * 获取此公钥项的公钥, 需要时从类路径资源加载
+         *
+         * @return 公钥, 加载失败则返回 {@code null}
+         */
+        PublicKey get() {
+            PublicKey result = key;
+            if(result != null || failure != null)
+                return result;
+            synchronized (this) {
+                if(key == null && failure == null) {
+                    InputStream input = null;
+                    try {
+                        input = SignatureKeyRegistry.class.getResourceAsStream(resource);
+                        if(input == null)
+                            throw new IOException("公钥资源不存在: " + resource);
+                        ByteArrayOutputStream output = new ByteArrayOutputStream();
+                        byte[] buff = new byte[4096];
+                        int length;
+                        while((length = input.read(buff)) != -1)
+                            output.write(buff, 0, length);
+                        key = EndpointProfile.decodePublicKey(output.toByteArray());
+                    } catch (Exception e) {
+                        failure = e;
+                    } finally {
+                        if(input != null) try {
+                            input.close();
+                        } catch (Exception e) {
+                        }
+                    }
+                }
+                return key;
+            }
+        }
+    }
+
+    /**
+     * 验证结果缓存项类
+     */
+    private static class VerifiedEntry {
+
+        private final String value;
+        private final String id;
+        private final KeyEntry entry;
+
+        /**
+         * 验证结果缓存项类构造函数
+         *
+         * @param value 属性值
+         * @param id 公钥 Id
+         * @param entry 公钥项
+         */
+        VerifiedEntry(String value, String id, KeyEntry entry) {
+            this.value = value;
+            this.id = id;
+            this.entry = entry;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.mc;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.minecraft.moonlake.auth.data.*;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileNotFoundException;
+import com.minecraft.moonlake.auth.exception.MoonLakeRequestException;
+import com.minecraft.moonlake.auth.response.MojangBaseResponse;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.MoonLakeAuthBaseService;
+import com.minecraft.moonlake.auth.service.SignatureKeyRegistry;
+import com.minecraft.moonlake.auth.util.JsonCodecs;
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
+
+import java.io.IOException;
+import java.net.Proxy;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * <h1>MinecraftAuthService</h1>
+ * Minecraft 认证服务类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see MoonLakeAuthBaseService
+ */
+public class MinecraftAuthService extends MoonLakeAuthBaseService {
+
+    private final static String URL_JOIN = "https://sessionserver.mojang.com/session/minecraft/join";
+    private final static String URL_HAS_JOINED = "https://sessionserver.mojang.com/session/minecraft/hasJoined";
+    private final static String URL_PROFILE = "https://sessionserver.mojang.com/session/minecraft/profile";
+    private final static Property.Serializer PROPERTY = new Property.Serializer();
+    private final static ProfileTexture.Serializer PROFILE_TEXTURE = new ProfileTexture.Serializer();
+
+    static {
+        registerCodec(JoinServerRequest.class, new JoinServerRequest.Codec());
+        registerCodec(HasJoinedResponse.class, new HasJoinedResponse.Codec());
+        registerCodec(MinecraftProfileResponse.class, new MinecraftProfileResponse.Codec());
+        registerCodec(MinecraftTexturesPayload.class, new MinecraftTexturesPayload.Codec());
+    }
+
+    /**
+     * Minecraft 认证服务类构造函数
+     */
+    public MinecraftAuthService() {
+        super();
+    }
+
+    /**
+     * Minecraft 认证服务类构造函数
+     *
+     * @param proxy 代理对象
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     */
+    public MinecraftAuthService(Proxy proxy) {
+        super(proxy);
+    }
+
+    /**
+     * Minecraft 认证服务类构造函数
+     *
+     * @param proxy 代理对象
+     * @param endpointProfile 端点配置 (材质签名使用端点配置的签名公钥注册表验证)
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果端点配置对象为 {@code null} 则抛出异常
+     */
+    public MinecraftAuthService(Proxy proxy, EndpointProfile endpointProfile) {
+        super(proxy, endpointProfile);
+    }
+
+    /**
+     * 向指定 Minecraft 服务器发送加入服务器请求
+     *
+     * @param profile 游戏档案
+     * @param accessToken 访问令牌
+     * @param serverId 服务器 Id
+     * @throws MoonLakeRequestException 如果请求错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果访问令牌对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果服务器 Id 对象为 {@code null} 则抛出异常
+     */
+    public void joinServerRequest(GameProfile profile, String accessToken, String serverId) throws MoonLakeRequestException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        validate(accessToken, "访问令牌对象不能为 null 值.");
+        validate(serverId, "目标服务器 Id 对象不能为 null 值.");
+        JoinServerRequest request = new JoinServerRequest(accessToken, profile.getId(), serverId);
+        makeRequest(getProxy(), endpoint(URL_JOIN), request);
+    }
+
+    /**
+     * 从指定 Minecraft 服务器获取指定用户名的游戏档案数据
+     *
+     * @param name 用户名
+     * @param serverId 服务器 Id
+     * @return 用户的游戏档案
+     * @throws MoonLakeRequestException 如果请求错误则抛出异常
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果服务器 Id 对象为 {@code null} 则抛出异常
+     */
+    public GameProfile getProfileByServer(String name, String serverId) throws MoonLakeRequestException {
+        validate(name, "用户名对象不能为 null 值.");
+        validate(serverId, "目标服务器 Id 对象不能为 null 值.");
+        HasJoinedResponse response = makeRequest(getProxy(), String.format("%1$s?username=%2$s&serverId=%3$s", endpoint(URL_HAS_JOINED), name, serverId), null, HasJoinedResponse.class);
+        if(response != null && response.id != null) {
+            GameProfile result = new GameProfile(response.id, name);
+            if(response.properties != null)
+                result.getProperties().addAll(response.properties);
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * 从 HTTP 请求填充指定游戏档案的属性数据
+     *
+     * @param profile 游戏档案
+     * @return 游戏档案
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     * @throws MoonLakeProfileNotFoundException 如果档案不存在则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public GameProfile fillProfileProperties(GameProfile profile) throws MoonLakeProfileException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        if(profile.getId() == null)
+            return profile;
+        try {
+            String finalURL = String.format("%1$s/%2$s?unsigned=false", endpoint(URL_PROFILE), UUIDSerializer.fromUUID(profile.getId()));
+            MinecraftProfileResponse response = makeRequest(getProxy(), finalURL, null, MinecraftProfileResponse.class);
+            if(response == null)
+                throw new MoonLakeProfileNotFoundException("无法获取到游戏档案的属性数据, 不存在此游戏档案.");
+            if(response.properties != null)
+                profile.getProperties().addAll(response.properties);
+            return profile;
+        } catch (MoonLakeRequestException e) {
+            e.printStackTrace();
+            throw new MoonLakeProfileException("无法获取到游戏档案的属性数据.", e);
+        }
+    }
+
+    /**
+     * 从档案的属性数据填充指定游戏档案的材质数据
+     *
+     * @param profile 游戏档案
+     * @return 游戏档案
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public GameProfile fillProfileTextures(GameProfile profile) throws MoonLakeProfileException {
+        return fillProfileTextures(profile, true);
+    }
+
+    /**
+     * 从档案的属性数据填充指定游戏档案的材质数据
+     *
+     * @param profile 游戏档案
+     * @param requireSecure 是否验证签名
+     * @return 游戏档案
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public GameProfile fillProfileTextures(GameProfile profile, boolean requireSecure) throws MoonLakeProfileException {
+        Map<TextureType, ProfileTexture> textures = getProfileTextures(profile, requireSecure);
+        profile.getTextures().putAll(textures);
+        return profile;
+    }
+
+    /**
+     * 获取指定游戏档案的材质属性 Map 集
+     *
+     * @param profile 游戏档案
+     * @return 材质属性 Map 集
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public Map<TextureType, ProfileTexture> getProfileTextures(GameProfile profile) throws MoonLakeProfileException {
+        return getProfileTextures(profile, true);
+    }
+
+    /**
+     * 获取指定游戏档案的材质属性 Map 集
+     *
+     * @param profile 游戏档案
+     * @param requireSecure 是否验证签名
+     * @return 材质属性 Map 集
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public Map<TextureType, ProfileTexture> getProfileTextures(GameProfile profile, boolean requireSecure) throws MoonLakeProfileException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        return getProfileTextures(profile.getProperty("textures"), requireSecure);
+    }
+
+    /**
+     * 获取指定紧凑游戏档案的材质属性 Map 集
+     *
+     * @param profile 紧凑游戏档案
+     * @param requireSecure 是否验证签名
+     * @return 材质属性 Map 集
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     * @throws IllegalArgumentException 如果紧凑游戏档案对象为 {@code null} 则抛出异常
+     */
+    public Map<TextureType, ProfileTexture> getProfileTextures(CompactGameProfile profile, boolean requireSecure) throws MoonLakeProfileException {
+        validate(profile, "紧凑游戏档案对象不能为 null 值.");
+        return getProfileTextures(profile.getTexturesProperty(), requireSecure);
+    }
+
+    /**
+     * 获取指定材质属性的材质属性 Map 集
+     *
+     * @param property 材质属性
+     * @param requireSecure 是否验证签名
+     * @return 材质属性 Map 集
+     * @throws MoonLakeProfileException 如果档案错误则抛出异常
+     */
+    private Map<TextureType, ProfileTexture> getProfileTextures(Property property, boolean requireSecure) throws MoonLakeProfileException {
+        if(property == null)
+            return new HashMap<>();
+        if(requireSecure) {
+            if(!property.hasSignature())
+                throw new MoonLakeProfileException("游戏档案的属性材质数据不存在签名.");
+            SignatureKeyRegistry keyRegistry = getEndpointProfile().getKeyRegistry();
+            if(!keyRegistry.verify(property)) {
+                Exception failure = keyRegistry.getLoadFailure();
+                if(failure != null)
+                    throw new MoonLakeProfileException("无法加载任何用于验证游戏档案的属性材质数据签名的公钥.", failure);
+                throw new MoonLakeProfileException("无法验证游戏档案的属性材质数据的签名值.");
+            }
+        }
+        MinecraftTexturesPayload result = null;
+        try {
+            String data = new String(Base64.getDecoder().decode(property.getValue().getBytes(Charset.forName("utf-8"))));
+            result = getGson().fromJson(data, MinecraftTexturesPayload.class);
+        } catch (Exception e) {
+            throw new MoonLakeProfileException("无法将游戏档案的属性材质数据值进行解密.", e);
+        }
+        Map<TextureType, ProfileTexture> textures = result.textures;
+        if(textures == null)
+            textures = new HashMap<>();
+        return textures;
+    }
+
+    @Override
+    protected final void start(final Runnable runnable, final boolean async) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * 加入服务器请求实体类
+     */
+    private static class JoinServerRequest {
+        private String accessToken;
+        private UUID selectedProfile;
+        private String serverId;
+
+        protected JoinServerRequest(String accessToken, UUID selectedProfile, String serverId) {
+            this.accessToken = accessToken;
+            this.selectedProfile = selectedProfile;
+            this.serverId = serverId;
+        }
+
+        /**
+         * 加入服务器请求编解码类
+         */
+        private final static class Codec extends TypeAdapter<JoinServerRequest> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, JoinServerRequest request) throws IOException {
+                if(request == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                jsonWriter.name("accessToken").value(request.accessToken);
+                jsonWriter.name("selectedProfile").value(request.selectedProfile != null ? UUIDSerializer.fromUUID(request.selectedProfile) : null);
+                jsonWriter.name("serverId").value(request.serverId);
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public JoinServerRequest read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                JoinServerRequest request = new JoinServerRequest(null, null, null);
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("accessToken")) {
+                        request.accessToken = jsonReader.nextString();
+                    } else if(name.equals("selectedProfile")) {
+                        request.selectedProfile = UUIDSerializer.fromString(jsonReader.nextString());
+                    } else if(name.equals("serverId")) {
+                        request.serverId = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return request;
+            }
+        }
+    }
+
+    /**
+     * 是否已加入响应实体类
+     */
+    private static class HasJoinedResponse extends MojangBaseResponse {
+        public UUID id;
+        public List<Property> properties;
+
+        /**
+         * 是否已加入响应编解码类
+         */
+        private final static class Codec extends MojangBaseResponse.Codec<HasJoinedResponse> {
+
+            @Override
+            protected HasJoinedResponse create() {
+                return new HasJoinedResponse();
+            }
+
+            @Override
+            protected boolean readField(JsonReader jsonReader, HasJoinedResponse response, String name) throws IOException {
+                switch (name) {
+                    case "id":
+                        response.id = UUIDSerializer.fromString(jsonReader.nextString());
+                        return true;
+                    case "properties":
+                        response.properties = JsonCodecs.readList(jsonReader, PROPERTY);
+                        return true;
+                    default:
+                        return false;
+                }
+            }
+
+            @Override
+            protected void writeFields(JsonWriter jsonWriter, HasJoinedResponse response) throws IOException {
+                jsonWriter.name("id").value(response.id != null ? UUIDSerializer.fromUUID(response.id) : null);
+                jsonWriter.name("properties");
+                JsonCodecs.writeList(jsonWriter, response.properties, PROPERTY);
+            }
+        }
+    }
+
+    /**
+     * Minecraft 游戏档案响应类
+     */
+    private static class MinecraftProfileResponse extends MojangBaseResponse {
+        public UUID id;
+        public String name;
+        public List<Property> properties;
+
+        /**
+         * Minecraft 游戏档案响应编解码类
+         */
+        private final static class Codec extends MojangBaseResponse.Codec<MinecraftProfileResponse> {
+
+            @Override
+            protected MinecraftProfileResponse create() {
+                return new MinecraftProfileResponse();
+            }
+
+            @Override
+            protected boolean readField(JsonReader jsonReader, MinecraftProfileResponse response, String name) throws IOException {
+                switch (name) {
+                    case "id":
+                        response.id = UUIDSerializer.fromString(jsonReader.nextString());
+                        return true;
+                    case "name":
+                        response.name = jsonReader.nextString();
+                        return true;
+                    case "properties":
+                        response.properties = JsonCodecs.readList(jsonReader, PROPERTY);
+                        return true;
+                    default:
+                        return false;
+                }
+            }
+
+            @Override
+            protected void writeFields(JsonWriter jsonWriter, MinecraftProfileResponse response) throws IOException {
+                jsonWriter.name("id").value(response.id != null ? UUIDSerializer.fromUUID(response.id) : null);
+                jsonWriter.name("name").value(response.name);
+                jsonWriter.name("properties");
+                JsonCodecs.writeList(jsonWriter, response.properties, PROPERTY);
+            }
+        }
+    }
+
+    /**
+     * Minecraft 材质酬载实体类
+     */
+    private static class MinecraftTexturesPayload {
+        public long timestamp;
+        public UUID profileId;
+        public String profileName;
+        public boolean isPublic;
+        public Map<TextureType, ProfileTexture> textures;
+
+        /**
+         * Minecraft 材质酬载编解码类 (未知的材质类型将被忽略)
+         */
+        private final static class Codec extends TypeAdapter<MinecraftTexturesPayload> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, MinecraftTexturesPayload payload) throws IOException {
+                if(payload == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                jsonWriter.name("timestamp").value(payload.timestamp);
+                jsonWriter.name("profileId").value(payload.profileId != null ? UUIDSerializer.fromUUID(payload.profileId) : null);
+                jsonWriter.name("profileName").value(payload.profileName);
+                jsonWriter.name("isPublic").value(payload.isPublic);
+                if(payload.textures != null) {
+                    jsonWriter.name("textures").beginObject();
+                    for(Map.Entry<TextureType, ProfileTexture> entry : payload.textures.entrySet()) {
+                        jsonWriter.name(entry.getKey().name());
+                        PROFILE_TEXTURE.write(jsonWriter, entry.getValue());
+                    }
+                    jsonWriter.endObject();
+                }
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public MinecraftTexturesPayload read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                MinecraftTexturesPayload payload = new MinecraftTexturesPayload();
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("timestamp")) {
+                        payload.timestamp = jsonReader.nextLong();
+                    } else if(name.equals("profileId")) {
+                        payload.profileId = UUIDSerializer.fromString(jsonReader.nextString());
+                    } else if(name.equals("profileName")) {
+                        payload.profileName = jsonReader.nextString();
+                    } else if(name.equals("isPublic")) {
+                        payload.isPublic = jsonReader.nextBoolean();
+                    } else if(name.equals("textures")) {
+                        payload.textures = readTextures(jsonReader);
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return payload;
+            }
+
+            /**
+             * 从指定 JSON 读取器读取材质 Map 对象
+             *
+             * @param jsonReader JSON 读取器
+             * @return 材质 Map 对象
+             * @throws IOException 如果 IO 错误则抛出异常
+             */
+            private static Map<TextureType, ProfileTexture> readTextures(JsonReader jsonReader) throws IOException {
+                Map<TextureType, ProfileTexture> textures = new EnumMap<>(TextureType.class);
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    TextureType type = fromName(jsonReader.nextName());
+                    if(type == null) {
+                        jsonReader.skipValue();
+                        continue;
+                    }
+                    ProfileTexture texture = PROFILE_TEXTURE.read(jsonReader);
+                    if(texture != null)
+                        textures.put(type, texture);
+                }
+                jsonReader.endObject();
+                return textures;
+            }
+
+            /**
+             * 从指定名称获取材质类型
+             *
+             * @param name 名称
+             * @return 材质类型, 未知则返回 {@code null}
+             */
+            private static TextureType fromName(String name) {
+                for(TextureType type : TextureType.values())
+                    if(type.name().equals(name))
+                        return type;
+                return null;
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ package com.minecraft.moonlake.auth.service.mojang;
 import com.minecraft.moonlake.auth.data.StatusServiceCallback;
 import com.minecraft.moonlake.auth.data.StatusServiceList;
 import com.minecraft.moonlake.auth.response.MojangStatusResponse;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
 import com.minecraft.moonlake.auth.service.MoonLakeAuthBaseService;
 
 import java.net.Proxy;
@@ -55,6 +56,18 @@ public class MojangStatusService extends MoonLakeAuthBaseService {
         super(proxy);
     }
 
+    /**
+     * Mojang 状态服务类构造函数
+     *
+     * @param proxy 代理对象
+     * @param endpointProfile 端点配置
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果端点配置对象为 {@code null} 则抛出异常
+     */
+    public MojangStatusService(Proxy proxy, EndpointProfile endpointProfile) {
+        super(proxy, endpointProfile);
+    }
+
     /**
      * 检测 Mojang 官方的服务器的状态
      *
@@ -78,7 +91,7 @@ public class MojangStatusService extends MoonLakeAuthBaseService {
             @Override
             public void run() {
                 try {
-                    MojangStatusResponse response = makeRequest(getProxy(), URL_STATUS, null, MojangStatusResponse.class);
+                    MojangStatusResponse response = makeRequest(getProxy(), endpoint(URL_STATUS), null, MojangStatusResponse.class);
                     callback.onCheckSucceeded(new StatusServiceList(Arrays.asList(response.getServices())));
                 } catch (Exception e) {
                     callback.onCheckFailed(e);
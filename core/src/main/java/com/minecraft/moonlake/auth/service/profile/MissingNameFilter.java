@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h1>MissingNameFilter</h1>
+ * 不存在用户名过滤器类 (记录近期服务器确认不存在的用户名, 重复查找时直接判定为不存在而不会占用批量请求的名额)
+ *
+ * <p>内部使用两个布隆过滤器按时间窗口轮换: 新的用户名写入当前窗口, 查询时同时检查当前和上一个窗口,
+ * 所以用户名会被记住一到两个时间窗口, 之后被注册的用户名也能重新查找. 布隆过滤器不会漏判,
+ * 但有指定概率把从未记录的用户名误判为不存在. 用户名不区分大小写.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService#setMissingNameFilter(MissingNameFilter)
+ */
+public class MissingNameFilter {
+
+    /**
+     * 默认的每个时间窗口预期记录数量
+     */
+    public final static int DEFAULT_EXPECTED_NAMES = 10000;
+
+    /**
+     * 默认的误判概率
+     */
+    public final static double DEFAULT_FALSE_POSITIVE_RATE = 0.001d;
+
+    /**
+     * 默认的时间窗口 (毫秒)
+     */
+    public final static long DEFAULT_WINDOW = TimeUnit.HOURS.toMillis(1L);
+
+    /**
+     * 每个布隆过滤器的最大位数量 (128 MiB)
+     */
+    public final static int MAX_NUM_BITS = 1 << 30;
+
+    /**
+     * 最大的哈希函数数量
+     */
+    public final static int MAX_NUM_HASHES = 32;
+
+    private final static int MAGIC = 0x4D4E4631; // MNF1
+    private final static long SEED = 0x9E3779B97F4A7C15L;
+
+    private final int numBits;
+    private final int numHashes;
+    private final long window;
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long rotatedAt;
+
+    /**
+     * 不存在用户名过滤器类构造函数
+     */
+    public MissingNameFilter() {
+        this(DEFAULT_EXPECTED_NAMES, DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_WINDOW);
+    }
+
+    /**
+     * 不存在用户名过滤器类构造函数 (位数量和哈希函数数量分别不超过 {@link #MAX_NUM_BITS} 和 {@link #MAX_NUM_HASHES})
+     *
+     * @param expectedNames 每个时间窗口预期记录数量
+     * @param falsePositiveRate 误判概率
+     * @param window 时间窗口 (毫秒)
+     * @throws IllegalArgumentException 如果预期记录数量或时间窗口小于等于 0 则抛出异常
+     * @throws IllegalArgumentException 如果误判概率不在 (0, 1) 范围内则抛出异常
+     */
+    public MissingNameFilter(int expectedNames, double falsePositiveRate, long window) {
+        if(expectedNames <= 0 || window <= 0L)
+            throw new IllegalArgumentException("预期记录数量和时间窗口必须大于 0.");
+        if(!(falsePositiveRate > 0d && falsePositiveRate < 1d))
+            throw new IllegalArgumentException("误判概率必须在 0 到 1 之间.");
+        double bits = -expectedNames * Math.log(falsePositiveRate) / (Math.log(2d) * Math.log(2d));
+        this.numBits = (int) Math.min(MAX_NUM_BITS, Math.max(64d, Math.ceil(bits)));
+        this.numHashes = (int) Math.min(MAX_NUM_HASHES, Math.max(1L, Math.round((double) numBits / expectedNames * Math.log(2d))));
+        this.window = window;
+        this.current = new AtomicLongArray(words(numBits));
+        this.previous = new AtomicLongArray(words(numBits));
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 不存在用户名过滤器类构造函数 (从持久化数据恢复)
+     *
+     * @param numBits 每个布隆过滤器的位数量
+     * @param numHashes 哈希函数数量
+     * @param window 时间窗口 (毫秒)
+     * @param current 当前窗口的位数据
+     * @param previous 上一个窗口的位数据
+     * @param rotatedAt 当前窗口开始时间
+     */
+    private MissingNameFilter(int numBits, int numHashes, long window, AtomicLongArray current, AtomicLongArray previous, long rotatedAt) {
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.window = window;
+        this.current = current;
+        this.previous = previous;
+        this.rotatedAt = rotatedAt;
+    }
+
+    /**
+     * 获取指定用户名是否可能在近期被确认不存在
+     *
+     * @param name 用户名
+     * @return 是否可能不存在, {@code false} 则一定没有被记录
+     */
+    public boolean mightContain(String name) {
+        if(name == null || name.isEmpty())
+            return false;
+        rotateIfExpired();
+        long hash = hash(name);
+        return contains(current, hash) || contains(previous, hash);
+    }
+
+    /**
+     * 将指定用户名记录为已确认不存在
+     *
+     * @param name 用户名
+     */
+    public void put(String name) {
+        if(name == null || name.isEmpty())
+            return;
+        rotateIfExpired();
+        long hash = hash(name);
+        AtomicLongArray bits = current;
+        long h2 = mix(hash ^ SEED) | 1L;
+        for(int i = 0; i < numHashes; i++) {
+            int index = index(hash, h2, i);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long value;
+            while(((value = bits.get(word)) & mask) == 0L && !bits.compareAndSet(word, value, value | mask)) {
+            }
+        }
+    }
+
+    /**
+     * 立即轮换时间窗口, 上一个窗口的记录被丢弃
+     */
+    public synchronized void rotate() {
+        this.previous = current;
+        this.current = new AtomicLongArray(words(numBits));
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 清除此不存在用户名过滤器的所有记录
+     */
+    public synchronized void clear() {
+        this.previous = new AtomicLongArray(words(numBits));
+        this.current = new AtomicLongArray(words(numBits));
+        this.rotatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 获取此不存在用户名过滤器每个布隆过滤器的位数量
+     *
+     * @return 位数量
+     */
+    public int getNumBits() {
+        return numBits;
+    }
+
+    /**
+     * 获取此不存在用户名过滤器的哈希函数数量
+     *
+     * @return 哈希函数数量
+     */
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /**
+     * 获取此不存在用户名过滤器的时间窗口 (毫秒)
+     *
+     * @return 时间窗口
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * 将此不存在用户名过滤器写入到指定输出流 (不会关闭输出流)
+     *
+     * @param output 输出流
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        AtomicLongArray currentBits;
+        AtomicLongArray previousBits;
+        long rotated;
+        synchronized (this) {
+            currentBits = current;
+            previousBits = previous;
+            rotated = rotatedAt;
+        }
+        DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeInt(numBits);
+        dataOutput.writeInt(numHashes);
+        dataOutput.writeLong(window);
+        dataOutput.writeLong(rotated);
+        for(int i = 0; i < currentBits.length(); i++)
+            dataOutput.writeLong(currentBits.get(i));
+        for(int i = 0; i < previousBits.length(); i++)
+            dataOutput.writeLong(previousBits.get(i));
+        dataOutput.flush();
+    }
+
+    /**
+     * 从指定输入流读取不存在用户名过滤器 (不会关闭输入流)
+     *
+     * <p>位数量和哈希函数数量在分配位数据之前检查, 超过 {@link #MAX_NUM_BITS} 或 {@link #MAX_NUM_HASHES} 的数据视为无效,
+     * 每个窗口的位数据读取完成后才分配下一个窗口.</p>
+     *
+     * @param input 输入流
+     * @return 不存在用户名过滤器
+     * @throws IOException 如果读取错误或数据无效则抛出异常
+     */
+    public static MissingNameFilter readFrom(InputStream input) throws IOException {
+        DataInputStream dataInput = new DataInputStream(input);
+        if(dataInput.readInt() != MAGIC)
+            throw new IOException("无效的不存在用户名过滤器数据.");
+        int numBits = dataInput.readInt();
+        int numHashes = dataInput.readInt();
+        long window = dataInput.readLong();
+        long rotatedAt = dataInput.readLong();
+        if(numBits < 64 || numBits > MAX_NUM_BITS || numHashes <= 0 || numHashes > MAX_NUM_HASHES || window <= 0L)
+            throw new IOException("无效的不存在用户名过滤器数据.");
+        AtomicLongArray current = new AtomicLongArray(words(numBits));
+        for(int i = 0; i < current.length(); i++)
+            current.set(i, dataInput.readLong());
+        AtomicLongArray previous = new AtomicLongArray(words(numBits));
+        for(int i = 0; i < previous.length(); i++)
+            previous.set(i, dataInput.readLong());
+        return new MissingNameFilter(numBits, numHashes, window, current, previous, rotatedAt);
+    }
+
+    /**
+     * 如果当前时间窗口已经结束则轮换 (超过两个时间窗口则全部丢弃)
+     */
+    private void rotateIfExpired() {
+        long now = System.currentTimeMillis();
+        if(now - rotatedAt < window)
+            return;
+        synchronized (this) {
+            long elapsed = now - rotatedAt;
+            if(elapsed < window)
+                return;
+            this.previous = elapsed < 2L * window ? current : new AtomicLongArray(words(numBits));
+            this.current = new AtomicLongArray(words(numBits));
+            this.rotatedAt = now;
+        }
+    }
+
+    /**
+     * 获取指定布隆过滤器是否包含指定哈希值
+     *
+     * @param bits 布隆过滤器位数据
+     * @param hash 哈希值
+     * @return 是否包含
+     */
+    private boolean contains(AtomicLongArray bits, long hash) {
+        long h2 = mix(hash ^ SEED) | 1L;
+        for(int i = 0; i < numHashes; i++) {
+            int index = index(hash, h2, i);
+            if((bits.get(index >>> 6) & (1L << index)) == 0L)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * 获取指定哈希值第指定个哈希函数的位索引 (双重哈希)
+     *
+     * @param h1 第一个哈希值
+     * @param h2 第二个哈希值
+     * @param i 哈希函数序号
+     * @return 位索引
+     */
+    private int index(long h1, long h2, int i) {
+        return (int) Long.remainderUnsigned(h1 + i * h2, numBits);
+    }
+
+    /**
+     * 获取指定用户名的小写形式的 64 位哈希值 (FNV-1a 后混合, 不会创建小写字符串)
+     *
+     * @param name 用户名
+     * @return 哈希值
+     */
+    private static long hash(String name) {
+        long hash = 0xCBF29CE484222325L;
+        for(int i = 0; i < name.length(); i++) {
+            hash ^= Character.toLowerCase(name.charAt(i));
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * 混合指定 64 位值的所有位
+     *
+     * @param value 值
+     * @return 混合后的值
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * 获取指定位数量需要的 long 数量
+     *
+     * @param numBits 位数量
+     * @return long 数量
+     */
+    private static int words(int numBits) {
+        return (numBits + 63) >>> 6;
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileLookupCallback;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <h1>OfflineProfileResolver</h1>
+ * 离线档案解析类 (离线模式服务器的用户 Id 为 {@code UUID.nameUUIDFromBytes("OfflinePlayer:" + name)}, 不需要任何请求)
+ *
+ * <p>每个线程复用同一个 MD5 摘要和缓冲区, 计算用户 Id 时除了结果 UUID 之外不会创建对象.
+ * 离线用户 Id 区分用户名的大小写.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileLookupService
+ * @see ProfileMigrationStore
+ */
+public class OfflineProfileResolver implements ProfileLookupService {
+
+    /**
+     * 离线用户 Id 的用户名前缀
+     */
+    public final static String OFFLINE_PREFIX = "OfflinePlayer:";
+
+    private final static byte[] PREFIX_BYTES = OFFLINE_PREFIX.getBytes(StandardCharsets.UTF_8);
+    private final static ThreadLocal<OfflineDigest> DIGEST = new ThreadLocal<OfflineDigest>() {
+        @Override
+        protected OfflineDigest initialValue() {
+            return new OfflineDigest();
+        }
+    };
+
+    /**
+     * 离线档案解析类构造函数
+     */
+    public OfflineProfileResolver() {
+    }
+
+    /**
+     * 获取指定用户名的离线用户 Id
+     *
+     * @param name 用户名
+     * @return 离线用户 Id
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     */
+    public static UUID getOfflineId(String name) {
+        if(name == null)
+            throw new IllegalArgumentException("名称对象不能为 null 值.");
+        return DIGEST.get().digest(name);
+    }
+
+    /**
+     * 获取指定用户名数组的离线用户 Id 数组 (批量计算只获取一次线程摘要)
+     *
+     * @param names 用户名数组
+     * @return 离线用户 Id 数组, 用户名为 {@code null} 的位置也为 {@code null}
+     * @throws IllegalArgumentException 如果用户名数组对象为 {@code null} 则抛出异常
+     */
+    public static UUID[] getOfflineIds(String[] names) {
+        if(names == null)
+            throw new IllegalArgumentException("名称数组不能为 null 值.");
+        OfflineDigest digest = DIGEST.get();
+        UUID[] ids = new UUID[names.length];
+        for(int i = 0; i < names.length; i++)
+            if(names[i] != null)
+                ids[i] = digest.digest(names[i]);
+        return ids;
+    }
+
+    /**
+     * 获取指定用户名的离线游戏档案
+     *
+     * @param name 用户名
+     * @return 离线游戏档案
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     */
+    public static GameProfile getOfflineProfile(String name) {
+        return new GameProfile(getOfflineId(name), name);
+    }
+
+    @Override
+    public void findProfileByName(String name, ProfileLookupCallback callback) {
+        findProfileByName(name, callback, false);
+    }
+
+    @Override
+    public void findProfileByName(String name, ProfileLookupCallback callback, boolean async) {
+        if(name == null)
+            throw new IllegalArgumentException("名称对象不能为 null 值.");
+        findProfilesByName(new String[] { name }, callback, async);
+    }
+
+    @Override
+    public void findProfilesByName(String[] names, ProfileLookupCallback callback) {
+        findProfilesByName(names, callback, false);
+    }
+
+    @Override
+    public void findProfilesByName(final String[] names, final ProfileLookupCallback callback, boolean async) {
+        if(names == null)
+            throw new IllegalArgumentException("名称数组不能为 null 值.");
+        if(callback == null)
+            throw new IllegalArgumentException("游戏档案查询回调对象不能为 null 值.");
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                OfflineDigest digest = DIGEST.get();
+                for(String name : names)
+                    if(name != null && !name.isEmpty())
+                        callback.onLookupSucceeded(new GameProfile(digest.digest(name), name));
+            }
+        };
+        if(async)
+            new Thread(runnable, "OfflineProfileResolver").start();
+        else
+            runnable.run();
+    }
+
+    /**
+     * 从指定正版档案查找服务查找用户名数组的正版档案, 并将离线用户 Id 与正版用户 Id 的映射放入指定迁移存储 (同步)
+     *
+     * <p>离线用户 Id 使用输入的用户名计算, 输入的用户名大小写与正版用户名不同时以输入为准.</p>
+     *
+     * @param names 用户名数组
+     * @param onlineService 正版档案查找服务
+     * @param store 档案迁移存储
+     * @param callback 正版游戏档案回调对象
+     * @throws IllegalArgumentException 如果用户名数组, 档案查找服务, 档案迁移存储或回调对象为 {@code null} 则抛出异常
+     */
+    public void mapOnlineProfiles(String[] names, ProfileLookupService onlineService, final ProfileMigrationStore store, final ProfileLookupCallback callback) {
+        if(names == null || onlineService == null || store == null || callback == null)
+            throw new IllegalArgumentException("用户名数组, 档案查找服务, 档案迁移存储或回调对象不能为 null 值.");
+        final Map<String, String> inputNames = new HashMap<>();
+        for(String name : names)
+            if(name != null && !name.isEmpty() && !inputNames.containsKey(name.toLowerCase()))
+                inputNames.put(name.toLowerCase(), name);
+        onlineService.findProfilesByName(names, new ProfileLookupCallback() {
+            @Override
+            public void onLookupSucceeded(GameProfile profile) {
+                String name = inputNames.get(profile.getName().toLowerCase());
+                store.put(getOfflineId(name != null ? name : profile.getName()), profile.getId());
+                callback.onLookupSucceeded(profile);
+            }
+
+            @Override
+            public void onLookupFailed(GameProfile profile, Exception ex) {
+                callback.onLookupFailed(profile, ex);
+            }
+        }, false);
+    }
+
+    /**
+     * <h1>OfflineDigest</h1>
+     * 线程离线用户 Id 摘要 (复用 MD5 摘要, 输入缓冲区和输出缓冲区)
+     */
+    private static class OfflineDigest {
+
+        private final MessageDigest md5;
+        private final byte[] output;
+        private byte[] input;
+
+        /**
+         * 线程离线用户 Id 摘要构造函数
+         */
+        OfflineDigest() {
+            try {
+                this.md5 = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("当前运行环境不支持 MD5 摘要算法.", e);
+            }
+            this.output = new byte[16];
+            this.input = new byte[64];
+            System.arraycopy(PREFIX_BYTES, 0, input, 0, PREFIX_BYTES.length);
+        }
+
+        /**
+         * 计算指定用户名的离线用户 Id (与 {@link UUID#nameUUIDFromBytes(byte[])} 相同)
+         *
+         * @param name 用户名
+         * @return 离线用户 Id
+         */
+        UUID digest(String name) {
+            int length = encode(name);
+            md5.update(input, 0, length);
+            try {
+                md5.digest(output, 0, 16);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            output[6] = (byte) ((output[6] & 0x0f) | 0x30); // 版本 3
+            output[8] = (byte) ((output[8] & 0x3f) | 0x80); // IETF 变体
+            long most = 0L;
+            long least = 0L;
+            for(int i = 0; i < 8; i++)
+                most = (most << 8) | (output[i] & 0xff);
+            for(int i = 8; i < 16; i++)
+                least = (least << 8) | (output[i] & 0xff);
+            return new UUID(most, least);
+        }
+
+        /**
+         * 将前缀和指定用户名的 UTF-8 编码写入输入缓冲区 (ASCII 用户名逐字符写入, 否则使用标准编码)
+         *
+         * @param name 用户名
+         * @return 编码后的总长度
+         */
+        private int encode(String name) {
+            int prefix = PREFIX_BYTES.length;
+            int length = name.length();
+            ensureCapacity(prefix + length);
+            for(int i = 0; i < length; i++) {
+                char ch = name.charAt(i);
+                if(ch >= 0x80) {
+                    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                    ensureCapacity(prefix + bytes.length);
+                    System.arraycopy(bytes, 0, input, prefix, bytes.length);
+                    return prefix + bytes.length;
+                }
+                input[prefix + i] = (byte) ch;
+            }
+            return prefix + length;
+        }
+
+        /**
+         * 确保输入缓冲区至少拥有指定容量 (保留前缀)
+         *
+         * @param capacity 容量
+         */
+        private void ensureCapacity(int capacity) {
+            if(input.length < capacity) {
+                byte[] expanded = new byte[Math.max(capacity, input.length * 2)];
+                System.arraycopy(input, 0, expanded, 0, PREFIX_BYTES.length);
+                this.input = expanded;
+            }
+        }
+    }
+}
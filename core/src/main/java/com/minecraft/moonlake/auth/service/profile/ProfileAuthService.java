@@ -18,24 +18,26 @@
 
 package com.minecraft.moonlake.auth.service.profile;
 
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.minecraft.moonlake.auth.data.*;
 import com.minecraft.moonlake.auth.exception.*;
 import com.minecraft.moonlake.auth.response.MojangBaseResponse;
 import com.minecraft.moonlake.auth.response.ProfileHistoryResponse;
 import com.minecraft.moonlake.auth.response.ProfileSearchResponse;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
 import com.minecraft.moonlake.auth.service.MoonLakeAuthBaseService;
+import com.minecraft.moonlake.auth.service.RequestRateLimiter;
 import com.minecraft.moonlake.auth.service.mc.MinecraftAuthService;
 import com.minecraft.moonlake.auth.util.UUIDSerializer;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.WritableRaster;
+import java.io.IOException;
 import java.net.Proxy;
-import java.net.URL;
 import java.util.*;
-import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 /**
  * <h1>ProfileAuthService</h1>
@@ -44,16 +46,34 @@ import java.util.List;
  * @version 1.0
  * @author Month_Light
  * @see MoonLakeAuthBaseService
+ * @see ProfileLookupService
  */
-public class ProfileAuthService extends MoonLakeAuthBaseService {
+public class ProfileAuthService extends MoonLakeAuthBaseService implements ProfileLookupService {
 
     private final static String URL_PROFILES = "https://api.mojang.com/profiles/minecraft";
     private final static String URL_PROFILE_TIME = "https://api.mojang.com/users/profiles/minecraft";
     private final static String URL_PROFILE_HISTORY = "https://api.mojang.com/user/profiles/%1$s/names";
+    private final static String URL_TEXTURE = "http://textures.minecraft.net/texture/";
+    private final static TextureCache TEXTURE_CACHE = new TextureCache();
+    private final static ProfileHistoryCache HISTORY_CACHE = new ProfileHistoryCache();
+    private final static ProfileNameCache NAME_CACHE = new ProfileNameCache();
+    private final static RequestRateLimiter RATE_LIMITER = new RequestRateLimiter(600, 10L, TimeUnit.MINUTES); // Mojang API 每个 IP 10 分钟 600 次
     private final static int MAX_FAIL_COUNT = 3;
     private final static int DELAY_BETWEEN_PAGES = 100;
     private final static int DELAY_BETWEEN_FAILURES = 750;
     private final static int PROFILES_PER_REQUEST = 100;
+    private final static int TIMESTAMP_LOOKUP_THREADS = 4;
+
+    static {
+        registerCodec(ProfileTimestampResponse.class, new ProfileTimestampResponse.Codec());
+    }
+
+    private volatile SkinRenderer skinRenderer;
+    private volatile TextureCache textureCache = TEXTURE_CACHE;
+    private volatile ProfileHistoryCache historyCache = HISTORY_CACHE;
+    private volatile ProfileNameCache nameCache = NAME_CACHE;
+    private volatile RequestRateLimiter rateLimiter = RATE_LIMITER;
+    private volatile MissingNameFilter missingNameFilter;
 
     /**
      * 档案认证服务类构造函数
@@ -72,6 +92,148 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
         super(proxy);
     }
 
+    /**
+     * 档案认证服务类构造函数
+     *
+     * @param proxy 代理对象
+     * @param endpointProfile 端点配置
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果端点配置对象为 {@code null} 则抛出异常
+     */
+    public ProfileAuthService(Proxy proxy, EndpointProfile endpointProfile) {
+        super(proxy, endpointProfile);
+    }
+
+    /**
+     * 获取此档案认证服务的皮肤渲染器, 如果没有设置则从 MoonLakeAuth-Render 模块加载
+     *
+     * @return 皮肤渲染器
+     * @throws MoonLakeSkinException 如果不存在 MoonLakeAuth-Render 模块则抛出异常
+     */
+    public SkinRenderer getSkinRenderer() throws MoonLakeSkinException {
+        SkinRenderer renderer = skinRenderer;
+        if(renderer == null) {
+            renderer = SkinRendererHolder.DEFAULT;
+            if(renderer == null)
+                throw new MoonLakeSkinException("未找到皮肤渲染器实现, 请添加 MoonLakeAuth-Render 模块依赖.");
+            this.skinRenderer = renderer;
+        }
+        return renderer;
+    }
+
+    /**
+     * 设置此档案认证服务的皮肤渲染器
+     *
+     * @param skinRenderer 皮肤渲染器
+     * @throws IllegalArgumentException 如果皮肤渲染器对象为 {@code null} 则抛出异常
+     */
+    public void setSkinRenderer(SkinRenderer skinRenderer) {
+        validate(skinRenderer, "皮肤渲染器对象不能为 null 值.");
+        this.skinRenderer = skinRenderer;
+    }
+
+    /**
+     * 获取此档案认证服务的材质缓存 (默认所有档案认证服务共享同一个材质缓存)
+     *
+     * @return 材质缓存
+     */
+    public TextureCache getTextureCache() {
+        return textureCache;
+    }
+
+    /**
+     * 设置此档案认证服务的材质缓存
+     *
+     * @param textureCache 材质缓存
+     * @throws IllegalArgumentException 如果材质缓存对象为 {@code null} 则抛出异常
+     */
+    public void setTextureCache(TextureCache textureCache) {
+        validate(textureCache, "材质缓存对象不能为 null 值.");
+        this.textureCache = textureCache;
+    }
+
+    /**
+     * 获取此档案认证服务的档案历史记录缓存 (默认所有档案认证服务共享同一个档案历史记录缓存)
+     *
+     * @return 档案历史记录缓存
+     */
+    public ProfileHistoryCache getHistoryCache() {
+        return historyCache;
+    }
+
+    /**
+     * 设置此档案认证服务的档案历史记录缓存
+     *
+     * @param historyCache 档案历史记录缓存
+     * @throws IllegalArgumentException 如果档案历史记录缓存对象为 {@code null} 则抛出异常
+     */
+    public void setHistoryCache(ProfileHistoryCache historyCache) {
+        validate(historyCache, "档案历史记录缓存对象不能为 null 值.");
+        this.historyCache = historyCache;
+    }
+
+    /**
+     * 获取此档案认证服务的用户名档案缓存 (默认所有档案认证服务共享同一个用户名档案缓存)
+     *
+     * @return 用户名档案缓存
+     * @see ProfileStreamResolver
+     */
+    public ProfileNameCache getNameCache() {
+        return nameCache;
+    }
+
+    /**
+     * 设置此档案认证服务的用户名档案缓存
+     *
+     * @param nameCache 用户名档案缓存
+     * @throws IllegalArgumentException 如果用户名档案缓存对象为 {@code null} 则抛出异常
+     */
+    public void setNameCache(ProfileNameCache nameCache) {
+        validate(nameCache, "用户名档案缓存对象不能为 null 值.");
+        this.nameCache = nameCache;
+    }
+
+    /**
+     * 获取此档案认证服务的不存在用户名过滤器
+     *
+     * @return 不存在用户名过滤器, 没有设置则返回 {@code null}
+     */
+    public MissingNameFilter getMissingNameFilter() {
+        return missingNameFilter;
+    }
+
+    /**
+     * 设置此档案认证服务的不存在用户名过滤器 (默认关闭)
+     *
+     * <p>设置后, 批量查找用户名时近期确认不存在的用户名直接回调 {@link MoonLakeProfileNotFoundException} 而不会请求,
+     * 批量请求中服务器没有返回的用户名会被记录. 过滤器存在误判概率, 需要按照使用场景调整.</p>
+     *
+     * @param missingNameFilter 不存在用户名过滤器, {@code null} 则关闭
+     */
+    public void setMissingNameFilter(MissingNameFilter missingNameFilter) {
+        this.missingNameFilter = missingNameFilter;
+    }
+
+    /**
+     * 获取此档案认证服务批量查询使用的请求速率限制器 (默认所有档案认证服务共享同一个请求速率限制器, 10 分钟 600 次)
+     *
+     * @return 请求速率限制器
+     */
+    public RequestRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * 设置此档案认证服务批量查询使用的请求速率限制器
+     *
+     * @param rateLimiter 请求速率限制器
+     * @throws IllegalArgumentException 如果请求速率限制器对象为 {@code null} 则抛出异常
+     */
+    public void setRateLimiter(RequestRateLimiter rateLimiter) {
+        validate(rateLimiter, "请求速率限制器对象不能为 null 值.");
+        this.rateLimiter = rateLimiter;
+    }
+
     /**
      * 从指定用户名向 HTTP 查找游戏档案数据
      *
@@ -129,40 +291,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
-                for(Set<String> request : fromRequest(nameSet, PROFILES_PER_REQUEST)) {
-                    int failedCount = 0;
-                    boolean tryAgain = true;
-                    while(failedCount < MAX_FAIL_COUNT && tryAgain) {
-                        tryAgain = false;
-                        try {
-                            ProfileSearchResponse response = makeRequest(getProxy(), URL_PROFILES, request, ProfileSearchResponse.class);
-                            failedCount = 0;
-                            Set<String> missing = new HashSet<>(request);
-                            for(GameProfile profile : response.getProfiles()) {
-                                missing.remove(profile.getName().toLowerCase());
-                                callback.onLookupSucceeded(profile);
-                            }
-                            for(String name : missing)
-                                callback.onLookupFailed(new GameProfile((UUID) null, name), new MoonLakeProfileNotFoundException("服务器没有存在名为 '" + name + "' 的游戏档案."));
-                            try {
-                                Thread.sleep(DELAY_BETWEEN_PAGES);
-                            } catch (InterruptedException e) {
-                            }
-                        } catch (MoonLakeRequestException e) {
-                            failedCount++;
-                            if(failedCount >= MAX_FAIL_COUNT) {
-                                for(String name : request)
-                                    callback.onLookupFailed(new GameProfile((UUID) null, name), e);
-                            } else {
-                                try {
-                                    Thread.sleep(DELAY_BETWEEN_FAILURES);
-                                } catch (InterruptedException e1) {
-                                }
-                                tryAgain = true;
-                            }
-                        }
-                    }
-                }
+                lookupProfilesByName(nameSet, callback, null);
             }
         };
         start(runnable, async);
@@ -197,7 +326,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * 从指定时间戳向 HTTP 查找指定用户名的游戏档案数据
      *
      * @param name 用户名
-     * @param timestamp 时间戳
+     * @param timestamp UNIX 时间戳 (秒, 即 Mojang API 的 {@code at} 参数)
      * @param callback 游戏档案回调对象
      * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
      * @throws IllegalArgumentException 如果游戏档案回调对象为 {@code null} 则抛出异常
@@ -210,7 +339,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * 从指定时间戳向 HTTP 查找指定用户名的游戏档案数据
      *
      * @param name 用户名
-     * @param timestamp 时间戳
+     * @param timestamp UNIX 时间戳 (秒, 即 Mojang API 的 {@code at} 参数)
      * @param callback 游戏档案回调对象
      * @param async 是否异步
      * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
@@ -219,7 +348,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
     public void findProfileByTimestamp(String name, long timestamp, ProfileLookupCallback callback, boolean async) {
         validate(name, "名称对象不能为 null 值.");
         validate(callback, "游戏档案查询回调对象不能为 null 值.");
-        final String finalUrl = URL_PROFILE_TIME + "/" + name + (timestamp < 0L ? "" : ("?at=" + timestamp));
+        final String finalUrl = endpoint(URL_PROFILE_TIME) + "/" + name + (timestamp < 0L ? "" : ("?at=" + timestamp));
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
@@ -234,6 +363,96 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
         start(runnable, async);
     }
 
+    /**
+     * 从指定档案时间戳查询集合向 HTTP 批量查找游戏档案数据
+     *
+     * @param queries 档案时间戳查询集合
+     * @param callback 档案时间戳查询回调对象
+     * @throws IllegalArgumentException 如果档案时间戳查询集合对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果档案时间戳查询回调对象为 {@code null} 则抛出异常
+     * @see #findProfilesByTimestamp(Collection, ProfileTimestampCallback, boolean)
+     */
+    public void findProfilesByTimestamp(Collection<ProfileTimestampQuery> queries, ProfileTimestampCallback callback) {
+        findProfilesByTimestamp(queries, callback, false);
+    }
+
+    /**
+     * 从指定档案时间戳查询集合向 HTTP 批量查找游戏档案数据
+     *
+     * <p>相同的查询 (用户名不区分大小写) 只会查找和回调一次. 查询当前拥有者的查询合并为每 100 个一次的批量档案请求,
+     * 只有查询历史拥有者的查询才会逐个请求, 并由多个线程并行发送. 所有请求都会先从此服务的请求速率限制器获取许可.
+     * 回调可能在多个线程中同时调用, 回调对象需要是线程安全的.</p>
+     *
+     * @param queries 档案时间戳查询集合
+     * @param callback 档案时间戳查询回调对象
+     * @param async 是否异步
+     * @throws IllegalArgumentException 如果档案时间戳查询集合对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果档案时间戳查询回调对象为 {@code null} 则抛出异常
+     */
+    public void findProfilesByTimestamp(Collection<ProfileTimestampQuery> queries, ProfileTimestampCallback callback, boolean async) {
+        validate(queries, "档案时间戳查询集合对象不能为 null 值.");
+        validate(callback, "档案时间戳查询回调对象不能为 null 值.");
+        final Map<String, ProfileTimestampQuery> currentQueries = new HashMap<>();
+        final Queue<ProfileTimestampQuery> historicalQueries = new ConcurrentLinkedQueue<>();
+        Set<ProfileTimestampQuery> distinct = new HashSet<>();
+        for(ProfileTimestampQuery query : queries) {
+            if(query == null || query.getName().isEmpty() || !distinct.add(query))
+                continue;
+            if(query.isCurrent())
+                currentQueries.put(query.getName().toLowerCase(), query);
+            else
+                historicalQueries.add(query);
+        }
+        final RequestRateLimiter limiter = rateLimiter;
+        Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                Thread[] workers = new Thread[Math.min(TIMESTAMP_LOOKUP_THREADS, historicalQueries.size())];
+                final CountDownLatch latch = new CountDownLatch(workers.length);
+                for(int i = 0; i < workers.length; i++) {
+                    workers[i] = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                ProfileTimestampQuery query;
+                                while((query = historicalQueries.poll()) != null)
+                                    lookupProfileByTimestamp(query, callback, limiter);
+                            } finally {
+                                latch.countDown();
+                            }
+                        }
+                    }, "ProfileAuthService-Timestamp-" + i);
+                    workers[i].start();
+                }
+                if(!currentQueries.isEmpty()) {
+                    lookupProfilesByName(currentQueries.keySet(), new ProfileLookupCallback() {
+                        @Override
+                        public void onLookupSucceeded(GameProfile profile) {
+                            ProfileTimestampQuery query = currentQueries.get(profile.getName().toLowerCase());
+                            if(query != null)
+                                callback.onLookupSucceeded(query, profile);
+                        }
+
+                        @Override
+                        public void onLookupFailed(GameProfile profile, Exception ex) {
+                            ProfileTimestampQuery query = currentQueries.get(profile.getName().toLowerCase());
+                            if(query != null)
+                                callback.onLookupFailed(query, ex);
+                        }
+                    }, limiter);
+                }
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    for(Thread worker : workers)
+                        worker.interrupt();
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        start(runnable, async);
+    }
+
     /**
      * 从指定游戏档案向 HTTP 查找档案名称历史记录
      *
@@ -276,6 +495,9 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
     /**
      * 从指定用户 UUID 向 HTTP 查找档案名称历史记录
      *
+     * <p>优先使用档案历史记录缓存, 缓存未过期时直接在调用线程回调而不会发送请求. 缓存过期后重新请求,
+     * 历史记录没有变化时保留原缓存实例只刷新有效期; 重新请求失败时如果存在过期的缓存则使用过期的缓存回调.</p>
+     *
      * @param id 用户 Id
      * @param callback 档案历史记录回调对象
      * @param async 是否异步
@@ -284,16 +506,30 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      */
     public void findNameHistoryById(UUID id, ProfileHistoryCallback callback, boolean async) {
         validate(id, "目标 UUID 对象不能为 null 值.");
-        final String finalUrl = String.format(URL_PROFILE_HISTORY, UUIDSerializer.fromUUID(id));
+        validate(callback, "档案历史回调对象不能为 null 值.");
+        final ProfileHistoryCache cache = historyCache;
+        ProfileHistoryList cached = cache.getFresh(id);
+        if(cached != null) {
+            callback.onLookupSucceeded(id, cached);
+            return;
+        }
+        final String finalUrl = endpoint(String.format(URL_PROFILE_HISTORY, UUIDSerializer.fromUUID(id)));
         Runnable runnable = new Runnable() {
             @Override
             public void run() {
+                ProfileHistoryList historyList;
                 try {
                     ProfileHistoryResponse response = makeRequest(getProxy(), finalUrl, null, ProfileHistoryResponse.class);
-                    callback.onLookupSucceeded(id, new ProfileHistoryList(Arrays.asList(response.getHistories())));
+                    historyList = cache.put(id, new ProfileHistoryList(Arrays.asList(response.getHistories())));
                 } catch (Exception e) {
-                    callback.onLookupFailed(id, e);
+                    ProfileHistoryList stale = cache.get(id);
+                    if(stale != null)
+                        callback.onLookupSucceeded(id, stale);
+                    else
+                        callback.onLookupFailed(id, e);
+                    return;
                 }
+                callback.onLookupSucceeded(id, historyList);
             }
         };
         start(runnable, async);
@@ -402,7 +638,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                     return;
                 // 当前游戏档案不存在材质属性数据则进行获取
                 try {
-                    MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy());
+                    MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy(), getEndpointProfile());
                     minecraftAuthService.fillProfileProperties(profile);
                     minecraftAuthService.fillProfileTextures(profile);
                     BufferedImage image = getSkinRawTextureByProfile(profile);
@@ -419,22 +655,257 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * 从指定游戏档案获取用户的皮肤源图片
      *
      * @param profile 游戏档案
-     * @return 皮肤源图片
+     * @return 皮肤源图片 (材质缓存图片的副本, 修改不会影响缓存)
      * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
      * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在皮肤则抛出异常
      * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
      */
     public BufferedImage getSkinRawTextureByProfile(GameProfile profile) throws MoonLakeSkinException {
         validate(profile, "游戏档案对象不能为 null 值.");
+        return getSkinRenderer().copyTexture(readProfileTexture(profile, TextureType.SKIN, "皮肤"));
+    }
+
+    /**
+     * 从指定游戏档案获取用户的皮肤源图片
+     *
+     * @param profile 游戏档案
+     * @param fill 如果档案不存在材质数据是否请求 HTTP 进行填充
+     * @return 皮肤源图片
+     * @throws MoonLakeAuthException 如果认证错误则抛出异常
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinRawTextureByProfile(GameProfile profile, boolean fill) throws MoonLakeAuthException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        ProfileTexture skinTexture = profile.getTexture(TextureType.SKIN);
+        if(fill && (skinTexture == null || isBlank(skinTexture.getUrl()))) {
+            // 当前游戏档案不存在材质属性数据则进行获取
+            MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy(), getEndpointProfile());
+            minecraftAuthService.fillProfileProperties(profile);
+            minecraftAuthService.fillProfileTextures(profile);
+        }
+        return getSkinRawTextureByProfile(profile);
+    }
+
+    /**
+     * 从指定材质哈希值获取皮肤源图片, 如果材质缓存不存在则请求 HTTP 获取数据
+     *
+     * @param hash 材质哈希值
+     * @return 皮肤源图片 (材质缓存图片的副本, 修改不会影响缓存)
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果材质哈希值对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果材质哈希值不是有效的十六进制字符串则抛出异常
+     */
+    public BufferedImage getSkinRawTextureByHash(String hash) throws MoonLakeSkinException {
+        validate(hash, "材质哈希值对象不能为 null 值.");
+        validateTrue(isTextureHash(hash), "无效的材质哈希值: " + hash);
         try {
-            ProfileTexture skinTexture = null;
-            Map<TextureType, ProfileTexture> textures = profile.getTextures();
-            if(textures.isEmpty() || (skinTexture = textures.get(TextureType.SKIN)) == null || isBlank(skinTexture.getUrl()))
-                throw new MoonLakeSkinNotFoundException("游戏档案对象不存在任何皮肤材质数据.");
-            return ImageIO.read(new URL(skinTexture.getUrl()));
+            return getSkinRenderer().copyTexture(readTexture(hash, endpoint(URL_TEXTURE + hash)));
         } catch (Exception e) {
-            throw new MoonLakeSkinException("获取游戏档案的皮肤材质数据时错误.", e);
+            throw new MoonLakeSkinException("获取材质哈希值的皮肤材质数据时错误.", e);
+        }
+    }
+
+    /**
+     * 从指定游戏档案获取用户的披风源图片
+     *
+     * @param profile 游戏档案
+     * @return 披风源图片 (材质缓存图片的副本, 修改不会影响缓存)
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在披风则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getCapeRawTextureByProfile(GameProfile profile) throws MoonLakeSkinException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        return getSkinRenderer().copyTexture(readProfileTexture(profile, TextureType.CAPE, "披风"));
+    }
+
+    /**
+     * 从指定游戏档案获取用户的披风源图片
+     *
+     * @param profile 游戏档案
+     * @param fill 如果档案不存在材质数据是否请求 HTTP 进行填充
+     * @return 披风源图片
+     * @throws MoonLakeAuthException 如果认证错误则抛出异常
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getCapeRawTextureByProfile(GameProfile profile, boolean fill) throws MoonLakeAuthException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        ProfileTexture capeTexture = profile.getTexture(TextureType.CAPE);
+        if(fill && (capeTexture == null || isBlank(capeTexture.getUrl()))) {
+            // 当前游戏档案不存在材质属性数据则进行获取
+            MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy(), getEndpointProfile());
+            minecraftAuthService.fillProfileProperties(profile);
+            minecraftAuthService.fillProfileTextures(profile);
         }
+        return getCapeRawTextureByProfile(profile);
+    }
+
+    /**
+     * 从指定游戏档案获取用户的鞘翅源图片 (不存在鞘翅材质时使用披风材质, 与客户端一致)
+     *
+     * @param profile 游戏档案
+     * @return 鞘翅源图片 (材质缓存图片的副本, 修改不会影响缓存)
+     * @throws MoonLakeSkinException 如果鞘翅错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在鞘翅和披风则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getElytraRawTextureByProfile(GameProfile profile) throws MoonLakeSkinException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        return getSkinRenderer().copyTexture(readElytraTexture(profile));
+    }
+
+    /**
+     * 从指定游戏档案获取用户的披风图片
+     *
+     * @param profile 游戏档案
+     * @return 披风图片
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在披风则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getCapeTextureByProfile(GameProfile profile) throws MoonLakeSkinException {
+        return getCapeTextureByProfile(profile, 8);
+    }
+
+    /**
+     * 从指定游戏档案获取用户的披风图片
+     *
+     * @param profile 游戏档案
+     * @param zoom 放大倍数 (默认 8 倍, 80x128 像素)
+     * @return 披风图片
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在披风则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getCapeTextureByProfile(GameProfile profile, int zoom) throws MoonLakeSkinException {
+        BufferedImage capeRawImage = readProfileTexture(profile, TextureType.CAPE, "披风");
+        return getCapeTextureByRaw(capeRawImage, zoom);
+    }
+
+    /**
+     * 从指定披风源文件获取用户的披风图片
+     *
+     * @param capeRawImage 披风源图片
+     * @return 披风图片
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws IllegalArgumentException 如果披风源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getCapeTextureByRaw(BufferedImage capeRawImage) throws MoonLakeSkinException {
+        return getCapeTextureByRaw(capeRawImage, 8);
+    }
+
+    /**
+     * 从指定披风源文件获取用户的披风图片
+     *
+     * @param capeRawImage 披风源图片
+     * @param zoom 放大倍数 (默认 8 倍, 80x128 像素)
+     * @return 披风图片
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws IllegalArgumentException 如果披风源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getCapeTextureByRaw(BufferedImage capeRawImage, int zoom) throws MoonLakeSkinException {
+        validate(capeRawImage, "披风材质源图片对象不能为 null 值.");
+        return getSkinRenderer().renderCape(capeRawImage, zoom);
+    }
+
+    /**
+     * 从指定游戏档案获取用户的鞘翅图片
+     *
+     * @param profile 游戏档案
+     * @return 鞘翅图片
+     * @throws MoonLakeSkinException 如果鞘翅错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在鞘翅和披风则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getElytraTextureByProfile(GameProfile profile) throws MoonLakeSkinException {
+        return getElytraTextureByProfile(profile, 8);
+    }
+
+    /**
+     * 从指定游戏档案获取用户的鞘翅图片
+     *
+     * @param profile 游戏档案
+     * @param zoom 放大倍数 (默认 8 倍, 160x160 像素)
+     * @return 鞘翅图片
+     * @throws MoonLakeSkinException 如果鞘翅错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在鞘翅和披风则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getElytraTextureByProfile(GameProfile profile, int zoom) throws MoonLakeSkinException {
+        BufferedImage elytraRawImage = readElytraTexture(profile);
+        return getElytraTextureByRaw(elytraRawImage, zoom);
+    }
+
+    /**
+     * 从指定鞘翅或披风源文件获取用户的鞘翅图片
+     *
+     * @param elytraRawImage 鞘翅或披风源图片
+     * @return 鞘翅图片
+     * @throws MoonLakeSkinException 如果鞘翅错误则抛出异常
+     * @throws IllegalArgumentException 如果鞘翅源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getElytraTextureByRaw(BufferedImage elytraRawImage) throws MoonLakeSkinException {
+        return getElytraTextureByRaw(elytraRawImage, 8);
+    }
+
+    /**
+     * 从指定鞘翅或披风源文件获取用户的鞘翅图片
+     *
+     * @param elytraRawImage 鞘翅或披风源图片
+     * @param zoom 放大倍数 (默认 8 倍, 160x160 像素)
+     * @return 鞘翅图片
+     * @throws MoonLakeSkinException 如果鞘翅错误则抛出异常
+     * @throws IllegalArgumentException 如果鞘翅源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getElytraTextureByRaw(BufferedImage elytraRawImage, int zoom) throws MoonLakeSkinException {
+        validate(elytraRawImage, "鞘翅材质源图片对象不能为 null 值.");
+        return getSkinRenderer().renderElytra(elytraRawImage, zoom);
+    }
+
+    /**
+     * 获取指定游戏档案的皮肤是否为苗条模型 (Alex 手臂)
+     *
+     * <p>优先使用皮肤材质元数据 {@code model} 的值, 其次使用材质缓存中的检测结果,
+     * 都不存在时才由皮肤渲染器检测皮肤像素, 检测结果随材质一起放入材质缓存.</p>
+     *
+     * @param profile 游戏档案
+     * @return 是否苗条
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在皮肤则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public boolean isSkinSlimByProfile(GameProfile profile) throws MoonLakeSkinException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        ProfileTexture skinTexture = profile.getTexture(TextureType.SKIN);
+        if(skinTexture == null || isBlank(skinTexture.getUrl()))
+            throw new MoonLakeSkinNotFoundException("游戏档案对象不存在任何皮肤材质数据.");
+        String model = skinTexture.getMetadata("model");
+        if(model != null)
+            return "slim".equalsIgnoreCase(model);
+        TextureCache cache = textureCache;
+        String hash = skinTexture.getHash();
+        Boolean slim = cache.getSlim(hash);
+        if(slim != null)
+            return slim;
+        slim = getSkinRenderer().isSkinSlim(readProfileTexture(profile, TextureType.SKIN, "皮肤"));
+        cache.putSlim(hash, slim);
+        return slim;
+    }
+
+    /**
+     * 从指定皮肤源图片的像素检测是否为苗条模型 (Alex 手臂, 由皮肤渲染器检测)
+     *
+     * @param skinRawImage 皮肤源图片
+     * @return 是否苗条
+     * @throws MoonLakeSkinException 如果不存在 MoonLakeAuth-Render 模块则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     * @see SkinRenderer#isSkinSlim(BufferedImage)
+     */
+    public boolean isSkinSlimByRaw(BufferedImage skinRawImage) throws MoonLakeSkinException {
+        validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
+        return getSkinRenderer().isSkinSlim(skinRawImage);
     }
 
     /**
@@ -592,7 +1063,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                 Map<TextureType, ProfileTexture> textures = profile.getTextures();
                 if(!textures.isEmpty() && (skinTexture = textures.get(TextureType.SKIN)) != null && !isBlank(skinTexture.getUrl())) {
                     try {
-                        BufferedImage image = getSkinRawTextureByProfile(profile);
+                        BufferedImage image = readProfileTexture(profile, TextureType.SKIN, "皮肤");
                         BufferedImage headImage = getSkinHeadTextureByRaw(image, zoom, helmet);
                         callback.onLookupSucceeded(profile, headImage);
                         existGetSucceed = true;
@@ -603,10 +1074,10 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                     return;
                 // 当前游戏档案不存在材质属性数据则进行获取
                 try {
-                    MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy());
+                    MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy(), getEndpointProfile());
                     minecraftAuthService.fillProfileProperties(profile);
                     minecraftAuthService.fillProfileTextures(profile);
-                    BufferedImage image = getSkinRawTextureByProfile(profile);
+                    BufferedImage image = readProfileTexture(profile, TextureType.SKIN, "皮肤");
                     BufferedImage headImage = getSkinHeadTextureByRaw(image, zoom, helmet);
                     callback.onLookupSucceeded(profile, headImage);
                 } catch (Exception e) {
@@ -657,7 +1128,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      */
     public BufferedImage getSkinHeadTextureByProfile(GameProfile profile, int zoom, boolean helmet) throws MoonLakeSkinException {
         validate(profile, "游戏档案对象不能为 null 值.");
-        BufferedImage skinRawImage = getSkinRawTextureByProfile(profile);
+        BufferedImage skinRawImage = readProfileTexture(profile, TextureType.SKIN, "皮肤");
         return getSkinHeadTextureByRaw(skinRawImage, zoom, helmet);
     }
 
@@ -701,21 +1172,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      */
     public BufferedImage getSkinHeadTextureByRaw(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException {
         validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
-        Boolean skinVer = getSkinRawImageVer(skinRawImage);
-        if(skinVer == null)
-            throw new MoonLakeSkinException("错误的皮肤材质源图片大小, 应为 64x64 或 64x32 大小.");
-        if(zoom <= 0)
-            zoom = 1;
-        if(skinRawImage.getType() != BufferedImage.TYPE_INT_ARGB)
-            skinRawImage = conversionImage(skinRawImage, BufferedImage.TYPE_INT_ARGB);
-        // 如果皮肤源图片的类型不为 INT_ARGB 通道则进行重绘并转换
-        BufferedImage skinHeadImage = new BufferedImage(8, 8, BufferedImage.TYPE_INT_ARGB);
-        skinHeadImage.setRGB(0, 0, 8, 8, skinRawImage.getRGB(8, 8, 8, 8, null, 0, 8), 0, 8);
-        int[] helmetRgb = helmet ? skinRawImage.getRGB(40, 8, 8, 8, null, 0, 8) : null;
-        if(helmet)
-            drawHelmetImage(skinHeadImage, helmetRgb, 8, 8, 0, 0, 0, 8);
-        // 将 8x8 像素的头像图片进行放大处理
-        return resizeImage(skinHeadImage, zoom);
+        return getSkinRenderer().renderHead(skinRawImage, zoom, helmet);
     }
 
     /**
@@ -761,7 +1218,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
     }
 
     /**
-     * 从指定用户名向 HTTP 查找用户的皮肤模型 2D 图片
+     * 从指定用户名向 HTTP 查找用户的皮肤模型 2D 图片 (根据材质元数据或皮肤像素自动检测是否苗条)
      *
      * @param name 用户名
      * @param zoom 放大倍数 (默认 2 倍, 32x64 像素)
@@ -773,7 +1230,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * @throws IllegalArgumentException 如果皮肤模型图片回调对象为 {@code null} 则抛出异常
      */
     public void findSkinModel2DTextureByName(String name, int zoom, boolean helmet, SkinRawImageCallback<String> callback, boolean async) throws MoonLakeSkinException {
-        findSkinModel2DTextureByName(name, zoom, helmet, false, callback, async);
+        findSkinModel2DTextureByName0(name, zoom, helmet, null, callback, async);
     }
 
     /**
@@ -806,6 +1263,23 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * @throws IllegalArgumentException 如果皮肤模型图片回调对象为 {@code null} 则抛出异常
      */
     public void findSkinModel2DTextureByName(String name, int zoom, boolean helmet, boolean slim, SkinRawImageCallback<String> callback, boolean async) throws MoonLakeSkinException {
+        findSkinModel2DTextureByName0(name, zoom, helmet, slim, callback, async);
+    }
+
+    /**
+     * 从指定用户名向 HTTP 查找用户的皮肤模型 2D 图片
+     *
+     * @param name 用户名
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条, {@code null} 则自动检测
+     * @param callback 皮肤模型 2D 图片回调对象
+     * @param async 是否异步
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果皮肤模型 2D 图片回调对象为 {@code null} 则抛出异常
+     */
+    private void findSkinModel2DTextureByName0(String name, int zoom, boolean helmet, Boolean slim, SkinRawImageCallback<String> callback, boolean async) throws MoonLakeSkinException {
         validate(name, "用户名对象不能为 null 值.");
         validate(callback, "皮肤源图片回调对象不能为 null 值.");
         Runnable runnable = new Runnable() {
@@ -815,7 +1289,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                     @Override
                     public void onLookupSucceeded(GameProfile profile) {
                         try {
-                            findSkinModel2DTextureByProfile(profile, zoom, helmet, slim, new SkinRawImageCallback<GameProfile>() {
+                            findSkinModel2DTextureByProfile0(profile, zoom, helmet, slim, new SkinRawImageCallback<GameProfile>() {
                                 @Override
                                 public void onLookupSucceeded(GameProfile param, BufferedImage headImage) {
                                     callback.onLookupSucceeded(param.getName(), headImage);
@@ -825,7 +1299,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                                 public void onLookupFailed(GameProfile param, Exception ex) {
                                     callback.onLookupFailed(param.getName(), ex);
                                 }
-                            });
+                            }, false);
                         } catch (MoonLakeAuthException e) {
                             callback.onLookupFailed(name, e);
                         }
@@ -884,7 +1358,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
     }
 
     /**
-     * 从指定游戏档案查找用户的皮肤模型 2D 图片, 如果档案不存在皮肤则请求 HTTP 获取数据
+     * 从指定游戏档案查找用户的皮肤模型 2D 图片, 如果档案不存在皮肤则请求 HTTP 获取数据 (根据材质元数据或皮肤像素自动检测是否苗条)
      *
      * @param profile 游戏档案
      * @param zoom 放大倍数 (默认 2 倍, 32x64 像素)
@@ -896,7 +1370,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * @throws IllegalArgumentException 如果皮肤模型图片回调对象为 {@code null} 则抛出异常
      */
     public void findSkinModel2DTextureByProfile(GameProfile profile, int zoom, boolean helmet, SkinRawImageCallback<GameProfile> callback, boolean async) throws MoonLakeSkinException {
-        findSkinModel2DTextureByProfile(profile, zoom, helmet, false, callback, async);
+        findSkinModel2DTextureByProfile0(profile, zoom, helmet, null, callback, async);
     }
 
     /**
@@ -929,6 +1403,23 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * @throws IllegalArgumentException 如果皮肤模型图片回调对象为 {@code null} 则抛出异常
      */
     public void findSkinModel2DTextureByProfile(GameProfile profile, int zoom, boolean helmet, boolean slim, SkinRawImageCallback<GameProfile> callback, boolean async) throws MoonLakeSkinException {
+        findSkinModel2DTextureByProfile0(profile, zoom, helmet, slim, callback, async);
+    }
+
+    /**
+     * 从指定游戏档案查找用户的皮肤模型 2D 图片
+     *
+     * @param profile 游戏档案
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条, {@code null} 则自动检测
+     * @param callback 皮肤模型 2D 图片回调对象
+     * @param async 是否异步
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果皮肤模型 2D 图片回调对象为 {@code null} 则抛出异常
+     */
+    private void findSkinModel2DTextureByProfile0(GameProfile profile, int zoom, boolean helmet, Boolean slim, SkinRawImageCallback<GameProfile> callback, boolean async) throws MoonLakeSkinException {
         validate(profile, "游戏档案对象不能为 null 值.");
         validate(callback, "皮肤源图片回调对象不能为 null 值.");
         Runnable runnable = new Runnable() {
@@ -939,8 +1430,8 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                 Map<TextureType, ProfileTexture> textures = profile.getTextures();
                 if(!textures.isEmpty() && (skinTexture = textures.get(TextureType.SKIN)) != null && !isBlank(skinTexture.getUrl())) {
                     try {
-                        BufferedImage image = getSkinRawTextureByProfile(profile);
-                        BufferedImage modelImage = getSkinModel2DTextureByRaw(image, zoom, helmet, slim);
+                        BufferedImage image = readProfileTexture(profile, TextureType.SKIN, "皮肤");
+                        BufferedImage modelImage = getSkinModel2DTextureByRaw(image, zoom, helmet, slim != null ? slim : isSkinSlimByProfile(profile));
                         callback.onLookupSucceeded(profile, modelImage);
                         existGetSucceed = true;
                     } catch (MoonLakeSkinException e) {
@@ -950,11 +1441,11 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
                     return;
                 // 当前游戏档案不存在材质属性数据则进行获取
                 try {
-                    MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy());
+                    MinecraftAuthService minecraftAuthService = new MinecraftAuthService(getProxy(), getEndpointProfile());
                     minecraftAuthService.fillProfileProperties(profile);
                     minecraftAuthService.fillProfileTextures(profile);
-                    BufferedImage image = getSkinRawTextureByProfile(profile);
-                    BufferedImage modelImage = getSkinModel2DTextureByRaw(image, zoom, helmet, slim);
+                    BufferedImage image = readProfileTexture(profile, TextureType.SKIN, "皮肤");
+                    BufferedImage modelImage = getSkinModel2DTextureByRaw(image, zoom, helmet, slim != null ? slim : isSkinSlimByProfile(profile));
                     callback.onLookupSucceeded(profile, modelImage);
                 } catch (Exception e) {
                     callback.onLookupFailed(profile, e);
@@ -992,7 +1483,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
     }
 
     /**
-     * 从指定游戏档案获取用户的皮肤模型 2D 图片
+     * 从指定游戏档案获取用户的皮肤模型 2D 图片 (根据材质元数据或皮肤像素自动检测是否苗条)
      *
      * @param profile 游戏档案
      * @param zoom 放大倍数 (默认 2 倍, 32x64 像素)
@@ -1003,7 +1494,9 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
      */
     public BufferedImage getSkinModel2DTextureByProfile(GameProfile profile, int zoom, boolean helmet) throws MoonLakeSkinException {
-        return getSkinModel2DTextureByProfile(profile, zoom, helmet, false);
+        validate(profile, "游戏档案对象不能为 null 值.");
+        BufferedImage skinRawImage = readProfileTexture(profile, TextureType.SKIN, "皮肤");
+        return getSkinModel2DTextureByRaw(skinRawImage, zoom, helmet, isSkinSlimByProfile(profile));
     }
 
     /**
@@ -1020,7 +1513,7 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      */
     public BufferedImage getSkinModel2DTextureByProfile(GameProfile profile, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
         validate(profile, "游戏档案对象不能为 null 值.");
-        BufferedImage skinRawImage = getSkinRawTextureByProfile(profile);
+        BufferedImage skinRawImage = readProfileTexture(profile, TextureType.SKIN, "皮肤");
         return getSkinModel2DTextureByRaw(skinRawImage, zoom, helmet, slim);
     }
 
@@ -1075,50 +1568,141 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
      * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
      */
     public BufferedImage getSkinModel2DTextureByRaw(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
-        // 将指定皮肤材质源图片绘制成 2D 模型图片
         validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
-        Boolean skinVer = getSkinRawImageVer(skinRawImage);
-        if(skinVer == null)
-            throw new MoonLakeSkinException("错误的皮肤材质源图片大小, 应为 64x64 或 64x32 大小.");
-        if(zoom <= 0)
-            zoom = 1;
-        if(skinRawImage.getType() != BufferedImage.TYPE_INT_ARGB)
-            skinRawImage = conversionImage(skinRawImage, BufferedImage.TYPE_INT_ARGB);
-        // 如果皮肤源图片的类型不为 INT_ARGB 通道则进行重绘并转换
-        BufferedImage skinModel2DImage = new BufferedImage(16, 32, BufferedImage.TYPE_INT_ARGB);
-        if(!skinVer) {
-            // 旧版本皮肤 64x32 像素的绘制方式
-            skinModel2DImage.setRGB(4, 0, 8, 8, skinRawImage.getRGB(8, 8, 8, 8, null, 0, 8), 0, 8); // 头
-            skinModel2DImage.setRGB(4, 8, 8, 12, skinRawImage.getRGB(20, 20, 8, 12, null, 0, 8), 0, 8); // 身体
-            BufferedImage armImage = new BufferedImage(slim ? 3 : 4, 12, BufferedImage.TYPE_INT_ARGB); // 手
-            armImage.setRGB(0, 0, slim ? 3 : 4, 12, skinRawImage.getRGB(44, 20, slim ? 3 : 4, 12, null, 0, 8), 0, 8);
-            skinModel2DImage.getGraphics().drawImage(armImage, slim ? 1 : 0, 8, slim ? 3 : 4, 12, null); // 左手
-            skinModel2DImage.getGraphics().drawImage(flippedImage(armImage), 12, 8, slim ? 3 : 4, 12, null); // 右手 (翻转左手)
-            BufferedImage legImage = new BufferedImage(4, 12, BufferedImage.TYPE_INT_ARGB); // 腿
-            legImage.setRGB(0, 0, 4, 12, skinRawImage.getRGB(4, 20, 4, 12, null, 0, 8), 0, 8);
-            skinModel2DImage.getGraphics().drawImage(legImage, 4, 20, 4, 12, null); // 右腿
-            skinModel2DImage.getGraphics().drawImage(flippedImage(legImage), 8, 20, 4, 12, null); // 左腿 (翻转右腿)
-            if(helmet) // 旧版本只有头是有双层的, 其他没有
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(40, 8, 8, 8, null, 0, 8), 8, 8, 4, 0, 0, 8); // 头外层
-        } else {
-            // 新版本双层皮肤 64x64 像素的绘制方式
-            skinModel2DImage.setRGB(4, 0, 8, 8, skinRawImage.getRGB(8, 8, 8, 8, null, 0, 8), 0, 8); // 头
-            skinModel2DImage.setRGB(4, 8, 8, 12, skinRawImage.getRGB(20, 20, 8, 12, null, 0, 8), 0, 8); // 身体
-            skinModel2DImage.setRGB(slim ? 1 : 0, 8, slim ? 3 : 4, 12, skinRawImage.getRGB(44, 20, slim ? 3 : 4, 12, null, 0, 8), 0, 8); // 右手
-            skinModel2DImage.setRGB(12, 8, slim ? 3 : 4, 12, skinRawImage.getRGB(36, 52, slim ? 3 : 4, 12, null, 0, 8), 0, 8); // 左手
-            skinModel2DImage.setRGB(4, 20, 4, 12, skinRawImage.getRGB(4, 20, 4, 12, null, 0, 8), 0, 8); // 右腿
-            skinModel2DImage.setRGB(8, 20, 4, 12, skinRawImage.getRGB(20, 52, 4, 12, null, 0, 8), 0, 8); // 左腿
-            if(helmet) { // 新版本所有部位都有双层的
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(40, 8, 8, 8, null, 0, 8), 8, 8, 4, 0, 0, 8); // 头外层
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(20, 32, 8, 12, null, 0, 8), 8, 12, 4, 8, 0, 8); // 身体外层
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(44, 32, slim ? 3 : 4, 12, null, 0, 8), slim ? 3 : 4, 12, slim ? 1 : 0, 8, 0, 8); // 右手外层
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(52, 52, slim ? 3 : 4, 12, null, 0, 8), slim ? 3 : 4, 12, 12, 8, 0, 8); // 左手外层
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(4, 36, 4, 12, null, 0, 8), 4, 12, 4, 20, 0, 8); // 右腿外层
-                drawHelmetImage(skinModel2DImage, skinRawImage.getRGB(4, 52, 4, 12, null, 0, 8), 4, 12, 8, 20, 0, 8); // 左腿外层
-            }
-        }
-        // 将 16x32 像素的2D模型图片进行放大处理
-        return resizeImage(skinModel2DImage, zoom);
+        return getSkinRenderer().renderModel2D(skinRawImage, zoom, helmet, slim);
+    }
+
+    /**
+     * 从指定游戏档案获取用户的皮肤 3D 等轴测头像图片
+     *
+     * @param profile 游戏档案
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 8 倍)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @return 皮肤 3D 头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在皮肤则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinHead3DTextureByProfile(GameProfile profile, int zoom, boolean helmet) throws MoonLakeSkinException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        BufferedImage skinRawImage = readProfileTexture(profile, TextureType.SKIN, "皮肤");
+        return getSkinHead3DTextureByRaw(skinRawImage, zoom, helmet);
+    }
+
+    /**
+     * 从指定皮肤源文件获取用户的皮肤 3D 等轴测头像图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @return 皮肤 3D 头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinHead3DTextureByRaw(BufferedImage skinRawImage) throws MoonLakeSkinException {
+        return getSkinHead3DTextureByRaw(skinRawImage, 8);
+    }
+
+    /**
+     * 从指定皮肤源文件获取用户的皮肤 3D 等轴测头像图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 8 倍)
+     * @return 皮肤 3D 头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinHead3DTextureByRaw(BufferedImage skinRawImage, int zoom) throws MoonLakeSkinException {
+        return getSkinHead3DTextureByRaw(skinRawImage, zoom, true);
+    }
+
+    /**
+     * 从指定皮肤源文件获取用户的皮肤 3D 等轴测头像图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 8 倍)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @return 皮肤 3D 头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinHead3DTextureByRaw(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException {
+        validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
+        return getSkinRenderer().renderHead3D(skinRawImage, zoom, helmet);
+    }
+
+    /**
+     * 从指定游戏档案获取用户的皮肤 3D 等轴测模型图片 (根据材质元数据或皮肤像素自动检测是否苗条)
+     *
+     * @param profile 游戏档案
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 4 倍)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在皮肤则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinModel3DTextureByProfile(GameProfile profile, int zoom, boolean helmet) throws MoonLakeSkinException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        BufferedImage skinRawImage = readProfileTexture(profile, TextureType.SKIN, "皮肤");
+        return getSkinModel3DTextureByRaw(skinRawImage, zoom, helmet, isSkinSlimByProfile(profile));
+    }
+
+    /**
+     * 从指定游戏档案获取用户的皮肤 3D 等轴测模型图片
+     *
+     * @param profile 游戏档案
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 4 倍)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @param slim 是否苗条
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在皮肤则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinModel3DTextureByProfile(GameProfile profile, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
+        validate(profile, "游戏档案对象不能为 null 值.");
+        BufferedImage skinRawImage = readProfileTexture(profile, TextureType.SKIN, "皮肤");
+        return getSkinModel3DTextureByRaw(skinRawImage, zoom, helmet, slim);
+    }
+
+    /**
+     * 从指定皮肤源文件获取用户的皮肤 3D 等轴测模型图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinModel3DTextureByRaw(BufferedImage skinRawImage) throws MoonLakeSkinException {
+        return getSkinModel3DTextureByRaw(skinRawImage, 4);
+    }
+
+    /**
+     * 从指定皮肤源文件获取用户的皮肤 3D 等轴测模型图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 4 倍)
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinModel3DTextureByRaw(BufferedImage skinRawImage, int zoom) throws MoonLakeSkinException {
+        return getSkinModel3DTextureByRaw(skinRawImage, zoom, true, false);
+    }
+
+    /**
+     * 从指定皮肤源文件获取用户的皮肤 3D 等轴测模型图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长, 默认 4 倍)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @param slim 是否苗条
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage getSkinModel3DTextureByRaw(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
+        validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
+        return getSkinRenderer().renderModel3D(skinRawImage, zoom, helmet, slim);
     }
 
     @Override
@@ -1130,135 +1714,219 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
     }
 
     /**
-     * 格式化名称获取游戏档案的集合请求
+     * 从指定游戏档案读取指定类型的材质图片
      *
-     * @param set 名称集合
-     * @param size 大小
-     * @return 结果
+     * @param profile 游戏档案
+     * @param type 材质类型
+     * @param typeName 材质类型名称 (用于异常信息)
+     * @return 材质图片
+     * @throws MoonLakeSkinException 如果材质不存在或读取错误则抛出异常
      */
-    private static Set<Set<String>> fromRequest(Set<String> set, int size) {
-        List<String> list = new ArrayList<>(set);
-        Set<Set<String>> request = new HashSet<>();
-        for(int i = 0; i < list.size(); i+= size) {
-            Set<String> value = new HashSet<>();
-            value.addAll(list.subList(i, Math.min(i + size, list.size())));
-            request.add(value);
+    private BufferedImage readProfileTexture(GameProfile profile, TextureType type, String typeName) throws MoonLakeSkinException {
+        try {
+            ProfileTexture texture = null;
+            Map<TextureType, ProfileTexture> textures = profile.getTextures();
+            if(textures.isEmpty() || (texture = textures.get(type)) == null || isBlank(texture.getUrl()))
+                throw new MoonLakeSkinNotFoundException("游戏档案对象不存在任何" + typeName + "材质数据.");
+            return readTexture(texture.getHash(), texture.getUrl());
+        } catch (Exception e) {
+            throw new MoonLakeSkinException("获取游戏档案的" + typeName + "材质数据时错误.", e);
         }
-        return request;
     }
 
     /**
-     * 获取指定皮肤源图片的版本
+     * 从指定游戏档案读取鞘翅材质图片 (不存在鞘翅材质时使用披风材质)
      *
-     * @param skinRawImage 皮肤源图片
-     * @return 皮肤版本
-     */
-    private static Boolean getSkinRawImageVer(BufferedImage skinRawImage) {
-        // 获取皮肤材质源图片的版本
-        // false: 旧版本 64x32 像素
-        // true: 新版本 64x64 像素
-        // null: 错误的像素大小
-        int width = skinRawImage.getWidth();
-        int height = skinRawImage.getHeight();
-        if(width == 64) {
-            if(height == 64)
-                return true;
-            if(height == 32)
-                return false;
-        }
-        return null;
+     * @param profile 游戏档案
+     * @return 鞘翅材质图片
+     * @throws MoonLakeSkinException 如果鞘翅和披风不存在或读取错误则抛出异常
+     */
+    private BufferedImage readElytraTexture(GameProfile profile) throws MoonLakeSkinException {
+        ProfileTexture elytraTexture = profile.getTexture(TextureType.ELYTRA);
+        if(elytraTexture == null || isBlank(elytraTexture.getUrl()))
+            return readProfileTexture(profile, TextureType.CAPE, "鞘翅");
+        return readProfileTexture(profile, TextureType.ELYTRA, "鞘翅");
     }
 
     /**
-     * 将指定图片转换为指定图片类型的图片
+     * 从材质缓存或指定链接读取材质图片, 读取成功则放入材质缓存
+     *
+     * <p>材质下载使用此服务的代理并经过 HTTP 验证器缓存, 材质缓存淘汰后重新读取时服务器可以直接响应 304.
+     * 材质数据由皮肤渲染器解码.</p>
      *
-     * @param image 图片
-     * @param type 转换类型
-     * @return 结果图片
+     * @param hash 材质哈希值
+     * @param url 材质链接
+     * @return 材质图片
+     * @throws Exception 如果读取错误则抛出异常
      */
-    private static BufferedImage conversionImage(BufferedImage image, int type) {
-        BufferedImage conversion = new BufferedImage(image.getWidth(), image.getHeight(), type);
-        conversion.getGraphics().drawImage(image, 0, 0, null);
-        return conversion;
+    private BufferedImage readTexture(String hash, String url) throws Exception {
+        TextureCache cache = textureCache;
+        BufferedImage image = cache.get(hash);
+        if(image != null)
+            return image;
+        SkinRenderer renderer = getSkinRenderer(); // 下载之前检查渲染模块是否存在
+        try {
+            image = renderer.decodeTexture(makeBinaryRequest(getProxy(), url));
+        } catch (MoonLakeSkinException e) {
+            throw new MoonLakeSkinException("无法解码材质图片: " + url, e);
+        }
+        cache.put(hash, image);
+        return image;
     }
 
     /**
-     * 将指定图片按指定倍数进行缩放大小
+     * 获取指定字符串是否为有效的材质哈希值 (十六进制字符串)
      *
-     * @param raw 图片源
-     * @param zoom 倍数
-     * @return 结果图片
+     * @param hash 字符串
+     * @return 是否为有效的材质哈希值
      */
-    private static BufferedImage resizeImage(BufferedImage raw, int zoom) {
-        BufferedImage target = new BufferedImage(raw.getWidth() * zoom, raw.getHeight() * zoom, BufferedImage.TYPE_INT_ARGB);
-        Graphics g = target.createGraphics();
-        g.drawImage(raw, 0, 0, target.getWidth(), target.getHeight(), null);
-        g.dispose();
-        return target;
+    private static boolean isTextureHash(String hash) {
+        if(hash.isEmpty())
+            return false;
+        for(int i = 0; i < hash.length(); i++) {
+            char ch = hash.charAt(i);
+            if(!((ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F')))
+                return false;
+        }
+        return true;
     }
 
     /**
-     * 将指定图片进行水平翻转
+     * 从指定小写用户名集合向 HTTP 批量查找游戏档案数据 (每 100 个用户名一次请求, 请求错误时重试, 跳过不存在用户名过滤器中的用户名)
      *
-     * @param raw 源图片
-     * @return 结果图片
+     * @param nameSet 小写用户名集合
+     * @param callback 游戏档案回调对象
+     * @param limiter 请求速率限制器, {@code null} 则不限制
      */
-    private static BufferedImage flippedImage(BufferedImage raw) {
-        int width = raw.getWidth();
-        int height = raw.getHeight();
-        BufferedImage target = new BufferedImage(width, height, raw.getTransparency());
-        Graphics g = target.createGraphics();
-        g.drawImage(raw, 0, 0, width, height, width, 0, 0, height, null);
-        g.dispose();
-        return target;
+    void lookupProfilesByName(Set<String> nameSet, ProfileLookupCallback callback, RequestRateLimiter limiter) {
+        MissingNameFilter filter = missingNameFilter;
+        if(filter != null) {
+            Set<String> filtered = new HashSet<>(nameSet.size());
+            for(String name : nameSet) {
+                if(filter.mightContain(name))
+                    callback.onLookupFailed(new GameProfile((UUID) null, name), new MoonLakeProfileNotFoundException("服务器近期确认不存在名为 '" + name + "' 的游戏档案."));
+                else
+                    filtered.add(name);
+            }
+            nameSet = filtered;
+        }
+        for(Set<String> request : fromRequest(nameSet, PROFILES_PER_REQUEST)) {
+            int failedCount = 0;
+            boolean tryAgain = true;
+            while(failedCount < MAX_FAIL_COUNT && tryAgain) {
+                tryAgain = false;
+                try {
+                    if(limiter != null)
+                        limiter.acquire();
+                    ProfileSearchResponse response = makeRequest(getProxy(), endpoint(URL_PROFILES), request, ProfileSearchResponse.class);
+                    failedCount = 0;
+                    Set<String> missing = new HashSet<>(request);
+                    for(GameProfile profile : response.getProfiles()) {
+                        missing.remove(profile.getName().toLowerCase());
+                        callback.onLookupSucceeded(profile);
+                    }
+                    for(String name : missing) {
+                        if(filter != null)
+                            filter.put(name);
+                        callback.onLookupFailed(new GameProfile((UUID) null, name), new MoonLakeProfileNotFoundException("服务器没有存在名为 '" + name + "' 的游戏档案."));
+                    }
+                    if(limiter == null) try {
+                        Thread.sleep(DELAY_BETWEEN_PAGES);
+                    } catch (InterruptedException e) {
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    for(String name : request)
+                        callback.onLookupFailed(new GameProfile((UUID) null, name), e);
+                } catch (MoonLakeRequestException e) {
+                    failedCount++;
+                    if(failedCount >= MAX_FAIL_COUNT) {
+                        for(String name : request)
+                            callback.onLookupFailed(new GameProfile((UUID) null, name), e);
+                    } else {
+                        try {
+                            Thread.sleep(DELAY_BETWEEN_FAILURES);
+                        } catch (InterruptedException e1) {
+                        }
+                        tryAgain = true;
+                    }
+                }
+            }
+        }
     }
 
     /**
-     * 将指定图片进行绘制外层皮肤数据
+     * 从指定档案时间戳查询向 HTTP 查找游戏档案数据 (请求错误时重试)
      *
-     * @param image 待绘制图片
-     * @param rgbArray RGB 数组
-     * @param width 宽度
-     * @param height 高度
-     * @param startX 开始 X
-     * @param startY 开始 Y
-     * @param offset 偏移
-     * @param scansize 扫描尺寸
+     * @param query 档案时间戳查询
+     * @param callback 档案时间戳查询回调对象
+     * @param limiter 请求速率限制器
      */
-    private static void drawHelmetImage(BufferedImage image, int[] rgbArray, int width, int height, int startX, int startY, int offset, int scansize) {
-        /**
-         * 算法摘自, 只不过就是添加了验证是否是透明的 rgb 值
-         * @see BufferedImage#setRGB(int, int, int, int, int[], int, int)
-         */
-        int yoff  = offset;
-        int off;
-        Object pixel = null;
-        WritableRaster raster = image.getRaster();
-        ColorModel colorModel = image.getColorModel();
-
-        for (int y = startY; y < startY + height; y++, yoff += scansize) {
-            off = yoff;
-            for (int x = startX; x < startX + width; x++) {
-                int rgb = rgbArray[off++];
-                if(isInvalidColorRgb(rgb))
-                    continue;
-                pixel = colorModel.getDataElements(rgb, pixel);
-                raster.setDataElements(x, y, pixel);
+    private void lookupProfileByTimestamp(ProfileTimestampQuery query, ProfileTimestampCallback callback, RequestRateLimiter limiter) {
+        String url = endpoint(URL_PROFILE_TIME) + "/" + query.getName() + (query.isCurrent() ? "" : ("?at=" + query.getTimestamp()));
+        int failedCount = 0;
+        while(true) {
+            ProfileTimestampResponse response;
+            try {
+                limiter.acquire();
+                response = makeRequest(getProxy(), url, null, ProfileTimestampResponse.class);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                callback.onLookupFailed(query, e);
+                return;
+            } catch (MoonLakeRequestException e) {
+                if(++failedCount >= MAX_FAIL_COUNT) {
+                    callback.onLookupFailed(query, e);
+                    return;
+                }
+                try {
+                    Thread.sleep(DELAY_BETWEEN_FAILURES);
+                } catch (InterruptedException e1) {
+                    Thread.currentThread().interrupt();
+                    callback.onLookupFailed(query, e);
+                    return;
+                }
+                continue;
             }
+            if(response == null || response.id == null)
+                callback.onLookupFailed(query, new MoonLakeProfileNotFoundException("服务器没有存在名为 '" + query.getName() + "' 的游戏档案."));
+            else
+                callback.onLookupSucceeded(query, new GameProfile(response.id, response.name));
+            return;
         }
     }
 
     /**
-     * 验证指定 RGB 值是否为无效
+     * 格式化名称获取游戏档案的集合请求
      *
-     * @param rgb RGB
-     * @return 是否为无效
+     * @param set 名称集合
+     * @param size 大小
+     * @return 结果
      */
-    private static boolean isInvalidColorRgb(int rgb) {
-        int r = (rgb & 0xff0000) >> 16;
-        int g = (rgb & 0xff00) >> 8;
-        int b = (rgb & 0xff);
-        return (r == 0 && g == 0 && b == 0) || (r == 0xff && g == 0xff && b == 0xff);
+    private static Set<Set<String>> fromRequest(Set<String> set, int size) {
+        List<String> list = new ArrayList<>(set);
+        Set<Set<String>> request = new HashSet<>();
+        for(int i = 0; i < list.size(); i+= size) {
+            Set<String> value = new HashSet<>();
+            value.addAll(list.subList(i, Math.min(i + size, list.size())));
+            request.add(value);
+        }
+        return request;
+    }
+
+    /**
+     * 默认皮肤渲染器持有类 (只有在第一次渲染时才会加载渲染模块)
+     */
+    private static class SkinRendererHolder {
+        private final static SkinRenderer DEFAULT;
+
+        static {
+            SkinRenderer renderer = null;
+            Iterator<SkinRenderer> iterator = ServiceLoader.load(SkinRenderer.class, ProfileAuthService.class.getClassLoader()).iterator();
+            if(iterator.hasNext())
+                renderer = iterator.next();
+            DEFAULT = renderer;
+        }
     }
 
     /**
@@ -1272,5 +1940,36 @@ public class ProfileAuthService extends MoonLakeAuthBaseService {
             this.id = id;
             this.name = name;
         }
+
+        /**
+         * 档案时间戳响应编解码类
+         */
+        private final static class Codec extends MojangBaseResponse.Codec<ProfileTimestampResponse> {
+
+            @Override
+            protected ProfileTimestampResponse create() {
+                return new ProfileTimestampResponse(null, null);
+            }
+
+            @Override
+            protected boolean readField(JsonReader jsonReader, ProfileTimestampResponse response, String name) throws IOException {
+                switch (name) {
+                    case "id":
+                        response.id = UUIDSerializer.fromString(jsonReader.nextString());
+                        return true;
+                    case "name":
+                        response.name = jsonReader.nextString();
+                        return true;
+                    default:
+                        return false;
+                }
+            }
+
+            @Override
+            protected void writeFields(JsonWriter jsonWriter, ProfileTimestampResponse response) throws IOException {
+                jsonWriter.name("id").value(response.id != null ? UUIDSerializer.fromUUID(response.id) : null);
+                jsonWriter.name("name").value(response.name);
+            }
+        }
     }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import com.minecraft.moonlake.auth.data.ProfileHistoryList;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ProfileHistoryCache</h1>
+ * 档案历史记录缓存类 (以用户 Id 为键, 缓存排序后的不可变历史记录, 超过有效期后才会重新请求, 历史记录没有变化时保留原缓存项)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService
+ */
+public class ProfileHistoryCache {
+
+    /**
+     * 默认的最大缓存数量
+     */
+    public final static int DEFAULT_MAX_SIZE = 4096;
+
+    /**
+     * 默认的缓存有效期 (毫秒), 用户名至少 30 天才能更改一次, 所以有效期可以相对较长
+     */
+    public final static long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(30L);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<UUID, HistoryEntry> cache;
+
+    /**
+     * 档案历史记录缓存类构造函数
+     */
+    public ProfileHistoryCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * 档案历史记录缓存类构造函数
+     *
+     * @param maxSize 最大缓存数量
+     * @param ttl 缓存有效期 (毫秒)
+     * @throws IllegalArgumentException 如果最大缓存数量小于等于 0 或缓存有效期小于 0 则抛出异常
+     */
+    public ProfileHistoryCache(int maxSize, long ttl) {
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("最大缓存数量必须大于 0.");
+        if(ttl < 0L)
+            throw new IllegalArgumentException("缓存有效期不能小于 0.");
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.cache = new LinkedHashMap<UUID, HistoryEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, HistoryEntry> eldest) {
+                return size() > ProfileHistoryCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取此档案历史记录缓存指定用户 Id 的档案历史记录 (包括已过期的缓存项)
+     *
+     * @param id 用户 Id
+     * @return 档案历史记录列表, 不存在则返回 {@code null}
+     */
+    public ProfileHistoryList get(UUID id) {
+        if(id == null)
+            return null;
+        synchronized (cache) {
+            HistoryEntry entry = cache.get(id);
+            return entry != null ? entry.history : null;
+        }
+    }
+
+    /**
+     * 获取此档案历史记录缓存指定用户 Id 未过期的档案历史记录
+     *
+     * @param id 用户 Id
+     * @return 档案历史记录列表, 不存在或已过期则返回 {@code null}
+     */
+    public ProfileHistoryList getFresh(UUID id) {
+        if(id == null)
+            return null;
+        long now = System.nanoTime();
+        synchronized (cache) {
+            HistoryEntry entry = cache.get(id);
+            return entry != null && !entry.isExpired(now, ttlNanos) ? entry.history : null;
+        }
+    }
+
+    /**
+     * 将指定用户 Id 的档案历史记录放入此档案历史记录缓存并刷新有效期
+     *
+     * <p>如果已缓存的历史记录与新的历史记录相同, 那么保留已缓存的实例, 只刷新有效期.</p>
+     *
+     * @param id 用户 Id
+     * @param history 档案历史记录列表
+     * @return 放入后缓存中的档案历史记录列表
+     * @throws IllegalArgumentException 如果用户 Id 或档案历史记录列表对象为 {@code null} 则抛出异常
+     */
+    public ProfileHistoryList put(UUID id, ProfileHistoryList history) {
+        if(id == null || history == null)
+            throw new IllegalArgumentException("用户 Id 或档案历史记录列表对象不能为 null 值.");
+        long now = System.nanoTime();
+        synchronized (cache) {
+            HistoryEntry entry = cache.get(id);
+            if(entry != null && entry.history.size() == history.size() && entry.history.equals(history)) {
+                entry.fetchedAt = now; // 历史记录没有变化
+                return entry.history;
+            }
+            cache.put(id, new HistoryEntry(history, now));
+            return history;
+        }
+    }
+
+    /**
+     * 将指定用户 Id 的档案历史记录从此档案历史记录缓存中移除
+     *
+     * @param id 用户 Id
+     */
+    public void remove(UUID id) {
+        synchronized (cache) {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * 清除此档案历史记录缓存的所有档案历史记录
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取此档案历史记录缓存的数量大小
+     *
+     * @return 数量大小
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 获取此档案历史记录缓存的最大缓存数量
+     *
+     * @return 最大缓存数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取此档案历史记录缓存的缓存有效期 (毫秒)
+     *
+     * @return 缓存有效期
+     */
+    public long getTtl() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    /**
+     * <h1>HistoryEntry</h1>
+     * 档案历史记录缓存项
+     */
+    private static class HistoryEntry {
+
+        private final ProfileHistoryList history;
+        private long fetchedAt;
+
+        /**
+         * 档案历史记录缓存项构造函数
+         *
+         * @param history 档案历史记录列表
+         * @param fetchedAt 请求时间 (纳秒)
+         */
+        HistoryEntry(ProfileHistoryList history, long fetchedAt) {
+            this.history = history;
+            this.fetchedAt = fetchedAt;
+        }
+
+        /**
+         * 获取此档案历史记录缓存项是否已经过期
+         *
+         * @param now 当前时间 (纳秒)
+         * @param ttlNanos 缓存有效期 (纳秒)
+         * @return 是否已经过期
+         */
+        boolean isExpired(long now, long ttlNanos) {
+            return now - fetchedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import com.minecraft.moonlake.auth.data.ProfileLookupCallback;
+
+/**
+ * <h1>ProfileLookupService</h1>
+ * 档案查找服务接口 (正版档案认证服务和离线档案解析使用相同的用户名查找方式)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService
+ * @see OfflineProfileResolver
+ */
+public interface ProfileLookupService {
+
+    /**
+     * 从指定用户名查找游戏档案数据
+     *
+     * @param name 用户名
+     * @param callback 游戏档案回调对象
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案回调对象为 {@code null} 则抛出异常
+     */
+    void findProfileByName(String name, ProfileLookupCallback callback);
+
+    /**
+     * 从指定用户名查找游戏档案数据
+     *
+     * @param name 用户名
+     * @param callback 游戏档案回调对象
+     * @param async 是否异步
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案回调对象为 {@code null} 则抛出异常
+     */
+    void findProfileByName(String name, ProfileLookupCallback callback, boolean async);
+
+    /**
+     * 从指定用户名数组查找游戏档案数据
+     *
+     * @param names 用户名数组
+     * @param callback 游戏档案回调对象
+     * @throws IllegalArgumentException 如果用户名数组对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案回调对象为 {@code null} 则抛出异常
+     */
+    void findProfilesByName(String[] names, ProfileLookupCallback callback);
+
+    /**
+     * 从指定用户名数组查找游戏档案数据
+     *
+     * @param names 用户名数组
+     * @param callback 游戏档案回调对象
+     * @param async 是否异步
+     * @throws IllegalArgumentException 如果用户名数组对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案回调对象为 {@code null} 则抛出异常
+     */
+    void findProfilesByName(String[] names, ProfileLookupCallback callback, boolean async);
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h1>ProfileMigrationStore</h1>
+ * 档案迁移存储类 (保存离线用户 Id 与正版用户 Id 的一对一映射, 用于离线模式和正版模式服务器之间迁移玩家数据)
+ *
+ * <p>读取不需要加锁, 写入时同时更新两个方向的映射.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see OfflineProfileResolver
+ */
+public class ProfileMigrationStore {
+
+    private final static int MAGIC = 0x504D5331; // PMS1
+
+    private final Map<UUID, UUID> offlineToOnline;
+    private final Map<UUID, UUID> onlineToOffline;
+
+    /**
+     * 档案迁移存储类构造函数
+     */
+    public ProfileMigrationStore() {
+        this.offlineToOnline = new ConcurrentHashMap<>();
+        this.onlineToOffline = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 获取指定离线用户 Id 映射的正版用户 Id
+     *
+     * @param offlineId 离线用户 Id
+     * @return 正版用户 Id, 不存在则返回 {@code null}
+     */
+    public UUID getOnlineId(UUID offlineId) {
+        return offlineId != null ? offlineToOnline.get(offlineId) : null;
+    }
+
+    /**
+     * 获取指定正版用户 Id 映射的离线用户 Id
+     *
+     * @param onlineId 正版用户 Id
+     * @return 离线用户 Id, 不存在则返回 {@code null}
+     */
+    public UUID getOfflineId(UUID onlineId) {
+        return onlineId != null ? onlineToOffline.get(onlineId) : null;
+    }
+
+    /**
+     * 将指定离线用户 Id 与正版用户 Id 的映射放入此档案迁移存储 (替换两者原有的映射)
+     *
+     * @param offlineId 离线用户 Id
+     * @param onlineId 正版用户 Id
+     * @throws IllegalArgumentException 如果离线用户 Id 或正版用户 Id 对象为 {@code null} 则抛出异常
+     */
+    public void put(UUID offlineId, UUID onlineId) {
+        if(offlineId == null || onlineId == null)
+            throw new IllegalArgumentException("离线用户 Id 或正版用户 Id 对象不能为 null 值.");
+        synchronized (this) {
+            UUID previousOnline = offlineToOnline.put(offlineId, onlineId);
+            if(previousOnline != null && !previousOnline.equals(onlineId))
+                onlineToOffline.remove(previousOnline);
+            UUID previousOffline = onlineToOffline.put(onlineId, offlineId);
+            if(previousOffline != null && !previousOffline.equals(offlineId))
+                offlineToOnline.remove(previousOffline);
+        }
+    }
+
+    /**
+     * 将指定离线用户 Id 的映射从此档案迁移存储中移除
+     *
+     * @param offlineId 离线用户 Id
+     */
+    public void remove(UUID offlineId) {
+        if(offlineId == null)
+            return;
+        synchronized (this) {
+            UUID onlineId = offlineToOnline.remove(offlineId);
+            if(onlineId != null)
+                onlineToOffline.remove(onlineId);
+        }
+    }
+
+    /**
+     * 清除此档案迁移存储的所有映射
+     */
+    public synchronized void clear() {
+        offlineToOnline.clear();
+        onlineToOffline.clear();
+    }
+
+    /**
+     * 获取此档案迁移存储的映射数量
+     *
+     * @return 映射数量
+     */
+    public int size() {
+        return offlineToOnline.size();
+    }
+
+    /**
+     * 将此档案迁移存储写入到指定输出流 (不会关闭输出流)
+     *
+     * @param output 输出流
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    public synchronized void writeTo(OutputStream output) throws IOException {
+        DataOutputStream dataOutput = new DataOutputStream(output);
+        dataOutput.writeInt(MAGIC);
+        dataOutput.writeInt(offlineToOnline.size());
+        for(Map.Entry<UUID, UUID> entry : offlineToOnline.entrySet()) {
+            dataOutput.writeLong(entry.getKey().getMostSignificantBits());
+            dataOutput.writeLong(entry.getKey().getLeastSignificantBits());
+            dataOutput.writeLong(entry.getValue().getMostSignificantBits());
+            dataOutput.writeLong(entry.getValue().getLeastSignificantBits());
+        }
+        dataOutput.flush();
+    }
+
+    /**
+     * 从指定输入流读取档案迁移存储 (不会关闭输入流)
+     *
+     * @param input 输入流
+     * @return 档案迁移存储
+     * @throws IOException 如果读取错误或数据无效则抛出异常
+     */
+    public static ProfileMigrationStore readFrom(InputStream input) throws IOException {
+        DataInputStream dataInput = new DataInputStream(input);
+        if(dataInput.readInt() != MAGIC)
+            throw new IOException("无效的档案迁移存储数据.");
+        int size = dataInput.readInt();
+        if(size < 0)
+            throw new IOException("无效的档案迁移存储数据.");
+        ProfileMigrationStore store = new ProfileMigrationStore();
+        for(int i = 0; i < size; i++) {
+            UUID offlineId = new UUID(dataInput.readLong(), dataInput.readLong());
+            UUID onlineId = new UUID(dataInput.readLong(), dataInput.readLong());
+            store.put(offlineId, onlineId);
+        }
+        return store;
+    }
+}
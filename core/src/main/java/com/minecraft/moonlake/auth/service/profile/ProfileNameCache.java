@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import com.minecraft.moonlake.auth.data.CompactGameProfile;
+import com.minecraft.moonlake.auth.data.GameProfile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ProfileNameCache</h1>
+ * 用户名档案缓存类 (以小写用户名为键, 缓存批量查找到的游戏档案, 超过有效期的缓存项视为不存在)
+ *
+ * <p>缓存项保存为不可变的 {@link CompactGameProfile}, 每次获取都返回新的游戏档案副本, 调用者填充或修改档案不会影响缓存.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService
+ * @see ProfileStreamResolver
+ */
+public class ProfileNameCache {
+
+    /**
+     * 默认的最大缓存数量
+     */
+    public final static int DEFAULT_MAX_SIZE = 16384;
+
+    /**
+     * 默认的缓存有效期 (毫秒)
+     */
+    public final static long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(30L);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<String, NameEntry> cache;
+
+    /**
+     * 用户名档案缓存类构造函数
+     */
+    public ProfileNameCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    /**
+     * 用户名档案缓存类构造函数
+     *
+     * @param maxSize 最大缓存数量
+     * @param ttl 缓存有效期 (毫秒)
+     * @throws IllegalArgumentException 如果最大缓存数量小于等于 0 或缓存有效期小于 0 则抛出异常
+     */
+    public ProfileNameCache(int maxSize, long ttl) {
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("最大缓存数量必须大于 0.");
+        if(ttl < 0L)
+            throw new IllegalArgumentException("缓存有效期不能小于 0.");
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.cache = new LinkedHashMap<String, NameEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NameEntry> eldest) {
+                return size() > ProfileNameCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取此用户名档案缓存指定用户名未过期的游戏档案
+     *
+     * @param name 用户名 (不区分大小写)
+     * @return 游戏档案副本, 不存在或已过期则返回 {@code null}
+     */
+    public GameProfile get(String name) {
+        if(name == null)
+            return null;
+        String key = name.toLowerCase();
+        long now = System.nanoTime();
+        synchronized (cache) {
+            NameEntry entry = cache.get(key);
+            if(entry == null)
+                return null;
+            if(now - entry.cachedAt >= ttlNanos) {
+                cache.remove(key);
+                return null;
+            }
+            return entry.profile.toProfile();
+        }
+    }
+
+    /**
+     * 将指定游戏档案以其用户名放入此用户名档案缓存 (保存不可变的紧凑副本)
+     *
+     * @param profile 游戏档案
+     * @throws IllegalArgumentException 如果游戏档案或用户名对象为 {@code null} 则抛出异常
+     */
+    public void put(GameProfile profile) {
+        if(profile == null || profile.getName() == null)
+            throw new IllegalArgumentException("游戏档案或用户名对象不能为 null 值.");
+        NameEntry entry = new NameEntry(CompactGameProfile.fromProfile(profile), System.nanoTime());
+        synchronized (cache) {
+            cache.put(profile.getName().toLowerCase(), entry);
+        }
+    }
+
+    /**
+     * 将指定用户名的游戏档案从此用户名档案缓存中移除
+     *
+     * @param name 用户名 (不区分大小写)
+     */
+    public void remove(String name) {
+        if(name == null)
+            return;
+        synchronized (cache) {
+            cache.remove(name.toLowerCase());
+        }
+    }
+
+    /**
+     * 清除此用户名档案缓存的所有游戏档案
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取此用户名档案缓存的数量大小 (包括尚未清除的过期缓存项)
+     *
+     * @return 数量大小
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 获取此用户名档案缓存的最大缓存数量
+     *
+     * @return 最大缓存数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取此用户名档案缓存的缓存有效期 (毫秒)
+     *
+     * @return 缓存有效期
+     */
+    public long getTtl() {
+        return TimeUnit.NANOSECONDS.toMillis(ttlNanos);
+    }
+
+    /**
+     * <h1>NameEntry</h1>
+     * 用户名档案缓存项
+     */
+    private static class NameEntry {
+
+        private final CompactGameProfile profile;
+        private final long cachedAt;
+
+        /**
+         * 用户名档案缓存项构造函数
+         *
+         * @param profile 紧凑的不可变游戏档案
+         * @param cachedAt 缓存时间 (纳秒)
+         */
+        NameEntry(CompactGameProfile profile, long cachedAt) {
+            this.profile = profile;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * <h1>ProfileResolveCheckpoint</h1>
+ * 档案解析检查点类 (以文本形式在文件中保存已经处理的输入用户名数量, 先写入临时文件再替换, 崩溃时不会留下不完整的检查点)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileStreamResolver
+ */
+public class ProfileResolveCheckpoint {
+
+    private final File file;
+
+    /**
+     * 档案解析检查点类构造函数
+     *
+     * @param file 检查点文件
+     * @throws IllegalArgumentException 如果检查点文件对象为 {@code null} 则抛出异常
+     */
+    public ProfileResolveCheckpoint(File file) {
+        if(file == null)
+            throw new IllegalArgumentException("检查点文件对象不能为 null 值.");
+        this.file = file;
+    }
+
+    /**
+     * 获取此档案解析检查点的文件
+     *
+     * @return 检查点文件
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * 读取此档案解析检查点已经处理的输入用户名数量
+     *
+     * @return 已处理数量, 检查点文件不存在则返回 {@code 0}
+     * @throws IOException 如果读取错误或检查点文件内容无效则抛出异常
+     */
+    public long load() throws IOException {
+        if(!file.exists())
+            return 0L;
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+        try {
+            long position = Long.parseLong(content);
+            if(position < 0L)
+                throw new IOException("检查点文件内容无效: " + content);
+            return position;
+        } catch (NumberFormatException e) {
+            throw new IOException("检查点文件内容无效: " + content, e);
+        }
+    }
+
+    /**
+     * 保存此档案解析检查点已经处理的输入用户名数量
+     *
+     * @param position 已处理数量
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    public void save(long position) throws IOException {
+        File temp = new File(file.getPath() + ".tmp");
+        Files.write(temp.toPath(), Long.toString(position).getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 删除此档案解析检查点的文件 (全部处理完成后调用)
+     *
+     * @throws IOException 如果删除错误则抛出异常
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+}
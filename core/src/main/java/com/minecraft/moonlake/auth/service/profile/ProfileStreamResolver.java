@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import com.minecraft.moonlake.auth.data.CompactGameProfile;
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileLookupCallback;
+import com.minecraft.moonlake.auth.data.ProfileResolveSink;
+import com.minecraft.moonlake.auth.exception.MoonLakeAuthException;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileNotFoundException;
+import com.minecraft.moonlake.auth.exception.MoonLakeRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * <h1>ProfileStreamResolver</h1>
+ * 流式档案解析类 (从迭代器, 流或文本逐个读取用户名, 增量组成批量请求查找游戏档案并写入输出)
+ *
+ * <p>每次最多只保存一个批次 (100 个未缓存的不同用户名, 最多 1000 个输入) 的数据, 内存占用与输入数量无关. 输出是同步写入的,
+ * 输出缓慢时读取输入也会随之变慢. 用户名档案缓存中存在的用户名直接输出而不会请求.</p>
+ *
+ * <p>每个输入的用户名都会输出一次结果: 同一批次中大小写不同或重复的用户名只请求一次,
+ * 但会以各自输入的用户名分别输出, 并且每次输出都是独立的游戏档案副本.</p>
+ *
+ * <p>设置检查点后, 每个批次的结果写入并 {@link ProfileResolveSink#flush() 持久化} 后保存已处理的输入数量,
+ * 重新运行时跳过已处理的输入. 崩溃前最后一个检查点之后的输入会重新处理, 所以输出可能存在重复 (至少一次).
+ * 恢复时的输入顺序必须与之前相同.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService
+ * @see ProfileResolveSink
+ * @see ProfileResolveCheckpoint
+ */
+public class ProfileStreamResolver {
+
+    private final static int PROFILES_PER_REQUEST = 100;
+    private final static int MAX_PENDING_NAMES = 1000;
+
+    private final ProfileAuthService service;
+    private ProfileResolveCheckpoint checkpoint;
+
+    /**
+     * 流式档案解析类构造函数
+     *
+     * @param service 档案认证服务
+     * @throws IllegalArgumentException 如果档案认证服务对象为 {@code null} 则抛出异常
+     */
+    public ProfileStreamResolver(ProfileAuthService service) {
+        if(service == null)
+            throw new IllegalArgumentException("档案认证服务对象不能为 null 值.");
+        this.service = service;
+    }
+
+    /**
+     * 获取此流式档案解析的检查点
+     *
+     * @return 检查点, 没有设置则返回 {@code null}
+     */
+    public ProfileResolveCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * 设置此流式档案解析的检查点
+     *
+     * @param checkpoint 检查点, {@code null} 则不保存检查点
+     */
+    public void setCheckpoint(ProfileResolveCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * 从指定文本读取用户名 (每行一个, 忽略空行) 查找游戏档案并写入指定输出
+     *
+     * @param reader 文本
+     * @param sink 档案解析输出
+     * @return 已处理的输入用户名数量 (包括从检查点跳过的数量)
+     * @throws MoonLakeAuthException 如果请求错误则抛出异常
+     * @throws IOException 如果读取, 写入或检查点错误则抛出异常
+     * @throws IllegalArgumentException 如果文本或档案解析输出对象为 {@code null} 则抛出异常
+     */
+    public long resolve(Reader reader, ProfileResolveSink sink) throws MoonLakeAuthException, IOException {
+        if(reader == null)
+            throw new IllegalArgumentException("文本对象不能为 null 值.");
+        final BufferedReader bufferedReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        Iterator<String> names = new Iterator<String>() {
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while(next == null) {
+                        String line = bufferedReader.readLine();
+                        if(line == null)
+                            return false;
+                        line = line.trim();
+                        if(!line.isEmpty())
+                            next = line;
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public String next() {
+                if(!hasNext())
+                    throw new NoSuchElementException();
+                String name = next;
+                next = null;
+                return name;
+            }
+        };
+        try {
+            return resolve(names, sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 从指定流读取用户名查找游戏档案并写入指定输出
+     *
+     * @param names 用户名流
+     * @param sink 档案解析输出
+     * @return 已处理的输入用户名数量 (包括从检查点跳过的数量)
+     * @throws MoonLakeAuthException 如果请求错误则抛出异常
+     * @throws IOException 如果写入或检查点错误则抛出异常
+     * @throws IllegalArgumentException 如果用户名流或档案解析输出对象为 {@code null} 则抛出异常
+     */
+    public long resolve(Stream<String> names, ProfileResolveSink sink) throws MoonLakeAuthException, IOException {
+        if(names == null)
+            throw new IllegalArgumentException("用户名流对象不能为 null 值.");
+        return resolve(names.iterator(), sink);
+    }
+
+    /**
+     * 从指定迭代器读取用户名查找游戏档案并写入指定输出
+     *
+     * @param names 用户名迭代器
+     * @param sink 档案解析输出
+     * @return 已处理的输入用户名数量 (包括从检查点跳过的数量)
+     * @throws MoonLakeAuthException 如果请求错误则抛出异常
+     * @throws IOException 如果写入或检查点错误则抛出异常
+     * @throws IllegalArgumentException 如果用户名迭代器或档案解析输出对象为 {@code null} 则抛出异常
+     */
+    public long resolve(Iterator<String> names, ProfileResolveSink sink) throws MoonLakeAuthException, IOException {
+        if(names == null || sink == null)
+            throw new IllegalArgumentException("用户名迭代器或档案解析输出对象不能为 null 值.");
+        ProfileResolveCheckpoint checkpoint = this.checkpoint;
+        long position = checkpoint != null ? checkpoint.load() : 0L;
+        for(long skipped = 0L; skipped < position; skipped++) {
+            if(!names.hasNext())
+                return skipped;
+            names.next();
+        }
+        ProfileNameCache cache = service.getNameCache();
+        Map<String, List<String>> pending = new LinkedHashMap<>(); // 小写用户名 -> 输入的用户名列表
+        int pendingNames = 0;
+        long consumed = position;
+        while(names.hasNext()) {
+            String name = names.next();
+            consumed++;
+            if(name == null || name.isEmpty())
+                continue;
+            GameProfile profile = cache.get(name);
+            if(profile != null) {
+                sink.onResolved(name, profile);
+                continue;
+            }
+            String key = name.toLowerCase();
+            List<String> inputs = pending.get(key);
+            if(inputs == null) {
+                inputs = new ArrayList<>(1);
+                pending.put(key, inputs);
+            }
+            inputs.add(name);
+            if(pending.size() >= PROFILES_PER_REQUEST || ++pendingNames >= MAX_PENDING_NAMES) {
+                resolveBatch(pending, cache, sink);
+                position = commit(sink, checkpoint, consumed);
+                pendingNames = 0;
+            }
+        }
+        if(!pending.isEmpty() || consumed != position) {
+            resolveBatch(pending, cache, sink);
+            commit(sink, checkpoint, consumed);
+        }
+        return consumed;
+    }
+
+    /**
+     * 批量查找指定待处理的用户名并为每个输入的用户名写入指定输出, 完成后清空待处理的用户名
+     *
+     * @param pending 待处理的用户名 (小写用户名 -> 输入的用户名列表)
+     * @param cache 用户名档案缓存
+     * @param sink 档案解析输出
+     * @throws MoonLakeAuthException 如果请求错误则抛出异常
+     * @throws IOException 如果写入错误则抛出异常
+     */
+    private void resolveBatch(final Map<String, List<String>> pending, ProfileNameCache cache, ProfileResolveSink sink) throws MoonLakeAuthException, IOException {
+        if(pending.isEmpty())
+            return;
+        final Map<String, GameProfile> resolved = new HashMap<>();
+        final Exception[] failure = new Exception[1];
+        service.lookupProfilesByName(pending.keySet(), new ProfileLookupCallback() {
+            @Override
+            public void onLookupSucceeded(GameProfile profile) {
+                resolved.put(profile.getName().toLowerCase(), profile);
+            }
+
+            @Override
+            public void onLookupFailed(GameProfile profile, Exception ex) {
+                if(!(ex instanceof MoonLakeProfileNotFoundException) && failure[0] == null)
+                    failure[0] = ex;
+            }
+        }, service.getRateLimiter());
+        if(failure[0] != null) {
+            if(failure[0] instanceof MoonLakeAuthException)
+                throw (MoonLakeAuthException) failure[0];
+            throw new MoonLakeRequestException("批量查找游戏档案时错误.", failure[0]);
+        }
+        for(Map.Entry<String, List<String>> entry : pending.entrySet()) {
+            GameProfile profile = resolved.get(entry.getKey());
+            List<String> inputs = entry.getValue();
+            if(profile != null) {
+                cache.put(profile);
+                CompactGameProfile compact = inputs.size() > 1 ? CompactGameProfile.fromProfile(profile) : null;
+                for(int i = 0; i < inputs.size(); i++)
+                    sink.onResolved(inputs.get(i), i == 0 ? profile : compact.toProfile());
+            } else {
+                for(String input : inputs)
+                    sink.onNotFound(input);
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * 持久化指定输出并保存检查点
+     *
+     * @param sink 档案解析输出
+     * @param checkpoint 检查点, {@code null} 则只持久化输出
+     * @param consumed 已处理的输入用户名数量
+     * @return 已处理的输入用户名数量
+     * @throws IOException 如果写入或检查点错误则抛出异常
+     */
+    private static long commit(ProfileResolveSink sink, ProfileResolveCheckpoint checkpoint, long consumed) throws IOException {
+        sink.flush();
+        if(checkpoint != null)
+            checkpoint.save(consumed);
+        return consumed;
+    }
+}
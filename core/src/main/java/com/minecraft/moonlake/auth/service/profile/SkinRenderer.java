@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * <h1>SkinRenderer</h1>
+ * 皮肤渲染器接口 (由 MoonLakeAuth-Render 模块通过 {@link java.util.ServiceLoader} 提供实现)
+ *
+ * <p>核心模块只在方法签名和材质缓存中引用 {@link BufferedImage}, 材质图片的解码, 复制和所有像素处理都由此接口的实现完成.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService
+ */
+public interface SkinRenderer {
+
+    /**
+     * 将指定材质数据 (PNG) 解码为材质源图片
+     *
+     * @param data 材质数据
+     * @return 材质源图片
+     * @throws MoonLakeSkinException 如果材质数据无法解码则抛出异常
+     * @throws IllegalArgumentException 如果材质数据对象为 {@code null} 则抛出异常
+     */
+    BufferedImage decodeTexture(byte[] data) throws MoonLakeSkinException;
+
+    /**
+     * 复制指定材质源图片 (材质缓存中的图片为所有调用者共享, 公开的源图片方法只返回副本)
+     *
+     * @param textureRawImage 材质源图片
+     * @return 材质源图片副本
+     * @throws IllegalArgumentException 如果材质源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage copyTexture(BufferedImage textureRawImage);
+
+    /**
+     * 从指定皮肤源图片的像素检测是否为苗条模型 (Alex 手臂)
+     *
+     * <p>只在皮肤材质不存在 {@code model} 元数据且材质缓存中没有检测结果时调用.</p>
+     *
+     * @param skinRawImage 皮肤源图片
+     * @return 是否苗条
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    boolean isSkinSlim(BufferedImage skinRawImage);
+
+    /**
+     * 从指定皮肤源图片渲染用户的皮肤头像图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @return 皮肤头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage renderHead(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException;
+
+    /**
+     * 从指定皮肤源图片渲染用户的皮肤模型 2D 图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @return 皮肤模型 2D 图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage renderModel2D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException;
+
+    /**
+     * 从指定皮肤源图片渲染用户的皮肤 3D 等轴测头像图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长)
+     * @param helmet 是否绘制外层皮肤
+     * @return 皮肤 3D 头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage renderHead3D(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException;
+
+    /**
+     * 从指定皮肤源图片渲染用户的皮肤 3D 等轴测模型图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长)
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage renderModel3D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException;
+
+    /**
+     * 从指定披风源图片渲染用户的披风图片 (披风外侧, 10x16 像素)
+     *
+     * @param capeRawImage 披风源图片
+     * @param zoom 放大倍数
+     * @return 披风图片
+     * @throws MoonLakeSkinException 如果披风错误则抛出异常
+     * @throws IllegalArgumentException 如果披风源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage renderCape(BufferedImage capeRawImage, int zoom) throws MoonLakeSkinException;
+
+    /**
+     * 从指定披风或鞘翅源图片渲染用户的鞘翅图片 (展开的左右两翼外侧, 20x20 像素)
+     *
+     * @param elytraRawImage 披风或鞘翅源图片
+     * @param zoom 放大倍数
+     * @return 鞘翅图片
+     * @throws MoonLakeSkinException 如果鞘翅错误则抛出异常
+     * @throws IllegalArgumentException 如果鞘翅源图片对象为 {@code null} 则抛出异常
+     */
+    BufferedImage renderElytra(BufferedImage elytraRawImage, int zoom) throws MoonLakeSkinException;
+}
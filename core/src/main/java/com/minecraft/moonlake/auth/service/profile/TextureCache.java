@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.service.profile;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>TextureCache</h1>
+ * 材质缓存类 (以材质哈希值为键, 相同材质内容只会下载和解码一次, 皮肤的手臂模型检测结果也随材质一起缓存)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileAuthService
+ */
+public class TextureCache {
+
+    /**
+     * 默认的最大缓存数量
+     */
+    public final static int DEFAULT_MAX_SIZE = 1024;
+
+    private final int maxSize;
+    private final Map<String, TextureEntry> cache;
+
+    /**
+     * 材质缓存类构造函数
+     */
+    public TextureCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * 材质缓存类构造函数
+     *
+     * @param maxSize 最大缓存数量
+     * @throws IllegalArgumentException 如果最大缓存数量小于等于 0 则抛出异常
+     */
+    public TextureCache(int maxSize) {
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("最大缓存数量必须大于 0.");
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<String, TextureEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TextureEntry> eldest) {
+                return size() > TextureCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取此材质缓存指定哈希值的材质图片
+     *
+     * @param hash 材质哈希值
+     * @return 材质图片, 不存在则返回 {@code null}
+     */
+    public BufferedImage get(String hash) {
+        if(hash == null)
+            return null;
+        synchronized (cache) {
+            TextureEntry entry = cache.get(hash);
+            return entry != null ? entry.image : null;
+        }
+    }
+
+    /**
+     * 获取此材质缓存指定哈希值的皮肤是否为苗条模型
+     *
+     * @param hash 材质哈希值
+     * @return 是否苗条, 材质不存在或尚未检测则返回 {@code null}
+     */
+    public Boolean getSlim(String hash) {
+        if(hash == null)
+            return null;
+        synchronized (cache) {
+            TextureEntry entry = cache.get(hash);
+            return entry != null ? entry.slim : null;
+        }
+    }
+
+    /**
+     * 将指定哈希值的材质图片放入此材质缓存
+     *
+     * @param hash 材质哈希值
+     * @param image 材质图片
+     * @throws IllegalArgumentException 如果材质哈希值或材质图片对象为 {@code null} 则抛出异常
+     */
+    public void put(String hash, BufferedImage image) {
+        if(hash == null || image == null)
+            throw new IllegalArgumentException("材质哈希值或材质图片对象不能为 null 值.");
+        synchronized (cache) {
+            TextureEntry entry = cache.get(hash);
+            if(entry != null && entry.image == image)
+                return; // 相同图片保留已检测的模型
+            cache.put(hash, new TextureEntry(image));
+        }
+    }
+
+    /**
+     * 设置此材质缓存指定哈希值的皮肤是否为苗条模型 (材质不存在则忽略)
+     *
+     * @param hash 材质哈希值
+     * @param slim 是否苗条
+     */
+    public void putSlim(String hash, boolean slim) {
+        if(hash == null)
+            return;
+        synchronized (cache) {
+            TextureEntry entry = cache.get(hash);
+            if(entry != null)
+                entry.slim = slim;
+        }
+    }
+
+    /**
+     * 将指定哈希值的材质图片从此材质缓存中移除
+     *
+     * @param hash 材质哈希值
+     */
+    public void remove(String hash) {
+        synchronized (cache) {
+            cache.remove(hash);
+        }
+    }
+
+    /**
+     * 清除此材质缓存的所有材质图片
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取此材质缓存的数量大小
+     *
+     * @return 数量大小
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 获取此材质缓存的最大缓存数量
+     *
+     * @return 最大缓存数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * <h1>TextureEntry</h1>
+     * 材质缓存项
+     */
+    private static class TextureEntry {
+
+        private final BufferedImage image;
+        private Boolean slim;
+
+        /**
+         * 材质缓存项构造函数
+         *
+         * @param image 材质图片
+         */
+        TextureEntry(BufferedImage image) {
+            this.image = image;
+        }
+    }
+}
@@ -18,12 +18,19 @@
 
 package com.minecraft.moonlake.auth.service.user;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import com.minecraft.moonlake.auth.data.GameProfile;
 import com.minecraft.moonlake.auth.data.Property;
 import com.minecraft.moonlake.auth.exception.MoonLakeAuthException;
 import com.minecraft.moonlake.auth.response.MojangBaseResponse;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
 import com.minecraft.moonlake.auth.service.MoonLakeAuthBaseService;
+import com.minecraft.moonlake.auth.util.JsonCodecs;
 
+import java.io.IOException;
 import java.net.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -45,6 +52,28 @@ public class UserAuthService extends MoonLakeAuthBaseService {
     private final static String URL_VALIDATE = "https://authserver.mojang.com/validate";
     private final static String URL_INVALIDATE = "https://authserver.mojang.com/invalidate";
     private final static String URL_AUTHENTICATE = "https://authserver.mojang.com/authenticate";
+    private final static GameProfile.Serializer GAME_PROFILE = new GameProfile.Serializer();
+    private final static Property.Serializer PROPERTY = new Property.Serializer();
+
+    static {
+        registerCodec(AuthenticationRequest.class, new AuthenticationRequest.Codec());
+        registerCodec(RefreshRequest.class, new RefreshRequest.Codec());
+        registerCodec(ValidateRequest.class, new ValidateRequest.Codec());
+        registerCodec(InvalidateRequest.class, new InvalidateRequest.Codec());
+        registerCodec(SignoutRequest.class, new SignoutRequest.Codec());
+        registerCodec(AuthenticationResponse.class, new AccountResponse.Codec<AuthenticationResponse>() {
+            @Override
+            protected AuthenticationResponse create() {
+                return new AuthenticationResponse();
+            }
+        });
+        registerCodec(RefreshResponse.class, new AccountResponse.Codec<RefreshResponse>() {
+            @Override
+            protected RefreshResponse create() {
+                return new RefreshResponse();
+            }
+        });
+    }
 
     private String id;
     private String username;
@@ -94,6 +123,20 @@ public class UserAuthService extends MoonLakeAuthBaseService {
         this.clientToken = clientToken;
     }
 
+    /**
+     * 用户认证服务类构造函数
+     *
+     * @param clientToken 客户端令牌
+     * @param proxy 代理对象
+     * @param endpointProfile 端点配置
+     * @throws IllegalArgumentException 如果代理对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果端点配置对象为 {@code null} 则抛出异常
+     */
+    public UserAuthService(String clientToken, Proxy proxy, EndpointProfile endpointProfile) {
+        super(proxy, endpointProfile);
+        this.clientToken = clientToken;
+    }
+
     /**
      * 获取此用户认证服务的用户 Id
      *
@@ -256,7 +299,7 @@ public class UserAuthService extends MoonLakeAuthBaseService {
         checkStringBlank(password, new MoonLakeAuthException("无效的密码."));
         try {
             SignoutRequest request = new SignoutRequest(username, password);
-            makeRequest(getProxy(), URL_SIGNOUT, request);
+            makeRequest(getProxy(), endpoint(URL_SIGNOUT), request);
             return true;
         } catch (Exception e) {
             return false;
@@ -274,7 +317,7 @@ public class UserAuthService extends MoonLakeAuthBaseService {
         checkStringBlank(accessToken, new MoonLakeAuthException("无效的访问令牌."));
         try {
             InvalidateRequest request = new InvalidateRequest(clientToken, accessToken);
-            makeRequest(getProxy(), URL_INVALIDATE, request);
+            makeRequest(getProxy(), endpoint(URL_INVALIDATE), request);
             return true;
         } catch (Exception e) {
             return false;
@@ -292,7 +335,7 @@ public class UserAuthService extends MoonLakeAuthBaseService {
         checkStringBlank(accessToken, new MoonLakeAuthException("无效的访问令牌."));
         try {
             ValidateRequest request = new ValidateRequest(clientToken, accessToken);
-            makeRequest(getProxy(), URL_VALIDATE, request);
+            makeRequest(getProxy(), endpoint(URL_VALIDATE), request);
             return true;
         } catch (Exception e) {
             return false;
@@ -316,7 +359,7 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             throw new IllegalStateException("已选择游戏档案时无法再次选择.");
         if(profile != null && profiles.contains(profile)) {
             RefreshRequest request = new RefreshRequest(clientToken, accessToken, profile);
-            RefreshResponse response = makeRequest(getProxy(), URL_REFRESH, request, RefreshResponse.class);
+            RefreshResponse response = makeRequest(getProxy(), endpoint(URL_REFRESH), request, RefreshResponse.class);
             if(response != null && clientToken.equals(response.clientToken)) {
                 this.accessToken = response.accessToken;
                 this.selectedProfile = response.selectedProfile;
@@ -378,7 +421,7 @@ public class UserAuthService extends MoonLakeAuthBaseService {
         checkStringBlank(username, new MoonLakeAuthException("无效的用户名."));
         checkStringBlank(password, new MoonLakeAuthException("无效的密码."));
         AuthenticationRequest request = new AuthenticationRequest(username, password, clientToken);
-        AuthenticationResponse response = makeRequest(getProxy(), URL_AUTHENTICATE, request, AuthenticationResponse.class);
+        AuthenticationResponse response = makeRequest(getProxy(), endpoint(URL_AUTHENTICATE), request, AuthenticationResponse.class);
         if(response != null && clientToken.equals(response.clientToken))
             loginProperty(response.user, response.accessToken, response.selectedProfile, response.availableProfiles);
         else
@@ -400,7 +443,7 @@ public class UserAuthService extends MoonLakeAuthBaseService {
         }
         checkStringBlank(accessToken, new MoonLakeAuthException("无效的访问令牌."));
         RefreshRequest request = new RefreshRequest(clientToken, accessToken, null);
-        RefreshResponse response = makeRequest(getProxy(), URL_REFRESH, request, RefreshResponse.class);
+        RefreshResponse response = makeRequest(getProxy(), endpoint(URL_REFRESH), request, RefreshResponse.class);
         if(response != null && clientToken.equals(response.clientToken))
             loginProperty(response.user, response.accessToken, response.selectedProfile, response.availableProfiles);
         else
@@ -440,6 +483,46 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             this.name = name;
             this.version = version;
         }
+
+        /**
+         * 从指定 JSON 读取器读取代理人
+         *
+         * @param jsonReader JSON 读取器
+         * @return 代理人
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        private static Agent read(JsonReader jsonReader) throws IOException {
+            Agent agent = new Agent(null, 0);
+            jsonReader.beginObject();
+            while(jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                } else if(name.equals("name")) {
+                    agent.name = jsonReader.nextString();
+                } else if(name.equals("version")) {
+                    agent.version = jsonReader.nextInt();
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return agent;
+        }
+
+        /**
+         * 将指定代理人写出到指定 JSON 写出器
+         *
+         * @param jsonWriter JSON 写出器
+         * @param agent 代理人
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        private static void write(JsonWriter jsonWriter, Agent agent) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name("name").value(agent.name);
+            jsonWriter.name("version").value(agent.version);
+            jsonWriter.endObject();
+        }
     }
 
     /**
@@ -448,6 +531,51 @@ public class UserAuthService extends MoonLakeAuthBaseService {
     private static class User {
         public String id;
         public List<Property> properties;
+
+        /**
+         * 从指定 JSON 读取器读取用户
+         *
+         * @param jsonReader JSON 读取器
+         * @return 用户
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        private static User read(JsonReader jsonReader) throws IOException {
+            User user = new User();
+            jsonReader.beginObject();
+            while(jsonReader.hasNext()) {
+                String name = jsonReader.nextName();
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                } else if(name.equals("id")) {
+                    user.id = jsonReader.nextString();
+                } else if(name.equals("properties")) {
+                    user.properties = JsonCodecs.readList(jsonReader, PROPERTY);
+                } else {
+                    jsonReader.skipValue();
+                }
+            }
+            jsonReader.endObject();
+            return user;
+        }
+
+        /**
+         * 将指定用户写出到指定 JSON 写出器
+         *
+         * @param jsonWriter JSON 写出器
+         * @param user 用户
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        private static void write(JsonWriter jsonWriter, User user) throws IOException {
+            if(user == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginObject();
+            jsonWriter.name("id").value(user.id);
+            jsonWriter.name("properties");
+            JsonCodecs.writeList(jsonWriter, user.properties, PROPERTY);
+            jsonWriter.endObject();
+        }
     }
 
     /**
@@ -467,6 +595,62 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             this.requestUser = true;
             this.clientToken = clientToken;
         }
+
+        /**
+         * 认证请求编解码类
+         */
+        private final static class Codec extends TypeAdapter<AuthenticationRequest> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, AuthenticationRequest request) throws IOException {
+                if(request == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                if(request.agent != null) {
+                    jsonWriter.name("agent");
+                    Agent.write(jsonWriter, request.agent);
+                }
+                jsonWriter.name("username").value(request.username);
+                jsonWriter.name("password").value(request.password);
+                jsonWriter.name("requestUser").value(request.requestUser);
+                jsonWriter.name("clientToken").value(request.clientToken);
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public AuthenticationRequest read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                AuthenticationRequest request = new AuthenticationRequest(null, null, null);
+                request.agent = null;
+                request.requestUser = false;
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("agent")) {
+                        request.agent = Agent.read(jsonReader);
+                    } else if(name.equals("username")) {
+                        request.username = jsonReader.nextString();
+                    } else if(name.equals("password")) {
+                        request.password = jsonReader.nextString();
+                    } else if(name.equals("requestUser")) {
+                        request.requestUser = jsonReader.nextBoolean();
+                    } else if(name.equals("clientToken")) {
+                        request.clientToken = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return request;
+            }
+        }
     }
 
     /**
@@ -484,6 +668,58 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             this.selectedProfile = selectedProfile;
             this.requestUser = true;
         }
+
+        /**
+         * 刷新请求编解码类
+         */
+        private final static class Codec extends TypeAdapter<RefreshRequest> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, RefreshRequest request) throws IOException {
+                if(request == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                jsonWriter.name("clientToken").value(request.clientToken);
+                jsonWriter.name("accessToken").value(request.accessToken);
+                if(request.selectedProfile != null) {
+                    jsonWriter.name("selectedProfile");
+                    GAME_PROFILE.write(jsonWriter, request.selectedProfile);
+                }
+                jsonWriter.name("requestUser").value(request.requestUser);
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public RefreshRequest read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                RefreshRequest request = new RefreshRequest(null, null, null);
+                request.requestUser = false;
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("clientToken")) {
+                        request.clientToken = jsonReader.nextString();
+                    } else if(name.equals("accessToken")) {
+                        request.accessToken = jsonReader.nextString();
+                    } else if(name.equals("selectedProfile")) {
+                        request.selectedProfile = GAME_PROFILE.read(jsonReader);
+                    } else if(name.equals("requestUser")) {
+                        request.requestUser = jsonReader.nextBoolean();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return request;
+            }
+        }
     }
 
     /**
@@ -497,6 +733,48 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             this.clientToken = clientToken;
             this.accessToken = accessToken;
         }
+
+        /**
+         * 验证请求编解码类
+         */
+        private final static class Codec extends TypeAdapter<ValidateRequest> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, ValidateRequest request) throws IOException {
+                if(request == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                jsonWriter.name("clientToken").value(request.clientToken);
+                jsonWriter.name("accessToken").value(request.accessToken);
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public ValidateRequest read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                ValidateRequest request = new ValidateRequest(null, null);
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("clientToken")) {
+                        request.clientToken = jsonReader.nextString();
+                    } else if(name.equals("accessToken")) {
+                        request.accessToken = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return request;
+            }
+        }
     }
 
     /**
@@ -510,6 +788,48 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             this.clientToken = clientToken;
             this.accessToken = accessToken;
         }
+
+        /**
+         * 失效令牌验证请求编解码类
+         */
+        private final static class Codec extends TypeAdapter<InvalidateRequest> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, InvalidateRequest request) throws IOException {
+                if(request == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                jsonWriter.name("clientToken").value(request.clientToken);
+                jsonWriter.name("accessToken").value(request.accessToken);
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public InvalidateRequest read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                InvalidateRequest request = new InvalidateRequest(null, null);
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("clientToken")) {
+                        request.clientToken = jsonReader.nextString();
+                    } else if(name.equals("accessToken")) {
+                        request.accessToken = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return request;
+            }
+        }
     }
 
     /**
@@ -523,27 +843,114 @@ public class UserAuthService extends MoonLakeAuthBaseService {
             this.username = username;
             this.password = password;
         }
+
+        /**
+         * 登出令牌请求编解码类
+         */
+        private final static class Codec extends TypeAdapter<SignoutRequest> {
+
+            @Override
+            public void write(JsonWriter jsonWriter, SignoutRequest request) throws IOException {
+                if(request == null) {
+                    jsonWriter.nullValue();
+                    return;
+                }
+                jsonWriter.beginObject();
+                jsonWriter.name("username").value(request.username);
+                jsonWriter.name("password").value(request.password);
+                jsonWriter.endObject();
+            }
+
+            @Override
+            public SignoutRequest read(JsonReader jsonReader) throws IOException {
+                if(jsonReader.peek() == JsonToken.NULL) {
+                    jsonReader.nextNull();
+                    return null;
+                }
+                SignoutRequest request = new SignoutRequest(null, null);
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String name = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                    } else if(name.equals("username")) {
+                        request.username = jsonReader.nextString();
+                    } else if(name.equals("password")) {
+                        request.password = jsonReader.nextString();
+                    } else {
+                        jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+                return request;
+            }
+        }
     }
 
     /**
-     * 认证响应实体类
+     * 账户响应实体类 (认证和刷新响应的共同字段)
      */
-    private static class AuthenticationResponse extends MojangBaseResponse {
+    private abstract static class AccountResponse extends MojangBaseResponse {
         public String accessToken;
         public String clientToken;
         public GameProfile selectedProfile;
         public GameProfile[] availableProfiles;
         public User user;
+
+        /**
+         * 账户响应编解码类
+         *
+         * @param <T> 响应类型
+         */
+        private abstract static class Codec<T extends AccountResponse> extends MojangBaseResponse.Codec<T> {
+
+            @Override
+            protected boolean readField(JsonReader jsonReader, T response, String name) throws IOException {
+                switch (name) {
+                    case "accessToken":
+                        response.accessToken = jsonReader.nextString();
+                        return true;
+                    case "clientToken":
+                        response.clientToken = jsonReader.nextString();
+                        return true;
+                    case "selectedProfile":
+                        response.selectedProfile = GAME_PROFILE.read(jsonReader);
+                        return true;
+                    case "availableProfiles":
+                        List<GameProfile> profiles = JsonCodecs.readList(jsonReader, GAME_PROFILE);
+                        response.availableProfiles = profiles.toArray(new GameProfile[profiles.size()]);
+                        return true;
+                    case "user":
+                        response.user = User.read(jsonReader);
+                        return true;
+                    default:
+                        return false;
+                }
+            }
+
+            @Override
+            protected void writeFields(JsonWriter jsonWriter, T response) throws IOException {
+                jsonWriter.name("accessToken").value(response.accessToken);
+                jsonWriter.name("clientToken").value(response.clientToken);
+                jsonWriter.name("selectedProfile");
+                GAME_PROFILE.write(jsonWriter, response.selectedProfile);
+                jsonWriter.name("availableProfiles");
+                JsonCodecs.writeList(jsonWriter, response.availableProfiles != null ? Arrays.asList(response.availableProfiles) : null, GAME_PROFILE);
+                jsonWriter.name("user");
+                User.write(jsonWriter, response.user);
+            }
+        }
+    }
+
+    /**
+     * 认证响应实体类
+     */
+    private static class AuthenticationResponse extends AccountResponse {
     }
 
     /**
      * 刷新响应实体类
      */
-    private static class RefreshResponse extends MojangBaseResponse {
-        public String accessToken;
-        public String clientToken;
-        public GameProfile selectedProfile;
-        public GameProfile[] availableProfiles;
-        public User user;
+    private static class RefreshResponse extends AccountResponse {
     }
 }
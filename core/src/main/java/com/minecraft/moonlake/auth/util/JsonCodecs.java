@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>JsonCodecs</h1>
+ * JSON 编解码工具类 (手写类型适配器共用的列表和字符串 Map 读写)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see TypeAdapter
+ */
+public final class JsonCodecs {
+
+    private JsonCodecs() {
+    }
+
+    /**
+     * 从指定 JSON 读取器读取数组
+     *
+     * @param jsonReader JSON 读取器
+     * @param adapter 元素类型适配器
+     * @param <T> 元素类型
+     * @return 列表, 如果值为 {@code null} 则返回 {@code null}
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    public static <T> List<T> readList(JsonReader jsonReader, TypeAdapter<T> adapter) throws IOException {
+        if(jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        jsonReader.beginArray();
+        while(jsonReader.hasNext())
+            list.add(adapter.read(jsonReader));
+        jsonReader.endArray();
+        return list;
+    }
+
+    /**
+     * 将指定集合以数组写出到指定 JSON 写出器
+     *
+     * @param jsonWriter JSON 写出器
+     * @param values 集合
+     * @param adapter 元素类型适配器
+     * @param <T> 元素类型
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    public static <T> void writeList(JsonWriter jsonWriter, Collection<T> values, TypeAdapter<T> adapter) throws IOException {
+        if(values == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginArray();
+        for(T value : values)
+            adapter.write(jsonWriter, value);
+        jsonWriter.endArray();
+    }
+
+    /**
+     * 从指定 JSON 读取器读取字符串 Map 对象 (非字符串值将被跳过)
+     *
+     * @param jsonReader JSON 读取器
+     * @return 字符串 Map 对象, 如果值为 {@code null} 则返回 {@code null}
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    public static Map<String, String> readStringMap(JsonReader jsonReader) throws IOException {
+        if(jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        jsonReader.beginObject();
+        while(jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            JsonToken token = jsonReader.peek();
+            if(token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN)
+                map.put(name, token == JsonToken.BOOLEAN ? String.valueOf(jsonReader.nextBoolean()) : jsonReader.nextString());
+            else
+                jsonReader.skipValue();
+        }
+        jsonReader.endObject();
+        return map;
+    }
+
+    /**
+     * 将指定字符串 Map 对象写出到指定 JSON 写出器
+     *
+     * @param jsonWriter JSON 写出器
+     * @param map 字符串 Map 对象
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    public static void writeStringMap(JsonWriter jsonWriter, Map<String, String> map) throws IOException {
+        if(map == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginObject();
+        for(Map.Entry<String, String> entry : map.entrySet())
+            jsonWriter.name(entry.getKey()).value(entry.getValue());
+        jsonWriter.endObject();
+    }
+}
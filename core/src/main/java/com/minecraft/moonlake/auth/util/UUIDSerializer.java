@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.util;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * <h1>UUIDSerializer</h1>
+ * UUID 序列化类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see TypeAdapter
+ */
+public class UUIDSerializer extends TypeAdapter<UUID> {
+
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private final static byte[] HEX_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) -1);
+        for(int i = 0; i < 10; i++)
+            HEX_VALUES['0' + i] = (byte) i;
+        for(int i = 0; i < 6; i++) {
+            HEX_VALUES['a' + i] = (byte) (10 + i);
+            HEX_VALUES['A' + i] = (byte) (10 + i);
+        }
+    }
+
+    public UUIDSerializer() {
+    }
+
+    @Override
+    public void write(JsonWriter jsonWriter, UUID uuid) throws IOException {
+        jsonWriter.value(fromUUID(uuid));
+    }
+
+    @Override
+    public UUID read(JsonReader jsonReader) throws IOException {
+        return fromString(jsonReader.nextString());
+    }
+
+    /**
+     * 将指定 UUID 对象转换为 32 位字符串 UUID
+     *
+     * @param value UUID
+     * @return 32 位字符串 UUID
+     */
+    public static String fromUUID(UUID value) {
+        if(value == null)
+            return "";
+        char[] chars = new char[32];
+        formatHex(value.getMostSignificantBits(), chars, 0);
+        formatHex(value.getLeastSignificantBits(), chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * 将指定字符串 UUID 对象转换为 UUID 对象
+     *
+     * <p>32 位和标准 36 位带连字符的格式直接解析, 其他格式交给 {@link UUID#fromString(String)} 处理.</p>
+     *
+     * @param value 字符串 UUID
+     * @return UUID 对象
+     * @throws IllegalArgumentException 如果字符串 UUID 无效则抛出异常
+     */
+    public static UUID fromString(String value) {
+        if(value == null || value.isEmpty())
+            return null;
+        switch (value.length()) {
+            case 32:
+                return new UUID(parseHex(value, 0, 16, 0L), parseHex(value, 16, 32, 0L));
+            case 36:
+                if(value.charAt(8) != '-' || value.charAt(13) != '-' || value.charAt(18) != '-' || value.charAt(23) != '-')
+                    break;
+                long most = parseHex(value, 14, 18, parseHex(value, 9, 13, parseHex(value, 0, 8, 0L)));
+                long least = parseHex(value, 24, 36, parseHex(value, 19, 23, 0L));
+                return new UUID(most, least);
+        }
+        return UUID.fromString(value);
+    }
+
+    /**
+     * 将指定值以 16 位小写十六进制写入到指定字符数组
+     *
+     * @param value 值
+     * @param chars 字符数组
+     * @param offset 偏移
+     */
+    private static void formatHex(long value, char[] chars, int offset) {
+        for(int i = offset + 15; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * 将指定字符串的指定区间作为十六进制解析并追加到指定结果的低位
+     *
+     * @param value 字符串
+     * @param start 开始索引 (包含)
+     * @param end 结束索引 (不包含)
+     * @param result 结果
+     * @return 追加后的结果
+     * @throws IllegalArgumentException 如果区间包含非十六进制字符则抛出异常
+     */
+    private static long parseHex(String value, int start, int end, long result) {
+        for(int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            int digit = ch < HEX_VALUES.length ? HEX_VALUES[ch] : -1;
+            if(digit == -1)
+                throw new IllegalArgumentException("无效的字符串 UUID: " + value);
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+}
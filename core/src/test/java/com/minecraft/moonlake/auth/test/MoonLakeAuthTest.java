@@ -0,0 +1,586 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.minecraft.moonlake.auth.data.*;
+import com.minecraft.moonlake.auth.exception.MoonLakeAuthException;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
+import com.minecraft.moonlake.auth.response.MojangStatusResponse;
+import com.minecraft.moonlake.auth.response.ProfileHistoryResponse;
+import com.minecraft.moonlake.auth.response.ProfileSearchResponse;
+import com.minecraft.moonlake.auth.service.MoonLakeAuthBaseService;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.RequestRateLimiter;
+import com.minecraft.moonlake.auth.service.SignatureKeyRegistry;
+import com.minecraft.moonlake.auth.service.mc.MinecraftAuthService;
+import com.minecraft.moonlake.auth.service.mojang.MojangStatusService;
+import com.minecraft.moonlake.auth.service.profile.MissingNameFilter;
+import com.minecraft.moonlake.auth.service.profile.OfflineProfileResolver;
+import com.minecraft.moonlake.auth.service.profile.ProfileAuthService;
+import com.minecraft.moonlake.auth.service.profile.ProfileHistoryCache;
+import com.minecraft.moonlake.auth.service.profile.ProfileMigrationStore;
+import com.minecraft.moonlake.auth.service.profile.ProfileNameCache;
+import com.minecraft.moonlake.auth.service.user.UserAuthService;
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MoonLakeAuthTest {
+
+    public static void main(String[] args) throws Exception {
+        // Minecraft 认证服务实现方法
+        // 详情查看在线的 wiki 维基百科
+        // http://wiki.vg/Mojang_API
+        // http://wiki.vg/Authentication
+    }
+
+    @Test
+    public void testUUIDSerializer() {
+        // 测试 32 位与 36 位字符串 UUID 的解析和格式化
+        UUID uuid = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        Assert.assertEquals("069a79f444e94726a5befca90e38aaf5", UUIDSerializer.fromUUID(uuid));
+        Assert.assertEquals(uuid, UUIDSerializer.fromString("069a79f444e94726a5befca90e38aaf5"));
+        Assert.assertEquals(uuid, UUIDSerializer.fromString("069A79F444E94726A5BEFCA90E38AAF5"));
+        Assert.assertEquals(uuid, UUIDSerializer.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+        Assert.assertEquals(new UUID(0L, 0L), UUIDSerializer.fromString(UUIDSerializer.fromUUID(new UUID(0L, 0L))));
+        Assert.assertEquals(new UUID(-1L, -1L), UUIDSerializer.fromString(UUIDSerializer.fromUUID(new UUID(-1L, -1L))));
+        Assert.assertNull(UUIDSerializer.fromString(""));
+        Assert.assertEquals("", UUIDSerializer.fromUUID(null));
+        try {
+            UUIDSerializer.fromString("069a79f444e94726a5befca90e38aafz");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 无效的字符串 UUID
+        }
+    }
+
+    @Test
+    public void testProfileBinaryCodec() {
+        // 测试游戏档案, 属性, 材质和历史记录的二进制编解码 (编码前后完全相同)
+        String value = Base64.getEncoder().encodeToString("{\"profileName\":\"Notch\"}".getBytes());
+        GameProfile profile = new GameProfile(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"), "Notch");
+        profile.getProperties().add(new Property("textures", value, "c2lnbmF0dXJl"));
+        profile.getProperties().add(new Property("note", "not base64", null));
+        profile.getTextures().put(TextureType.SKIN, new ProfileTexture("http://textures.minecraft.net/texture/092009a4925b58f02c77dadc3ecef07ea4c7472f64e0fdc32ce5522489362680", null));
+        byte[] data = ProfileBinaryCodec.encodeProfile(profile);
+        Assert.assertTrue(ProfileBinaryCodec.isEncoded(data));
+        GameProfile decoded = ProfileBinaryCodec.decodeProfile(data);
+        Assert.assertEquals(profile, decoded);
+        Assert.assertEquals(profile.getProperties(), decoded.getProperties());
+        Assert.assertEquals(profile.getTexture(TextureType.SKIN).getUrl(), decoded.getTexture(TextureType.SKIN).getUrl());
+
+        ProfileHistoryList historyList = new ProfileHistoryList(Arrays.asList(new ProfileHistory("Notch"), new ProfileHistory("Notch_", 1414059749000L)));
+        Assert.assertEquals(historyList, ProfileBinaryCodec.decodeHistory(ProfileBinaryCodec.encodeHistory(historyList)));
+        try {
+            ProfileBinaryCodec.decodeProfile(Arrays.copyOf(data, data.length - 1));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // 数据不完整
+        }
+    }
+
+    @Test
+    public void testProfileHistoryCache() {
+        // 测试档案历史记录列表排序后不可变, 缓存只在历史记录变化时替换缓存项
+        UUID id = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        ProfileHistoryList historyList = new ProfileHistoryList(Arrays.asList(new ProfileHistory("Notch_", 1414059749000L), new ProfileHistory("Notch")));
+        Assert.assertEquals("Notch", historyList.get(0).getName());
+        Assert.assertEquals("Notch_", historyList.getLatest().getName());
+        Assert.assertNull(new ProfileHistoryList(new ArrayList<ProfileHistory>()).getLatest());
+
+        ProfileHistoryCache cache = new ProfileHistoryCache();
+        Assert.assertSame(historyList, cache.put(id, historyList));
+        Assert.assertSame(historyList, cache.put(id, new ProfileHistoryList(Arrays.asList(new ProfileHistory("Notch"), new ProfileHistory("Notch_", 1414059749000L)))));
+        ProfileHistoryList grown = new ProfileHistoryList(Arrays.asList(new ProfileHistory("Notch"), new ProfileHistory("Notch_", 1414059749000L), new ProfileHistory("Notch", 1514059749000L)));
+        Assert.assertSame(grown, cache.put(id, grown));
+        Assert.assertSame(grown, cache.getFresh(id));
+
+        ProfileHistoryCache expired = new ProfileHistoryCache(1, 0L);
+        expired.put(id, historyList);
+        Assert.assertNull(expired.getFresh(id));
+        Assert.assertSame(historyList, expired.get(id));
+        expired.put(UUID.randomUUID(), grown);
+        Assert.assertEquals(1, expired.size());
+    }
+
+    @Test
+    public void testProfileNameCache() {
+        // 测试用户名档案缓存每次返回新的副本, 修改返回的档案不会影响缓存
+        UUID id = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        ProfileNameCache cache = new ProfileNameCache();
+        GameProfile profile = new GameProfile(id, "Notch");
+        cache.put(profile);
+        profile.getProperties().add(new Property("textures", "e30="));
+        GameProfile first = cache.get("NOTCH");
+        Assert.assertNotSame(profile, first);
+        Assert.assertEquals(id, first.getId());
+        Assert.assertTrue(first.getProperties().isEmpty());
+        first.getProperties().add(new Property("textures", "e30="));
+        first.getTextures().put(TextureType.SKIN, new ProfileTexture("http://textures.minecraft.net/texture/aa01", null));
+        GameProfile second = cache.get("notch");
+        Assert.assertNotSame(first, second);
+        Assert.assertTrue(second.getProperties().isEmpty());
+        Assert.assertTrue(second.getTextures().isEmpty());
+    }
+
+    @Test
+    public void testRequestRateLimiter() {
+        // 测试请求速率限制器在任意长度为时间段的窗口内发放的许可不超过许可数量 (使用模拟时钟)
+        int[][] configs = { { 600, 60 }, { 600, 600 }, { 10, 1 }, { 7, 3 }, { 1, 1 } };
+        for(int[] config : configs) {
+            int permits = config[0];
+            int burst = config[1];
+            long period = TimeUnit.MINUTES.toNanos(10L);
+            final AtomicLong clock = new AtomicLong(1000L);
+            RequestRateLimiter limiter = new RequestRateLimiter(permits, burst, 10L, TimeUnit.MINUTES) {
+                @Override
+                protected long nanoTime() {
+                    return clock.get();
+                }
+            };
+            List<Long> granted = new ArrayList<>();
+            while(limiter.tryAcquire())
+                granted.add(clock.get());
+            Assert.assertEquals(burst, granted.size());
+            // 持续请求 1.5 个时间段, 空闲 2 个时间段后再持续请求 1.5 个时间段
+            long step = Math.max(1L, limiter.getIntervalNanos() / 3L);
+            for(int phase = 0; phase < 3; phase++) {
+                long end = clock.get() + period * (phase == 1 ? 2L : 3L) / 2L;
+                while(clock.get() < end) {
+                    clock.addAndGet(step);
+                    if(phase == 1)
+                        continue;
+                    while(limiter.tryAcquire())
+                        granted.add(clock.get());
+                }
+            }
+            for(int i = 0, j = 0; i < granted.size(); i++) {
+                while(j < granted.size() && granted.get(j) - granted.get(i) < period)
+                    j++;
+                Assert.assertTrue(permits + "/" + burst + " 窗口内许可数量: " + (j - i), j - i <= permits);
+            }
+            Assert.assertTrue(permits + "/" + burst + " 总许可数量: " + granted.size(), granted.size() > permits); // 突发之后仍然按间隔发放
+        }
+    }
+
+    @Test
+    public void testMissingNameFilter() throws Exception {
+        // 测试不存在用户名过滤器不会漏判, 误判率接近设置值, 持久化后保持一致, 轮换两次后遗忘
+        MissingNameFilter filter = new MissingNameFilter(1000, 0.01d, 60000L);
+        for(int i = 0; i < 1000; i++)
+            filter.put("Missing_" + i);
+        for(int i = 0; i < 1000; i++)
+            Assert.assertTrue(filter.mightContain("missing_" + i));
+        int falsePositives = 0;
+        for(int i = 0; i < 10000; i++)
+            if(filter.mightContain("Player_" + i))
+                falsePositives++;
+        Assert.assertTrue("误判数量: " + falsePositives, falsePositives < 300);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        filter.writeTo(output);
+        MissingNameFilter restored = MissingNameFilter.readFrom(new ByteArrayInputStream(output.toByteArray()));
+        Assert.assertEquals(filter.getNumBits(), restored.getNumBits());
+        Assert.assertTrue(restored.mightContain("MISSING_42"));
+
+        filter.rotate();
+        Assert.assertTrue(filter.mightContain("Missing_42"));
+        filter.rotate();
+        Assert.assertFalse(filter.mightContain("Missing_42"));
+
+        // 持久化数据的哈希函数数量和位数量超出范围时在分配位数据之前拒绝, 构造函数的哈希函数数量同样不超过上限
+        int[][] invalid = { { 1 << 16, 0 }, { 1 << 16, MissingNameFilter.MAX_NUM_HASHES + 1 }, { 1 << 16, Integer.MAX_VALUE }, { 63, 7 }, { MissingNameFilter.MAX_NUM_BITS + 64, 7 }, { Integer.MAX_VALUE, 7 } };
+        for(int[] params : invalid) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            DataOutputStream dataOutput = new DataOutputStream(header);
+            dataOutput.writeInt(0x4D4E4631);
+            dataOutput.writeInt(params[0]);
+            dataOutput.writeInt(params[1]);
+            dataOutput.writeLong(60000L);
+            dataOutput.writeLong(System.currentTimeMillis());
+            try {
+                MissingNameFilter.readFrom(new ByteArrayInputStream(header.toByteArray()));
+                Assert.fail();
+            } catch (IOException e) {
+                Assert.assertFalse(e instanceof EOFException); // 参数检查失败而不是读取位数据
+            }
+        }
+        MissingNameFilter strict = new MissingNameFilter(1000, 1e-30d, 60000L);
+        Assert.assertEquals(MissingNameFilter.MAX_NUM_HASHES, strict.getNumHashes());
+        output = new ByteArrayOutputStream();
+        strict.writeTo(output);
+        Assert.assertEquals(MissingNameFilter.MAX_NUM_HASHES, MissingNameFilter.readFrom(new ByteArrayInputStream(output.toByteArray())).getNumHashes());
+    }
+
+    @Test
+    public void testOfflineProfileResolver() throws Exception {
+        // 测试离线用户 Id 与 UUID.nameUUIDFromBytes 一致, 离线与正版用户 Id 的迁移映射
+        String[] names = { "Notch", "notch", "Month_Light", "中文名", "" };
+        UUID[] ids = OfflineProfileResolver.getOfflineIds(names);
+        for(int i = 0; i < names.length; i++) {
+            UUID expected = UUID.nameUUIDFromBytes(("OfflinePlayer:" + names[i]).getBytes(StandardCharsets.UTF_8));
+            Assert.assertEquals(expected, ids[i]);
+            Assert.assertEquals(expected, OfflineProfileResolver.getOfflineId(names[i]));
+        }
+        Assert.assertNotEquals(ids[0], ids[1]);
+
+        final UUID onlineId = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+        ProfileMigrationStore store = new ProfileMigrationStore();
+        new OfflineProfileResolver().mapOnlineProfiles(new String[] { "notch" }, new OfflineProfileResolver() {
+            @Override
+            public void findProfilesByName(String[] names, ProfileLookupCallback callback, boolean async) {
+                callback.onLookupSucceeded(new GameProfile(onlineId, "Notch")); // 模拟正版档案查找服务
+            }
+        }, store, new ProfileLookupCallback() {
+            @Override
+            public void onLookupSucceeded(GameProfile profile) {
+            }
+
+            @Override
+            public void onLookupFailed(GameProfile profile, Exception ex) {
+                Assert.fail();
+            }
+        });
+        Assert.assertEquals(onlineId, store.getOnlineId(ids[1]));
+        Assert.assertEquals(ids[1], store.getOfflineId(onlineId));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        store.writeTo(output);
+        ProfileMigrationStore restored = ProfileMigrationStore.readFrom(new ByteArrayInputStream(output.toByteArray()));
+        Assert.assertEquals(onlineId, restored.getOnlineId(ids[1]));
+        restored.put(ids[0], onlineId);
+        Assert.assertNull(restored.getOnlineId(ids[1]));
+        Assert.assertEquals(1, restored.size());
+    }
+
+    @Test
+    public void testWireCodecs() throws Exception {
+        // 测试手写的线路编解码器读取后写出与原始 JSON 一致 (包括服务内部的私有请求和响应类型)
+        String id = "069a79f444e94726a5befca90e38aaf5";
+        String property = "{\"name\":\"textures\",\"value\":\"dGV4dHVyZXM=\",\"signature\":\"c2ln\"}";
+        String profile = "{\"id\":\"" + id + "\",\"name\":\"Notch\",\"properties\":[" + property + ",{\"name\":\"note\",\"value\":\"x\"}],\"legacy\":true}";
+        assertRoundTrip(GameProfile.class, profile);
+        assertRoundTrip(Property.class, property);
+        assertRoundTrip(ProfileTexture.class, "{\"url\":\"http://textures.minecraft.net/texture/abc\",\"metadata\":{\"model\":\"slim\"}}");
+        GameProfile gameProfile = gson().fromJson(profile, GameProfile.class);
+        Assert.assertEquals(UUIDSerializer.fromString(id), gameProfile.getId());
+        Assert.assertNull(gameProfile.getProperty("note").getSignature());
+        Assert.assertNull(gson().fromJson("{\"id\":null,\"name\":\"Notch\",\"unknown\":[1,2]}", GameProfile.class).getId());
+
+        Class.forName("com.minecraft.moonlake.auth.service.user.UserAuthService");
+        Class.forName("com.minecraft.moonlake.auth.service.mc.MinecraftAuthService");
+        String user = "com.minecraft.moonlake.auth.service.user.UserAuthService$";
+        String mc = "com.minecraft.moonlake.auth.service.mc.MinecraftAuthService$";
+        assertRoundTrip(Class.forName(user + "AuthenticationRequest"), "{\"agent\":{\"name\":\"Minecraft\",\"version\":1},\"username\":\"Steve\",\"password\":\"pw\",\"requestUser\":true,\"clientToken\":\"client\"}");
+        assertRoundTrip(Class.forName(user + "RefreshRequest"), "{\"clientToken\":\"client\",\"accessToken\":\"access\",\"selectedProfile\":" + profile + ",\"requestUser\":true}");
+        assertRoundTrip(Class.forName(user + "ValidateRequest"), "{\"clientToken\":\"client\",\"accessToken\":\"access\"}");
+        assertRoundTrip(Class.forName(user + "InvalidateRequest"), "{\"clientToken\":\"client\",\"accessToken\":\"access\"}");
+        assertRoundTrip(Class.forName(user + "SignoutRequest"), "{\"username\":\"Steve\",\"password\":\"pw\"}");
+        assertRoundTrip(Class.forName(mc + "JoinServerRequest"), "{\"accessToken\":\"access\",\"selectedProfile\":\"" + id + "\",\"serverId\":\"server\"}");
+
+        String account = "{\"accessToken\":\"access\",\"clientToken\":\"client\",\"selectedProfile\":" + profile + ",\"availableProfiles\":[" + profile + "],\"user\":{\"id\":\"user\",\"properties\":[{\"name\":\"preferredLanguage\",\"value\":\"zh_CN\"}]}}";
+        assertRoundTrip(Class.forName(user + "AuthenticationResponse"), account);
+        assertRoundTrip(Class.forName(user + "RefreshResponse"), account);
+        assertRoundTrip(Class.forName(user + "AuthenticationResponse"), "{\"error\":\"ForbiddenOperationException\",\"errorMessage\":\"Invalid credentials.\"}");
+        assertRoundTrip(Class.forName(mc + "HasJoinedResponse"), "{\"id\":\"" + id + "\",\"properties\":[" + property + "]}");
+
+        // 未知的材质类型被忽略, 其余字段保持不变
+        String skin = "\"SKIN\":{\"url\":\"http://textures.minecraft.net/texture/abc\",\"metadata\":{\"model\":\"slim\"}}";
+        String payload = "{\"timestamp\":1500000000000,\"profileId\":\"" + id + "\",\"profileName\":\"Notch\",\"isPublic\":true,\"textures\":{" + skin + "}}";
+        Class<?> payloadClass = Class.forName(mc + "MinecraftTexturesPayload");
+        assertRoundTrip(payloadClass, payload);
+        String withUnknown = payload.replace("{" + skin + "}", "{" + skin + ",\"FUTURE_TYPE\":{\"url\":\"http://example.com\"}}");
+        Assert.assertEquals(parse(payload), parse(gson().toJson(gson().fromJson(withUnknown, payloadClass))));
+    }
+
+    @Test
+    public void testSignatureKeyRegistry() throws Exception {
+        // 测试签名公钥注册表: 资源公钥加载失败时保留错误, 没有任何可用公钥时档案材质签名验证的异常包含加载错误
+        SignatureKeyRegistry keyRegistry = new SignatureKeyRegistry().registerResource("missing", "/missing_session_pubkey.der");
+        Assert.assertNull(keyRegistry.getKey("missing"));
+        Exception failure = keyRegistry.getLoadFailure();
+        Assert.assertTrue(failure instanceof IOException);
+        Assert.assertSame(failure, keyRegistry.getLoadFailure()); // 加载失败不再重试
+
+        String local = "http://127.0.0.1:1";
+        MinecraftAuthService mcAuthService = new MinecraftAuthService(Proxy.NO_PROXY, new EndpointProfile("local", local, local, local, local, local, keyRegistry));
+        String value = Base64.getEncoder().encodeToString("{\"textures\":{}}".getBytes(StandardCharsets.UTF_8));
+        GameProfile profile = new GameProfile(UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5"), "Notch");
+        profile.getProperties().add(new Property("textures", value, "c2lnbmF0dXJl"));
+        try {
+            mcAuthService.getProfileTextures(profile, true);
+            Assert.fail();
+        } catch (MoonLakeProfileException e) {
+            Assert.assertSame(failure, e.getCause());
+        }
+
+        // 存在可用的公钥时不再报告加载错误, 签名无效和签名有效按验证结果处理
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(1024);
+        KeyPair keyPair = generator.generateKeyPair();
+        keyRegistry.register("local", keyPair.getPublic());
+        Assert.assertNull(keyRegistry.getLoadFailure());
+        try {
+            mcAuthService.getProfileTextures(profile, true);
+            Assert.fail();
+        } catch (MoonLakeProfileException e) {
+            Assert.assertNull(e.getCause());
+        }
+        Signature signature = Signature.getInstance("SHA1withRSA");
+        signature.initSign(keyPair.getPrivate());
+        signature.update(value.getBytes(StandardCharsets.UTF_8));
+        GameProfile signed = new GameProfile(profile.getId(), profile.getName());
+        signed.getProperties().add(new Property("textures", value, Base64.getEncoder().encodeToString(signature.sign())));
+        Assert.assertTrue(mcAuthService.getProfileTextures(signed, true).isEmpty());
+    }
+
+    @Test
+    public void testResponseParsing() {
+        // 测试档案搜索, 档案历史记录和 Mojang 状态响应的流式解析: 数组响应, 错误对象响应, null 字段和未知键
+        String id = "069a79f444e94726a5befca90e38aaf5";
+        ProfileSearchResponse search = gson().fromJson("[{\"id\":\"" + id + "\",\"name\":\"Notch\",\"legacy\":true,\"unknown\":{\"a\":[1,2]}},{\"id\":null,\"name\":\"jeb_\"}]", ProfileSearchResponse.class);
+        Assert.assertEquals(2, search.getProfiles().length);
+        Assert.assertEquals(UUIDSerializer.fromString(id), search.getProfiles()[0].getId());
+        Assert.assertTrue(search.getProfiles()[0].isLegacy());
+        Assert.assertNull(search.getProfiles()[1].getId());
+        Assert.assertFalse(search.getProfiles()[1].isLegacy());
+        Assert.assertNull(search.getError());
+        Assert.assertEquals(0, gson().fromJson("[]", ProfileSearchResponse.class).getProfiles().length);
+        ProfileSearchResponse searchError = gson().fromJson("{\"error\":\"IllegalArgumentException\",\"errorMessage\":\"Not more that 100 profile name per call is allowed.\",\"cause\":null,\"unknown\":[{}]}", ProfileSearchResponse.class);
+        Assert.assertNull(searchError.getProfiles());
+        Assert.assertEquals("IllegalArgumentException", searchError.getError());
+        Assert.assertEquals("Not more that 100 profile name per call is allowed.", searchError.getErrorMessage());
+        Assert.assertNull(searchError.getCause());
+
+        // 第一个用户名没有 changedToAt, null 值与缺少的字段相同, 未知键被跳过
+        ProfileHistoryResponse history = gson().fromJson("[{\"name\":\"Notch\"},{\"name\":\"Notch_\",\"changedToAt\":1414059749000,\"unknown\":{\"a\":1}},{\"name\":null,\"changedToAt\":null}]", ProfileHistoryResponse.class);
+        Assert.assertEquals(3, history.getHistories().length);
+        Assert.assertEquals("Notch", history.getHistories()[0].getName());
+        Assert.assertFalse(history.getHistories()[0].hasChangedToAt());
+        Assert.assertTrue(history.getHistories()[1].hasChangedToAt());
+        Assert.assertEquals(1414059749000L, history.getHistories()[1].getChangedToAt());
+        Assert.assertNull(history.getHistories()[2].getName());
+        Assert.assertFalse(history.getHistories()[2].hasChangedToAt());
+        Assert.assertEquals("[{\"name\":\"Notch\"},{\"name\":\"Notch_\",\"changedToAt\":1414059749000}]", gson().toJson(new ProfileHistoryResponse(Arrays.copyOf(history.getHistories(), 2))));
+        Assert.assertNull(gson().fromJson("{\"error\":\"IllegalArgumentException\",\"errorMessage\":\"Invalid UUID string.\"}", ProfileHistoryResponse.class));
+
+        MojangStatusResponse status = gson().fromJson("[{\"minecraft.net\":\"green\"},{\"session.minecraft.net\":\"RED\"},{\"api.mojang.com\":null},{\"textures.minecraft.net\":\"purple\"}]", MojangStatusResponse.class);
+        Assert.assertEquals(4, status.getServices().length);
+        Assert.assertEquals("minecraft.net", status.getServices()[0].getHost());
+        Assert.assertEquals(StatusService.Type.GREEN, status.getServices()[0].getType());
+        Assert.assertEquals(StatusService.Type.RED, status.getServices()[1].getType());
+        Assert.assertEquals("api.mojang.com", status.getServices()[2].getHost());
+        Assert.assertNull(status.getServices()[2].getType());
+        Assert.assertNull(status.getServices()[3].getType());
+        Assert.assertNull(gson().fromJson("{\"error\":\"Not Found\",\"errorMessage\":\"The server has not found anything matching the request URI\"}", MojangStatusResponse.class));
+    }
+
+    @Test
+    public void testProfileLookup() throws MoonLakeAuthException {
+        // 测试查找指定玩家名的游戏档案数据
+        String[] names = { "Notch", "Month_Light", "MoonLake", "jeb_", "Ni_xiaoqi" };
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findProfilesByName(names, new ProfileLookupCallback() {
+            @Override
+            public void onLookupSucceeded(GameProfile profile) {
+                System.out.println("成功获取游戏档案: " + profile.toString());
+            }
+
+            @Override
+            public void onLookupFailed(GameProfile profile, Exception ex) {
+                System.out.println("获取游戏档案时异常: " + ex.getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void testProfileLookupTime() throws MoonLakeAuthException {
+        // 测试从指定用户名和指定时间戳查询 UUID 值
+        String name = "Month_Light";
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findProfileByTimestamp(name, new ProfileLookupCallback() {
+            @Override
+            public void onLookupSucceeded(GameProfile profile) {
+                System.out.println("成功获取最新游戏档案: " + profile.toString());
+            }
+
+            @Override
+            public void onLookupFailed(GameProfile profile, Exception ex) {
+                System.out.println("获取游戏档案时异常: " + ex.getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void testNameHistory() throws MoonLakeAuthException {
+        // 测试从指定用户 UUID 查询游戏名称历史记录
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findNameHistoryById(UUIDSerializer.fromString("e948f0b3-c9be-4909-a176-f13720d3be4c"), new ProfileHistoryCallback() {
+            @Override
+            public void onLookupSucceeded(UUID id, ProfileHistoryList historyList) {
+                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+                System.out.println("正在查询用户 '" + id + "' 的正版用户名历史记录: ");
+                System.out.println("当前正在使用的用户名为: " + historyList.getLatest().getName());
+                for(ProfileHistory history : historyList) {
+                    System.out.print("用户名: " + history.getName());
+                    for(int i = history.getName().length(); i < 16; i++)
+                        System.out.print(" ");
+                    System.out.print(" , 改变日期: " + (history.hasChangedToAt() ? sdf.format(new Date(history.getChangedToAt())) : "无"));
+                    System.out.println();
+                }
+            }
+
+            @Override
+            public void onLookupFailed(UUID id, Exception ex) {
+                System.out.println("获取用户 '" + id + "' 的名称历史记录时异常: " + ex.getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void testMojangStatus() throws MoonLakeAuthException {
+        // 测试查询 mojang 服务器状态
+        MojangStatusService statusService = new MojangStatusService();
+        statusService.checkMojangStatus(new StatusServiceCallback() {
+            @Override
+            public void onCheckSucceeded(StatusServiceList serviceList) {
+                System.out.println("请求查询 mojang 服务器状态: ");
+                for(StatusService service : serviceList) {
+                    System.out.printf("域名: %s, 状态: %s, 是否不可用: %s", service.getHost(), service.getType(), service.isUnavailable());
+                    System.out.println();
+                }
+            }
+
+            @Override
+            public void onCheckFailed(Exception ex) {
+                System.out.println("查询 mojang 服务器状态时异常: " + ex.getMessage());
+            }
+        });
+    }
+
+    @Test
+    @Ignore // ignore
+    public void testAuthMojang() throws MoonLakeAuthException {
+        // 测试登录到 mojang 的 minecraft 账户
+        String clientToken = "客户端令牌";
+        String username = "mojang账户邮箱";
+        String password = "mojang账户密码";
+        UserAuthService authService = new UserAuthService(clientToken);
+        authService.setUsername(username);
+        authService.setPassword(password);
+        authService.login();
+
+        if(authService.isLoggedIn()) {
+            // 如果成功登录则打印结果
+            System.out.println("成功登录到 Mojang 正版账户.");
+            System.out.println(authService.getSelectedProfile());
+
+            // 获取当前用户的 minecraft 游戏档案数据
+            MinecraftAuthService mcAuthService = new MinecraftAuthService();
+            mcAuthService.fillProfileProperties(authService.getSelectedProfile()); // 填充游戏档案的属性数据
+            mcAuthService.fillProfileTextures(authService.getSelectedProfile()); // 填充游戏档案的材质属性数据
+            System.out.println(authService.getSelectedProfile()); // 打印最终游戏档案
+
+            // 登出当前用户服务
+            authService.invalidateToken(); // 将访问令牌进行失效
+        }
+    }
+
+    @Test
+    @Ignore // ignore
+    public void testTexture() throws MoonLakeAuthException {
+        // 测试获取指定玩家的正版皮肤材质源文件
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findSkinRawTextureByName("Month_Light", new SkinRawImageCallback<String>() {
+            @Override
+            public void onLookupSucceeded(String param, BufferedImage skinRawImage) {
+                try {
+                    File outFile = new File("src\\test\\" + param + ".png");
+                    System.out.println("成功获取到玩家 '" + param + "' 的皮肤材质源文件:");
+                    System.out.println("写出到: " + outFile.getAbsolutePath());
+                    ImageIO.write(skinRawImage, "PNG", outFile);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+
+            @Override
+            public void onLookupFailed(String param, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * 断言指定 JSON 以指定线路类型读取后写出与原始 JSON 相同
+     *
+     * @param type 线路类型
+     * @param json JSON
+     */
+    private static void assertRoundTrip(Class<?> type, String json) {
+        Object value = gson().fromJson(json, type);
+        Assert.assertNotNull(value);
+        Assert.assertEquals(type.getSimpleName(), parse(json), parse(gson().toJson(value)));
+    }
+
+    private static JsonElement parse(String json) {
+        return new JsonParser().parse(json);
+    }
+
+    private static Gson gson() {
+        return GsonAccess.get();
+    }
+
+    /**
+     * 访问认证服务共享的 Gson 对象
+     */
+    private abstract static class GsonAccess extends MoonLakeAuthBaseService {
+        static Gson get() {
+            return getGson();
+        }
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.httpserver;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileLookupCallback;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.TextureType;
+import com.minecraft.moonlake.auth.exception.MoonLakeAuthException;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileNotFoundException;
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinNotFoundException;
+import com.minecraft.moonlake.auth.render.PngSkinWriter;
+import com.minecraft.moonlake.auth.service.mc.MinecraftAuthService;
+import com.minecraft.moonlake.auth.service.profile.ProfileAuthService;
+import com.minecraft.moonlake.auth.util.UUIDSerializer;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * <h1>AvatarHttpServer</h1>
+ * 头像 HTTP 服务器类 (基于 JDK {@link HttpServer} 的嵌入式皮肤头像服务)
+ *
+ * <p>提供以下路径, {@code id} 可以为用户名、32 位或带连字符的 UUID, 可以带有 {@code .png} 后缀:</p>
+ * <ul>
+ *     <li>{@code /head/{id}?zoom=8&helmet=true} 皮肤头像</li>
+ *     <li>{@code /body/{id}?zoom=2&helmet=true&slim=auto} 皮肤 2D 模型</li>
+ *     <li>{@code /skin/{id}} 皮肤源图片</li>
+ * </ul>
+ *
+ * <p>游戏档案和皮肤材质分别由 {@link ProfileCache} 和材质缓存缓存. 响应的 ETag 由材质哈希值和渲染参数组成,
+ * 请求头 {@code If-None-Match} 匹配时直接返回 304 而不读取材质. 工作线程池和等待队列都是有界的,
+ * 队列已满时由单独的拒绝线程直接返回 503, 分发线程不会处理被拒绝的请求.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see ProfileCache
+ * @see PngSkinWriter
+ */
+public class AvatarHttpServer {
+
+    /**
+     * 默认的工作线程数量
+     */
+    public final static int DEFAULT_THREADS = 8;
+
+    /**
+     * 默认的等待队列容量
+     */
+    public final static int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /**
+     * 默认的最大放大倍数
+     */
+    public final static int DEFAULT_MAX_ZOOM = 32;
+
+    /**
+     * 默认的缓存有效时间 (秒, Cache-Control max-age)
+     */
+    public final static int DEFAULT_MAX_AGE = 3600;
+
+    private final static Pattern PATTERN_NAME = Pattern.compile("^[A-Za-z0-9_]{1,16}$");
+    private final static Pattern PATTERN_UUID = Pattern.compile("^[0-9a-fA-F]{32}$|^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+    private final static ThreadLocal<Boolean> OVERLOADED = new ThreadLocal<>();
+
+    private final InetSocketAddress address;
+    private final ProfileAuthService profileAuthService;
+    private final ProfileCache profileCache;
+    private final PngSkinWriter pngSkinWriter;
+    private final int threads;
+    private final int queueCapacity;
+    private volatile int maxZoom = DEFAULT_MAX_ZOOM;
+    private volatile int maxAge = DEFAULT_MAX_AGE;
+    private HttpServer server;
+    private ThreadPoolExecutor executor;
+    private ThreadPoolExecutor rejectionExecutor;
+
+    /**
+     * 头像 HTTP 服务器类构造函数
+     *
+     * @param address 监听地址
+     * @throws IllegalArgumentException 如果监听地址对象为 {@code null} 则抛出异常
+     */
+    public AvatarHttpServer(InetSocketAddress address) {
+        this(address, new ProfileAuthService(), new ProfileCache(), DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * 头像 HTTP 服务器类构造函数
+     *
+     * @param address 监听地址
+     * @param profileAuthService 档案认证服务
+     * @param profileCache 游戏档案缓存
+     * @param threads 工作线程数量
+     * @param queueCapacity 等待队列容量
+     * @throws IllegalArgumentException 如果监听地址、档案认证服务或游戏档案缓存对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果工作线程数量或等待队列容量小于等于 0 则抛出异常
+     */
+    public AvatarHttpServer(InetSocketAddress address, ProfileAuthService profileAuthService, ProfileCache profileCache, int threads, int queueCapacity) {
+        validate(address, "监听地址对象不能为 null 值.");
+        validate(profileAuthService, "档案认证服务对象不能为 null 值.");
+        validate(profileCache, "游戏档案缓存对象不能为 null 值.");
+        if(threads <= 0 || queueCapacity <= 0)
+            throw new IllegalArgumentException("工作线程数量和等待队列容量必须大于 0.");
+        this.address = address;
+        this.profileAuthService = profileAuthService;
+        this.profileCache = profileCache;
+        this.pngSkinWriter = new PngSkinWriter();
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 获取此头像 HTTP 服务器的档案认证服务
+     *
+     * @return 档案认证服务
+     */
+    public ProfileAuthService getProfileAuthService() {
+        return profileAuthService;
+    }
+
+    /**
+     * 获取此头像 HTTP 服务器的游戏档案缓存
+     *
+     * @return 游戏档案缓存
+     */
+    public ProfileCache getProfileCache() {
+        return profileCache;
+    }
+
+    /**
+     * 获取此头像 HTTP 服务器的最大放大倍数
+     *
+     * @return 最大放大倍数
+     */
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * 设置此头像 HTTP 服务器的最大放大倍数 (请求的放大倍数超过此值将被限制)
+     *
+     * @param maxZoom 最大放大倍数
+     * @throws IllegalArgumentException 如果最大放大倍数小于等于 0 则抛出异常
+     */
+    public void setMaxZoom(int maxZoom) {
+        if(maxZoom <= 0)
+            throw new IllegalArgumentException("最大放大倍数必须大于 0.");
+        this.maxZoom = maxZoom;
+    }
+
+    /**
+     * 获取此头像 HTTP 服务器的缓存有效时间
+     *
+     * @return 缓存有效时间 (秒)
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * 设置此头像 HTTP 服务器的缓存有效时间 (Cache-Control max-age)
+     *
+     * @param maxAge 缓存有效时间 (秒)
+     */
+    public void setMaxAge(int maxAge) {
+        this.maxAge = Math.max(0, maxAge);
+    }
+
+    /**
+     * 获取此头像 HTTP 服务器实际监听的地址
+     *
+     * @return 监听地址, 未启动则返回构造时的地址
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return server != null ? server.getAddress() : address;
+    }
+
+    /**
+     * 启动此头像 HTTP 服务器
+     *
+     * @throws IOException 如果绑定地址错误则抛出异常
+     * @throws IllegalStateException 如果已经启动则抛出异常
+     */
+    public synchronized void start() throws IOException {
+        if(server != null)
+            throw new IllegalStateException("头像 HTTP 服务器已经启动.");
+        final AtomicInteger threadId = new AtomicInteger();
+        // 拒绝线程的队列也已满时才在分发线程中返回 503, 保证每个请求都有响应
+        final ThreadPoolExecutor rejectionExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AvatarHttpServer-Rejection");
+                thread.setDaemon(true);
+                return thread;
+            }
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AvatarHttpServer-" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }, new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(final Runnable r, ThreadPoolExecutor executor) {
+                // 队列已满: 交给拒绝线程执行, 处理器不读取请求体并直接返回 503 后关闭连接
+                rejectionExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        OVERLOADED.set(Boolean.TRUE);
+                        try {
+                            r.run();
+                        } finally {
+                            OVERLOADED.remove();
+                        }
+                    }
+                });
+            }
+        });
+        this.rejectionExecutor = rejectionExecutor;
+        HttpServer server = HttpServer.create(address, 0);
+        server.createContext("/head/", new AvatarHandler(AvatarType.HEAD));
+        server.createContext("/body/", new AvatarHandler(AvatarType.BODY));
+        server.createContext("/skin/", new AvatarHandler(AvatarType.SKIN));
+        server.setExecutor(executor);
+        server.start();
+        this.server = server;
+    }
+
+    /**
+     * 停止此头像 HTTP 服务器
+     *
+     * @param delay 等待正在处理的请求完成的最长时间 (秒)
+     */
+    public synchronized void stop(int delay) {
+        if(server == null)
+            return;
+        server.stop(delay);
+        executor.shutdown();
+        rejectionExecutor.shutdown();
+        server = null;
+        executor = null;
+        rejectionExecutor = null;
+    }
+
+    /**
+     * 从指定用户名或 UUID 解析已填充材质数据的游戏档案, 优先使用游戏档案缓存
+     *
+     * @param id 用户名或 UUID
+     * @return 游戏档案
+     * @throws MoonLakeAuthException 如果档案不存在或请求错误则抛出异常
+     */
+    protected GameProfile resolveProfile(String id) throws MoonLakeAuthException {
+        boolean uuid = PATTERN_UUID.matcher(id).matches();
+        final String key = uuid ? id.replace("-", "").toLowerCase() : id.toLowerCase();
+        GameProfile profile = profileCache.get(key);
+        if(profile != null)
+            return profile;
+        if(uuid) {
+            profile = new GameProfile(UUIDSerializer.fromString(key), null);
+        } else {
+            final GameProfile[] result = new GameProfile[1];
+            final Exception[] failure = new Exception[1];
+            profileAuthService.findProfileByName(id, new ProfileLookupCallback() {
+                @Override
+                public void onLookupSucceeded(GameProfile profile) {
+                    result[0] = profile;
+                }
+
+                @Override
+                public void onLookupFailed(GameProfile profile, Exception ex) {
+                    failure[0] = ex;
+                }
+            });
+            if(result[0] == null) {
+                if(failure[0] instanceof MoonLakeAuthException)
+                    throw (MoonLakeAuthException) failure[0];
+                throw new MoonLakeProfileNotFoundException("服务器没有存在名为 '" + id + "' 的游戏档案.");
+            }
+            profile = result[0];
+        }
+        MinecraftAuthService minecraftAuthService = new MinecraftAuthService(profileAuthService.getProxy(), profileAuthService.getEndpointProfile());
+        minecraftAuthService.fillProfileProperties(profile);
+        minecraftAuthService.fillProfileTextures(profile);
+        profileCache.put(key, profile);
+        return profile;
+    }
+
+    /**
+     * 获取指定游戏档案的皮肤材质哈希值
+     *
+     * @param profile 游戏档案
+     * @return 皮肤材质哈希值
+     * @throws MoonLakeSkinNotFoundException 如果游戏档案不存在皮肤则抛出异常
+     */
+    private static String getSkinHash(GameProfile profile) throws MoonLakeSkinNotFoundException {
+        ProfileTexture skinTexture = profile.getTexture(TextureType.SKIN);
+        if(skinTexture == null || skinTexture.getUrl() == null || skinTexture.getUrl().isEmpty())
+            throw new MoonLakeSkinNotFoundException("游戏档案对象不存在任何皮肤材质数据.");
+        return skinTexture.getHash();
+    }
+
+    /**
+     * 解析指定请求链接的查询参数
+     *
+     * @param query 查询字符串
+     * @return 查询参数 Map 集
+     */
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> result = new HashMap<>();
+        if(query == null || query.isEmpty())
+            return result;
+        for(String pair : query.split("&")) {
+            int index = pair.indexOf('=');
+            if(index > 0)
+                result.put(pair.substring(0, index).toLowerCase(), pair.substring(index + 1));
+            else if(!pair.isEmpty())
+                result.put(pair.toLowerCase(), "");
+        }
+        return result;
+    }
+
+    /**
+     * 获取指定的 If-None-Match 请求头是否与指定 ETag 匹配
+     *
+     * @param ifNoneMatch If-None-Match 请求头
+     * @param etag ETag
+     * @return 是否匹配
+     */
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if(ifNoneMatch == null)
+            return false;
+        for(String value : ifNoneMatch.split(",")) {
+            value = value.trim();
+            if(value.startsWith("W/"))
+                value = value.substring(2);
+            if(value.equals("*") || value.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 向指定 HTTP 交换发送纯文本的错误响应
+     *
+     * @param exchange HTTP 交换
+     * @param code 状态码
+     * @param message 错误信息
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void sendError(HttpExchange exchange, int code, String message) throws IOException {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        if(exchange.getRequestMethod().equalsIgnoreCase("HEAD")) {
+            exchange.sendResponseHeaders(code, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(code, body.length);
+        OutputStream output = exchange.getResponseBody();
+        output.write(body);
+        output.close();
+    }
+
+    /**
+     * 验证指定 Object 对象是否为 {@code null} 则抛出异常
+     *
+     * @param obj 对象
+     * @param message 异常信息
+     * @throws IllegalArgumentException 如果对象为 {@code null} 则抛出异常
+     */
+    private static void validate(Object obj, String message) throws IllegalArgumentException {
+        if(obj == null)
+            throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * 启动一个独立运行的头像 HTTP 服务器
+     *
+     * @param args 参数: [端口 (默认 8080)] [工作线程数量]
+     * @throws Exception 如果启动错误则抛出异常
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_THREADS;
+        AvatarHttpServer server = new AvatarHttpServer(new InetSocketAddress(port), new ProfileAuthService(), new ProfileCache(), threads, DEFAULT_QUEUE_CAPACITY);
+        server.start();
+    }
+
+    /**
+     * <h1>AvatarType</h1>
+     * 头像类型
+     */
+    private enum AvatarType {
+
+        HEAD(8),
+        BODY(2),
+        SKIN(1),
+        ;
+
+        private final int defaultZoom;
+
+        AvatarType(int defaultZoom) {
+            this.defaultZoom = defaultZoom;
+        }
+    }
+
+    /**
+     * <h1>AvatarHandler</h1>
+     * 头像请求处理器
+     */
+    private class AvatarHandler implements HttpHandler {
+
+        private final AvatarType type;
+
+        /**
+         * 头像请求处理器构造函数
+         *
+         * @param type 头像类型
+         */
+        AvatarHandler(AvatarType type) {
+            this.type = type;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                handle0(exchange);
+            } catch (MoonLakeProfileNotFoundException | MoonLakeSkinNotFoundException e) {
+                sendError(exchange, 404, e.getMessage());
+            } catch (MoonLakeAuthException e) {
+                // 皮肤读取错误会将不存在的异常包装, 需要检查原因
+                if(e.getCause() instanceof MoonLakeSkinNotFoundException)
+                    sendError(exchange, 404, e.getCause().getMessage());
+                else
+                    sendError(exchange, 502, "上游服务错误: " + e.getMessage());
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                sendError(exchange, 500, "服务器内部错误.");
+            } finally {
+                exchange.close();
+            }
+        }
+
+        /**
+         * 处理指定 HTTP 交换
+         *
+         * @param exchange HTTP 交换
+         * @throws Exception 如果处理错误则抛出异常
+         */
+        private void handle0(HttpExchange exchange) throws Exception {
+            if(OVERLOADED.get() != null) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.getResponseHeaders().set("Connection", "close");
+                sendError(exchange, 503, "服务器繁忙, 请稍后重试.");
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            boolean head = method.equalsIgnoreCase("HEAD");
+            if(!head && !method.equalsIgnoreCase("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendError(exchange, 405, "不支持的请求方法.");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.indexOf('/', 1) + 1);
+            if(id.endsWith(".png"))
+                id = id.substring(0, id.length() - 4);
+            if(!PATTERN_NAME.matcher(id).matches() && !PATTERN_UUID.matcher(id).matches()) {
+                sendError(exchange, 400, "无效的用户名或 UUID.");
+                return;
+            }
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int zoom = type.defaultZoom;
+            if(query.containsKey("zoom")) {
+                try {
+                    zoom = Integer.parseInt(query.get("zoom"));
+                } catch (NumberFormatException e) {
+                    sendError(exchange, 400, "无效的放大倍数.");
+                    return;
+                }
+            }
+            zoom = Math.max(1, Math.min(zoom, maxZoom));
+            boolean helmet = !"false".equalsIgnoreCase(query.get("helmet"));
+            String slimValue = query.get("slim");
+
+            GameProfile profile = resolveProfile(id);
+            String hash = getSkinHash(profile);
+            Boolean slim = null;
+            if(type == AvatarType.BODY)
+                slim = slimValue == null || slimValue.equalsIgnoreCase("auto") ? profileAuthService.isSkinSlimByProfile(profile) : Boolean.valueOf(slimValue);
+            String etag = type == AvatarType.SKIN
+                    ? "\"" + hash + "\""
+                    : "\"" + hash + "-" + type.name().toLowerCase() + "-" + zoom + (helmet ? "-h" : "") + (slim != null && slim ? "-s" : "") + "\"";
+
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("ETag", etag);
+            headers.set("Cache-Control", "public, max-age=" + maxAge);
+            if(matchesETag(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            BufferedImage skinRawImage = profileAuthService.getSkinRawTextureByProfile(profile);
+            if(skinRawImage.getWidth() != 64 || (skinRawImage.getHeight() != 64 && skinRawImage.getHeight() != 32))
+                throw new MoonLakeSkinException("错误的皮肤材质源图片大小, 应为 64x64 或 64x32 大小."); // 必须在发送响应头之前检查
+            headers.set("Content-Type", "image/png");
+            if(head) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream output = exchange.getResponseBody();
+            switch (type) {
+                case HEAD:
+                    pngSkinWriter.writeHead(skinRawImage, zoom, helmet, output);
+                    break;
+                case BODY:
+                    pngSkinWriter.writeModel2D(skinRawImage, zoom, helmet, slim, output);
+                    break;
+                case SKIN:
+                default:
+                    pngSkinWriter.getEncoder().encode(skinRawImage, output);
+                    break;
+            }
+            output.close();
+        }
+    }
+}
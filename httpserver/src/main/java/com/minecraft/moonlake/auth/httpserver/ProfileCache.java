@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.httpserver;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>ProfileCache</h1>
+ * 游戏档案缓存类 (以小写用户名或 32 位 UUID 为键, 缓存已填充材质数据的游戏档案, 超过有效时间后重新查询)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see AvatarHttpServer
+ */
+public class ProfileCache {
+
+    /**
+     * 默认的最大缓存数量
+     */
+    public final static int DEFAULT_MAX_SIZE = 4096;
+
+    /**
+     * 默认的有效时间 (毫秒, 5 分钟)
+     */
+    public final static long DEFAULT_EXPIRE = 5L * 60L * 1000L;
+
+    private final int maxSize;
+    private final long expire;
+    private final Map<String, CacheEntry> cache;
+
+    /**
+     * 游戏档案缓存类构造函数
+     */
+    public ProfileCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_EXPIRE);
+    }
+
+    /**
+     * 游戏档案缓存类构造函数
+     *
+     * @param maxSize 最大缓存数量
+     * @param expire 有效时间 (毫秒)
+     * @throws IllegalArgumentException 如果最大缓存数量或有效时间小于等于 0 则抛出异常
+     */
+    public ProfileCache(int maxSize, long expire) {
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("最大缓存数量必须大于 0.");
+        if(expire <= 0L)
+            throw new IllegalArgumentException("有效时间必须大于 0.");
+        this.maxSize = maxSize;
+        this.expire = expire;
+        this.cache = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > ProfileCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 获取此游戏档案缓存指定键的游戏档案
+     *
+     * @param key 小写用户名或 32 位 UUID
+     * @return 游戏档案, 不存在或已过期则返回 {@code null}
+     */
+    public GameProfile get(String key) {
+        if(key == null)
+            return null;
+        synchronized (cache) {
+            CacheEntry entry = cache.get(key);
+            if(entry == null)
+                return null;
+            if(entry.expireAt <= System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return entry.profile;
+        }
+    }
+
+    /**
+     * 将指定键的游戏档案放入此游戏档案缓存
+     *
+     * @param key 小写用户名或 32 位 UUID
+     * @param profile 游戏档案
+     * @throws IllegalArgumentException 如果键或游戏档案对象为 {@code null} 则抛出异常
+     */
+    public void put(String key, GameProfile profile) {
+        if(key == null || profile == null)
+            throw new IllegalArgumentException("键或游戏档案对象不能为 null 值.");
+        synchronized (cache) {
+            cache.put(key, new CacheEntry(profile, System.currentTimeMillis() + expire));
+        }
+    }
+
+    /**
+     * 清除此游戏档案缓存的所有游戏档案
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * 获取此游戏档案缓存的数量大小 (包括尚未移除的过期档案)
+     *
+     * @return 数量大小
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * 获取此游戏档案缓存的最大缓存数量
+     *
+     * @return 最大缓存数量
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 获取此游戏档案缓存的有效时间
+     *
+     * @return 有效时间 (毫秒)
+     */
+    public long getExpire() {
+        return expire;
+    }
+
+    /**
+     * <h1>CacheEntry</h1>
+     * 游戏档案缓存项
+     */
+    private static class CacheEntry {
+
+        private final GameProfile profile;
+        private final long expireAt;
+
+        /**
+         * 游戏档案缓存项构造函数
+         *
+         * @param profile 游戏档案
+         * @param expireAt 过期时间戳
+         */
+        CacheEntry(GameProfile profile, long expireAt) {
+            this.profile = profile;
+            this.expireAt = expireAt;
+        }
+    }
+}
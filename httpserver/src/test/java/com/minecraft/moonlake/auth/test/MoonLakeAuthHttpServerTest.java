@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.test;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.TextureType;
+import com.minecraft.moonlake.auth.httpserver.AvatarHttpServer;
+import com.minecraft.moonlake.auth.httpserver.ProfileCache;
+import com.minecraft.moonlake.auth.service.profile.ProfileAuthService;
+import com.minecraft.moonlake.auth.service.profile.TextureCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class MoonLakeAuthHttpServerTest {
+
+    @Test
+    public void testAvatarHttpServer() throws Exception {
+        // 测试头像 HTTP 服务器 (档案和材质预先放入缓存, 不请求 Mojang 服务器)
+        String hash = "1a2b3c4d5e6f";
+        BufferedImage skinRawImage = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        for(int y = 0; y < 64; y++)
+            for(int x = 0; x < 64; x++)
+                skinRawImage.setRGB(x, y, 0xff000000 | (x * 4 << 16) | (y * 4 << 8));
+        TextureCache textureCache = new TextureCache();
+        textureCache.put(hash, skinRawImage);
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.setTextureCache(textureCache);
+        GameProfile profile = new GameProfile(UUID.randomUUID(), "Steve");
+        profile.getTextures().put(TextureType.SKIN, new ProfileTexture("http://textures.minecraft.net/texture/" + hash, null));
+        ProfileCache profileCache = new ProfileCache();
+        profileCache.put("steve", profile);
+
+        AvatarHttpServer server = new AvatarHttpServer(new InetSocketAddress("127.0.0.1", 0), authService, profileCache, 2, 4);
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            HttpURLConnection connection = (HttpURLConnection) new URL(base + "/head/Steve.png?zoom=4&helmet=false").openConnection();
+            Assert.assertEquals(200, connection.getResponseCode());
+            String etag = connection.getHeaderField("ETag");
+            BufferedImage headImage = ImageIO.read(connection.getInputStream());
+            Assert.assertEquals(32, headImage.getWidth());
+            Assert.assertEquals(skinRawImage.getRGB(8, 8), headImage.getRGB(0, 0));
+            System.out.println("头像 ETag: " + etag);
+
+            connection = (HttpURLConnection) new URL(base + "/head/Steve.png?zoom=4&helmet=false").openConnection();
+            connection.setRequestProperty("If-None-Match", etag);
+            Assert.assertEquals(304, connection.getResponseCode());
+
+            connection = (HttpURLConnection) new URL(base + "/body/Steve?slim=false").openConnection();
+            Assert.assertEquals(200, connection.getResponseCode());
+            Assert.assertEquals(64, ImageIO.read(connection.getInputStream()).getHeight());
+
+            connection = (HttpURLConnection) new URL(base + "/head/not-a-name!").openConnection();
+            Assert.assertEquals(400, connection.getResponseCode());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testAvatarHttpServerOverload() throws Exception {
+        // 测试工作线程和等待队列都已满时, 被拒绝的请求在工作线程阻塞期间由拒绝线程直接返回 503
+        final CountDownLatch release = new CountDownLatch(1);
+        final GameProfile profile = new GameProfile(UUID.randomUUID(), "Slow");
+        ProfileCache profileCache = new ProfileCache() {
+            @Override
+            public GameProfile get(String key) {
+                try {
+                    release.await(30L, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return profile; // 档案不存在皮肤材质, 工作线程释放后返回 404
+            }
+        };
+        AvatarHttpServer server = new AvatarHttpServer(new InetSocketAddress("127.0.0.1", 0), new ProfileAuthService(), profileCache, 1, 1);
+        server.start();
+        ExecutorService clients = Executors.newFixedThreadPool(6);
+        try {
+            final String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/head/" + profile.getName();
+            final BlockingQueue<String> results = new LinkedBlockingQueue<>();
+            for(int i = 0; i < 6; i++) {
+                clients.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+                            connection.setReadTimeout(30000);
+                            results.add(connection.getResponseCode() + " " + connection.getHeaderField("Retry-After"));
+                        } catch (Exception e) {
+                            results.add(e.toString());
+                        }
+                    }
+                });
+            }
+            // 1 个工作线程和 1 个队列位置, 其余 4 个请求在工作线程释放之前就得到 503
+            for(int i = 0; i < 4; i++)
+                Assert.assertEquals("503 1", results.poll(10L, TimeUnit.SECONDS));
+            Assert.assertNull(results.poll(200L, TimeUnit.MILLISECONDS));
+            release.countDown();
+            for(int i = 0; i < 2; i++)
+                Assert.assertEquals("404 null", results.poll(30L, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>BoundedBulkRenderSink</h1>
+ * 有界批量渲染接收器类 (队列已满时渲染线程将等待消费者, 避免结果堆积占用内存)
+ *
+ * <p>消费者必须在调用 {@link BulkModel2DRenderer#render(java.util.Iterator, int, boolean, BulkRenderSink)} 以外的线程中取出结果.
+ * 渲染方法会阻塞到全部渲染完成, 如果在同一个线程中渲染后再取出, 结果数量超过队列容量时渲染线程将永远等待 (死锁).
+ * 只在同一个线程中使用时应该选择容量不小于渲染项数量, 或者使用不会阻塞的接收器实现.</p>
+ *
+ * @param <K> 键类型
+ * @version 1.0
+ * @author Month_Light
+ * @see BulkRenderSink
+ * @see BulkModel2DRenderer
+ */
+public class BoundedBulkRenderSink<K> implements BulkRenderSink<K> {
+
+    private final BlockingQueue<BulkRenderResult<K>> queue;
+    private final Semaphore permits;
+    private final BulkRenderResult<K> end;
+
+    /**
+     * 有界批量渲染接收器类构造函数
+     *
+     * @param capacity 队列容量
+     * @throws IllegalArgumentException 如果队列容量小于等于 0 则抛出异常
+     */
+    public BoundedBulkRenderSink(int capacity) {
+        if(capacity <= 0)
+            throw new IllegalArgumentException("队列容量必须大于 0.");
+        // 结果数量由许可限制, 完成标记不占用许可, 因此完成时永远不会阻塞
+        this.queue = new LinkedBlockingQueue<>();
+        this.permits = new Semaphore(capacity);
+        this.end = new BulkRenderResult<>(null, null, null);
+    }
+
+    @Override
+    public void onRenderSucceeded(K key, BufferedImage image) throws InterruptedException {
+        put(new BulkRenderResult<>(key, image, null));
+    }
+
+    @Override
+    public void onRenderFailed(K key, Exception ex) throws InterruptedException {
+        put(new BulkRenderResult<>(key, null, ex));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.offer(end);
+    }
+
+    /**
+     * 从此有界批量渲染接收器取出一个结果, 队列为空时将等待
+     *
+     * @return 批量渲染结果, 批量渲染已完成且没有剩余结果则返回 {@code null}
+     * @throws InterruptedException 如果等待时被中断则抛出异常
+     */
+    public BulkRenderResult<K> take() throws InterruptedException {
+        return unwrap(queue.take());
+    }
+
+    /**
+     * 从此有界批量渲染接收器取出一个结果, 队列为空时将等待指定时间
+     *
+     * @param timeout 超时时间
+     * @param unit 时间单位
+     * @return 批量渲染结果, 超时或批量渲染已完成且没有剩余结果则返回 {@code null}
+     * @throws InterruptedException 如果等待时被中断则抛出异常
+     * @see #isComplete()
+     */
+    public BulkRenderResult<K> poll(long timeout, TimeUnit unit) throws InterruptedException {
+        BulkRenderResult<K> result = queue.poll(timeout, unit);
+        return result != null ? unwrap(result) : null;
+    }
+
+    /**
+     * 获取此有界批量渲染接收器是否已完成且没有剩余结果
+     *
+     * @return 是否已完成
+     */
+    public boolean isComplete() {
+        return queue.peek() == end;
+    }
+
+    /**
+     * 将指定结果放入队列 (在 ForkJoin 工作线程中等待时允许线程池补偿线程)
+     *
+     * @param result 批量渲染结果
+     * @throws InterruptedException 如果等待时被中断则抛出异常
+     */
+    private void put(BulkRenderResult<K> result) throws InterruptedException {
+        if(!permits.tryAcquire())
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean acquired;
+                @Override
+                public boolean block() throws InterruptedException {
+                    if(!acquired) {
+                        permits.acquire();
+                        acquired = true;
+                    }
+                    return true;
+                }
+                @Override
+                public boolean isReleasable() {
+                    return acquired || (acquired = permits.tryAcquire());
+                }
+            });
+        queue.offer(result);
+    }
+
+    /**
+     * 将指定队列元素转换为结果, 如果是完成标记则放回队列让其他消费者也能结束
+     *
+     * @param result 队列元素
+     * @return 批量渲染结果, 完成标记则返回 {@code null}
+     */
+    private BulkRenderResult<K> unwrap(BulkRenderResult<K> result) {
+        if(result == end) {
+            queue.offer(end);
+            return null;
+        }
+        permits.release();
+        return result;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * <h1>BulkModel2DRenderer</h1>
+ * 批量 2D 模型渲染器类 (使用 ForkJoin 将大量皮肤材质的 2D 模型渲染分摊到所有处理器核心)
+ *
+ * <p>输入以固定大小的分块读取, 每个分块在 ForkJoin 线程池中递归拆分执行, 每个工作线程复用自己的皮肤和模型像素缓冲区.
+ * 结果通过 {@link BulkRenderSink} 接收器输出, 使用 {@link BoundedBulkRenderSink} 可以在消费者跟不上时让渲染线程等待.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see BulkRenderItem
+ * @see BulkRenderSink
+ * @see RasterSkinRenderer#renderModel2D(BufferedImage, int, boolean, boolean)
+ */
+public class BulkModel2DRenderer {
+
+    /**
+     * 每次从输入读取的分块大小
+     */
+    public final static int CHUNK_SIZE = 1024;
+
+    /**
+     * 递归拆分的最小任务大小
+     */
+    public final static int LEAF_SIZE = 16;
+
+    private final static ThreadLocal<int[]> SKIN_BUFFER = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[64 * 64];
+        }
+    };
+    private final static ThreadLocal<int[]> MODEL_BUFFER = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[16 * 32];
+        }
+    };
+
+    private final ForkJoinPool pool;
+
+    /**
+     * 批量 2D 模型渲染器类构造函数 (使用公共 ForkJoin 线程池)
+     */
+    public BulkModel2DRenderer() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量 2D 模型渲染器类构造函数
+     *
+     * @param pool ForkJoin 线程池
+     * @throws IllegalArgumentException 如果线程池对象为 {@code null} 则抛出异常
+     */
+    public BulkModel2DRenderer(ForkJoinPool pool) {
+        RasterSkinRenderer.validate(pool, "线程池对象不能为 null 值.");
+        this.pool = pool;
+    }
+
+    /**
+     * 获取此批量 2D 模型渲染器的 ForkJoin 线程池
+     *
+     * @return ForkJoin 线程池
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * 将指定批量渲染项集合渲染为 2D 模型图片并输出到指定接收器
+     *
+     * @param items 批量渲染项集合
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param sink 接收器
+     * @param <K> 键类型
+     * @throws MoonLakeSkinException 如果接收器被中断则抛出异常
+     * @throws IllegalArgumentException 如果批量渲染项集合或接收器对象为 {@code null} 则抛出异常
+     */
+    public <K> void render(Iterable<BulkRenderItem<K>> items, int zoom, boolean helmet, BulkRenderSink<K> sink) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(items, "批量渲染项集合对象不能为 null 值.");
+        render(items.iterator(), zoom, helmet, sink);
+    }
+
+    /**
+     * 将指定批量渲染项流渲染为 2D 模型图片并输出到指定接收器
+     *
+     * @param items 批量渲染项流
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param sink 接收器
+     * @param <K> 键类型
+     * @throws MoonLakeSkinException 如果接收器被中断则抛出异常
+     * @throws IllegalArgumentException 如果批量渲染项流或接收器对象为 {@code null} 则抛出异常
+     */
+    public <K> void render(Stream<BulkRenderItem<K>> items, int zoom, boolean helmet, BulkRenderSink<K> sink) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(items, "批量渲染项流对象不能为 null 值.");
+        render(items.iterator(), zoom, helmet, sink);
+    }
+
+    /**
+     * 将指定批量渲染项迭代器渲染为 2D 模型图片并输出到指定接收器
+     *
+     * <p>单个皮肤材质的错误 (例如大小错误) 通过 {@link BulkRenderSink#onRenderFailed(Object, Exception)} 输出, 不会终止批量渲染.
+     * 无论成功或终止, 最后都会调用一次 {@link BulkRenderSink#onComplete()}.
+     * 此方法会阻塞到全部渲染完成, 使用 {@link BoundedBulkRenderSink} 时必须在其他线程中取出结果.</p>
+     *
+     * @param items 批量渲染项迭代器
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param sink 接收器
+     * @param <K> 键类型
+     * @throws MoonLakeSkinException 如果接收器被中断则抛出异常
+     * @throws IllegalArgumentException 如果批量渲染项迭代器、批量渲染项或接收器对象为 {@code null} 则抛出异常
+     */
+    public <K> void render(Iterator<BulkRenderItem<K>> items, int zoom, boolean helmet, BulkRenderSink<K> sink) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(items, "批量渲染项迭代器对象不能为 null 值.");
+        RasterSkinRenderer.validate(sink, "接收器对象不能为 null 值.");
+        if(zoom <= 0)
+            zoom = 1;
+        AtomicBoolean aborted = new AtomicBoolean(false);
+        List<BulkRenderItem<K>> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            while(items.hasNext() && !aborted.get()) {
+                // 按分块读取输入, 避免一次性将全部皮肤材质加载到内存
+                chunk.clear();
+                while(chunk.size() < CHUNK_SIZE && items.hasNext()) {
+                    BulkRenderItem<K> item = items.next();
+                    RasterSkinRenderer.validate(item, "批量渲染项对象不能为 null 值.");
+                    chunk.add(item);
+                }
+                pool.invoke(new RenderTask<>(chunk, 0, chunk.size(), zoom, helmet, sink, aborted));
+            }
+        } finally {
+            sink.onComplete();
+        }
+        if(aborted.get())
+            throw new MoonLakeSkinException("批量渲染被中断.");
+    }
+
+    /**
+     * 使用当前线程的缓冲区将指定批量渲染项渲染为 2D 模型图片
+     *
+     * @param item 批量渲染项
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @return 2D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤材质源图片大小错误则抛出异常
+     */
+    private static BufferedImage renderItem(BulkRenderItem<?> item, int zoom, boolean helmet) throws MoonLakeSkinException {
+        BufferedImage skinRawImage = item.getSkinRawImage();
+        Boolean ver = RasterSkinRenderer.getSkinRawImageVer(skinRawImage);
+        if(ver == null)
+            throw new MoonLakeSkinException("错误的皮肤材质源图片大小, 应为 64x64 或 64x32 大小.");
+        int[] skin = skinRawImage.getRGB(0, 0, 64, skinRawImage.getHeight(), SKIN_BUFFER.get(), 0, 64);
+        int[] model = MODEL_BUFFER.get();
+        RasterSkinRenderer.drawModel2DPixels(skin, !ver, model, helmet, item.isSlim());
+        BufferedImage skinModel2DImage = new BufferedImage(16 * zoom, 32 * zoom, BufferedImage.TYPE_INT_ARGB);
+        RasterSkinRenderer.scalePixels(model, 16, 32, RasterSkinRenderer.getPixels(skinModel2DImage), zoom);
+        return skinModel2DImage;
+    }
+
+    /**
+     * <h1>RenderTask</h1>
+     * 批量渲染任务类 (递归拆分直到不大于 {@link #LEAF_SIZE} 个渲染项)
+     *
+     * @param <K> 键类型
+     */
+    private static class RenderTask<K> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<BulkRenderItem<K>> items;
+        private final int from;
+        private final int to;
+        private final int zoom;
+        private final boolean helmet;
+        private final BulkRenderSink<K> sink;
+        private final AtomicBoolean aborted;
+
+        /**
+         * 批量渲染任务类构造函数
+         *
+         * @param items 批量渲染项集合
+         * @param from 开始索引 (包含)
+         * @param to 结束索引 (不包含)
+         * @param zoom 放大倍数
+         * @param helmet 是否绘制外层皮肤
+         * @param sink 接收器
+         * @param aborted 是否已终止
+         */
+        RenderTask(List<BulkRenderItem<K>> items, int from, int to, int zoom, boolean helmet, BulkRenderSink<K> sink, AtomicBoolean aborted) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.zoom = zoom;
+            this.helmet = helmet;
+            this.sink = sink;
+            this.aborted = aborted;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RenderTask<>(items, from, mid, zoom, helmet, sink, aborted), new RenderTask<>(items, mid, to, zoom, helmet, sink, aborted));
+                return;
+            }
+            for(int i = from; i < to && !aborted.get(); i++) {
+                BulkRenderItem<K> item = items.get(i);
+                try {
+                    BufferedImage image;
+                    try {
+                        image = renderItem(item, zoom, helmet);
+                    } catch (Exception e) {
+                        sink.onRenderFailed(item.getKey(), e);
+                        continue;
+                    }
+                    sink.onRenderSucceeded(item.getKey(), image);
+                } catch (InterruptedException e) {
+                    aborted.set(true);
+                }
+            }
+        }
+    }
+}
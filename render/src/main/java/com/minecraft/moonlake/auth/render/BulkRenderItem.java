@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * <h1>BulkRenderItem</h1>
+ * 批量渲染项类 (一个键对应一张皮肤材质源图片)
+ *
+ * @param <K> 键类型
+ * @version 1.0
+ * @author Month_Light
+ * @see BulkModel2DRenderer
+ */
+public class BulkRenderItem<K> {
+
+    private final K key;
+    private final BufferedImage skinRawImage;
+    private final boolean slim;
+
+    /**
+     * 批量渲染项类构造函数
+     *
+     * @param key 键
+     * @param skinRawImage 皮肤材质源图片
+     * @param slim 是否苗条
+     * @throws IllegalArgumentException 如果键或皮肤材质源图片对象为 {@code null} 则抛出异常
+     */
+    public BulkRenderItem(K key, BufferedImage skinRawImage, boolean slim) {
+        RasterSkinRenderer.validate(key, "键对象不能为 null 值.");
+        RasterSkinRenderer.validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
+        this.key = key;
+        this.skinRawImage = skinRawImage;
+        this.slim = slim;
+    }
+
+    /**
+     * 获取此批量渲染项的键
+     *
+     * @return 键
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * 获取此批量渲染项的皮肤材质源图片
+     *
+     * @return 皮肤材质源图片
+     */
+    public BufferedImage getSkinRawImage() {
+        return skinRawImage;
+    }
+
+    /**
+     * 获取此批量渲染项是否苗条
+     *
+     * @return 是否苗条
+     */
+    public boolean isSlim() {
+        return slim;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkRenderItem{" +
+                "key=" + key +
+                ", slim=" + slim +
+                '}';
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * <h1>BulkRenderResult</h1>
+ * 批量渲染结果类
+ *
+ * @param <K> 键类型
+ * @version 1.0
+ * @author Month_Light
+ * @see BoundedBulkRenderSink
+ */
+public class BulkRenderResult<K> {
+
+    private final K key;
+    private final BufferedImage image;
+    private final Exception exception;
+
+    /**
+     * 批量渲染结果类构造函数
+     *
+     * @param key 键
+     * @param image 渲染结果图片
+     * @param exception 异常
+     */
+    public BulkRenderResult(K key, BufferedImage image, Exception exception) {
+        this.key = key;
+        this.image = image;
+        this.exception = exception;
+    }
+
+    /**
+     * 获取此批量渲染结果的键
+     *
+     * @return 键
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * 获取此批量渲染结果的图片
+     *
+     * @return 渲染结果图片, 失败则返回 {@code null}
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * 获取此批量渲染结果的异常
+     *
+     * @return 异常, 成功则返回 {@code null}
+     */
+    public Exception getException() {
+        return exception;
+    }
+
+    /**
+     * 获取此批量渲染结果是否成功
+     *
+     * @return 是否成功
+     */
+    public boolean isSucceeded() {
+        return exception == null;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkRenderResult{" +
+                "key=" + key +
+                ", succeeded=" + isSucceeded() +
+                ", exception=" + exception +
+                '}';
+    }
+}
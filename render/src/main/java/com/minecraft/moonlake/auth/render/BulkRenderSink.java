@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * <h1>BulkRenderSink</h1>
+ * 批量渲染接收器接口 (由多个渲染线程并发调用, 实现必须是线程安全的)
+ *
+ * @param <K> 键类型
+ * @version 1.0
+ * @author Month_Light
+ * @see BulkModel2DRenderer
+ * @see BoundedBulkRenderSink
+ */
+public interface BulkRenderSink<K> {
+
+    /**
+     * 当指定键渲染成功时
+     *
+     * @param key 键
+     * @param image 渲染结果图片
+     * @throws InterruptedException 如果等待时被中断则抛出异常, 批量渲染将被终止
+     */
+    void onRenderSucceeded(K key, BufferedImage image) throws InterruptedException;
+
+    /**
+     * 当指定键渲染失败时
+     *
+     * @param key 键
+     * @param ex 异常
+     * @throws InterruptedException 如果等待时被中断则抛出异常, 批量渲染将被终止
+     */
+    void onRenderFailed(K key, Exception ex) throws InterruptedException;
+
+    /**
+     * 当批量渲染完成时 (无论成功或终止都会调用一次)
+     */
+    void onComplete();
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <h1>HeadAtlas</h1>
+ * 皮肤头像图集类 (一张图集图片和每个头像在图集中的偏移)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see HeadAtlasRenderer
+ * @see PngEncoder
+ */
+public class HeadAtlas {
+
+    private final BufferedImage image;
+    private final int cellSize;
+    private final Map<String, Rectangle> offsets;
+    private final Map<String, Exception> failures;
+
+    /**
+     * 皮肤头像图集类构造函数
+     *
+     * @param image 图集图片
+     * @param cellSize 单元格大小
+     * @param offsets 偏移 Map 集
+     * @param failures 失败 Map 集
+     */
+    public HeadAtlas(BufferedImage image, int cellSize, Map<String, Rectangle> offsets, Map<String, Exception> failures) {
+        this.image = image;
+        this.cellSize = cellSize;
+        this.offsets = Collections.unmodifiableMap(offsets);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * 获取此皮肤头像图集的图集图片
+     *
+     * @return 图集图片
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    /**
+     * 获取此皮肤头像图集的单元格大小 (像素)
+     *
+     * @return 单元格大小
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * 获取此皮肤头像图集的偏移 Map 集 (键为用户名或材质哈希值, 按请求顺序排列)
+     *
+     * @return 偏移 Map 集
+     */
+    public Map<String, Rectangle> getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * 获取此皮肤头像图集指定键的偏移
+     *
+     * @param key 用户名或材质哈希值
+     * @return 偏移, 不存在则返回 {@code null}
+     */
+    public Rectangle getOffset(String key) {
+        return offsets.get(key);
+    }
+
+    /**
+     * 获取此皮肤头像图集渲染失败的 Map 集 (失败的单元格保持透明)
+     *
+     * @return 失败 Map 集
+     */
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+
+    /**
+     * 将此皮肤头像图集的图集图片以 PNG 格式写出到指定输出流
+     *
+     * @param output 输出流
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    public void writePng(OutputStream output) throws IOException {
+        if(output == null)
+            throw new IllegalArgumentException("输出流对象不能为 null 值.");
+        new PngEncoder().encode(image, output);
+    }
+
+    @Override
+    public String toString() {
+        return "HeadAtlas{" +
+                "width=" + image.getWidth() +
+                ", height=" + image.getHeight() +
+                ", cellSize=" + cellSize +
+                ", offsets=" + offsets.size() +
+                ", failures=" + failures.keySet() +
+                '}';
+    }
+}
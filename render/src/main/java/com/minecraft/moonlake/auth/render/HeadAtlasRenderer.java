@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.TextureType;
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+import com.minecraft.moonlake.auth.service.profile.ProfileAuthService;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>HeadAtlasRenderer</h1>
+ * 皮肤头像图集渲染器类 (一次请求将大量玩家的头像渲染到同一张图集图片)
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see HeadAtlas
+ * @see ProfileAuthService
+ */
+public class HeadAtlasRenderer {
+
+    /**
+     * 默认的获取皮肤并发线程数量
+     */
+    public final static int DEFAULT_THREADS = 8;
+
+    private final ProfileAuthService service;
+    private final ExecutorService executor;
+
+    /**
+     * 皮肤头像图集渲染器类构造函数
+     */
+    public HeadAtlasRenderer() {
+        this(new ProfileAuthService());
+    }
+
+    /**
+     * 皮肤头像图集渲染器类构造函数
+     *
+     * @param service 档案认证服务
+     * @throws IllegalArgumentException 如果档案认证服务对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlasRenderer(ProfileAuthService service) {
+        this(service, null);
+    }
+
+    /**
+     * 皮肤头像图集渲染器类构造函数
+     *
+     * @param service 档案认证服务
+     * @param executor 执行器服务 ({@code null} 则使用默认共享的 {@link #DEFAULT_THREADS} 线程执行器)
+     * @throws IllegalArgumentException 如果档案认证服务对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlasRenderer(ProfileAuthService service, ExecutorService executor) {
+        RasterSkinRenderer.validate(service, "档案认证服务对象不能为 null 值.");
+        this.service = service;
+        this.executor = executor;
+    }
+
+    /**
+     * 获取此皮肤头像图集渲染器的档案认证服务
+     *
+     * @return 档案认证服务
+     */
+    public ProfileAuthService getService() {
+        return service;
+    }
+
+    /**
+     * 从指定游戏档案列表渲染皮肤头像图集 (键为用户名)
+     *
+     * @param profiles 游戏档案列表
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案列表对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlas renderByProfiles(List<GameProfile> profiles) throws MoonLakeSkinException {
+        return renderByProfiles(profiles, 8, true);
+    }
+
+    /**
+     * 从指定游戏档案列表渲染皮肤头像图集 (键为用户名)
+     *
+     * @param profiles 游戏档案列表
+     * @param zoom 放大倍数 (默认 8 倍, 每个单元格 64x64 像素)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案列表对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlas renderByProfiles(List<GameProfile> profiles, int zoom, boolean helmet) throws MoonLakeSkinException {
+        return renderByProfiles(profiles, zoom, helmet, 0);
+    }
+
+    /**
+     * 从指定游戏档案列表渲染皮肤头像图集 (键为用户名)
+     *
+     * @param profiles 游戏档案列表
+     * @param zoom 放大倍数 (默认 8 倍, 每个单元格 64x64 像素)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @param columns 图集列数 (小于等于 0 则自动计算为接近正方形)
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     * @throws IllegalArgumentException 如果游戏档案列表对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlas renderByProfiles(List<GameProfile> profiles, int zoom, boolean helmet, int columns) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(profiles, "游戏档案列表对象不能为 null 值.");
+        Map<String, Source> sources = new LinkedHashMap<>();
+        Map<String, Cell> cells = new LinkedHashMap<>();
+        for(GameProfile profile : profiles) {
+            if(profile == null)
+                continue;
+            String key = profile.getName() != null ? profile.getName() : String.valueOf(profile.getId());
+            ProfileTexture texture = profile.getTexture(TextureType.SKIN);
+            // 已经知道材质的档案以材质哈希值合并, 相同皮肤只获取一次
+            String sourceKey = texture != null && texture.getUrl() != null ? "hash:" + texture.getHash() : "profile:" + key.toLowerCase();
+            addCell(sources, cells, key, sourceKey, profile, null);
+        }
+        return render(sources, cells, zoom, helmet, columns);
+    }
+
+    /**
+     * 从指定材质哈希值列表渲染皮肤头像图集 (键为材质哈希值)
+     *
+     * @param hashes 材质哈希值列表
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     * @throws IllegalArgumentException 如果材质哈希值列表对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlas renderByHashes(List<String> hashes) throws MoonLakeSkinException {
+        return renderByHashes(hashes, 8, true);
+    }
+
+    /**
+     * 从指定材质哈希值列表渲染皮肤头像图集 (键为材质哈希值)
+     *
+     * @param hashes 材质哈希值列表
+     * @param zoom 放大倍数 (默认 8 倍, 每个单元格 64x64 像素)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     * @throws IllegalArgumentException 如果材质哈希值列表对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlas renderByHashes(List<String> hashes, int zoom, boolean helmet) throws MoonLakeSkinException {
+        return renderByHashes(hashes, zoom, helmet, 0);
+    }
+
+    /**
+     * 从指定材质哈希值列表渲染皮肤头像图集 (键为材质哈希值)
+     *
+     * @param hashes 材质哈希值列表
+     * @param zoom 放大倍数 (默认 8 倍, 每个单元格 64x64 像素)
+     * @param helmet 是否绘制外层皮肤 (默认为 true)
+     * @param columns 图集列数 (小于等于 0 则自动计算为接近正方形)
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     * @throws IllegalArgumentException 如果材质哈希值列表对象为 {@code null} 则抛出异常
+     */
+    public HeadAtlas renderByHashes(List<String> hashes, int zoom, boolean helmet, int columns) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(hashes, "材质哈希值列表对象不能为 null 值.");
+        Map<String, Source> sources = new LinkedHashMap<>();
+        Map<String, Cell> cells = new LinkedHashMap<>();
+        for(String hash : hashes)
+            if(hash != null && !hash.isEmpty())
+                addCell(sources, cells, hash, "hash:" + hash, null, hash);
+        return render(sources, cells, zoom, helmet, columns);
+    }
+
+    /**
+     * 将指定键的单元格添加到渲染单元格 Map 集, 相同的键只会渲染一次
+     *
+     * @param sources 皮肤源 Map 集
+     * @param cells 单元格 Map 集
+     * @param key 单元格键
+     * @param sourceKey 皮肤源键
+     * @param profile 游戏档案
+     * @param hash 材质哈希值
+     */
+    private static void addCell(Map<String, Source> sources, Map<String, Cell> cells, String key, String sourceKey, GameProfile profile, String hash) {
+        if(cells.containsKey(key))
+            return;
+        Source source = sources.get(sourceKey);
+        if(source == null) {
+            source = new Source(profile, hash);
+            sources.put(sourceKey, source);
+        }
+        Cell cell = new Cell(key, cells.size());
+        source.cells.add(cell);
+        cells.put(key, cell);
+    }
+
+    /**
+     * 并发获取所有皮肤源并将单元格渲染到图集图片
+     *
+     * @param sources 皮肤源 Map 集
+     * @param cells 单元格 Map 集
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param columns 图集列数
+     * @return 皮肤头像图集
+     * @throws MoonLakeSkinException 如果渲染被中断则抛出异常
+     */
+    private HeadAtlas render(Map<String, Source> sources, Map<String, Cell> cells, int zoom, final boolean helmet, int columns) throws MoonLakeSkinException {
+        if(zoom <= 0)
+            zoom = 1;
+        final int cellSize = 8 * zoom;
+        final int count = cells.size();
+        final int cols = columns > 0 ? columns : Math.max(1, (int) Math.ceil(Math.sqrt(count)));
+        final int rows = Math.max(1, (count + cols - 1) / cols);
+        final BufferedImage atlas = new BufferedImage(cols * cellSize, rows * cellSize, BufferedImage.TYPE_INT_ARGB);
+        final int[] atlasPixels = ((DataBufferInt) atlas.getRaster().getDataBuffer()).getData();
+        final int atlasWidth = atlas.getWidth();
+        final int finalZoom = zoom;
+        final Map<String, Rectangle> offsets = new LinkedHashMap<>();
+        final Map<String, Exception> failures = new ConcurrentHashMap<>();
+        for(Cell cell : cells.values())
+            offsets.put(cell.key, new Rectangle((cell.index % cols) * cellSize, (cell.index / cols) * cellSize, cellSize, cellSize));
+
+        // 每个皮肤源一个任务: 获取 (或命中材质缓存) 后直接渲染它的所有单元格, 单元格互不重叠因此可以并发写入
+        ExecutorService executor = this.executor != null ? this.executor : ExecutorHolder.EXECUTOR;
+        List<Future<?>> futures = new ArrayList<>(sources.size());
+        for(final Source source : sources.values()) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        BufferedImage skinRawImage = source.hash != null ? service.getSkinRawTextureByHash(source.hash) : service.getSkinRawTextureByProfile(source.profile, true);
+                        int[] skin = RasterSkinRenderer.getSkinRawPixels(skinRawImage);
+                        for(Cell cell : source.cells) {
+                            Rectangle offset = offsets.get(cell.key);
+                            RasterSkinRenderer.drawHeadPixels(skin, atlasPixels, atlasWidth, offset.x, offset.y, finalZoom, helmet);
+                        }
+                    } catch (Exception e) {
+                        for(Cell cell : source.cells)
+                            failures.put(cell.key, e);
+                    }
+                }
+            }));
+        }
+        try {
+            for(Future<?> future : futures)
+                future.get();
+        } catch (InterruptedException e) {
+            for(Future<?> future : futures)
+                future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new MoonLakeSkinException("渲染皮肤头像图集时被中断.", e);
+        } catch (ExecutionException e) {
+            throw new MoonLakeSkinException("渲染皮肤头像图集时错误.", e.getCause());
+        }
+        return new HeadAtlas(atlas, cellSize, offsets, new LinkedHashMap<>(failures));
+    }
+
+    /**
+     * 皮肤源类 (游戏档案或材质哈希值)
+     */
+    private static class Source {
+        private final GameProfile profile;
+        private final String hash;
+        private final List<Cell> cells = new ArrayList<>(1);
+
+        protected Source(GameProfile profile, String hash) {
+            this.profile = profile;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * 图集单元格类
+     */
+    private static class Cell {
+        private final String key;
+        private final int index;
+
+        protected Cell(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+    }
+
+    /**
+     * 默认共享执行器持有类 (守护线程, 只有第一次渲染图集时才会创建)
+     */
+    private static class ExecutorHolder {
+        private final static ExecutorService EXECUTOR = Executors.newFixedThreadPool(DEFAULT_THREADS, new ThreadFactory() {
+            private final AtomicInteger index = new AtomicInteger();
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "HeadAtlasRenderer-" + index.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * <h1>IsometricSkinRenderer</h1>
+ * 等轴测皮肤渲染器类 (纯 CPU 将皮肤材质渲染为 3D 等轴测头像和模型图片)
+ *
+ * <p>模型坐标系以皮肤像素为单位: X 轴指向模型自身的左侧, Y 轴向上, Z 轴指向正面.
+ * 观察方向为模型的右前上方, 因此可见的面为 {@link SkinPart.Face#TOP}、{@link SkinPart.Face#FRONT} 和 {@link SkinPart.Face#RIGHT}.
+ * 每个面在图片中是一个平行四边形, 对其包围盒内的每个图片像素反向求出面内的皮肤像素坐标, 内层循环不创建任何对象.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see SkinPart
+ * @see RasterSkinRenderer
+ */
+public class IsometricSkinRenderer {
+
+    private final static double COS_30 = Math.cos(Math.PI / 6d);
+    private final static double SIN_30 = 0.5d;
+
+    /**
+     * 外层皮肤相对内层每侧膨胀的大小: 头 0.5 像素, 其他部位 0.25 像素
+     */
+    private final static double HEAD_OVERLAY_INFLATE = 0.5d;
+    private final static double BODY_OVERLAY_INFLATE = 0.25d;
+
+    /**
+     * 从远到近的绘制顺序 (按部位中心在观察方向上的距离排序)
+     */
+    private final static SkinPart[] HEAD_PARTS = { SkinPart.HEAD };
+    private final static SkinPart[] MODEL_PARTS = { SkinPart.LEFT_LEG, SkinPart.RIGHT_LEG, SkinPart.LEFT_ARM, SkinPart.BODY, SkinPart.RIGHT_ARM, SkinPart.HEAD };
+
+    /**
+     * 朝向观察者的面和背向观察者的面 (背向的面只在绘制外层皮肤的内侧时使用)
+     */
+    private final static SkinPart.Face[] FRONT_FACES = { SkinPart.Face.TOP, SkinPart.Face.FRONT, SkinPart.Face.RIGHT };
+    private final static SkinPart.Face[] BACK_FACES = { SkinPart.Face.BOTTOM, SkinPart.Face.BACK, SkinPart.Face.LEFT };
+
+    /**
+     * 等轴测皮肤渲染器类构造函数
+     */
+    public IsometricSkinRenderer() {
+    }
+
+    /**
+     * 从指定皮肤源图片渲染用户的皮肤 3D 等轴测头像图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长)
+     * @param helmet 是否绘制外层皮肤
+     * @return 皮肤 3D 头像图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage renderHead(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException {
+        int[] skin = RasterSkinRenderer.getSkinRawPixels(skinRawImage);
+        return render(skin, skinRawImage.getHeight() == 32, HEAD_PARTS, zoom, helmet, false);
+    }
+
+    /**
+     * 从指定皮肤源图片渲染用户的皮肤 3D 等轴测模型图片
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数 (每个皮肤像素的边长)
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @return 皮肤 3D 模型图片
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    public BufferedImage renderModel(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
+        int[] skin = RasterSkinRenderer.getSkinRawPixels(skinRawImage);
+        return render(skin, skinRawImage.getHeight() == 32, MODEL_PARTS, zoom, helmet, slim);
+    }
+
+    /**
+     * 将指定皮肤像素数组的指定部位渲染为等轴测图片
+     *
+     * @param skin 皮肤 ARGB 像素数组
+     * @param legacy 是否为旧版本 64x32 皮肤
+     * @param parts 部位 (从远到近)
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @return 等轴测图片
+     */
+    private static BufferedImage render(int[] skin, boolean legacy, SkinPart[] parts, int zoom, boolean helmet, boolean slim) {
+        if(zoom <= 0)
+            zoom = 1;
+        // 计算所有部位 (包括外层) 投影后的包围盒
+        double minX = Double.MAX_VALUE, minY = Double.MAX_VALUE, maxX = -Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for(SkinPart part : parts) {
+            double inflate = getInflate(part, legacy, helmet);
+            double x0 = getX(part, slim) - inflate, x1 = getX(part, slim) + part.getWidth(slim) + inflate;
+            double y0 = getY(part) - inflate, y1 = getY(part) + part.getHeight() + inflate;
+            double z0 = -part.getDepth() / 2d - inflate, z1 = part.getDepth() / 2d + inflate;
+            for(int i = 0; i < 8; i++) {
+                double x = (i & 1) == 0 ? x0 : x1;
+                double y = (i & 2) == 0 ? y0 : y1;
+                double z = (i & 4) == 0 ? z0 : z1;
+                double sx = projectX(x, z), sy = projectY(x, y, z);
+                minX = Math.min(minX, sx);
+                maxX = Math.max(maxX, sx);
+                minY = Math.min(minY, sy);
+                maxY = Math.max(maxY, sy);
+            }
+        }
+        int width = (int) Math.ceil((maxX - minX) * zoom);
+        int height = (int) Math.ceil((maxY - minY) * zoom);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        int[] target = RasterSkinRenderer.getPixels(image);
+        for(SkinPart part : parts) {
+            double x0 = getX(part, slim), x1 = x0 + part.getWidth(slim);
+            double y0 = getY(part), y1 = y0 + part.getHeight();
+            double z0 = -part.getDepth() / 2d, z1 = -z0;
+            double inflate = getInflate(part, legacy, helmet);
+            // 外层内侧 -> 内层 -> 外层外侧, 这样透过外层的透明像素可以看到内层和外层背面
+            if(inflate > 0d)
+                for(SkinPart.Face face : BACK_FACES)
+                    drawFace(skin, legacy, part, face, true, slim, x0 - inflate, y0 - inflate, z0 - inflate, x1 + inflate, y1 + inflate, z1 + inflate, zoom, minX, minY, target, width, height);
+            for(SkinPart.Face face : FRONT_FACES)
+                drawFace(skin, legacy, part, face, false, slim, x0, y0, z0, x1, y1, z1, zoom, minX, minY, target, width, height);
+            if(inflate > 0d)
+                for(SkinPart.Face face : FRONT_FACES)
+                    drawFace(skin, legacy, part, face, true, slim, x0 - inflate, y0 - inflate, z0 - inflate, x1 + inflate, y1 + inflate, z1 + inflate, zoom, minX, minY, target, width, height);
+        }
+        return image;
+    }
+
+    /**
+     * 将指定部位方块的指定面绘制到目标像素数组
+     *
+     * @param skin 皮肤 ARGB 像素数组
+     * @param legacy 是否为旧版本 64x32 皮肤
+     * @param part 部位
+     * @param face 面
+     * @param overlay 是否为外层
+     * @param slim 是否苗条
+     * @param x0 方块最小 X
+     * @param y0 方块最小 Y
+     * @param z0 方块最小 Z
+     * @param x1 方块最大 X
+     * @param y1 方块最大 Y
+     * @param z1 方块最大 Z
+     * @param zoom 放大倍数
+     * @param minX 投影包围盒最小 X
+     * @param minY 投影包围盒最小 Y
+     * @param target 目标 ARGB 像素数组
+     * @param width 目标宽度
+     * @param height 目标高度
+     */
+    private static void drawFace(int[] skin, boolean legacy, SkinPart part, SkinPart.Face face, boolean overlay, boolean slim, double x0, double y0, double z0, double x1, double y1, double z1, int zoom, double minX, double minY, int[] target, int width, int height) {
+        int faceWidth = part.getFaceWidth(face, slim);
+        int faceHeight = part.getFaceHeight(face);
+        // 面的原点 (皮肤像素 0, 0 的角) 和面内 X、Y 方向每个皮肤像素对应的模型向量
+        double ox, oy, oz, ax = 0d, ay = 0d, az = 0d, bx = 0d, by = 0d, bz = 0d;
+        int shade;
+        switch (face) {
+            case TOP:
+                ox = x0; oy = y1; oz = z0;
+                ax = (x1 - x0) / faceWidth;
+                bz = (z1 - z0) / faceHeight;
+                shade = 255;
+                break;
+            case BOTTOM:
+                ox = x0; oy = y0; oz = z0;
+                ax = (x1 - x0) / faceWidth;
+                bz = (z1 - z0) / faceHeight;
+                shade = 128;
+                break;
+            case RIGHT:
+                ox = x0; oy = y1; oz = z0;
+                az = (z1 - z0) / faceWidth;
+                by = -(y1 - y0) / faceHeight;
+                shade = 179;
+                break;
+            case FRONT:
+                ox = x0; oy = y1; oz = z1;
+                ax = (x1 - x0) / faceWidth;
+                by = -(y1 - y0) / faceHeight;
+                shade = 218;
+                break;
+            case LEFT:
+                ox = x1; oy = y1; oz = z1;
+                az = -(z1 - z0) / faceWidth;
+                by = -(y1 - y0) / faceHeight;
+                shade = 153;
+                break;
+            case BACK:
+            default:
+                ox = x1; oy = y1; oz = z0;
+                ax = -(x1 - x0) / faceWidth;
+                by = -(y1 - y0) / faceHeight;
+                shade = 153;
+                break;
+        }
+        // 投影到图片像素坐标
+        double px = (projectX(ox, oz) - minX) * zoom;
+        double py = (projectY(ox, oy, oz) - minY) * zoom;
+        double ux = projectX(ax, az) * zoom, uy = projectY(ax, ay, az) * zoom;
+        double vx = projectX(bx, bz) * zoom, vy = projectY(bx, by, bz) * zoom;
+        double det = ux * vy - uy * vx;
+        if(Math.abs(det) < 1e-9)
+            return; // 面与观察方向平行
+        double invDet = 1d / det;
+        double ex = ux * faceWidth, ey = uy * faceWidth, fx = vx * faceHeight, fy = vy * faceHeight;
+        int startX = Math.max(0, (int) Math.floor(px + Math.min(0d, ex) + Math.min(0d, fx)));
+        int endX = Math.min(width, (int) Math.ceil(px + Math.max(0d, ex) + Math.max(0d, fx)));
+        int startY = Math.max(0, (int) Math.floor(py + Math.min(0d, ey) + Math.min(0d, fy)));
+        int endY = Math.min(height, (int) Math.ceil(py + Math.max(0d, ey) + Math.max(0d, fy)));
+        for(int y = startY; y < endY; y++) {
+            double dy = y + 0.5d - py;
+            int off = y * width;
+            for(int x = startX; x < endX; x++) {
+                double dx = x + 0.5d - px;
+                double a = (dx * vy - dy * vx) * invDet;
+                double b = (ux * dy - uy * dx) * invDet;
+                if(a < 0d || b < 0d || a >= faceWidth || b >= faceHeight)
+                    continue;
+                int rgb = part.sample(skin, legacy, face, overlay, slim, (int) a, (int) b);
+                if((rgb >>> 24) == 0 || (overlay && RasterSkinRenderer.isInvalidColorRgb(rgb)))
+                    continue;
+                target[off + x] = blend(target[off + x], shade(rgb, shade));
+            }
+        }
+    }
+
+    /**
+     * 获取指定部位外层皮肤每侧膨胀的大小
+     *
+     * @param part 部位
+     * @param legacy 是否为旧版本 64x32 皮肤
+     * @param helmet 是否绘制外层皮肤
+     * @return 膨胀大小, 不绘制外层则返回 0
+     */
+    private static double getInflate(SkinPart part, boolean legacy, boolean helmet) {
+        if(!helmet || !part.hasOverlay(legacy))
+            return 0d;
+        return part == SkinPart.HEAD ? HEAD_OVERLAY_INFLATE : BODY_OVERLAY_INFLATE;
+    }
+
+    /**
+     * 获取指定部位在模型坐标中的最小 X (与 2D 模型的正面布局一致)
+     *
+     * @param part 部位
+     * @param slim 是否苗条
+     * @return 最小 X
+     */
+    private static double getX(SkinPart part, boolean slim) {
+        return part.getModel2DX(slim);
+    }
+
+    /**
+     * 获取指定部位在模型坐标中的最小 Y (2D 模型从上往下, 模型坐标从下往上)
+     *
+     * @param part 部位
+     * @return 最小 Y
+     */
+    private static double getY(SkinPart part) {
+        return 32 - part.getModel2DY() - part.getHeight();
+    }
+
+    /**
+     * 将模型坐标投影为等轴测图片的 X 坐标
+     *
+     * @param x X
+     * @param z Z
+     * @return 投影 X
+     */
+    private static double projectX(double x, double z) {
+        return (x + z) * COS_30;
+    }
+
+    /**
+     * 将模型坐标投影为等轴测图片的 Y 坐标 (向下为正)
+     *
+     * @param x X
+     * @param y Y
+     * @param z Z
+     * @return 投影 Y
+     */
+    private static double projectY(double x, double y, double z) {
+        return (z - x) * SIN_30 - y;
+    }
+
+    /**
+     * 将指定 ARGB 像素的 RGB 按指定亮度调整
+     *
+     * @param argb ARGB
+     * @param shade 亮度 (0 - 255)
+     * @return ARGB
+     */
+    private static int shade(int argb, int shade) {
+        int r = ((argb >> 16) & 0xff) * shade / 255;
+        int g = ((argb >> 8) & 0xff) * shade / 255;
+        int b = (argb & 0xff) * shade / 255;
+        return (argb & 0xff000000) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * 将指定源 ARGB 像素以 SrcOver 方式混合到目标 ARGB 像素
+     *
+     * @param dst 目标 ARGB
+     * @param src 源 ARGB
+     * @return 混合后的 ARGB
+     */
+    private static int blend(int dst, int src) {
+        int sa = src >>> 24;
+        if(sa == 0xff)
+            return src;
+        int da = dst >>> 24;
+        int outA = sa + da * (255 - sa) / 255;
+        if(outA == 0)
+            return 0;
+        int r = (((src >> 16) & 0xff) * sa + ((dst >> 16) & 0xff) * da * (255 - sa) / 255) / outA;
+        int g = (((src >> 8) & 0xff) * sa + ((dst >> 8) & 0xff) * da * (255 - sa) / 255) / outA;
+        int b = ((src & 0xff) * sa + (dst & 0xff) * da * (255 - sa) / 255) / outA;
+        return (outA << 24) | (r << 16) | (g << 8) | b;
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * <h1>PngEncoder</h1>
+ * PNG 编码器类 (直接从 ARGB 像素数组编码并写出, 针对最近邻放大的小尺寸头像和模型图片优化)
+ *
+ * <ul>
+ *     <li>不超过 256 种颜色时使用索引色 (PLTE + tRNS), 否则使用 RGBA 真彩色.</li>
+ *     <li>放大倍数在编码时展开, 不需要先创建放大后的图片. 同一源像素行的重复行使用 Up 过滤器, 过滤后全部为 0.</li>
+ *     <li>IDAT 数据按固定大小分块直接写入输出流, 不会在内存中保存完整的 PNG 数据.</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see PngSkinWriter
+ */
+public class PngEncoder {
+
+    private final static byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private final static int CHUNK_SIZE = 32768;
+    private final static int COLOR_TYPE_INDEXED = 3;
+    private final static int COLOR_TYPE_RGBA = 6;
+    private final static int FILTER_NONE = 0;
+    private final static int FILTER_SUB = 1;
+    private final static int FILTER_UP = 2;
+
+    private final int compressionLevel;
+
+    /**
+     * PNG 编码器类构造函数 (使用最快的压缩级别)
+     */
+    public PngEncoder() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    /**
+     * PNG 编码器类构造函数
+     *
+     * @param compressionLevel 压缩级别 (0 - 9)
+     * @throws IllegalArgumentException 如果压缩级别不在 0 - 9 范围内则抛出异常
+     */
+    public PngEncoder(int compressionLevel) {
+        if(compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("压缩级别必须在 0 - 9 范围内.");
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * 获取此 PNG 编码器的压缩级别
+     *
+     * @return 压缩级别
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * 将指定图片编码为 PNG 并写出到指定输出流
+     *
+     * @param image 图片
+     * @param output 输出流
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果图片或输出流对象为 {@code null} 则抛出异常
+     */
+    public void encode(BufferedImage image, OutputStream output) throws IOException {
+        RasterSkinRenderer.validate(image, "图片对象不能为 null 值.");
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argb = image.getType() == BufferedImage.TYPE_INT_ARGB && image.getRaster().getDataBuffer().getSize() == width * height
+                ? RasterSkinRenderer.getPixels(image)
+                : image.getRGB(0, 0, width, height, null, 0, width);
+        encode(argb, width, height, 1, output);
+    }
+
+    /**
+     * 将指定 ARGB 像素数组按指定放大倍数编码为 PNG 并写出到指定输出流
+     *
+     * @param argb ARGB 像素数组
+     * @param width 宽度
+     * @param height 高度
+     * @param zoom 放大倍数 (最近邻)
+     * @param output 输出流
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果像素数组或输出流对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果像素数组大小与宽度和高度不符则抛出异常
+     */
+    public void encode(int[] argb, int width, int height, int zoom, OutputStream output) throws IOException {
+        RasterSkinRenderer.validate(argb, "像素数组对象不能为 null 值.");
+        RasterSkinRenderer.validate(output, "输出流对象不能为 null 值.");
+        if(width <= 0 || height <= 0 || argb.length < width * height)
+            throw new IllegalArgumentException("像素数组大小与宽度和高度不符.");
+        if(zoom <= 0)
+            zoom = 1;
+        int[] palette = new int[256];
+        int paletteSize = buildPalette(argb, width * height, palette);
+        boolean indexed = paletteSize > 0;
+        int bytesPerPixel = indexed ? 1 : 4;
+        int outWidth = width * zoom;
+        int outHeight = height * zoom;
+
+        ChunkOutputStream chunkOutput = new ChunkOutputStream(output);
+        output.write(SIGNATURE);
+        // IHDR
+        chunkOutput.begin("IHDR");
+        chunkOutput.writeInt(outWidth);
+        chunkOutput.writeInt(outHeight);
+        chunkOutput.write(8); // 位深度
+        chunkOutput.write(indexed ? COLOR_TYPE_INDEXED : COLOR_TYPE_RGBA);
+        chunkOutput.write(0); // 压缩方法
+        chunkOutput.write(0); // 过滤方法
+        chunkOutput.write(0); // 隔行扫描
+        chunkOutput.end();
+        if(indexed) {
+            // PLTE + tRNS
+            chunkOutput.begin("PLTE");
+            int transparentSize = 0;
+            for(int i = 0; i < paletteSize; i++) {
+                int rgb = palette[i] ^ Integer.MIN_VALUE;
+                chunkOutput.write((rgb >> 16) & 0xff);
+                chunkOutput.write((rgb >> 8) & 0xff);
+                chunkOutput.write(rgb & 0xff);
+                if((rgb >>> 24) != 0xff)
+                    transparentSize = i + 1;
+            }
+            chunkOutput.end();
+            if(transparentSize > 0) {
+                chunkOutput.begin("tRNS");
+                for(int i = 0; i < transparentSize; i++)
+                    chunkOutput.write((palette[i] ^ Integer.MIN_VALUE) >>> 24);
+                chunkOutput.end();
+            }
+        }
+        // IDAT
+        byte[] row = new byte[1 + outWidth * bytesPerPixel];
+        byte[] upRow = new byte[row.length];
+        upRow[0] = FILTER_UP; // Up 过滤后与上一行相同的行全部为 0
+        byte[] deflated = new byte[CHUNK_SIZE];
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            chunkOutput.begin("IDAT");
+            for(int y = 0; y < height; y++) {
+                int off = y * width;
+                if(indexed) {
+                    row[0] = FILTER_NONE;
+                    int pos = 1;
+                    for(int x = 0; x < width; x++) {
+                        byte index = (byte) Arrays.binarySearch(palette, 0, paletteSize, argb[off + x] ^ Integer.MIN_VALUE);
+                        for(int z = 0; z < zoom; z++)
+                            row[pos++] = index;
+                    }
+                } else {
+                    row[0] = FILTER_SUB;
+                    int pos = 1;
+                    int prev = 0;
+                    for(int x = 0; x < width; x++) {
+                        int pixel = argb[off + x];
+                        for(int z = 0; z < zoom; z++) {
+                            row[pos++] = (byte) (((pixel >> 16) & 0xff) - ((prev >> 16) & 0xff));
+                            row[pos++] = (byte) (((pixel >> 8) & 0xff) - ((prev >> 8) & 0xff));
+                            row[pos++] = (byte) ((pixel & 0xff) - (prev & 0xff));
+                            row[pos++] = (byte) ((pixel >>> 24) - (prev >>> 24));
+                            prev = pixel;
+                        }
+                    }
+                }
+                deflate(deflater, row, deflated, chunkOutput);
+                for(int z = 1; z < zoom; z++)
+                    deflate(deflater, upRow, deflated, chunkOutput);
+            }
+            deflater.finish();
+            while(!deflater.finished()) {
+                int length = deflater.deflate(deflated);
+                chunkOutput.writeData(deflated, length, "IDAT");
+            }
+            chunkOutput.end();
+        } finally {
+            deflater.end();
+        }
+        // IEND
+        chunkOutput.begin("IEND");
+        chunkOutput.end();
+        output.flush();
+    }
+
+    /**
+     * 将指定扫描行压缩并写入 IDAT 数据块
+     *
+     * @param deflater 压缩器
+     * @param row 扫描行
+     * @param deflated 压缩缓冲区
+     * @param chunkOutput 数据块输出流
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void deflate(Deflater deflater, byte[] row, byte[] deflated, ChunkOutputStream chunkOutput) throws IOException {
+        deflater.setInput(row);
+        while(!deflater.needsInput()) {
+            int length = deflater.deflate(deflated);
+            if(length > 0)
+                chunkOutput.writeData(deflated, length, "IDAT");
+        }
+    }
+
+    /**
+     * 从指定像素数组构建调色板
+     *
+     * @param argb ARGB 像素数组
+     * @param length 像素数量
+     * @param palette 调色板数组 (大小 256, 构建后的每个颜色已翻转符号位并排序)
+     * @return 调色板大小, 颜色超过 256 种则返回 0
+     */
+    private static int buildPalette(int[] argb, int length, int[] palette) {
+        int size = 0;
+        int last = 0;
+        boolean hasLast = false;
+        for(int i = 0; i < length; i++) {
+            int pixel = argb[i];
+            if(hasLast && pixel == last)
+                continue; // 放大后的图片存在大量连续相同的像素
+            if(indexOf(palette, size, pixel) < 0) {
+                if(size == 256)
+                    return 0;
+                palette[size++] = pixel;
+            }
+            last = pixel;
+            hasLast = true;
+        }
+        // 按无符号值排序 (翻转符号位后排序), 透明的颜色排在前面, 使 tRNS 数据块尽可能短
+        for(int i = 0; i < size; i++)
+            palette[i] ^= Integer.MIN_VALUE;
+        Arrays.sort(palette, 0, size);
+        return size;
+    }
+
+    /**
+     * 获取指定颜色在未排序调色板中的索引
+     *
+     * @param palette 调色板数组
+     * @param size 调色板大小
+     * @param pixel ARGB 颜色
+     * @return 索引, 不存在则返回 -1
+     */
+    private static int indexOf(int[] palette, int size, int pixel) {
+        for(int i = 0; i < size; i++)
+            if(palette[i] == pixel)
+                return i;
+        return -1;
+    }
+
+    /**
+     * <h1>ChunkOutputStream</h1>
+     * PNG 数据块输出流 (数据块先写入固定大小的缓冲区, 结束时连同长度和 CRC 一次写出)
+     */
+    private static class ChunkOutputStream {
+
+        private final OutputStream output;
+        private final byte[] buffer;
+        private final CRC32 crc;
+        private int position;
+
+        /**
+         * PNG 数据块输出流构造函数
+         *
+         * @param output 输出流
+         */
+        ChunkOutputStream(OutputStream output) {
+            this.output = output;
+            this.buffer = new byte[8 + CHUNK_SIZE + 4];
+            this.crc = new CRC32();
+        }
+
+        /**
+         * 开始一个指定类型的数据块
+         *
+         * @param type 数据块类型
+         */
+        void begin(String type) {
+            for(int i = 0; i < 4; i++)
+                buffer[4 + i] = (byte) type.charAt(i);
+            position = 8;
+        }
+
+        /**
+         * 写入一个字节
+         *
+         * @param b 字节
+         */
+        void write(int b) {
+            buffer[position++] = (byte) b;
+        }
+
+        /**
+         * 写入一个大端序整数
+         *
+         * @param value 整数
+         */
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        /**
+         * 写入指定数据, 缓冲区已满时结束当前数据块并开始一个相同类型的新数据块
+         *
+         * @param data 数据
+         * @param length 长度
+         * @param type 数据块类型
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        void writeData(byte[] data, int length, String type) throws IOException {
+            int off = 0;
+            while(length > 0) {
+                int count = Math.min(length, 8 + CHUNK_SIZE - position);
+                System.arraycopy(data, off, buffer, position, count);
+                position += count;
+                off += count;
+                length -= count;
+                if(position == 8 + CHUNK_SIZE) {
+                    end();
+                    begin(type);
+                }
+            }
+        }
+
+        /**
+         * 结束当前数据块并写出
+         *
+         * @throws IOException 如果 IO 错误则抛出异常
+         */
+        void end() throws IOException {
+            int length = position - 8;
+            buffer[0] = (byte) (length >>> 24);
+            buffer[1] = (byte) (length >>> 16);
+            buffer[2] = (byte) (length >>> 8);
+            buffer[3] = (byte) length;
+            crc.reset();
+            crc.update(buffer, 4, length + 4);
+            long value = crc.getValue();
+            buffer[position++] = (byte) (value >>> 24);
+            buffer[position++] = (byte) (value >>> 16);
+            buffer[position++] = (byte) (value >>> 8);
+            buffer[position++] = (byte) value;
+            output.write(buffer, 0, position);
+            position = 8;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * <h1>PngSkinWriter</h1>
+ * PNG 皮肤写出器类 (将皮肤头像和 2D 模型直接编码为 PNG 写出, 不创建中间的 {@link BufferedImage} 和字节数组)
+ *
+ * <p>头像和模型只在 8x8 和 16x32 像素的源像素数组上绘制, 放大倍数在编码时展开.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see PngEncoder
+ * @see RasterSkinRenderer
+ */
+public class PngSkinWriter {
+
+    private final PngEncoder encoder;
+
+    /**
+     * PNG 皮肤写出器类构造函数
+     */
+    public PngSkinWriter() {
+        this(new PngEncoder());
+    }
+
+    /**
+     * PNG 皮肤写出器类构造函数
+     *
+     * @param encoder PNG 编码器
+     * @throws IllegalArgumentException 如果 PNG 编码器对象为 {@code null} 则抛出异常
+     */
+    public PngSkinWriter(PngEncoder encoder) {
+        RasterSkinRenderer.validate(encoder, "PNG 编码器对象不能为 null 值.");
+        this.encoder = encoder;
+    }
+
+    /**
+     * 获取此 PNG 皮肤写出器的 PNG 编码器
+     *
+     * @return PNG 编码器
+     */
+    public PngEncoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * 将指定皮肤源图片的皮肤头像以 PNG 格式写出到指定输出流
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param output 输出流
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片或输出流对象为 {@code null} 则抛出异常
+     */
+    public void writeHead(BufferedImage skinRawImage, int zoom, boolean helmet, OutputStream output) throws MoonLakeSkinException, IOException {
+        int[] skin = RasterSkinRenderer.getSkinRawPixels(skinRawImage);
+        int[] head = new int[8 * 8];
+        RasterSkinRenderer.drawHeadPixels(skin, head, 8, 0, 0, 1, helmet);
+        encoder.encode(head, 8, 8, zoom, output);
+    }
+
+    /**
+     * 将指定皮肤源图片的皮肤头像以 PNG 格式写出到指定通道
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param channel 通道
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片或通道对象为 {@code null} 则抛出异常
+     */
+    public void writeHead(BufferedImage skinRawImage, int zoom, boolean helmet, WritableByteChannel channel) throws MoonLakeSkinException, IOException {
+        RasterSkinRenderer.validate(channel, "通道对象不能为 null 值.");
+        writeHead(skinRawImage, zoom, helmet, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * 将指定皮肤源图片的皮肤头像以 PNG 格式写入到指定缓冲区的当前位置
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param buffer 缓冲区
+     * @return 写入的字节数
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws java.nio.BufferOverflowException 如果缓冲区剩余空间不足则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片或缓冲区对象为 {@code null} 则抛出异常
+     */
+    public int writeHead(BufferedImage skinRawImage, int zoom, boolean helmet, ByteBuffer buffer) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(buffer, "缓冲区对象不能为 null 值.");
+        int start = buffer.position();
+        try {
+            writeHead(skinRawImage, zoom, helmet, new ByteBufferOutputStream(buffer));
+        } catch (IOException e) {
+            throw new MoonLakeSkinException("写入 PNG 数据到缓冲区时错误.", e); // 不会发生
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * 将指定皮肤源图片的皮肤模型 2D 图片以 PNG 格式写出到指定输出流
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @param output 输出流
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片或输出流对象为 {@code null} 则抛出异常
+     */
+    public void writeModel2D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim, OutputStream output) throws MoonLakeSkinException, IOException {
+        int[] skin = RasterSkinRenderer.getSkinRawPixels(skinRawImage);
+        int[] model = new int[16 * 32];
+        RasterSkinRenderer.drawModel2DPixels(skin, skinRawImage.getHeight() == 32, model, helmet, slim);
+        encoder.encode(model, 16, 32, zoom, output);
+    }
+
+    /**
+     * 将指定皮肤源图片的皮肤模型 2D 图片以 PNG 格式写出到指定通道
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @param channel 通道
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片或通道对象为 {@code null} 则抛出异常
+     */
+    public void writeModel2D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim, WritableByteChannel channel) throws MoonLakeSkinException, IOException {
+        RasterSkinRenderer.validate(channel, "通道对象不能为 null 值.");
+        writeModel2D(skinRawImage, zoom, helmet, slim, Channels.newOutputStream(channel));
+    }
+
+    /**
+     * 将指定皮肤源图片的皮肤模型 2D 图片以 PNG 格式写入到指定缓冲区的当前位置
+     *
+     * @param skinRawImage 皮肤源图片
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     * @param buffer 缓冲区
+     * @return 写入的字节数
+     * @throws MoonLakeSkinException 如果皮肤错误则抛出异常
+     * @throws java.nio.BufferOverflowException 如果缓冲区剩余空间不足则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片或缓冲区对象为 {@code null} 则抛出异常
+     */
+    public int writeModel2D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim, ByteBuffer buffer) throws MoonLakeSkinException {
+        RasterSkinRenderer.validate(buffer, "缓冲区对象不能为 null 值.");
+        int start = buffer.position();
+        try {
+            writeModel2D(skinRawImage, zoom, helmet, slim, new ByteBufferOutputStream(buffer));
+        } catch (IOException e) {
+            throw new MoonLakeSkinException("写入 PNG 数据到缓冲区时错误.", e); // 不会发生
+        }
+        return buffer.position() - start;
+    }
+
+    /**
+     * <h1>ByteBufferOutputStream</h1>
+     * 缓冲区输出流 (直接写入缓冲区, 剩余空间不足时抛出 {@link java.nio.BufferOverflowException})
+     */
+    private static class ByteBufferOutputStream extends OutputStream {
+
+        private final ByteBuffer buffer;
+
+        /**
+         * 缓冲区输出流构造函数
+         *
+         * @param buffer 缓冲区
+         */
+        ByteBufferOutputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.put(b, off, len);
+        }
+    }
+}
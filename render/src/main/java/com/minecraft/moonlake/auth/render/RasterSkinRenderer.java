@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+import com.minecraft.moonlake.auth.service.profile.SkinRenderer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <h1>RasterSkinRenderer</h1>
+ * 光栅皮肤渲染器类
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see SkinRenderer
+ * @see IsometricSkinRenderer
+ */
+public class RasterSkinRenderer implements SkinRenderer {
+
+    private final IsometricSkinRenderer isometricSkinRenderer = new IsometricSkinRenderer();
+
+    /**
+     * 光栅皮肤渲染器类构造函数
+     */
+    public RasterSkinRenderer() {
+    }
+
+    @Override
+    public BufferedImage decodeTexture(byte[] data) throws MoonLakeSkinException {
+        validate(data, "材质数据对象不能为 null 值.");
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new MoonLakeSkinException("无法解码材质图片.", e);
+        }
+        if(image == null)
+            throw new MoonLakeSkinException("无法解码材质图片.");
+        return image;
+    }
+
+    @Override
+    public BufferedImage copyTexture(BufferedImage textureRawImage) {
+        validate(textureRawImage, "材质源图片对象不能为 null 值.");
+        ColorModel colorModel = textureRawImage.getColorModel();
+        WritableRaster raster = textureRawImage.copyData(textureRawImage.getRaster().createCompatibleWritableRaster());
+        return new BufferedImage(colorModel, raster, colorModel.isAlphaPremultiplied(), null);
+    }
+
+    @Override
+    public boolean isSkinSlim(BufferedImage skinRawImage) {
+        validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
+        // 苗条模型的手臂只有 3 像素宽, 右手背面最右侧的 2 列 (X 54 - 55, Y 20 - 31) 不会被使用而完全透明, 旧版本 64x32 皮肤不支持苗条模型
+        if(skinRawImage.getWidth() != 64 || skinRawImage.getHeight() != 64)
+            return false;
+        for(int y = 20; y < 32; y++)
+            for(int x = 54; x < 56; x++)
+                if((skinRawImage.getRGB(x, y) >>> 24) != 0)
+                    return false;
+        return true;
+    }
+
+    @Override
+    public BufferedImage renderHead(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException {
+        int[] skin = getSkinRawPixels(skinRawImage);
+        if(zoom <= 0)
+            zoom = 1;
+        // 将 8x8 像素的头像直接按放大倍数写入结果图片
+        BufferedImage skinHeadImage = new BufferedImage(8 * zoom, 8 * zoom, BufferedImage.TYPE_INT_ARGB);
+        drawHeadPixels(skin, getPixels(skinHeadImage), skinHeadImage.getWidth(), 0, 0, zoom, helmet);
+        return skinHeadImage;
+    }
+
+    @Override
+    public BufferedImage renderModel2D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
+        // 将指定皮肤材质源图片绘制成 2D 模型图片
+        int[] skin = getSkinRawPixels(skinRawImage);
+        if(zoom <= 0)
+            zoom = 1;
+        int[] model = new int[16 * 32];
+        drawModel2DPixels(skin, skinRawImage.getHeight() == 32, model, helmet, slim);
+        // 将 16x32 像素的2D模型图片进行放大处理
+        BufferedImage skinModel2DImage = new BufferedImage(16 * zoom, 32 * zoom, BufferedImage.TYPE_INT_ARGB);
+        scalePixels(model, 16, 32, getPixels(skinModel2DImage), zoom);
+        return skinModel2DImage;
+    }
+
+    @Override
+    public BufferedImage renderHead3D(BufferedImage skinRawImage, int zoom, boolean helmet) throws MoonLakeSkinException {
+        return isometricSkinRenderer.renderHead(skinRawImage, zoom, helmet);
+    }
+
+    @Override
+    public BufferedImage renderModel3D(BufferedImage skinRawImage, int zoom, boolean helmet, boolean slim) throws MoonLakeSkinException {
+        return isometricSkinRenderer.renderModel(skinRawImage, zoom, helmet, slim);
+    }
+
+    @Override
+    public BufferedImage renderCape(BufferedImage capeRawImage, int zoom) throws MoonLakeSkinException {
+        int scale = getCapeRawImageScale(capeRawImage);
+        if(zoom <= 0)
+            zoom = 1;
+        // 披风外侧位于 (1, 1) 大小 10x16 像素, 高清披风按比例放大
+        int width = 10 * scale, height = 16 * scale;
+        int[] cape = capeRawImage.getRGB(scale, scale, width, height, null, 0, width);
+        for(int i = 0; i < cape.length; i++)
+            if((cape[i] >>> 24) == 0)
+                cape[i] = 0;
+        BufferedImage capeImage = new BufferedImage(width * zoom, height * zoom, BufferedImage.TYPE_INT_ARGB);
+        scalePixels(cape, width, height, getPixels(capeImage), zoom);
+        return capeImage;
+    }
+
+    @Override
+    public BufferedImage renderElytra(BufferedImage elytraRawImage, int zoom) throws MoonLakeSkinException {
+        int scale = getCapeRawImageScale(elytraRawImage);
+        if(elytraRawImage.getWidth() < 64 * scale)
+            throw new MoonLakeSkinException("旧版本 22x17 大小的披风材质不包含鞘翅.");
+        if(zoom <= 0)
+            zoom = 1;
+        // 鞘翅左翼外侧位于 (24, 2) 大小 10x20 像素, 右翼为左翼的水平镜像
+        int wingWidth = 10 * scale, height = 20 * scale, width = wingWidth * 2;
+        int[] wing = elytraRawImage.getRGB(24 * scale, 2 * scale, wingWidth, height, null, 0, wingWidth);
+        int[] elytra = new int[width * height];
+        for(int y = 0; y < height; y++) {
+            for(int x = 0; x < wingWidth; x++) {
+                int rgb = wing[y * wingWidth + x];
+                if((rgb >>> 24) == 0)
+                    rgb = 0;
+                elytra[y * width + wingWidth - 1 - x] = rgb;
+                elytra[y * width + wingWidth + x] = rgb;
+            }
+        }
+        BufferedImage elytraImage = new BufferedImage(width * zoom, height * zoom, BufferedImage.TYPE_INT_ARGB);
+        scalePixels(elytra, width, height, getPixels(elytraImage), zoom);
+        return elytraImage;
+    }
+
+    /**
+     * 验证指定 Object 对象是否为 {@code null} 则抛出异常
+     *
+     * @param obj 对象
+     * @param message 异常信息
+     * @throws IllegalArgumentException 如果对象为 {@code null} 则抛出异常
+     */
+    static void validate(Object obj, String message) throws IllegalArgumentException {
+        if(obj == null)
+            throw new IllegalArgumentException(message);
+    }
+
+    /**
+     * 获取指定皮肤源图片的版本
+     *
+     * @param skinRawImage 皮肤源图片
+     * @return 皮肤版本
+     */
+    static Boolean getSkinRawImageVer(BufferedImage skinRawImage) {
+        // 获取皮肤材质源图片的版本
+        // false: 旧版本 64x32 像素
+        // true: 新版本 64x64 像素
+        // null: 错误的像素大小
+        int width = skinRawImage.getWidth();
+        int height = skinRawImage.getHeight();
+        if(width == 64) {
+            if(height == 64)
+                return true;
+            if(height == 32)
+                return false;
+        }
+        return null;
+    }
+
+    /**
+     * 获取指定披风源图片相对 64x32 像素的比例 (旧版本 22x17 的披风比例为 1)
+     *
+     * @param capeRawImage 披风源图片
+     * @return 比例
+     * @throws MoonLakeSkinException 如果披风源图片大小错误则抛出异常
+     * @throws IllegalArgumentException 如果披风源图片对象为 {@code null} 则抛出异常
+     */
+    static int getCapeRawImageScale(BufferedImage capeRawImage) throws MoonLakeSkinException {
+        validate(capeRawImage, "披风材质源图片对象不能为 null 值.");
+        int width = capeRawImage.getWidth();
+        int height = capeRawImage.getHeight();
+        if(width == 22 && height == 17)
+            return 1;
+        if(width < 64 || width % 64 != 0 || width != height * 2)
+            throw new MoonLakeSkinException("错误的披风材质源图片大小, 应为 64x32 (或其整数倍) 或 22x17 大小.");
+        return width / 64;
+    }
+
+    /**
+     * 获取指定皮肤源图片的 ARGB 像素数组 (宽度固定为 64 像素)
+     *
+     * @param skinRawImage 皮肤源图片
+     * @return ARGB 像素数组
+     * @throws MoonLakeSkinException 如果皮肤源图片大小错误则抛出异常
+     * @throws IllegalArgumentException 如果皮肤源图片对象为 {@code null} 则抛出异常
+     */
+    static int[] getSkinRawPixels(BufferedImage skinRawImage) throws MoonLakeSkinException {
+        validate(skinRawImage, "皮肤材质源图片对象不能为 null 值.");
+        if(getSkinRawImageVer(skinRawImage) == null)
+            throw new MoonLakeSkinException("错误的皮肤材质源图片大小, 应为 64x64 或 64x32 大小.");
+        return skinRawImage.getRGB(0, 0, 64, skinRawImage.getHeight(), null, 0, 64);
+    }
+
+    /**
+     * 将指定皮肤像素数组的头像直接绘制到目标像素数组的指定位置
+     *
+     * @param skin 皮肤 ARGB 像素数组
+     * @param target 目标 ARGB 像素数组
+     * @param targetWidth 目标宽度
+     * @param startX 开始 X
+     * @param startY 开始 Y
+     * @param zoom 放大倍数
+     * @param helmet 是否绘制外层皮肤
+     */
+    static void drawHeadPixels(int[] skin, int[] target, int targetWidth, int startX, int startY, int zoom, boolean helmet) {
+        for(int y = 0; y < 8; y++) {
+            for(int x = 0; x < 8; x++) {
+                int rgb = skin[(8 + y) * 64 + 8 + x];
+                if(helmet) {
+                    int helmetRgb = skin[(8 + y) * 64 + 40 + x];
+                    if(!isInvalidColorRgb(helmetRgb))
+                        rgb = helmetRgb;
+                }
+                if((rgb >>> 24) == 0)
+                    rgb = 0; // 完全透明的像素统一为 0
+                int off = (startY + y * zoom) * targetWidth + startX + x * zoom;
+                for(int zy = 0; zy < zoom; zy++, off += targetWidth)
+                    Arrays.fill(target, off, off + zoom, rgb);
+            }
+        }
+    }
+
+    /**
+     * 将指定皮肤像素数组的 2D 模型正面绘制到 16x32 像素的模型像素数组
+     *
+     * @param skin 皮肤 ARGB 像素数组
+     * @param legacy 是否为旧版本 64x32 皮肤
+     * @param model 模型 ARGB 像素数组 (16x32, 会被完全覆盖)
+     * @param helmet 是否绘制外层皮肤
+     * @param slim 是否苗条
+     */
+    static void drawModel2DPixels(int[] skin, boolean legacy, int[] model, boolean helmet, boolean slim) {
+        Arrays.fill(model, 0, 16 * 32, 0);
+        for(SkinPart part : SkinPart.values()) {
+            int width = part.getWidth(slim);
+            int height = part.getHeight();
+            int startX = part.getModel2DX(slim);
+            int startY = part.getModel2DY();
+            boolean overlay = helmet && part.hasOverlay(legacy); // 旧版本只有头是有双层的, 其他没有
+            for(int y = 0; y < height; y++) {
+                for(int x = 0; x < width; x++) {
+                    int rgb = part.sample(skin, legacy, SkinPart.Face.FRONT, false, slim, x, y);
+                    if(overlay) {
+                        int helmetRgb = part.sample(skin, legacy, SkinPart.Face.FRONT, true, slim, x, y);
+                        if(!isInvalidColorRgb(helmetRgb))
+                            rgb = helmetRgb;
+                    }
+                    model[(startY + y) * 16 + startX + x] = (rgb >>> 24) == 0 ? 0 : rgb;
+                }
+            }
+        }
+    }
+
+    /**
+     * 将指定源像素数组按指定倍数以最近邻方式放大写入目标像素数组
+     *
+     * @param src 源 ARGB 像素数组
+     * @param srcWidth 源宽度
+     * @param srcHeight 源高度
+     * @param target 目标 ARGB 像素数组 (大小至少为 srcWidth * zoom * srcHeight * zoom)
+     * @param zoom 倍数
+     */
+    static void scalePixels(int[] src, int srcWidth, int srcHeight, int[] target, int zoom) {
+        int targetWidth = srcWidth * zoom;
+        int off = 0;
+        for(int y = 0; y < srcHeight; y++) {
+            int rowStart = off;
+            for(int x = 0; x < srcWidth; x++) {
+                int rgb = src[y * srcWidth + x];
+                for(int z = 0; z < zoom; z++)
+                    target[off++] = rgb;
+            }
+            // 同一源行的其余放大行直接复制第一行
+            for(int z = 1; z < zoom; z++, off += targetWidth)
+                System.arraycopy(target, rowStart, target, off, targetWidth);
+        }
+    }
+
+    /**
+     * 获取指定 INT_ARGB 类型图片的底层像素数组
+     *
+     * @param image 图片
+     * @return 像素数组
+     */
+    static int[] getPixels(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * 验证指定 RGB 值是否为无效
+     *
+     * @param rgb RGB
+     * @return 是否为无效
+     */
+    static boolean isInvalidColorRgb(int rgb) {
+        int r = (rgb & 0xff0000) >> 16;
+        int g = (rgb & 0xff00) >> 8;
+        int b = (rgb & 0xff);
+        return (r == 0 && g == 0 && b == 0) || (r == 0xff && g == 0xff && b == 0xff);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.render;
+
+/**
+ * <h1>SkinPart</h1>
+ * 皮肤部位类型 (64x64 与 64x32 皮肤材质的部位布局表)
+ *
+ * <p>每个部位是一个 宽 x 高 x 深 的方块, 它在皮肤材质中的 6 个面以 (u, v) 为原点按固定方式排列:</p>
+ * <pre>
+ *          [  顶  ][  底  ]
+ *  [ 右 ][  前  ][ 左 ][  后  ]
+ * </pre>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see Face
+ */
+public enum SkinPart {
+
+    /**
+     * 皮肤部位: 头
+     */
+    HEAD(8, 8, 8, 0, 0, 32, 0, 4, 0),
+    /**
+     * 皮肤部位: 身体
+     */
+    BODY(8, 12, 4, 16, 16, 16, 32, 4, 8),
+    /**
+     * 皮肤部位: 右手
+     */
+    RIGHT_ARM(4, 12, 4, 40, 16, 40, 32, 0, 8),
+    /**
+     * 皮肤部位: 左手 (旧版本 64x32 皮肤使用右手的镜像)
+     */
+    LEFT_ARM(4, 12, 4, 32, 48, 48, 48, 12, 8),
+    /**
+     * 皮肤部位: 右腿
+     */
+    RIGHT_LEG(4, 12, 4, 0, 16, 0, 32, 4, 20),
+    /**
+     * 皮肤部位: 左腿 (旧版本 64x32 皮肤使用右腿的镜像)
+     */
+    LEFT_LEG(4, 12, 4, 16, 48, 0, 48, 8, 20),
+    ;
+
+    private final int width;
+    private final int height;
+    private final int depth;
+    private final int u;
+    private final int v;
+    private final int overlayU;
+    private final int overlayV;
+    private final int model2DX;
+    private final int model2DY;
+
+    SkinPart(int width, int height, int depth, int u, int v, int overlayU, int overlayV, int model2DX, int model2DY) {
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.u = u;
+        this.v = v;
+        this.overlayU = overlayU;
+        this.overlayV = overlayV;
+        this.model2DX = model2DX;
+        this.model2DY = model2DY;
+    }
+
+    /**
+     * 获取此皮肤部位是否为手臂
+     *
+     * @return 是否为手臂
+     */
+    public boolean isArm() {
+        return this == RIGHT_ARM || this == LEFT_ARM;
+    }
+
+    /**
+     * 获取此皮肤部位的宽度 (苗条模型的手臂宽度为 3 像素)
+     *
+     * @param slim 是否苗条
+     * @return 宽度
+     */
+    public int getWidth(boolean slim) {
+        return slim && isArm() ? 3 : width;
+    }
+
+    /**
+     * 获取此皮肤部位的高度
+     *
+     * @return 高度
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * 获取此皮肤部位的深度
+     *
+     * @return 深度
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 获取此皮肤部位在 2D 模型 (16x32 像素) 中的 X 坐标
+     *
+     * @param slim 是否苗条
+     * @return X 坐标
+     */
+    public int getModel2DX(boolean slim) {
+        return slim && this == RIGHT_ARM ? model2DX + 1 : model2DX;
+    }
+
+    /**
+     * 获取此皮肤部位在 2D 模型 (16x32 像素) 中的 Y 坐标
+     *
+     * @return Y 坐标
+     */
+    public int getModel2DY() {
+        return model2DY;
+    }
+
+    /**
+     * 获取此皮肤部位指定版本的皮肤是否存在外层
+     *
+     * @param legacy 是否为旧版本 64x32 皮肤
+     * @return 是否存在外层
+     */
+    public boolean hasOverlay(boolean legacy) {
+        return !legacy || this == HEAD;
+    }
+
+    /**
+     * 获取此皮肤部位指定面的宽度
+     *
+     * @param face 面
+     * @param slim 是否苗条
+     * @return 宽度
+     */
+    public int getFaceWidth(Face face, boolean slim) {
+        return face == Face.RIGHT || face == Face.LEFT ? depth : getWidth(slim);
+    }
+
+    /**
+     * 获取此皮肤部位指定面的高度
+     *
+     * @param face 面
+     * @return 高度
+     */
+    public int getFaceHeight(Face face) {
+        return face == Face.TOP || face == Face.BOTTOM ? depth : height;
+    }
+
+    /**
+     * 从指定皮肤 ARGB 像素数组 (宽度 64 像素) 读取此皮肤部位指定面的像素
+     *
+     * <p>旧版本 64x32 皮肤的左手和左腿没有自己的材质, 将使用右手和右腿的镜像 (左右面互换并水平翻转).</p>
+     *
+     * @param skin 皮肤 ARGB 像素数组
+     * @param legacy 是否为旧版本 64x32 皮肤
+     * @param face 面
+     * @param overlay 是否读取外层
+     * @param slim 是否苗条
+     * @param x 面内 X 坐标
+     * @param y 面内 Y 坐标
+     * @return ARGB 像素
+     */
+    public int sample(int[] skin, boolean legacy, Face face, boolean overlay, boolean slim, int x, int y) {
+        SkinPart part = this;
+        if(legacy && (this == LEFT_ARM || this == LEFT_LEG)) {
+            part = this == LEFT_ARM ? RIGHT_ARM : RIGHT_LEG;
+            x = getFaceWidth(face, slim) - 1 - x;
+            if(face == Face.LEFT)
+                face = Face.RIGHT;
+            else if(face == Face.RIGHT)
+                face = Face.LEFT;
+        }
+        int w = part.getWidth(slim);
+        int d = part.depth;
+        int fu = overlay ? part.overlayU : part.u;
+        int fv = overlay ? part.overlayV : part.v;
+        switch (face) {
+            case TOP:
+                fu += d;
+                break;
+            case BOTTOM:
+                fu += d + w;
+                break;
+            case RIGHT:
+                fv += d;
+                break;
+            case FRONT:
+                fu += d;
+                fv += d;
+                break;
+            case LEFT:
+                fu += d + w;
+                fv += d;
+                break;
+            case BACK:
+                fu += d + w + d;
+                fv += d;
+                break;
+        }
+        return skin[(fv + y) * 64 + fu + x];
+    }
+
+    /**
+     * <h1>Face</h1>
+     * 皮肤部位的面
+     */
+    public enum Face {
+
+        /**
+         * 面: 顶
+         */
+        TOP,
+        /**
+         * 面: 底
+         */
+        BOTTOM,
+        /**
+         * 面: 右 (模型自身的右侧, 正面观察时位于左边)
+         */
+        RIGHT,
+        /**
+         * 面: 前
+         */
+        FRONT,
+        /**
+         * 面: 左 (模型自身的左侧, 正面观察时位于右边)
+         */
+        LEFT,
+        /**
+         * 面: 后
+         */
+        BACK,
+        ;
+    }
+}
@@ -0,0 +1,862 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.test;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.SkinRawImageCallback;
+import com.minecraft.moonlake.auth.data.TextureType;
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinException;
+import com.minecraft.moonlake.auth.exception.MoonLakeSkinNotFoundException;
+import com.minecraft.moonlake.auth.render.BoundedBulkRenderSink;
+import com.minecraft.moonlake.auth.render.BulkModel2DRenderer;
+import com.minecraft.moonlake.auth.render.BulkRenderItem;
+import com.minecraft.moonlake.auth.render.BulkRenderResult;
+import com.minecraft.moonlake.auth.render.BulkRenderSink;
+import com.minecraft.moonlake.auth.render.HeadAtlas;
+import com.minecraft.moonlake.auth.render.HeadAtlasRenderer;
+import com.minecraft.moonlake.auth.render.IsometricSkinRenderer;
+import com.minecraft.moonlake.auth.render.PngEncoder;
+import com.minecraft.moonlake.auth.render.PngSkinWriter;
+import com.minecraft.moonlake.auth.render.RasterSkinRenderer;
+import com.minecraft.moonlake.auth.render.SkinPart;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.profile.ProfileAuthService;
+import com.minecraft.moonlake.auth.service.profile.TextureCache;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.Proxy;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MoonLakeAuthRenderTest {
+
+    @Test
+    @Ignore
+    public void testSkinHeadImageName() throws Exception {
+        // 测试获取指定用户名的皮肤头像图片
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findSkinHeadTextureByName("month_light", new SkinRawImageCallback<String>() {
+            @Override
+            public void onLookupSucceeded(String param, BufferedImage skinRawImage) {
+                try {
+                    System.out.println("成功获取到用户 '" + param + "' 的皮肤头像材质:");
+                    ImageIO.write(skinRawImage, "PNG", new File("src\\test\\" + param + "-Head.png"));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+
+            @Override
+            public void onLookupFailed(String param, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+
+    @Test
+    @Ignore
+    public void testSkinModel2DImage() throws Exception {
+        // 测试获取指定用户名的皮肤模型2D图片
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findSkinModel2DTextureByName("month_light", new SkinRawImageCallback<String>() {
+            @Override
+            public void onLookupSucceeded(String param, BufferedImage modelImage) {
+                try {
+                    ImageIO.write(modelImage, "PNG", new File("src\\test\\" + param + "-Helmet-Model.png"));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+
+            @Override
+            public void onLookupFailed(String param, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+
+    @Test
+    @Ignore
+    public void testSkinSlimModel2DImage() throws Exception {
+        // 测试获取指定用户名的皮肤纤细模型2D图片
+        ProfileAuthService authService = new ProfileAuthService();
+        authService.findSkinModel2DTextureByName("month_light", 2, true, true, new SkinRawImageCallback<String>() {
+            @Override
+            public void onLookupSucceeded(String param, BufferedImage modelImage) {
+                try {
+                    ImageIO.write(modelImage, "PNG", new File("src\\test\\" + param + "-Helmet-Model.png"));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+
+            @Override
+            public void onLookupFailed(String param, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+
+    @Test
+    @Ignore
+    public void testSkinModel3DImage() throws Exception {
+        // 测试获取指定用户名的皮肤 3D 头像和模型图片
+        final ProfileAuthService authService = new ProfileAuthService();
+        authService.findSkinRawTextureByName("month_light", new SkinRawImageCallback<String>() {
+            @Override
+            public void onLookupSucceeded(String param, BufferedImage skinRawImage) {
+                try {
+                    ImageIO.write(authService.getSkinHead3DTextureByRaw(skinRawImage), "PNG", new File("src\\test\\" + param + "-Head3D.png"));
+                    ImageIO.write(authService.getSkinModel3DTextureByRaw(skinRawImage), "PNG", new File("src\\test\\" + param + "-Model3D.png"));
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+
+            @Override
+            public void onLookupFailed(String param, Exception ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+
+    @Test
+    public void testHeadAtlasRenderer() throws Exception {
+        // 测试离线渲染皮肤头像图集: 单元格偏移, 相同皮肤源合并和皮肤不存在
+        final Map<String, AtomicInteger> reads = new ConcurrentHashMap<>();
+        TextureCache textureCache = new TextureCache() {
+            @Override
+            public BufferedImage get(String hash) {
+                reads.putIfAbsent(hash, new AtomicInteger());
+                reads.get(hash).incrementAndGet();
+                return super.get(hash);
+            }
+        };
+        textureCache.put("aa01", createSkin(1));
+        textureCache.put("bb02", createSkin(2));
+        ProfileAuthService authService = offlineService();
+        authService.setTextureCache(textureCache);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            HeadAtlasRenderer renderer = new HeadAtlasRenderer(authService, executor);
+            HeadAtlas atlas = renderer.renderByProfiles(Arrays.asList(
+                    createProfile("alice", "aa01"),
+                    createProfile("bob", "aa01"),
+                    createProfile("carol", "bb02"),
+                    createProfile("dave", "cc03"),
+                    createProfile("alice", "bb02")), 2, false, 2);
+            BufferedImage image = atlas.getImage();
+            Assert.assertEquals(16, atlas.getCellSize());
+            Assert.assertEquals(32, image.getWidth());
+            Assert.assertEquals(32, image.getHeight());
+            Assert.assertEquals(4, atlas.getOffsets().size());
+            Assert.assertEquals(new Rectangle(0, 0, 16, 16), atlas.getOffset("alice"));
+            Assert.assertEquals(new Rectangle(16, 0, 16, 16), atlas.getOffset("bob"));
+            Assert.assertEquals(new Rectangle(0, 16, 16, 16), atlas.getOffset("carol"));
+            Assert.assertEquals(new Rectangle(16, 16, 16, 16), atlas.getOffset("dave"));
+
+            // 相同的键只渲染一次, 相同材质哈希值的档案只读取一次皮肤, 但每个单元格都会绘制
+            Assert.assertEquals(1, reads.get("aa01").get());
+            Assert.assertEquals(1, reads.get("bb02").get());
+            for(int y = 0; y < 8; y++) {
+                for(int x = 0; x < 8; x++) {
+                    Assert.assertEquals(skinRgb(1, 8 + x, 8 + y), image.getRGB(x * 2, y * 2));
+                    Assert.assertEquals(skinRgb(1, 8 + x, 8 + y), image.getRGB(16 + x * 2 + 1, y * 2 + 1));
+                    Assert.assertEquals(skinRgb(2, 8 + x, 8 + y), image.getRGB(x * 2, 16 + y * 2));
+                }
+            }
+
+            // 皮肤不存在的单元格记录失败并保持透明
+            Assert.assertEquals(1, atlas.getFailures().size());
+            Assert.assertTrue(atlas.getFailures().containsKey("dave"));
+            for(int y = 16; y < 32; y++)
+                for(int x = 16; x < 32; x++)
+                    Assert.assertEquals(0, image.getRGB(x, y));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 公开的源图片方法返回副本, 修改不影响材质缓存
+        BufferedImage copy = authService.getSkinRawTextureByHash("aa01");
+        Assert.assertNotSame(textureCache.get("aa01"), copy);
+        copy.setRGB(8, 8, 0xFFFFFFFF);
+        Assert.assertEquals(skinRgb(1, 8, 8), textureCache.get("aa01").getRGB(8, 8));
+    }
+
+    @Test
+    public void testSkinPart() {
+        // 测试皮肤部位布局表: 6 个面的原点, 外层偏移和旧版本皮肤左手左腿的镜像
+        int[] skin = getPixels(createSkin(1));
+        Assert.assertEquals(skinRgb(1, 8, 0), SkinPart.HEAD.sample(skin, false, SkinPart.Face.TOP, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 16, 0), SkinPart.HEAD.sample(skin, false, SkinPart.Face.BOTTOM, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 0, 8), SkinPart.HEAD.sample(skin, false, SkinPart.Face.RIGHT, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 8, 8), SkinPart.HEAD.sample(skin, false, SkinPart.Face.FRONT, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 16, 8), SkinPart.HEAD.sample(skin, false, SkinPart.Face.LEFT, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 24, 8), SkinPart.HEAD.sample(skin, false, SkinPart.Face.BACK, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 40, 8), SkinPart.HEAD.sample(skin, false, SkinPart.Face.FRONT, true, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 20, 36), SkinPart.BODY.sample(skin, false, SkinPart.Face.FRONT, true, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 44, 36), SkinPart.RIGHT_ARM.sample(skin, false, SkinPart.Face.FRONT, true, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 52, 52), SkinPart.LEFT_ARM.sample(skin, false, SkinPart.Face.FRONT, true, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 4, 36), SkinPart.RIGHT_LEG.sample(skin, false, SkinPart.Face.FRONT, true, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 4, 52), SkinPart.LEFT_LEG.sample(skin, false, SkinPart.Face.FRONT, true, false, 0, 0));
+        // 苗条手臂宽度 3 像素, 左面和背面随之左移
+        Assert.assertEquals(3, SkinPart.RIGHT_ARM.getWidth(true));
+        Assert.assertEquals(8, SkinPart.BODY.getWidth(true));
+        Assert.assertEquals(skinRgb(1, 47, 20), SkinPart.RIGHT_ARM.sample(skin, false, SkinPart.Face.LEFT, false, true, 0, 0));
+        Assert.assertEquals(skinRgb(1, 51, 20), SkinPart.RIGHT_ARM.sample(skin, false, SkinPart.Face.BACK, false, true, 0, 0));
+        // 旧版本皮肤的左手使用右手水平翻转的镜像, 左右面互换
+        Assert.assertEquals(skinRgb(1, 47, 20), SkinPart.LEFT_ARM.sample(skin, true, SkinPart.Face.FRONT, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 51, 20), SkinPart.LEFT_ARM.sample(skin, true, SkinPart.Face.RIGHT, false, false, 0, 0));
+        Assert.assertEquals(skinRgb(1, 7, 20), SkinPart.LEFT_LEG.sample(skin, true, SkinPart.Face.FRONT, false, false, 0, 0));
+        Assert.assertFalse(SkinPart.BODY.hasOverlay(true));
+        Assert.assertTrue(SkinPart.HEAD.hasOverlay(true));
+    }
+
+    @Test
+    public void testSkinModel2DPixels() throws Exception {
+        // 测试合成皮肤的 2D 模型像素: 外层读取各部位正面 (身体和右手外层正面从 y=36 开始), 透明外层显示内层
+        RasterSkinRenderer renderer = new RasterSkinRenderer();
+        BufferedImage skin = createSkin(1);
+        BufferedImage model = renderer.renderModel2D(skin, 1, true, false);
+        Assert.assertEquals(16, model.getWidth());
+        Assert.assertEquals(32, model.getHeight());
+        for(int y = 0; y < 12; y++) {
+            for(int x = 0; x < 8; x++)
+                Assert.assertEquals(skinRgb(1, 20 + x, 36 + y), model.getRGB(4 + x, 8 + y)); // 身体外层
+            for(int x = 0; x < 4; x++) {
+                Assert.assertEquals(skinRgb(1, 44 + x, 36 + y), model.getRGB(x, 8 + y)); // 右手外层
+                Assert.assertEquals(skinRgb(1, 52 + x, 52 + y), model.getRGB(12 + x, 8 + y)); // 左手外层
+                Assert.assertEquals(skinRgb(1, 4 + x, 36 + y), model.getRGB(4 + x, 20 + y)); // 右腿外层
+                Assert.assertEquals(skinRgb(1, 4 + x, 52 + y), model.getRGB(8 + x, 20 + y)); // 左腿外层
+            }
+        }
+        for(int y = 0; y < 8; y++)
+            for(int x = 0; x < 8; x++)
+                Assert.assertEquals(skinRgb(1, 40 + x, 8 + y), model.getRGB(4 + x, y)); // 头外层
+
+        // 不绘制外层或外层透明时显示内层
+        BufferedImage plain = renderer.renderModel2D(skin, 2, false, false);
+        Assert.assertEquals(skinRgb(1, 20, 20), plain.getRGB(8, 16));
+        Assert.assertEquals(skinRgb(1, 44, 20), plain.getRGB(1, 17));
+        clear(skin, 16, 32, 48, 16);
+        Assert.assertEquals(skinRgb(1, 20, 20), renderer.renderModel2D(skin, 1, true, false).getRGB(4, 8));
+        Assert.assertEquals(skinRgb(1, 44, 20), renderer.renderModel2D(skin, 1, true, false).getRGB(0, 8));
+
+        // 苗条模型的右手宽度 3 像素并右移 1 像素
+        BufferedImage slim = renderer.renderModel2D(skin, 1, true, true);
+        Assert.assertEquals(0, slim.getRGB(0, 8));
+        Assert.assertEquals(skinRgb(1, 44, 20), slim.getRGB(1, 8));
+        Assert.assertEquals(0, slim.getRGB(15, 8));
+    }
+
+    @Test
+    public void testBulkModel2DRenderer() throws Exception {
+        // 测试批量 2D 模型渲染与单张渲染结果一致, 错误的渲染项单独输出失败, 有界接收器在其他线程中消费
+        final List<BulkRenderItem<Integer>> items = new ArrayList<>();
+        for(int i = 0; i < 100; i++)
+            items.add(new BulkRenderItem<>(i, i == 42 ? new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB) : createSkin(i), i % 2 == 0));
+        final BoundedBulkRenderSink<Integer> sink = new BoundedBulkRenderSink<>(4);
+        final BulkModel2DRenderer bulkRenderer = new BulkModel2DRenderer(new ForkJoinPool(4));
+        final Exception[] failure = new Exception[1];
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    bulkRenderer.render(items, 2, true, sink);
+                } catch (Exception e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        producer.start();
+        RasterSkinRenderer renderer = new RasterSkinRenderer();
+        Map<Integer, BulkRenderResult<Integer>> results = new HashMap<>();
+        BulkRenderResult<Integer> result;
+        while((result = sink.take()) != null)
+            Assert.assertNull(results.put(result.getKey(), result));
+        producer.join(10000L);
+        Assert.assertNull(failure[0]);
+        Assert.assertTrue(sink.isComplete());
+        Assert.assertNull(sink.take()); // 完成标记会保留, 其他消费者也能结束
+        Assert.assertEquals(100, results.size());
+        Assert.assertFalse(results.get(42).isSucceeded());
+        Assert.assertTrue(results.get(42).getException() instanceof MoonLakeSkinException);
+        for(int i = 0; i < 100; i += 7) {
+            if(i == 42)
+                continue;
+            BufferedImage expected = renderer.renderModel2D(items.get(i).getSkinRawImage(), 2, true, i % 2 == 0);
+            Assert.assertArrayEquals(getPixels(expected), getPixels(results.get(i).getImage()));
+        }
+        bulkRenderer.getPool().shutdown();
+    }
+
+    @Test
+    public void testBoundedBulkRenderSink() throws Exception {
+        // 测试有界接收器: 队列已满时渲染线程等待, 消费者取出后继续, 接收器中断时批量渲染终止
+        final BoundedBulkRenderSink<String> sink = new BoundedBulkRenderSink<>(1);
+        sink.onRenderSucceeded("a", null);
+        final CountDownLatch started = new CountDownLatch(1);
+        final AtomicInteger delivered = new AtomicInteger();
+        Thread producer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    started.countDown();
+                    sink.onRenderFailed("b", new Exception());
+                    delivered.incrementAndGet();
+                } catch (InterruptedException e) {
+                }
+            }
+        });
+        producer.start();
+        started.await();
+        Thread.sleep(100L);
+        Assert.assertEquals(0, delivered.get());
+        Assert.assertEquals("a", sink.take().getKey());
+        producer.join(10000L);
+        Assert.assertEquals(1, delivered.get());
+        Assert.assertNull(sink.poll(10L, TimeUnit.MILLISECONDS).getImage());
+        Assert.assertNull(sink.poll(10L, TimeUnit.MILLISECONDS));
+        Assert.assertFalse(sink.isComplete());
+        sink.onComplete();
+        Assert.assertTrue(sink.isComplete());
+        Assert.assertNull(sink.take());
+
+        // 接收器等待时被中断, 批量渲染终止并抛出异常, 完成回调只调用一次
+        final List<BulkRenderItem<Integer>> items = new ArrayList<>();
+        for(int i = 0; i < 40; i++)
+            items.add(new BulkRenderItem<>(i, createSkin(i), false));
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger rendered = new AtomicInteger();
+        try {
+            new BulkModel2DRenderer(new ForkJoinPool(1)).render(items, 1, false, new BulkRenderSink<Integer>() {
+                @Override
+                public void onRenderSucceeded(Integer key, BufferedImage image) throws InterruptedException {
+                    if(rendered.incrementAndGet() == 3)
+                        throw new InterruptedException();
+                }
+
+                @Override
+                public void onRenderFailed(Integer key, Exception ex) throws InterruptedException {
+                }
+
+                @Override
+                public void onComplete() {
+                    completed.incrementAndGet();
+                }
+            });
+            Assert.fail();
+        } catch (MoonLakeSkinException e) {
+        }
+        Assert.assertEquals(1, completed.get());
+        Assert.assertTrue(rendered.get() < items.size());
+    }
+
+    @Test
+    public void testPngEncoder() throws Exception {
+        // 测试 PNG 编码器经 ImageIO 解码后像素一致: 不超过 256 色使用调色板 (含半透明), 超过 256 色和不透明图片使用 RGBA
+        PngEncoder encoder = new PngEncoder();
+        BufferedImage palette = new BufferedImage(20, 13, BufferedImage.TYPE_INT_ARGB);
+        for(int y = 0; y < 13; y++)
+            for(int x = 0; x < 20; x++)
+                palette.setRGB(x, y, ((x * 13 + y) % 7 == 0) ? 0 : ((x % 4) * 0x40 + 0x3F) << 24 | (x << 16) | (y << 8) | 0x80);
+        byte[] data = encode(encoder, palette);
+        Assert.assertEquals(3, data[25]); // IHDR 颜色类型: 索引
+        Assert.assertArrayEquals(getPixels(palette), getPixels(ImageIO.read(new ByteArrayInputStream(data))));
+
+        // 超过 256 色的不透明皮肤使用 RGBA, 非 TYPE_INT_ARGB 图片同样可以编码
+        BufferedImage skin = createSkin(3);
+        data = encode(encoder, skin);
+        Assert.assertEquals(6, data[25]); // IHDR 颜色类型: RGBA
+        Assert.assertArrayEquals(getPixels(skin), getPixels(ImageIO.read(new ByteArrayInputStream(data))));
+        BufferedImage opaque = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        opaque.getGraphics().drawImage(skin, 0, 0, null);
+        Assert.assertArrayEquals(getPixels(skin), getPixels(ImageIO.read(new ByteArrayInputStream(encode(encoder, opaque)))));
+        Assert.assertArrayEquals(getPixels(palette), getPixels(ImageIO.read(new ByteArrayInputStream(encode(new PngEncoder(0), palette)))));
+
+        // 皮肤渲染器解码材质数据并返回独立的副本, 无法解码的数据抛出皮肤异常
+        RasterSkinRenderer renderer = new RasterSkinRenderer();
+        BufferedImage decoded = renderer.decodeTexture(encode(encoder, skin));
+        Assert.assertArrayEquals(getPixels(skin), getPixels(decoded));
+        BufferedImage copy = renderer.copyTexture(decoded);
+        copy.setRGB(0, 0, 0);
+        Assert.assertEquals(skin.getRGB(0, 0), decoded.getRGB(0, 0));
+        try {
+            renderer.decodeTexture(new byte[] { 1, 2, 3 });
+            Assert.fail();
+        } catch (MoonLakeSkinException e) {
+            // 不是图片数据
+        }
+
+        // 放大后每个像素为 zoom x zoom 的相同颜色块
+        for(BufferedImage image : Arrays.asList(palette, skin)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            encoder.encode(getPixels(image), image.getWidth(), image.getHeight(), 3, output);
+            BufferedImage zoomed = ImageIO.read(new ByteArrayInputStream(output.toByteArray()));
+            Assert.assertEquals(image.getWidth() * 3, zoomed.getWidth());
+            Assert.assertEquals(image.getHeight() * 3, zoomed.getHeight());
+            for(int y = 0; y < zoomed.getHeight(); y++)
+                for(int x = 0; x < zoomed.getWidth(); x++)
+                    Assert.assertEquals(image.getRGB(x / 3, y / 3), zoomed.getRGB(x, y));
+        }
+    }
+
+    @Test
+    public void testPngSkinWriter() throws Exception {
+        // 测试 PNG 皮肤写出器的输出流, 缓冲区和通道写出结果相同, 且解码后与渲染器结果一致
+        PngSkinWriter writer = new PngSkinWriter();
+        RasterSkinRenderer renderer = new RasterSkinRenderer();
+        BufferedImage skin = createSkin(5);
+        clear(skin, 40, 8, 8, 8); // 透明头部外层显示内层
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writer.writeHead(skin, 4, true, stream);
+        byte[] head = stream.toByteArray();
+        Assert.assertArrayEquals(getPixels(renderer.renderHead(skin, 4, true)), getPixels(ImageIO.read(new ByteArrayInputStream(head))));
+        ByteBuffer buffer = ByteBuffer.allocate(head.length + 10);
+        buffer.position(10);
+        Assert.assertEquals(head.length, writer.writeHead(skin, 4, true, buffer));
+        Assert.assertArrayEquals(head, Arrays.copyOfRange(buffer.array(), 10, buffer.position()));
+        ByteBuffer direct = ByteBuffer.allocateDirect(head.length);
+        Assert.assertEquals(head.length, writer.writeHead(skin, 4, true, direct));
+        Assert.assertEquals(0, direct.remaining());
+        ByteArrayOutputStream channelOutput = new ByteArrayOutputStream();
+        writer.writeHead(skin, 4, true, Channels.newChannel(channelOutput));
+        Assert.assertArrayEquals(head, channelOutput.toByteArray());
+        try {
+            writer.writeHead(skin, 4, true, ByteBuffer.allocate(head.length - 1));
+            Assert.fail();
+        } catch (BufferOverflowException e) {
+            // 缓冲区剩余空间不足
+        }
+
+        for(boolean slim : new boolean[] { false, true }) {
+            stream = new ByteArrayOutputStream();
+            writer.writeModel2D(skin, 2, true, slim, stream);
+            byte[] model = stream.toByteArray();
+            Assert.assertArrayEquals(getPixels(renderer.renderModel2D(skin, 2, true, slim)), getPixels(ImageIO.read(new ByteArrayInputStream(model))));
+            buffer = ByteBuffer.allocate(model.length);
+            Assert.assertEquals(model.length, writer.writeModel2D(skin, 2, true, slim, buffer));
+            Assert.assertArrayEquals(model, buffer.array());
+            channelOutput = new ByteArrayOutputStream();
+            writer.writeModel2D(skin, 2, true, slim, Channels.newChannel(channelOutput));
+            Assert.assertArrayEquals(model, channelOutput.toByteArray());
+        }
+    }
+
+    @Test
+    public void testSkinSlimDetection() throws Exception {
+        // 测试皮肤渲染器的苗条模型像素检测: 右手背面 X 54 - 55, Y 20 - 31 完全透明的 64x64 皮肤为苗条, 64x32 皮肤始终为经典
+        final AtomicInteger detections = new AtomicInteger();
+        RasterSkinRenderer countingRenderer = new RasterSkinRenderer() {
+            @Override
+            public boolean isSkinSlim(BufferedImage skinRawImage) {
+                detections.incrementAndGet();
+                return super.isSkinSlim(skinRawImage);
+            }
+        };
+        BufferedImage classic = createSkin(6);
+        BufferedImage slim = createSkin(7);
+        clear(slim, 54, 20, 2, 12);
+        Assert.assertFalse(countingRenderer.isSkinSlim(classic));
+        Assert.assertTrue(countingRenderer.isSkinSlim(slim));
+        BufferedImage almost = createSkin(7);
+        clear(almost, 54, 20, 2, 12);
+        almost.setRGB(55, 31, 0x01FFFFFF); // 任意非完全透明像素都不是苗条
+        Assert.assertFalse(countingRenderer.isSkinSlim(almost));
+        Assert.assertFalse(countingRenderer.isSkinSlim(new BufferedImage(64, 32, BufferedImage.TYPE_INT_ARGB)));
+        ProfileAuthService authService = offlineService();
+        authService.setSkinRenderer(countingRenderer);
+        Assert.assertTrue(authService.isSkinSlimByRaw(slim)); // 档案认证服务委托给皮肤渲染器
+        detections.set(0);
+
+        // 材质元数据优先于像素检测, 元数据存在时不调用皮肤渲染器也不写入缓存
+        TextureCache textureCache = new TextureCache();
+        textureCache.put("aa06", classic);
+        textureCache.put("bb07", slim);
+        authService.setTextureCache(textureCache);
+        Assert.assertTrue(authService.isSkinSlimByProfile(createProfile("alex", "aa06", "slim")));
+        Assert.assertFalse(authService.isSkinSlimByProfile(createProfile("steve", "bb07", "default")));
+        Assert.assertNull(textureCache.getSlim("aa06"));
+        Assert.assertNull(textureCache.getSlim("bb07"));
+        Assert.assertEquals(0, detections.get());
+
+        // 不存在元数据时由皮肤渲染器检测皮肤像素, 检测结果随材质放入缓存并在之后直接使用
+        Assert.assertFalse(authService.isSkinSlimByProfile(createProfile("steve", "aa06")));
+        Assert.assertTrue(authService.isSkinSlimByProfile(createProfile("alex", "bb07")));
+        Assert.assertEquals(2, detections.get());
+        Assert.assertEquals(Boolean.FALSE, textureCache.getSlim("aa06"));
+        Assert.assertEquals(Boolean.TRUE, textureCache.getSlim("bb07"));
+        textureCache.putSlim("aa06", true);
+        Assert.assertTrue(authService.isSkinSlimByProfile(createProfile("steve", "aa06")));
+        Assert.assertEquals(2, detections.get());
+        textureCache.putSlim("aa06", false);
+
+        // 材质缓存: 不存在的材质忽略模型, 相同图片保留已检测的模型, 新图片重置模型
+        textureCache.putSlim("cc08", true);
+        Assert.assertNull(textureCache.getSlim("cc08"));
+        Assert.assertNull(textureCache.get("cc08"));
+        textureCache.put("bb07", slim);
+        Assert.assertEquals(Boolean.TRUE, textureCache.getSlim("bb07"));
+        textureCache.put("bb07", createSkin(7));
+        Assert.assertNull(textureCache.getSlim("bb07"));
+        Assert.assertFalse(authService.isSkinSlimByProfile(createProfile("alex", "bb07")));
+        textureCache.put("bb07", slim);
+        textureCache.remove("bb07");
+        Assert.assertNull(textureCache.getSlim("bb07"));
+        Assert.assertNull(textureCache.getSlim(null));
+        textureCache.put("bb07", slim);
+
+        // 不带苗条参数的档案重载自动检测, 带苗条参数的重载按参数渲染
+        RasterSkinRenderer renderer = new RasterSkinRenderer();
+        GameProfile alex = createProfile("alex", "bb07");
+        GameProfile steve = createProfile("steve", "aa06");
+        Assert.assertArrayEquals(getPixels(renderer.renderModel2D(slim, 2, true, true)), getPixels(authService.getSkinModel2DTextureByProfile(alex, 2, true)));
+        Assert.assertArrayEquals(getPixels(renderer.renderModel2D(slim, 2, true, true)), getPixels(authService.getSkinModel2DTextureByProfile(alex)));
+        Assert.assertArrayEquals(getPixels(renderer.renderModel2D(classic, 2, true, false)), getPixels(authService.getSkinModel2DTextureByProfile(steve)));
+        Assert.assertArrayEquals(getPixels(renderer.renderModel2D(slim, 2, true, false)), getPixels(authService.getSkinModel2DTextureByProfile(alex, 2, true, false)));
+        Assert.assertArrayEquals(getPixels(authService.getSkinModel3DTextureByRaw(slim, 4, true, true)), getPixels(authService.getSkinModel3DTextureByProfile(alex, 4, true)));
+        Assert.assertArrayEquals(getPixels(authService.getSkinModel3DTextureByRaw(classic, 4, true, false)), getPixels(authService.getSkinModel3DTextureByProfile(steve, 4, true)));
+        final BufferedImage[] found = new BufferedImage[1];
+        authService.findSkinModel2DTextureByProfile(alex, 1, true, new SkinRawImageCallback<GameProfile>() {
+            @Override
+            public void onLookupSucceeded(GameProfile param, BufferedImage modelImage) {
+                found[0] = modelImage;
+            }
+
+            @Override
+            public void onLookupFailed(GameProfile param, Exception ex) {
+                Assert.fail(ex.toString());
+            }
+        });
+        Assert.assertArrayEquals(getPixels(renderer.renderModel2D(slim, 1, true, true)), getPixels(found[0]));
+    }
+
+    @Test
+    public void testCapeAndElytra() throws Exception {
+        // 测试披风和鞘翅渲染: 披风外侧位于 (1, 1) 大小 10x16, 鞘翅左翼位于 (24, 2) 大小 10x20 且右翼为水平镜像, 高清材质按比例读取
+        RasterSkinRenderer renderer = new RasterSkinRenderer();
+        BufferedImage cape = createCape(3, 1);
+        cape.setRGB(1, 1, 0x00ABCDEF);
+        cape.setRGB(24, 2, 0x00ABCDEF);
+        BufferedImage capeImage = renderer.renderCape(cape, 2);
+        Assert.assertEquals(20, capeImage.getWidth());
+        Assert.assertEquals(32, capeImage.getHeight());
+        Assert.assertEquals(0, capeImage.getRGB(1, 1)); // 完全透明的像素统一为 0
+        for(int y = 0; y < 16; y++)
+            for(int x = 0; x < 10; x++)
+                if(x != 0 || y != 0)
+                    Assert.assertEquals(skinRgb(3, 1 + x, 1 + y), capeImage.getRGB(x * 2 + 1, y * 2));
+        BufferedImage elytraImage = renderer.renderElytra(cape, 1);
+        Assert.assertEquals(20, elytraImage.getWidth());
+        Assert.assertEquals(20, elytraImage.getHeight());
+        Assert.assertEquals(0, elytraImage.getRGB(9, 0));
+        Assert.assertEquals(0, elytraImage.getRGB(10, 0));
+        for(int y = 0; y < 20; y++) {
+            for(int x = 0; x < 10; x++) {
+                if(x == 0 && y == 0)
+                    continue;
+                Assert.assertEquals(skinRgb(3, 24 + x, 2 + y), elytraImage.getRGB(10 + x, y));
+                Assert.assertEquals(skinRgb(3, 24 + x, 2 + y), elytraImage.getRGB(9 - x, y));
+            }
+        }
+
+        // 高清材质按比例读取, 输出大小随之放大
+        BufferedImage hd = createCape(4, 2);
+        capeImage = renderer.renderCape(hd, 1);
+        Assert.assertEquals(20, capeImage.getWidth());
+        Assert.assertEquals(32, capeImage.getHeight());
+        Assert.assertEquals(skinRgb(4, 2, 2), capeImage.getRGB(0, 0));
+        Assert.assertEquals(skinRgb(4, 21, 33), capeImage.getRGB(19, 31));
+        elytraImage = renderer.renderElytra(hd, 1);
+        Assert.assertEquals(40, elytraImage.getWidth());
+        Assert.assertEquals(40, elytraImage.getHeight());
+        Assert.assertEquals(skinRgb(4, 48, 4), elytraImage.getRGB(20, 0));
+        Assert.assertEquals(skinRgb(4, 48, 4), elytraImage.getRGB(19, 0));
+
+        // 旧版本 22x17 披风可以渲染披风但不包含鞘翅, 错误大小的材质抛出异常
+        BufferedImage legacy = new BufferedImage(22, 17, BufferedImage.TYPE_INT_ARGB);
+        legacy.setRGB(1, 1, 0xFF123456);
+        Assert.assertEquals(0xFF123456, renderer.renderCape(legacy, 1).getRGB(0, 0));
+        for(BufferedImage image : Arrays.asList(legacy, new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB))) {
+            try {
+                renderer.renderElytra(image, 1);
+                Assert.fail();
+            } catch (MoonLakeSkinException e) {
+                // 不包含鞘翅或错误的大小
+            }
+        }
+
+        // 档案认证服务读取材质缓存中的披风和鞘翅, 不存在鞘翅材质时使用披风材质, 都不存在时抛出皮肤不存在异常
+        TextureCache textureCache = new TextureCache();
+        textureCache.put("ca03", cape);
+        textureCache.put("e104", hd);
+        ProfileAuthService authService = offlineService();
+        authService.setTextureCache(textureCache);
+        GameProfile profile = new GameProfile((String) null, "notch");
+        profile.getTextures().put(TextureType.CAPE, new ProfileTexture("http://textures.minecraft.net/texture/ca03", null));
+        Assert.assertArrayEquals(getPixels(cape), getPixels(authService.getCapeRawTextureByProfile(profile)));
+        Assert.assertArrayEquals(getPixels(renderer.renderCape(cape, 8)), getPixels(authService.getCapeTextureByProfile(profile)));
+        Assert.assertArrayEquals(getPixels(cape), getPixels(authService.getElytraRawTextureByProfile(profile)));
+        Assert.assertArrayEquals(getPixels(renderer.renderElytra(cape, 2)), getPixels(authService.getElytraTextureByProfile(profile, 2)));
+        profile.getTextures().put(TextureType.ELYTRA, new ProfileTexture("http://textures.minecraft.net/texture/e104", null));
+        Assert.assertArrayEquals(getPixels(hd), getPixels(authService.getElytraRawTextureByProfile(profile)));
+        Assert.assertArrayEquals(getPixels(renderer.renderElytra(hd, 2)), getPixels(authService.getElytraTextureByProfile(profile, 2)));
+        Assert.assertArrayEquals(getPixels(renderer.renderCape(cape, 8)), getPixels(authService.getCapeTextureByProfile(profile)));
+
+        GameProfile empty = new GameProfile((String) null, "jeb_");
+        empty.getTextures().put(TextureType.SKIN, new ProfileTexture("http://textures.minecraft.net/texture/aa01", null));
+        try {
+            authService.getElytraTextureByProfile(empty);
+            Assert.fail();
+        } catch (MoonLakeSkinException e) {
+            Assert.assertTrue(e.getCause() instanceof MoonLakeSkinNotFoundException);
+        }
+        try {
+            authService.getCapeRawTextureByProfile(empty);
+            Assert.fail();
+        } catch (MoonLakeSkinException e) {
+            Assert.assertTrue(e.getCause() instanceof MoonLakeSkinNotFoundException);
+        }
+    }
+
+    @Test
+    public void testIsometricSkinRenderer() throws Exception {
+        // 测试等轴测渲染: 图片大小为投影包围盒, 可见的顶面, 正面和右面按光照系数采样对应的皮肤像素
+        IsometricSkinRenderer renderer = new IsometricSkinRenderer();
+        double cos30 = Math.cos(Math.PI / 6d);
+        BufferedImage skin = createSkin(2);
+        BufferedImage head = renderer.renderHead(skin, 8, false);
+        Assert.assertEquals((int) Math.ceil(16 * cos30 * 8), head.getWidth());
+        Assert.assertEquals(16 * 8, head.getHeight());
+        for(int b = 0; b < 8; b++) {
+            for(int a = 0; a < 8; a++) {
+                // 头部位于 X 4 - 12, Y 24 - 32, Z -4 - 4, 投影包围盒原点为 (0, -40)
+                Assert.assertEquals(skinRgb(2, 8 + a, b), getIsometricRgb(head, 8, 0d, -40d, 4.5d + a, 32d, -3.5d + b)); // 顶面
+                Assert.assertEquals(shade(skinRgb(2, 8 + a, 8 + b), 218), getIsometricRgb(head, 8, 0d, -40d, 4.5d + a, 31.5d - b, 4d)); // 正面
+                Assert.assertEquals(shade(skinRgb(2, a, 8 + b), 179), getIsometricRgb(head, 8, 0d, -40d, 4d, 31.5d - b, -3.5d + a)); // 右面
+            }
+        }
+
+        // 外层向外扩大 0.5 像素并覆盖内层, 透明的外层显示内层
+        BufferedImage helmet = renderer.renderHead(skin, 8, true);
+        Assert.assertEquals((int) Math.ceil(18 * cos30 * 8), helmet.getWidth());
+        Assert.assertEquals(18 * 8, helmet.getHeight());
+        Assert.assertEquals(shade(skinRgb(2, 43, 11), 218), getIsometricRgb(helmet, 8, -cos30, -41d, 3.5d + 3.5d * 9d / 8d, 32.5d - 3.5d * 9d / 8d, 4.5d));
+        Assert.assertEquals(skinRgb(2, 44, 5), getIsometricRgb(helmet, 8, -cos30, -41d, 3.5d + 4.5d * 9d / 8d, 32.5d, -4.5d + 5.5d * 9d / 8d));
+        clear(skin, 40, 8, 8, 8);
+        helmet = renderer.renderHead(skin, 8, true);
+        Assert.assertEquals(shade(skinRgb(2, 11, 12), 218), getIsometricRgb(helmet, 8, -cos30, -41d, 7.5d, 27.5d, 4d));
+        Assert.assertEquals(skinRgb(2, 44, 5), getIsometricRgb(helmet, 8, -cos30, -41d, 3.5d + 4.5d * 9d / 8d, 32.5d, -4.5d + 5.5d * 9d / 8d));
+
+        // 模型包围盒: 经典手臂 X 0 - 16, 苗条手臂为 X 1 - 15, 最低点为右腿的右前下角
+        BufferedImage model = renderer.renderModel(skin, 2, false, false);
+        Assert.assertEquals((int) Math.ceil(20 * cos30 * 2), model.getWidth());
+        Assert.assertEquals(39 * 2, model.getHeight());
+        Assert.assertEquals(shade(skinRgb(2, 23, 28), 218), getIsometricRgb(model, 2, -2d * cos30, -40d, 7.5d, 15.5d, 2d)); // 身体正面
+        Assert.assertEquals(shade(skinRgb(2, 6, 26), 218), getIsometricRgb(model, 2, -2d * cos30, -40d, 6.5d, 5.5d, 2d)); // 右腿正面
+        Assert.assertEquals(shade(skinRgb(2, 41, 28), 179), getIsometricRgb(model, 2, -2d * cos30, -40d, 0d, 15.5d, -0.5d)); // 右手右面
+        BufferedImage slim = renderer.renderModel(skin, 2, false, true);
+        Assert.assertEquals((int) Math.ceil(18 * cos30 * 2), slim.getWidth());
+        Assert.assertEquals(39 * 2, slim.getHeight());
+
+        // 旧版本 64x32 皮肤只有头部外层, 包围盒只向上扩大头部外层的 1 像素
+        BufferedImage legacy = new BufferedImage(64, 32, BufferedImage.TYPE_INT_ARGB);
+        legacy.getGraphics().drawImage(createSkin(2), 0, 0, null);
+        BufferedImage legacyModel = renderer.renderModel(legacy, 2, true, false);
+        Assert.assertEquals(model.getWidth(), legacyModel.getWidth());
+        Assert.assertEquals(40 * 2, legacyModel.getHeight());
+        Assert.assertEquals(shade(skinRgb(2, 23, 28), 218), getIsometricRgb(legacyModel, 2, -2d * cos30, -41d, 7.5d, 15.5d, 2d));
+    }
+
+    /**
+     * 创建材质服务器不可用的离线档案认证服务 (材质缓存未命中时立即失败)
+     *
+     * @return 档案认证服务
+     */
+    private static ProfileAuthService offlineService() {
+        String local = "http://127.0.0.1:1";
+        return new ProfileAuthService(Proxy.NO_PROXY, new EndpointProfile("offline", local, local, local, local, local, (PublicKey) null));
+    }
+
+    /**
+     * 创建指定用户名和材质哈希值的游戏档案
+     *
+     * @param name 用户名
+     * @param hash 材质哈希值
+     * @return 游戏档案
+     */
+    private static GameProfile createProfile(String name, String hash) {
+        GameProfile profile = new GameProfile((String) null, name);
+        profile.getTextures().put(TextureType.SKIN, new ProfileTexture("http://textures.minecraft.net/texture/" + hash, null));
+        return profile;
+    }
+
+    /**
+     * 创建指定用户名, 材质哈希值和皮肤模型元数据的游戏档案
+     *
+     * @param name 用户名
+     * @param hash 材质哈希值
+     * @param model 皮肤模型元数据
+     * @return 游戏档案
+     */
+    private static GameProfile createProfile(String name, String hash, String model) {
+        GameProfile profile = new GameProfile((String) null, name);
+        profile.getTextures().put(TextureType.SKIN, new ProfileTexture("http://textures.minecraft.net/texture/" + hash, Collections.singletonMap("model", model)));
+        return profile;
+    }
+
+    /**
+     * 创建每个像素颜色都不同的不透明 64x64 合成皮肤
+     *
+     * @param seed 颜色种子
+     * @return 皮肤图片
+     */
+    private static BufferedImage createSkin(int seed) {
+        BufferedImage skin = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        for(int y = 0; y < 64; y++)
+            for(int x = 0; x < 64; x++)
+                skin.setRGB(x, y, skinRgb(seed, x, y));
+        return skin;
+    }
+
+    /**
+     * 创建每个像素颜色都不同的不透明合成披风
+     *
+     * @param seed 颜色种子
+     * @param scale 高清比例 (1 为 64x32)
+     * @return 披风图片
+     */
+    private static BufferedImage createCape(int seed, int scale) {
+        BufferedImage cape = new BufferedImage(64 * scale, 32 * scale, BufferedImage.TYPE_INT_ARGB);
+        for(int y = 0; y < cape.getHeight(); y++)
+            for(int x = 0; x < cape.getWidth(); x++)
+                cape.setRGB(x, y, skinRgb(seed, x, y));
+        return cape;
+    }
+
+    /**
+     * 获取合成皮肤指定坐标的像素颜色
+     *
+     * @param seed 颜色种子
+     * @param x X 坐标
+     * @param y Y 坐标
+     * @return ARGB 颜色
+     */
+    private static int skinRgb(int seed, int x, int y) {
+        return 0xFF000000 | (seed << 16) | (y << 8) | x;
+    }
+
+    /**
+     * 使用指定 PNG 编码器将指定图片编码为 PNG 数据
+     *
+     * @param encoder PNG 编码器
+     * @param image 图片
+     * @return PNG 数据
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static byte[] encode(PngEncoder encoder, BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        encoder.encode(image, output);
+        return output.toByteArray();
+    }
+
+    /**
+     * 获取等轴测图片中指定模型坐标投影位置的像素颜色
+     *
+     * @param image 等轴测图片
+     * @param zoom 放大倍数
+     * @param minX 投影包围盒的最小 X 坐标
+     * @param minY 投影包围盒的最小 Y 坐标
+     * @param x 模型 X 坐标
+     * @param y 模型 Y 坐标
+     * @param z 模型 Z 坐标
+     * @return ARGB 颜色
+     */
+    private static int getIsometricRgb(BufferedImage image, int zoom, double minX, double minY, double x, double y, double z) {
+        double sx = ((x + z) * Math.cos(Math.PI / 6d) - minX) * zoom;
+        double sy = ((z - x) / 2d - y - minY) * zoom;
+        return image.getRGB((int) sx, (int) sy);
+    }
+
+    /**
+     * 将指定颜色按光照系数变暗
+     *
+     * @param argb ARGB 颜色
+     * @param shade 光照系数 (0 - 255)
+     * @return ARGB 颜色
+     */
+    private static int shade(int argb, int shade) {
+        int r = ((argb >> 16) & 0xff) * shade / 255;
+        int g = ((argb >> 8) & 0xff) * shade / 255;
+        int b = (argb & 0xff) * shade / 255;
+        return (argb & 0xff000000) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * 获取指定图片的 ARGB 像素数组
+     *
+     * @param image 图片
+     * @return ARGB 像素数组
+     */
+    private static int[] getPixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    }
+
+    /**
+     * 将指定图片的指定区域清除为完全透明
+     *
+     * @param image 图片
+     * @param x X 坐标
+     * @param y Y 坐标
+     * @param width 宽度
+     * @param height 高度
+     */
+    private static void clear(BufferedImage image, int x, int y, int width, int height) {
+        for(int dy = 0; dy < height; dy++)
+            for(int dx = 0; dx < width; dx++)
+                image.setRGB(x + dx, y + dy, 0);
+    }
+}
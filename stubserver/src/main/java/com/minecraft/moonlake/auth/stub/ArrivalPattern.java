@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.stub;
+
+/**
+ * <h1>ArrivalPattern</h1>
+ * 负载测试的请求到达模式
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see LoginLoadTest
+ */
+public enum ArrivalPattern {
+
+    /**
+     * 到达模式: 稳定 (以固定速率到达)
+     */
+    STEADY,
+    /**
+     * 到达模式: 突发 (每 10 秒中前 2 秒以 4 倍速率到达, 其余时间以 1/4 速率到达, 平均速率不变)
+     */
+    BURST,
+    /**
+     * 到达模式: 重连风暴 (以固定速率到达, 在测量阶段的 1/3 处所有玩家同时重新登录)
+     */
+    RECONNECT_STORM,
+    ;
+
+    /**
+     * 获取此到达模式在指定时间点的到达速率
+     *
+     * @param rate 平均到达速率 (每秒)
+     * @param elapsed 已经过的时间 (秒)
+     * @return 到达速率 (每秒)
+     */
+    public double rateAt(double rate, double elapsed) {
+        switch (this) {
+            case BURST:
+                return elapsed % 10d < 2d ? rate * 4d : rate / 4d;
+            default:
+                return rate;
+        }
+    }
+
+    /**
+     * 从指定名称获取到达模式 (不区分大小写, 可以使用 - 代替 _)
+     *
+     * @param name 名称
+     * @return 到达模式
+     * @throws IllegalArgumentException 如果名称不是有效的到达模式则抛出异常
+     */
+    public static ArrivalPattern fromName(String name) {
+        if(name == null)
+            throw new IllegalArgumentException("到达模式名称对象不能为 null 值.");
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+}
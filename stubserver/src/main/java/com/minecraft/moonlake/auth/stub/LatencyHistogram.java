@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.stub;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h1>LatencyHistogram</h1>
+ * 延迟直方图类 (HDR 风格的对数线性分桶, 每个数量级 128 个子桶, 相对误差小于 1%, 可以多线程并发记录)
+ *
+ * <p>小于 256 的值精确记录; 更大的值按最高位所在的数量级分组, 每组再线性分为 128 个子桶.
+ * 百分位数返回对应子桶的最大等价值, 与 HdrHistogram 的 {@code getValueAtPercentile} 语义一致.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see LoginLoadTest
+ */
+public class LatencyHistogram {
+
+    private final static int SUB_BUCKET_BITS = 7;
+    private final static int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private final static int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+    private final static int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong totalValue;
+    private final AtomicLong minValue;
+    private final AtomicLong maxValue;
+
+    /**
+     * 延迟直方图类构造函数
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.totalValue = new AtomicLong();
+        this.minValue = new AtomicLong(Long.MAX_VALUE);
+        this.maxValue = new AtomicLong();
+    }
+
+    /**
+     * 记录指定值到此延迟直方图 (负值按 0 记录)
+     *
+     * @param value 值
+     */
+    public void record(long value) {
+        if(value < 0L)
+            value = 0L;
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(value);
+        long current;
+        while(value < (current = minValue.get()) && !minValue.compareAndSet(current, value)) {
+        }
+        while(value > (current = maxValue.get()) && !maxValue.compareAndSet(current, value)) {
+        }
+    }
+
+    /**
+     * 获取此延迟直方图的记录数量
+     *
+     * @return 记录数量
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * 获取此延迟直方图的最小值
+     *
+     * @return 最小值, 没有记录则返回 0
+     */
+    public long getMin() {
+        return totalCount.get() == 0L ? 0L : minValue.get();
+    }
+
+    /**
+     * 获取此延迟直方图的最大值
+     *
+     * @return 最大值
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * 获取此延迟直方图的平均值
+     *
+     * @return 平均值, 没有记录则返回 0
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0L ? 0d : (double) totalValue.get() / count;
+    }
+
+    /**
+     * 获取此延迟直方图指定百分位的值
+     *
+     * @param percentile 百分位 (0.0 - 100.0)
+     * @return 值 (子桶的最大等价值, 不超过最大值), 没有记录则返回 0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if(count == 0L)
+            return 0L;
+        long target = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100d) / 100d * count));
+        long cumulative = 0L;
+        for(int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if(cumulative >= target)
+                return Math.min(highestEquivalentValue(i), getMax());
+        }
+        return getMax();
+    }
+
+    /**
+     * 获取指定值所在的桶索引
+     *
+     * @param value 值
+     * @return 桶索引
+     */
+    private static int indexOf(long value) {
+        if(value < LINEAR_LIMIT)
+            return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int top = (int) (value >>> shift);
+        return LINEAR_LIMIT + (magnitude - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + (top - SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * 获取指定桶索引的最大等价值
+     *
+     * @param index 桶索引
+     * @return 最大等价值
+     */
+    private static long highestEquivalentValue(int index) {
+        if(index < LINEAR_LIMIT)
+            return index;
+        int offset = index - LINEAR_LIMIT;
+        int shift = offset / SUB_BUCKET_COUNT + 1;
+        long top = SUB_BUCKET_COUNT + offset % SUB_BUCKET_COUNT;
+        return ((top + 1L) << shift) - 1L;
+    }
+}
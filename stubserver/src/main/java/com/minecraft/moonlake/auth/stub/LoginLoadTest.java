@@ -0,0 +1,337 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.stub;
+
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.mc.MinecraftAuthService;
+
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1>LoginLoadTest</h1>
+ * 登录验证管线的离线负载测试 (对本地模拟会话服务器执行 {@code getProfileByServer} + 材质签名验证)
+ *
+ * <p>负载以开环方式生成: 调度线程按到达模式计算每个请求的预定到达时间并提交到工作线程池,
+ * 延迟从预定到达时间开始计算, 因此工作线程饱和时的排队时间也会计入延迟 (避免协调遗漏).</p>
+ *
+ * <p>参数格式为 {@code --名称=值}:</p>
+ * <ul>
+ *     <li>{@code --concurrency} 工作线程数量 (默认 32)</li>
+ *     <li>{@code --rate} 平均到达速率, 每秒 (默认 500)</li>
+ *     <li>{@code --pattern} 到达模式 {@code steady|burst|reconnect-storm} (默认 steady)</li>
+ *     <li>{@code --duration} 测量时间, 秒 (默认 30)</li>
+ *     <li>{@code --warmup} 预热时间, 秒, 不计入统计 (默认 5)</li>
+ *     <li>{@code --players} 玩家数量 (默认 1000)</li>
+ *     <li>{@code --latency} 上游注入的固定延迟, 毫秒 (默认 0)</li>
+ *     <li>{@code --jitter} 上游注入的随机抖动, 毫秒 (默认 0)</li>
+ *     <li>{@code --error-rate} 上游注入的错误率 0.0 - 1.0 (默认 0)</li>
+ *     <li>{@code --stub-threads} 模拟服务器处理线程数量 (默认与工作线程数量相同)</li>
+ * </ul>
+ *
+ * <p>通过 Maven 运行: {@code mvn -pl stubserver -am -P loadtest verify -Dloadtest.args="--pattern=burst --concurrency=64"}</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see StubMojangServer
+ * @see ArrivalPattern
+ * @see LatencyHistogram
+ */
+public class LoginLoadTest {
+
+    private final static long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+    private final static long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(5L);
+    private final static double[] PERCENTILES = { 50d, 90d, 99d, 99.9d, 99.99d };
+
+    private final int concurrency;
+    private final double rate;
+    private final ArrivalPattern pattern;
+    private final int duration;
+    private final int warmup;
+    private final int players;
+    private final long latency;
+    private final long jitter;
+    private final double errorRate;
+    private final int stubThreads;
+    private final LatencyHistogram histogram;
+    private final AtomicLong completed;
+    private final AtomicLong failed;
+
+    /**
+     * 登录验证管线的离线负载测试构造函数
+     *
+     * @param options 参数 Map 集
+     * @throws IllegalArgumentException 如果参数无效则抛出异常
+     */
+    public LoginLoadTest(Map<String, String> options) {
+        if(options == null)
+            throw new IllegalArgumentException("参数对象不能为 null 值.");
+        this.concurrency = positive(options, "concurrency", 32);
+        this.rate = Double.parseDouble(option(options, "rate", "500"));
+        this.pattern = ArrivalPattern.fromName(option(options, "pattern", "steady"));
+        this.duration = positive(options, "duration", 30);
+        this.warmup = Integer.parseInt(option(options, "warmup", "5"));
+        this.players = positive(options, "players", 1000);
+        this.latency = Long.parseLong(option(options, "latency", "0"));
+        this.jitter = Long.parseLong(option(options, "jitter", "0"));
+        this.errorRate = Double.parseDouble(option(options, "error-rate", "0"));
+        this.stubThreads = positive(options, "stub-threads", concurrency);
+        this.histogram = new LatencyHistogram();
+        this.completed = new AtomicLong();
+        this.failed = new AtomicLong();
+        if(rate <= 0d)
+            throw new IllegalArgumentException("到达速率必须大于 0.");
+        if(warmup < 0)
+            throw new IllegalArgumentException("预热时间不能小于 0.");
+    }
+
+    /**
+     * 运行此负载测试并将结果输出到指定输出流
+     *
+     * @param out 输出流
+     * @throws Exception 如果运行时错误则抛出异常
+     */
+    public void run(PrintStream out) throws Exception {
+        // HttpURLConnection 默认每个目标只保持 5 个空闲连接, 高并发时会不断重建连接
+        if(System.getProperty("http.maxConnections") == null)
+            System.setProperty("http.maxConnections", String.valueOf(concurrency));
+        StubMojangServer server = new StubMojangServer(new InetSocketAddress("127.0.0.1", 0), stubThreads);
+        server.setRequireJoin(false);
+        server.setLatency(latency, jitter);
+        server.start();
+        ThreadPoolExecutor executor = createExecutor();
+        try {
+            EndpointProfile endpointProfile = server.createEndpointProfile("loadtest");
+            MinecraftAuthService service = new MinecraftAuthService(Proxy.NO_PROXY, endpointProfile);
+            out.println(String.format(Locale.ROOT, "负载测试: pattern=%s, rate=%.1f/s, concurrency=%d, players=%d, latency=%dms±%dms, warmup=%ds, duration=%ds",
+                    pattern, rate, concurrency, players, latency, jitter, warmup, duration));
+            // 预热阶段不注入错误, 让连接池和签名缓存先稳定下来
+            long start = System.nanoTime();
+            long measureStart = start + warmup * NANOS_PER_SECOND;
+            long end = measureStart + duration * NANOS_PER_SECOND;
+            generate(out, service, executor, server, start, measureStart, end);
+            executor.shutdown();
+            if(!executor.awaitTermination(60L, TimeUnit.SECONDS))
+                out.println("警告: 仍有 " + executor.getQueue().size() + " 个请求未完成, 结果不包含这些请求.");
+            report(out, server);
+        } finally {
+            executor.shutdownNow();
+            server.stop(0);
+        }
+    }
+
+    /**
+     * 按到达模式生成请求直到指定结束时间
+     *
+     * @param out 输出流
+     * @param service Minecraft 验证服务
+     * @param executor 工作线程池
+     * @param server 模拟 Mojang 服务器
+     * @param start 开始时间 (纳秒)
+     * @param measureStart 测量开始时间 (纳秒)
+     * @param end 结束时间 (纳秒)
+     */
+    private void generate(PrintStream out, MinecraftAuthService service, ExecutorService executor, StubMojangServer server, long start, long measureStart, long end) {
+        long stormTime = measureStart + (end - measureStart) / 3L;
+        boolean stormed = pattern != ArrivalPattern.RECONNECT_STORM;
+        boolean measuring = false;
+        long nextReport = measureStart + REPORT_INTERVAL;
+        long lastCompleted = 0L;
+        long next = start;
+        while(next < end) {
+            long now = System.nanoTime();
+            if(next > now) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            if(!measuring && next >= measureStart) {
+                measuring = true;
+                server.setErrorRate(errorRate);
+            }
+            if(!stormed && next >= stormTime) {
+                stormed = true;
+                for(int i = 0; i < players; i++)
+                    executor.execute(new Login(service, "Player" + i, next, true));
+            }
+            executor.execute(new Login(service, "Player" + ThreadLocalRandom.current().nextInt(players), next, measuring));
+            double elapsed = (double) (next - measureStart) / NANOS_PER_SECOND;
+            next += (long) (NANOS_PER_SECOND / pattern.rateAt(rate, Math.max(elapsed, 0d)));
+            if(now >= nextReport) {
+                long current = completed.get();
+                out.println(String.format(Locale.ROOT, "  [%3ds] 吞吐量 %.1f/s, 失败 %d, 排队 %d",
+                        TimeUnit.NANOSECONDS.toSeconds(now - measureStart), (current - lastCompleted) * (double) NANOS_PER_SECOND / REPORT_INTERVAL,
+                        failed.get(), ((ThreadPoolExecutor) executor).getQueue().size()));
+                lastCompleted = current;
+                nextReport += REPORT_INTERVAL;
+            }
+        }
+    }
+
+    /**
+     * 输出此负载测试的结果
+     *
+     * @param out 输出流
+     * @param server 模拟 Mojang 服务器
+     */
+    private void report(PrintStream out, StubMojangServer server) {
+        long total = completed.get();
+        out.println(String.format(Locale.ROOT, "完成: %d, 失败: %d, 吞吐量: %.1f/s, 上游请求: %d, 注入错误: %d",
+                total, failed.get(), (double) total / duration, server.getRequestCount(), server.getInjectedErrorCount()));
+        out.println(String.format(Locale.ROOT, "延迟 (毫秒): min=%.3f, mean=%.3f, max=%.3f",
+                histogram.getMin() / 1000d, histogram.getMean() / 1000d, histogram.getMax() / 1000d));
+        for(double percentile : PERCENTILES)
+            out.println(String.format(Locale.ROOT, "  p%-6s %10.3f", trim(percentile), histogram.getValueAtPercentile(percentile) / 1000d));
+    }
+
+    /**
+     * 创建工作线程池 (固定线程数量, 无界队列, 守护线程)
+     *
+     * @return 工作线程池
+     */
+    private ThreadPoolExecutor createExecutor() {
+        final AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "LoginLoadTest-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * <h1>Login</h1>
+     * 一次登录验证请求 (hasJoined + 材质签名验证)
+     */
+    private class Login implements Runnable {
+
+        private final MinecraftAuthService service;
+        private final String name;
+        private final long intended;
+        private final boolean measured;
+
+        /**
+         * 登录验证请求构造函数
+         *
+         * @param service Minecraft 验证服务
+         * @param name 玩家名称
+         * @param intended 预定到达时间 (纳秒)
+         * @param measured 是否计入统计
+         */
+        private Login(MinecraftAuthService service, String name, long intended, boolean measured) {
+            this.service = service;
+            this.name = name;
+            this.intended = intended;
+            this.measured = measured;
+        }
+
+        @Override
+        public void run() {
+            boolean success = false;
+            try {
+                GameProfile profile = service.getProfileByServer(name, "loadtest");
+                success = profile != null && !service.getProfileTextures(profile, true).isEmpty();
+            } catch (Exception e) {
+                // 失败计入统计
+            }
+            if(!measured)
+                return;
+            histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+            completed.incrementAndGet();
+            if(!success)
+                failed.incrementAndGet();
+        }
+    }
+
+    /**
+     * 获取指定参数的值
+     *
+     * @param options 参数 Map 集
+     * @param name 名称
+     * @param def 默认值
+     * @return 值
+     */
+    private static String option(Map<String, String> options, String name, String def) {
+        String value = options.get(name);
+        return value != null ? value : def;
+    }
+
+    /**
+     * 获取指定参数的正整数值
+     *
+     * @param options 参数 Map 集
+     * @param name 名称
+     * @param def 默认值
+     * @return 正整数值
+     * @throws IllegalArgumentException 如果值小于等于 0 则抛出异常
+     */
+    private static int positive(Map<String, String> options, String name, int def) {
+        int value = Integer.parseInt(option(options, name, String.valueOf(def)));
+        if(value <= 0)
+            throw new IllegalArgumentException("参数 " + name + " 必须大于 0.");
+        return value;
+    }
+
+    /**
+     * 将百分位格式化为最短的字符串
+     *
+     * @param percentile 百分位
+     * @return 字符串
+     */
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * 解析 {@code --名称=值} 格式的参数
+     *
+     * @param args 参数
+     * @return 参数 Map 集
+     * @throws IllegalArgumentException 如果参数格式无效则抛出异常
+     */
+    public static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for(String arg : args) {
+            int index = arg.indexOf('=');
+            if(!arg.startsWith("--") || index == -1)
+                throw new IllegalArgumentException("无效的参数: " + arg + " (格式为 --名称=值)");
+            options.put(arg.substring(2, index), arg.substring(index + 1));
+        }
+        return options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoginLoadTest(parseOptions(args)).run(System.out);
+    }
+}
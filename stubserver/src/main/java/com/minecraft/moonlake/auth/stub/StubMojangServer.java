@@ -0,0 +1,891 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.HostEndpointResolver;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>StubMojangServer</h1>
+ * 模拟 Mojang 服务器类 (在进程内基于 JDK HttpServer 模拟档案、会话、认证、状态和材质服务器, 用于离线负载测试)
+ *
+ * <p>所有服务器共用一个端口, 以路径前缀区分: {@code /api}, {@code /session}, {@code /auth}, {@code /status}, {@code /textures}.
+ * 通过 {@link #createEndpointResolver()} 创建的端点解析器可以将认证服务的官方链接全部解析到此服务器,
+ * 或者通过 {@link #createEndpointProfile(String)} 创建的端点配置只让指定的服务实例使用此服务器.</p>
+ *
+ * <p>可以配置每个请求的固定延迟、随机抖动和错误率, 被注入错误的请求返回 503 和 Mojang 格式的错误正文.
+ * 材质属性使用此服务器生成的 RSA 密钥签名, 公钥可以通过 {@link #getSignatureKey()} 获取.</p>
+ *
+ * @version 1.0
+ * @author Month_Light
+ * @see HostEndpointResolver
+ */
+public class StubMojangServer {
+
+    /**
+     * 默认的处理线程数量
+     */
+    public final static int DEFAULT_THREADS = 16;
+
+    private final static Charset UTF_8 = Charset.forName("utf-8");
+
+    private final InetSocketAddress address;
+    private final int threads;
+    private final KeyPair keyPair;
+    private final Map<String, StubProfile> profilesByName;
+    private final Map<UUID, StubProfile> profilesById;
+    private final Map<String, StubProfile> accessTokens;
+    private final Map<String, UUID> joins;
+    private final Map<String, byte[]> textures;
+    private final AtomicLong requestCount;
+    private final AtomicLong injectedErrorCount;
+    private volatile long latency;
+    private volatile long latencyJitter;
+    private volatile double errorRate;
+    private volatile boolean autoCreateProfiles;
+    private volatile boolean requireJoin;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * 模拟 Mojang 服务器类构造函数 (绑定本地回环地址的随机端口)
+     */
+    public StubMojangServer() {
+        this(new InetSocketAddress("127.0.0.1", 0), DEFAULT_THREADS);
+    }
+
+    /**
+     * 模拟 Mojang 服务器类构造函数
+     *
+     * @param address 绑定地址
+     * @param threads 处理线程数量
+     * @throws IllegalArgumentException 如果绑定地址对象为 {@code null} 则抛出异常
+     * @throws IllegalArgumentException 如果处理线程数量小于等于 0 则抛出异常
+     */
+    public StubMojangServer(InetSocketAddress address, int threads) {
+        if(address == null)
+            throw new IllegalArgumentException("绑定地址对象不能为 null 值.");
+        if(threads <= 0)
+            throw new IllegalArgumentException("处理线程数量必须大于 0.");
+        this.address = address;
+        this.threads = threads;
+        this.keyPair = generateKeyPair();
+        this.profilesByName = new ConcurrentHashMap<>();
+        this.profilesById = new ConcurrentHashMap<>();
+        this.accessTokens = new ConcurrentHashMap<>();
+        this.joins = new ConcurrentHashMap<>();
+        this.textures = new ConcurrentHashMap<>();
+        this.requestCount = new AtomicLong();
+        this.injectedErrorCount = new AtomicLong();
+        this.autoCreateProfiles = true;
+        this.requireJoin = true;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的每个请求固定延迟 (毫秒)
+     *
+     * @return 固定延迟
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    /**
+     * 设置此模拟 Mojang 服务器的每个请求固定延迟和随机抖动 (毫秒, 实际延迟为 {@code latency + [0, jitter)})
+     *
+     * @param latency 固定延迟
+     * @param jitter 随机抖动
+     * @throws IllegalArgumentException 如果固定延迟或随机抖动小于 0 则抛出异常
+     */
+    public void setLatency(long latency, long jitter) {
+        if(latency < 0L || jitter < 0L)
+            throw new IllegalArgumentException("延迟和抖动不能小于 0.");
+        this.latency = latency;
+        this.latencyJitter = jitter;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的每个请求随机抖动 (毫秒)
+     *
+     * @return 随机抖动
+     */
+    public long getLatencyJitter() {
+        return latencyJitter;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的错误率
+     *
+     * @return 错误率
+     */
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * 设置此模拟 Mojang 服务器的错误率 (每个请求以此概率返回 503)
+     *
+     * @param errorRate 错误率 (0.0 - 1.0)
+     * @throws IllegalArgumentException 如果错误率不在 0.0 - 1.0 范围内则抛出异常
+     */
+    public void setErrorRate(double errorRate) {
+        if(errorRate < 0d || errorRate > 1d)
+            throw new IllegalArgumentException("错误率必须在 0.0 - 1.0 范围内.");
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器是否为未知用户名自动创建游戏档案
+     *
+     * @return 是否自动创建
+     */
+    public boolean isAutoCreateProfiles() {
+        return autoCreateProfiles;
+    }
+
+    /**
+     * 设置此模拟 Mojang 服务器是否为未知用户名自动创建游戏档案 (默认开启, 关闭后未知用户名视为不存在)
+     *
+     * @param autoCreateProfiles 是否自动创建
+     */
+    public void setAutoCreateProfiles(boolean autoCreateProfiles) {
+        this.autoCreateProfiles = autoCreateProfiles;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的 hasJoined 是否要求先调用 join
+     *
+     * @return 是否要求先调用 join
+     */
+    public boolean isRequireJoin() {
+        return requireJoin;
+    }
+
+    /**
+     * 设置此模拟 Mojang 服务器的 hasJoined 是否要求先调用 join (默认开启, 关闭后 hasJoined 总是返回游戏档案, 便于只测试服务端登录流程)
+     *
+     * @param requireJoin 是否要求先调用 join
+     */
+    public void setRequireJoin(boolean requireJoin) {
+        this.requireJoin = requireJoin;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的材质属性签名公钥
+     *
+     * @return 签名公钥
+     */
+    public PublicKey getSignatureKey() {
+        return keyPair.getPublic();
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器已处理的请求数量
+     *
+     * @return 请求数量
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器已注入错误的请求数量
+     *
+     * @return 注入错误数量
+     */
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+
+    /**
+     * 向此模拟 Mojang 服务器添加指定用户名的游戏档案 (UUID 由用户名确定生成)
+     *
+     * @param name 用户名
+     * @return 游戏档案 UUID
+     * @throws IllegalArgumentException 如果用户名对象为 {@code null} 则抛出异常
+     */
+    public UUID addProfile(String name) {
+        if(name == null)
+            throw new IllegalArgumentException("用户名对象不能为 null 值.");
+        return addProfile(UUID.nameUUIDFromBytes(("StubPlayer:" + name.toLowerCase()).getBytes(UTF_8)), name);
+    }
+
+    /**
+     * 向此模拟 Mojang 服务器添加指定 UUID 和用户名的游戏档案
+     *
+     * @param id 游戏档案 UUID
+     * @param name 用户名
+     * @return 游戏档案 UUID
+     * @throws IllegalArgumentException 如果 UUID 或用户名对象为 {@code null} 则抛出异常
+     */
+    public UUID addProfile(UUID id, String name) {
+        if(id == null || name == null)
+            throw new IllegalArgumentException("UUID 或用户名对象不能为 null 值.");
+        StubProfile profile = new StubProfile(id, name);
+        profilesByName.put(name.toLowerCase(), profile);
+        profilesById.put(id, profile);
+        return id;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的绑定地址 (启动后为实际端口)
+     *
+     * @return 绑定地址
+     */
+    public synchronized InetSocketAddress getAddress() {
+        return server != null ? server.getAddress() : address;
+    }
+
+    /**
+     * 获取此模拟 Mojang 服务器的基础链接 (例如 {@code http://127.0.0.1:8080})
+     *
+     * @return 基础链接
+     * @throws IllegalStateException 如果服务器尚未启动则抛出异常
+     */
+    public synchronized String getBaseUrl() {
+        if(server == null)
+            throw new IllegalStateException("模拟 Mojang 服务器尚未启动.");
+        InetSocketAddress bound = server.getAddress();
+        return "http://" + bound.getAddress().getHostAddress() + ":" + bound.getPort();
+    }
+
+    /**
+     * 创建将所有官方 Mojang 链接解析到此模拟服务器的端点解析器
+     *
+     * @return 端点解析器
+     * @throws IllegalStateException 如果服务器尚未启动则抛出异常
+     */
+    public HostEndpointResolver createEndpointResolver() {
+        String base = getBaseUrl();
+        return new HostEndpointResolver()
+                .map(HostEndpointResolver.ORIGIN_API, base + "/api")
+                .map(HostEndpointResolver.ORIGIN_SESSION, base + "/session")
+                .map(HostEndpointResolver.ORIGIN_AUTH, base + "/auth")
+                .map(HostEndpointResolver.ORIGIN_STATUS, base + "/status")
+                .map(HostEndpointResolver.ORIGIN_TEXTURES, base + "/textures");
+    }
+
+    /**
+     * 创建指向此模拟服务器的端点配置 (材质签名公钥为此服务器的公钥, 可以只让单个服务实例使用此服务器)
+     *
+     * @param name 名称
+     * @return 端点配置
+     * @throws IllegalStateException 如果服务器尚未启动则抛出异常
+     */
+    public EndpointProfile createEndpointProfile(String name) {
+        String base = getBaseUrl();
+        return new EndpointProfile(name, base + "/api", base + "/session", base + "/auth", base + "/status", base + "/textures", getSignatureKey());
+    }
+
+    /**
+     * 启动此模拟 Mojang 服务器
+     *
+     * @throws IOException 如果 IO 错误则抛出异常
+     * @throws IllegalStateException 如果服务器已经启动则抛出异常
+     */
+    public synchronized void start() throws IOException {
+        if(server != null)
+            throw new IllegalStateException("模拟 Mojang 服务器已经启动.");
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicLong counter = new AtomicLong();
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "StubMojangServer-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        // JDK HttpServer 分别写出响应头和响应体, 不禁用 Nagle 算法会与客户端的延迟确认叠加出约 40 毫秒的额外延迟
+        if(System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/", new StubHandler());
+        server.start();
+    }
+
+    /**
+     * 停止此模拟 Mojang 服务器
+     *
+     * @param delay 等待正在处理的请求的最大时间 (秒)
+     */
+    public synchronized void stop(int delay) {
+        if(server == null)
+            return;
+        server.stop(delay);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+    }
+
+    /**
+     * 获取指定用户名的游戏档案, 不存在且开启自动创建则创建
+     *
+     * @param name 用户名
+     * @return 游戏档案, 不存在则返回 {@code null}
+     */
+    private StubProfile findProfile(String name) {
+        if(name == null || name.isEmpty())
+            return null;
+        StubProfile profile = profilesByName.get(name.toLowerCase());
+        if(profile == null && autoCreateProfiles) {
+            addProfile(name);
+            profile = profilesByName.get(name.toLowerCase());
+        }
+        return profile;
+    }
+
+    /**
+     * 处理指定 HTTP 交换的请求
+     *
+     * @param exchange HTTP 交换
+     * @throws Exception 如果处理错误则抛出异常
+     */
+    private void handle(HttpExchange exchange) throws Exception {
+        requestCount.incrementAndGet();
+        long delay = latency + (latencyJitter > 0L ? ThreadLocalRandom.current().nextLong(latencyJitter) : 0L);
+        if(delay > 0L)
+            Thread.sleep(delay);
+        if(errorRate > 0d && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            injectedErrorCount.incrementAndGet();
+            sendError(exchange, 503, "ServiceUnavailableException", "Injected failure from stub server.");
+            return;
+        }
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        if(path.startsWith("/api/"))
+            handleApi(exchange, method, path.substring(4), query);
+        else if(path.startsWith("/session/"))
+            handleSession(exchange, method, path.substring(8), query);
+        else if(path.startsWith("/auth/"))
+            handleAuth(exchange, method, path.substring(5));
+        else if(path.equals("/status/check"))
+            handleStatus(exchange);
+        else if(path.startsWith("/textures/texture/"))
+            handleTexture(exchange, path.substring(18));
+        else
+            sendError(exchange, 404, "Not Found", "The server has not found anything matching the request URI");
+    }
+
+    /**
+     * 处理档案 API 服务器的请求
+     *
+     * @param exchange HTTP 交换
+     * @param method 请求方法
+     * @param path 路径 (去除前缀)
+     * @param query 查询参数
+     * @throws Exception 如果处理错误则抛出异常
+     */
+    private void handleApi(HttpExchange exchange, String method, String path, Map<String, String> query) throws Exception {
+        if(path.equals("/profiles/minecraft") && method.equals("POST")) {
+            JsonArray names = readJson(exchange).getAsJsonArray();
+            JsonArray result = new JsonArray();
+            for(JsonElement element : names) {
+                StubProfile profile = findProfile(element.getAsString());
+                if(profile != null)
+                    result.add(profile.toJson(false));
+            }
+            sendJson(exchange, 200, result);
+        } else if(path.startsWith("/users/profiles/minecraft/")) {
+            StubProfile profile = findProfile(path.substring(26));
+            if(query.containsKey("at") && !isValidTimestamp(query.get("at")))
+                sendError(exchange, 400, "IllegalArgumentException", "Invalid timestamp."); // 与 Mojang 一致, at 参数为 UNIX 秒, 毫秒值会被拒绝
+            else if(profile == null)
+                sendEmpty(exchange, 204);
+            else
+                sendJson(exchange, 200, profile.toJson(false));
+        } else if(path.startsWith("/user/profiles/") && path.endsWith("/names")) {
+            StubProfile profile = profilesById.get(parseUUID(path.substring(15, path.length() - 6)));
+            if(profile == null) {
+                sendEmpty(exchange, 204);
+            } else {
+                JsonArray result = new JsonArray();
+                JsonObject name = new JsonObject();
+                name.addProperty("name", profile.name);
+                result.add(name);
+                sendJson(exchange, 200, result);
+            }
+        } else {
+            sendError(exchange, 404, "Not Found", "The server has not found anything matching the request URI");
+        }
+    }
+
+    /**
+     * 处理会话服务器的请求
+     *
+     * @param exchange HTTP 交换
+     * @param method 请求方法
+     * @param path 路径 (去除前缀)
+     * @param query 查询参数
+     * @throws Exception 如果处理错误则抛出异常
+     */
+    private void handleSession(HttpExchange exchange, String method, String path, Map<String, String> query) throws Exception {
+        if(path.equals("/session/minecraft/join") && method.equals("POST")) {
+            JsonObject request = readJson(exchange).getAsJsonObject();
+            StubProfile profile = accessTokens.get(request.get("accessToken").getAsString());
+            if(profile == null || !profile.id.equals(parseUUID(request.get("selectedProfile").getAsString()))) {
+                sendError(exchange, 403, "ForbiddenOperationException", "Invalid token.");
+                return;
+            }
+            joins.put(request.get("serverId").getAsString() + '\0' + profile.name.toLowerCase(), profile.id);
+            sendEmpty(exchange, 204);
+        } else if(path.equals("/session/minecraft/hasJoined")) {
+            String name = query.get("username");
+            String serverId = query.get("serverId");
+            StubProfile profile = null;
+            if(name != null && serverId != null) {
+                UUID joined = joins.remove(serverId + '\0' + name.toLowerCase());
+                if(joined != null)
+                    profile = profilesById.get(joined);
+                else if(!requireJoin)
+                    profile = findProfile(name);
+            }
+            if(profile == null)
+                sendEmpty(exchange, 204);
+            else
+                sendJson(exchange, 200, profile.toJson(true));
+        } else if(path.startsWith("/session/minecraft/profile/")) {
+            StubProfile profile = profilesById.get(parseUUID(path.substring(27)));
+            if(profile == null)
+                sendEmpty(exchange, 204);
+            else
+                sendJson(exchange, 200, profile.toJson(true));
+        } else {
+            sendError(exchange, 404, "Not Found", "The server has not found anything matching the request URI");
+        }
+    }
+
+    /**
+     * 处理认证服务器的请求
+     *
+     * @param exchange HTTP 交换
+     * @param method 请求方法
+     * @param path 路径 (去除前缀)
+     * @throws Exception 如果处理错误则抛出异常
+     */
+    private void handleAuth(HttpExchange exchange, String method, String path) throws Exception {
+        if(!method.equals("POST")) {
+            sendError(exchange, 405, "Method Not Allowed", "The method specified in the request is not allowed for the resource identified by the request URI");
+            return;
+        }
+        JsonObject request = readJson(exchange).getAsJsonObject();
+        if(path.equals("/authenticate")) {
+            String password = request.has("password") && !request.get("password").isJsonNull() ? request.get("password").getAsString() : "";
+            StubProfile profile = request.has("username") && !request.get("username").isJsonNull() ? findProfile(request.get("username").getAsString()) : null;
+            if(profile == null || password.isEmpty()) {
+                sendError(exchange, 403, "ForbiddenOperationException", "Invalid credentials. Invalid username or password.");
+                return;
+            }
+            sendJson(exchange, 200, createSession(profile, request));
+        } else if(path.equals("/refresh")) {
+            StubProfile profile = accessTokens.remove(getString(request, "accessToken"));
+            if(profile == null) {
+                sendError(exchange, 403, "ForbiddenOperationException", "Invalid token.");
+                return;
+            }
+            sendJson(exchange, 200, createSession(profile, request));
+        } else if(path.equals("/validate")) {
+            if(accessTokens.containsKey(getString(request, "accessToken")))
+                sendEmpty(exchange, 204);
+            else
+                sendError(exchange, 403, "ForbiddenOperationException", "Invalid token.");
+        } else if(path.equals("/invalidate")) {
+            accessTokens.remove(getString(request, "accessToken"));
+            sendEmpty(exchange, 204);
+        } else if(path.equals("/signout")) {
+            sendEmpty(exchange, 204);
+        } else {
+            sendError(exchange, 404, "Not Found", "The server has not found anything matching the request URI");
+        }
+    }
+
+    /**
+     * 为指定游戏档案创建新的访问令牌并构建认证响应
+     *
+     * @param profile 游戏档案
+     * @param request 认证或刷新请求
+     * @return 认证响应
+     */
+    private JsonObject createSession(StubProfile profile, JsonObject request) {
+        String accessToken = UUID.randomUUID().toString().replace("-", "");
+        accessTokens.put(accessToken, profile);
+        JsonObject response = new JsonObject();
+        response.addProperty("accessToken", accessToken);
+        response.addProperty("clientToken", getString(request, "clientToken"));
+        response.add("selectedProfile", profile.toJson(false));
+        JsonArray available = new JsonArray();
+        available.add(profile.toJson(false));
+        response.add("availableProfiles", available);
+        JsonObject user = new JsonObject();
+        user.addProperty("id", profile.id.toString().replace("-", ""));
+        user.add("properties", new JsonArray());
+        response.add("user", user);
+        return response;
+    }
+
+    /**
+     * 处理状态服务器的请求
+     *
+     * @param exchange HTTP 交换
+     * @throws Exception 如果处理错误则抛出异常
+     */
+    private void handleStatus(HttpExchange exchange) throws Exception {
+        JsonArray result = new JsonArray();
+        for(String host : new String[] { "minecraft.net", "session.minecraft.net", "account.mojang.com", "authserver.mojang.com", "sessionserver.mojang.com", "api.mojang.com", "textures.minecraft.net", "mojang.com" }) {
+            JsonObject service = new JsonObject();
+            service.addProperty(host, "green");
+            result.add(service);
+        }
+        sendJson(exchange, 200, result);
+    }
+
+    /**
+     * 处理材质服务器的请求
+     *
+     * @param exchange HTTP 交换
+     * @param hash 材质哈希值
+     * @throws Exception 如果处理错误则抛出异常
+     */
+    private void handleTexture(HttpExchange exchange, String hash) throws Exception {
+        byte[] png = textures.get(hash);
+        if(png == null) {
+            sendError(exchange, 404, "Not Found", "The server has not found anything matching the request URI");
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "image/png");
+        exchange.getResponseHeaders().set("ETag", "\"" + hash + "\"");
+        if(("\"" + hash + "\"").equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            sendEmpty(exchange, 304);
+            return;
+        }
+        send(exchange, 200, png);
+    }
+
+    /**
+     * 为指定游戏档案生成皮肤材质 (64x64, 颜色由 UUID 确定) 并返回材质哈希值
+     *
+     * @param id 游戏档案 UUID
+     * @return 材质哈希值
+     */
+    private String createTexture(UUID id) {
+        try {
+            BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+            int color = 0xFF000000 | ((int) id.getMostSignificantBits() & 0xFFFFFF);
+            int shade = 0xFF000000 | ((int) id.getLeastSignificantBits() & 0xFFFFFF);
+            for(int y = 0; y < 64; y++)
+                for(int x = 0; x < 64; x++)
+                    if(y < 16 || (y < 48 && x < 56) || (y >= 48 && (x & 16) != 0))
+                        image.setRGB(x, y, ((x ^ y) & 4) == 0 ? color : shade);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", output);
+            byte[] png = output.toByteArray();
+            String hash = toHex(MessageDigest.getInstance("SHA-256").digest(png));
+            textures.put(hash, png);
+            return hash;
+        } catch (Exception e) {
+            throw new IllegalStateException("无法生成模拟皮肤材质.", e);
+        }
+    }
+
+    /**
+     * 读取指定 HTTP 交换的 JSON 请求正文
+     *
+     * @param exchange HTTP 交换
+     * @return JSON 元素
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static JsonElement readJson(HttpExchange exchange) throws IOException {
+        InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), UTF_8);
+        try {
+            return new JsonParser().parse(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 获取指定 JSON 对象指定成员的字符串值
+     *
+     * @param object JSON 对象
+     * @param member 成员名
+     * @return 字符串值, 不存在则返回 {@code null}
+     */
+    private static String getString(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    /**
+     * 向指定 HTTP 交换发送 JSON 响应
+     *
+     * @param exchange HTTP 交换
+     * @param code 响应码
+     * @param json JSON 元素
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void sendJson(HttpExchange exchange, int code, JsonElement json) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        send(exchange, code, json.toString().getBytes(UTF_8));
+    }
+
+    /**
+     * 向指定 HTTP 交换发送 Mojang 格式的错误响应
+     *
+     * @param exchange HTTP 交换
+     * @param code 响应码
+     * @param error 错误
+     * @param errorMessage 错误信息
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void sendError(HttpExchange exchange, int code, String error, String errorMessage) throws IOException {
+        JsonObject json = new JsonObject();
+        json.addProperty("error", error);
+        json.addProperty("errorMessage", errorMessage);
+        sendJson(exchange, code, json);
+    }
+
+    /**
+     * 向指定 HTTP 交换发送没有正文的响应
+     *
+     * @param exchange HTTP 交换
+     * @param code 响应码
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void sendEmpty(HttpExchange exchange, int code) throws IOException {
+        exchange.sendResponseHeaders(code, -1);
+        exchange.close();
+    }
+
+    /**
+     * 向指定 HTTP 交换发送响应
+     *
+     * @param exchange HTTP 交换
+     * @param code 响应码
+     * @param body 正文
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void send(HttpExchange exchange, int code, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(code, body.length);
+        OutputStream output = exchange.getResponseBody();
+        try {
+            output.write(body);
+        } finally {
+            output.close();
+        }
+    }
+
+    /**
+     * 解析指定原始查询字符串为参数 Map 集
+     *
+     * @param rawQuery 原始查询字符串
+     * @return 参数 Map 集
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static Map<String, String> parseQuery(String rawQuery) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        if(rawQuery == null || rawQuery.isEmpty())
+            return query;
+        for(String pair : rawQuery.split("&")) {
+            int index = pair.indexOf('=');
+            if(index > 0)
+                query.put(URLDecoder.decode(pair.substring(0, index), "utf-8"), URLDecoder.decode(pair.substring(index + 1), "utf-8"));
+        }
+        return query;
+    }
+
+    /**
+     * 获取指定字符串是否为有效的 UNIX 时间戳 (秒, 不能晚于当前时间)
+     *
+     * @param value 字符串
+     * @return 是否为有效的时间戳
+     */
+    private static boolean isValidTimestamp(String value) {
+        try {
+            long timestamp = Long.parseLong(value);
+            return timestamp >= 0L && timestamp <= System.currentTimeMillis() / 1000L;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 解析指定字符串为 UUID (支持不带连字符的格式)
+     *
+     * @param value 字符串
+     * @return UUID, 无效则返回 {@code null}
+     */
+    private static UUID parseUUID(String value) {
+        try {
+            if(value.length() == 32)
+                value = value.substring(0, 8) + "-" + value.substring(8, 12) + "-" + value.substring(12, 16) + "-" + value.substring(16, 20) + "-" + value.substring(20);
+            return UUID.fromString(value);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 将指定字节数组转换为十六进制字符串
+     *
+     * @param bytes 字节数组
+     * @return 十六进制字符串
+     */
+    private static String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for(byte b : bytes)
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return builder.toString();
+    }
+
+    /**
+     * 生成材质属性签名使用的 RSA 密钥对
+     *
+     * @return 密钥对
+     */
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException("无法生成 RSA 密钥对.", e);
+        }
+    }
+
+    /**
+     * 模拟 Mojang 服务器的 HTTP 处理器类
+     */
+    private class StubHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                StubMojangServer.this.handle(exchange);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.close();
+            } catch (Exception e) {
+                try {
+                    sendError(exchange, 500, "InternalServerError", String.valueOf(e.getMessage()));
+                } catch (Exception ignored) {
+                    exchange.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 模拟游戏档案类 (材质属性在首次请求时生成并签名)
+     */
+    private class StubProfile {
+
+        private final UUID id;
+        private final String name;
+        private volatile JsonObject texturesProperty;
+
+        /**
+         * 模拟游戏档案类构造函数
+         *
+         * @param id UUID
+         * @param name 用户名
+         */
+        StubProfile(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        /**
+         * 将此模拟游戏档案转换为 JSON 对象
+         *
+         * @param properties 是否包含属性
+         * @return JSON 对象
+         */
+        JsonObject toJson(boolean properties) {
+            JsonObject json = new JsonObject();
+            json.addProperty("id", id.toString().replace("-", ""));
+            json.addProperty("name", name);
+            if(properties) {
+                JsonArray array = new JsonArray();
+                array.add(getTexturesProperty());
+                json.add("properties", array);
+            }
+            return json;
+        }
+
+        /**
+         * 获取此模拟游戏档案已签名的材质属性
+         *
+         * @return 材质属性
+         */
+        private JsonObject getTexturesProperty() {
+            JsonObject property = texturesProperty;
+            if(property != null)
+                return property;
+            try {
+                JsonObject skin = new JsonObject();
+                skin.addProperty("url", HostEndpointResolver.ORIGIN_TEXTURES + "/texture/" + createTexture(id));
+                JsonObject textures = new JsonObject();
+                textures.add("SKIN", skin);
+                JsonObject payload = new JsonObject();
+                payload.addProperty("timestamp", System.currentTimeMillis());
+                payload.addProperty("profileId", id.toString().replace("-", ""));
+                payload.addProperty("profileName", name);
+                payload.add("textures", textures);
+                String value = Base64.getEncoder().encodeToString(payload.toString().getBytes(UTF_8));
+                Signature signature = Signature.getInstance("SHA1withRSA");
+                signature.initSign(keyPair.getPrivate());
+                signature.update(value.getBytes());
+                property = new JsonObject();
+                property.addProperty("name", "textures");
+                property.addProperty("value", value);
+                property.addProperty("signature", Base64.getEncoder().encodeToString(signature.sign()));
+                texturesProperty = property;
+                return property;
+            } catch (Exception e) {
+                throw new IllegalStateException("无法生成模拟材质属性.", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,555 @@
+/*
+ * Copyright (C) 2017 The MoonLake Authors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.minecraft.moonlake.auth.test;
+
+import com.minecraft.moonlake.auth.data.CompactGameProfile;
+import com.minecraft.moonlake.auth.data.GameProfile;
+import com.minecraft.moonlake.auth.data.ProfileTexture;
+import com.minecraft.moonlake.auth.data.ProfileTimestampCallback;
+import com.minecraft.moonlake.auth.data.ProfileTimestampQuery;
+import com.minecraft.moonlake.auth.data.ProfileResolveSink;
+import com.minecraft.moonlake.auth.data.Property;
+import com.minecraft.moonlake.auth.data.TextureType;
+import com.minecraft.moonlake.auth.exception.MoonLakeProfileException;
+import com.minecraft.moonlake.auth.service.EndpointProfile;
+import com.minecraft.moonlake.auth.service.EndpointResolver;
+import com.minecraft.moonlake.auth.service.HttpValidatorCache;
+import com.minecraft.moonlake.auth.service.MoonLakeAuthBaseService;
+import com.minecraft.moonlake.auth.service.RequestRateLimiter;
+import com.minecraft.moonlake.auth.service.SignatureKeyRegistry;
+import com.minecraft.moonlake.auth.service.mc.MinecraftAuthService;
+import com.minecraft.moonlake.auth.service.profile.ProfileAuthService;
+import com.minecraft.moonlake.auth.service.profile.ProfileNameCache;
+import com.minecraft.moonlake.auth.service.profile.ProfileResolveCheckpoint;
+import com.minecraft.moonlake.auth.service.profile.ProfileStreamResolver;
+import com.minecraft.moonlake.auth.service.user.UserAuthService;
+import com.minecraft.moonlake.auth.stub.StubMojangServer;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class MoonLakeAuthStubServerTest {
+
+    @Test
+    public void testStubLoginPipeline() throws Exception {
+        // 测试模拟 Mojang 服务器 (认证 -> 加入服务器 -> hasJoined -> 材质, 全部离线)
+        StubMojangServer server = new StubMojangServer();
+        server.start();
+        EndpointResolver previous = MoonLakeAuthBaseService.getEndpointResolver();
+        MoonLakeAuthBaseService.setEndpointResolver(server.createEndpointResolver());
+        try {
+            UserAuthService userAuthService = new UserAuthService();
+            userAuthService.setUsername("Steve");
+            userAuthService.setPassword("password");
+            userAuthService.login();
+            Assert.assertTrue(userAuthService.isLoggedIn());
+            Assert.assertTrue(userAuthService.validateToken());
+            GameProfile selected = userAuthService.getSelectedProfile();
+            Assert.assertEquals("Steve", selected.getName());
+
+            MinecraftAuthService minecraftAuthService = new MinecraftAuthService();
+            minecraftAuthService.joinServerRequest(selected, userAuthService.getAccessToken(), "stub-server");
+            GameProfile profile = minecraftAuthService.getProfileByServer("Steve", "stub-server");
+            Assert.assertNotNull(profile);
+            Assert.assertEquals(selected.getId(), profile.getId());
+            Assert.assertNull(minecraftAuthService.getProfileByServer("Steve", "stub-server"));
+            Assert.assertTrue(profile.getProperty("textures").validateSignature(server.getSignatureKey()));
+
+            Map<TextureType, ProfileTexture> textures = minecraftAuthService.getProfileTextures(profile, false);
+            profile.getTextures().putAll(textures);
+
+            // 紧凑游戏档案与原始游戏档案互相转换后材质属性保持一致
+            CompactGameProfile compact = CompactGameProfile.fromProfile(profile);
+            Assert.assertEquals(profile.getId(), compact.getId());
+            Assert.assertSame(profile.getProperty("textures"), compact.getTexturesProperty());
+            Assert.assertEquals(textures.keySet(), minecraftAuthService.getProfileTextures(compact, false).keySet());
+            GameProfile restored = compact.toProfile();
+            Assert.assertEquals(profile, restored);
+            Assert.assertEquals(profile.getProperties(), restored.getProperties());
+            BufferedImage skinRawImage = new ProfileAuthService().getSkinRawTextureByProfile(profile);
+            Assert.assertEquals(64, skinRawImage.getWidth());
+            System.out.println("模拟服务器请求数量: " + server.getRequestCount());
+
+            server.setErrorRate(1d);
+            Assert.assertFalse(userAuthService.validateToken());
+            Assert.assertEquals(1L, server.getInjectedErrorCount());
+        } finally {
+            MoonLakeAuthBaseService.setEndpointResolver(previous);
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testEndpointProfiles() throws Exception {
+        // 测试同一个 JVM 中两个端点配置分别指向不同的模拟服务器 (签名公钥各不相同)
+        StubMojangServer first = new StubMojangServer();
+        StubMojangServer second = new StubMojangServer();
+        first.start();
+        second.start();
+        try {
+            EndpointProfile firstProfile = first.createEndpointProfile("first");
+            EndpointProfile secondProfile = second.createEndpointProfile("second");
+            first.setRequireJoin(false);
+            second.setRequireJoin(false);
+
+            MinecraftAuthService firstService = new MinecraftAuthService(Proxy.NO_PROXY, firstProfile);
+            MinecraftAuthService secondService = new MinecraftAuthService(Proxy.NO_PROXY, secondProfile);
+            GameProfile firstGameProfile = firstService.getProfileByServer("Alex", "realm");
+            GameProfile secondGameProfile = secondService.getProfileByServer("Alex", "realm");
+            Assert.assertFalse(firstService.getProfileTextures(firstGameProfile, true).isEmpty());
+            Assert.assertFalse(secondService.getProfileTextures(secondGameProfile, true).isEmpty());
+            Assert.assertEquals(1L, first.getRequestCount());
+            Assert.assertEquals(1L, second.getRequestCount());
+            try {
+                firstService.getProfileTextures(secondGameProfile, true);
+                Assert.fail("其他服务器签名的材质属性不应该通过验证.");
+            } catch (MoonLakeProfileException e) {
+                System.out.println("签名验证失败: " + e.getMessage());
+            }
+        } finally {
+            first.stop(0);
+            second.stop(0);
+        }
+    }
+
+    @Test
+    public void testSignatureKeyRotation() throws Exception {
+        // 测试签名公钥注册表同时信任 Mojang 公钥和模拟服务器公钥, 移除公钥后立即失效
+        StubMojangServer server = new StubMojangServer();
+        server.setRequireJoin(false);
+        server.start();
+        try {
+            SignatureKeyRegistry keyRegistry = new SignatureKeyRegistry()
+                    .registerResource(SignatureKeyRegistry.MOJANG_KEY_ID, SignatureKeyRegistry.MOJANG_KEY_RESOURCE)
+                    .register("stub", server.getSignatureKey());
+            Assert.assertNotNull(keyRegistry.getKey(SignatureKeyRegistry.MOJANG_KEY_ID));
+            String base = server.getBaseUrl();
+            EndpointProfile endpointProfile = new EndpointProfile("stub", base + "/api", base + "/session", base + "/auth", base + "/status", base + "/textures", keyRegistry);
+            MinecraftAuthService minecraftAuthService = new MinecraftAuthService(Proxy.NO_PROXY, endpointProfile);
+            GameProfile profile = minecraftAuthService.getProfileByServer("Alex", "realm");
+            Property textures = profile.getProperty("textures");
+            Assert.assertTrue(keyRegistry.verify(textures));
+            Assert.assertTrue(keyRegistry.verify(textures, "stub"));
+            Assert.assertFalse(keyRegistry.verify(textures, SignatureKeyRegistry.MOJANG_KEY_ID));
+            Assert.assertFalse(keyRegistry.verify(new Property(textures.getName(), textures.getValue() + "=", textures.getSignature())));
+
+            keyRegistry.unregister("stub");
+            Assert.assertFalse(keyRegistry.verify(textures));
+            keyRegistry.register("stub-rotated", server.getSignatureKey());
+            Assert.assertTrue(minecraftAuthService.getProfileTextures(profile, true).containsKey(TextureType.SKIN));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testBatchTimestampLookup() throws Exception {
+        // 测试批量时间戳查询去重, 当前拥有者合并为一次批量请求, 历史拥有者逐个请求
+        StubMojangServer server = new StubMojangServer();
+        server.start();
+        server.addProfile("Steve");
+        server.addProfile("Alex");
+        server.setAutoCreateProfiles(false);
+        EndpointResolver previous = MoonLakeAuthBaseService.getEndpointResolver();
+        MoonLakeAuthBaseService.setEndpointResolver(server.createEndpointResolver());
+        try {
+            ProfileAuthService profileAuthService = new ProfileAuthService();
+            profileAuthService.setRateLimiter(new RequestRateLimiter(100, 1L, TimeUnit.SECONDS));
+            final Map<ProfileTimestampQuery, GameProfile> succeeded = new ConcurrentHashMap<>();
+            final Map<ProfileTimestampQuery, Exception> failed = new ConcurrentHashMap<>();
+            profileAuthService.findProfilesByTimestamp(Arrays.asList(
+                    new ProfileTimestampQuery("Steve"),
+                    new ProfileTimestampQuery("steve", -5L),
+                    new ProfileTimestampQuery("Alex"),
+                    new ProfileTimestampQuery("Nobody"),
+                    new ProfileTimestampQuery("Steve", 1414059749L),
+                    new ProfileTimestampQuery("STEVE", 1414059749L),
+                    new ProfileTimestampQuery("Alex", 1514059749L)
+            ), new ProfileTimestampCallback() {
+                @Override
+                public void onLookupSucceeded(ProfileTimestampQuery query, GameProfile profile) {
+                    Assert.assertNull(succeeded.put(query, profile));
+                }
+
+                @Override
+                public void onLookupFailed(ProfileTimestampQuery query, Exception ex) {
+                    Assert.assertNull(failed.put(query, ex));
+                }
+            });
+            Assert.assertEquals(4, succeeded.size());
+            Assert.assertEquals(1, failed.size());
+            Assert.assertTrue(failed.containsKey(new ProfileTimestampQuery("nobody")));
+            Assert.assertEquals(succeeded.get(new ProfileTimestampQuery("Steve")).getId(), succeeded.get(new ProfileTimestampQuery("Steve", 1414059749L)).getId());
+            Assert.assertEquals(3L, server.getRequestCount()); // 1 次批量请求 + 2 次时间戳请求
+        } finally {
+            MoonLakeAuthBaseService.setEndpointResolver(previous);
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testStreamResolverCheckpoint() throws Exception {
+        // 测试流式档案解析: 输出错误中断后从检查点恢复, 已缓存的用户名不会再次请求
+        StubMojangServer server = new StubMojangServer();
+        server.start();
+        server.setAutoCreateProfiles(false);
+        StringBuilder input = new StringBuilder();
+        for(int i = 0; i < 250; i++) {
+            if(i < 240)
+                server.addProfile("Player" + i);
+            input.append("Player").append(i).append("\n\n");
+        }
+        EndpointResolver previous = MoonLakeAuthBaseService.getEndpointResolver();
+        MoonLakeAuthBaseService.setEndpointResolver(server.createEndpointResolver());
+        File file = File.createTempFile("moonlake-resolve", ".checkpoint");
+        try {
+            Assert.assertTrue(file.delete());
+            ProfileAuthService profileAuthService = new ProfileAuthService();
+            profileAuthService.setNameCache(new ProfileNameCache());
+            ProfileStreamResolver resolver = new ProfileStreamResolver(profileAuthService);
+            resolver.setCheckpoint(new ProfileResolveCheckpoint(file));
+            final Set<String> resolved = new ConcurrentSkipListSet<>();
+            final Set<String> notFound = new ConcurrentSkipListSet<>();
+            final int[] failAfter = { 150 };
+            ProfileResolveSink sink = new ProfileResolveSink() {
+                @Override
+                public void onResolved(String name, GameProfile profile) throws IOException {
+                    if(--failAfter[0] == 0)
+                        throw new IOException("模拟输出错误");
+                    Assert.assertTrue(name.equalsIgnoreCase(profile.getName()));
+                    resolved.add(name);
+                }
+
+                @Override
+                public void onNotFound(String name) throws IOException {
+                    notFound.add(name);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                }
+            };
+            try {
+                resolver.resolve(new StringReader(input.toString()), sink);
+                Assert.fail();
+            } catch (IOException e) {
+                // 第二个批次写入时中断, 检查点停留在第一个批次
+            }
+            Assert.assertEquals(100L, resolver.getCheckpoint().load());
+            Assert.assertEquals(2L, server.getRequestCount());
+            Assert.assertEquals(250L, resolver.resolve(new StringReader(input.toString()), sink));
+            Assert.assertEquals(250L, resolver.getCheckpoint().load());
+            Assert.assertEquals(240, resolved.size());
+            Assert.assertEquals(10, notFound.size());
+            Assert.assertEquals(3L, server.getRequestCount()); // 第二个批次已缓存, 只请求第三个批次
+        } finally {
+            MoonLakeAuthBaseService.setEndpointResolver(previous);
+            server.stop(0);
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testStreamResolverDuplicates() throws Exception {
+        // 测试流式档案解析为每个输入的用户名输出一次结果, 大小写不同的重复用户名只请求一次且输出独立副本
+        StubMojangServer server = new StubMojangServer();
+        server.start();
+        server.addProfile("Steve");
+        server.addProfile("Alex");
+        server.setAutoCreateProfiles(false);
+        EndpointResolver previous = MoonLakeAuthBaseService.getEndpointResolver();
+        MoonLakeAuthBaseService.setEndpointResolver(server.createEndpointResolver());
+        try {
+            ProfileAuthService profileAuthService = new ProfileAuthService();
+            profileAuthService.setNameCache(new ProfileNameCache());
+            final List<String> resolved = new ArrayList<>();
+            final List<GameProfile> profiles = new ArrayList<>();
+            final List<String> notFound = new ArrayList<>();
+            long consumed = new ProfileStreamResolver(profileAuthService).resolve(Arrays.asList("Steve", "steve", "Nobody", "STEVE", "nobody", "Alex").iterator(), new ProfileResolveSink() {
+                @Override
+                public void onResolved(String name, GameProfile profile) throws IOException {
+                    resolved.add(name);
+                    profiles.add(profile);
+                }
+
+                @Override
+                public void onNotFound(String name) throws IOException {
+                    notFound.add(name);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                }
+            });
+            Assert.assertEquals(6L, consumed);
+            Assert.assertEquals(Arrays.asList("Steve", "steve", "STEVE", "Alex"), resolved);
+            Assert.assertEquals(Arrays.asList("Nobody", "nobody"), notFound);
+            Assert.assertEquals(profiles.get(0).getId(), profiles.get(2).getId());
+            Assert.assertNotSame(profiles.get(0), profiles.get(1));
+            Assert.assertNotSame(profiles.get(1), profiles.get(2));
+            Assert.assertEquals(1L, server.getRequestCount());
+        } finally {
+            MoonLakeAuthBaseService.setEndpointResolver(previous);
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testConditionalGet() throws Exception {
+        // 测试条件请求: ETag 和 Last-Modified 重新验证时 304 使用缓存正文, no-store 不缓存, 正文超过上限不缓存, 提前关闭的流读完剩余正文后缓存
+        final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        final Map<String, String> conditions = new ConcurrentHashMap<>();
+        final byte[] large = new byte[4096];
+        final byte[] early = new byte[65536];
+        new Random(1L).nextBytes(early);
+        HttpServer server = startHttpServer(new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String name = exchange.getRequestURI().getPath().substring(1);
+                String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+                String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+                if(ifNoneMatch != null || ifModifiedSince != null)
+                    conditions.put(name, ifNoneMatch != null ? ifNoneMatch : ifModifiedSince);
+                Headers headers = exchange.getResponseHeaders();
+                byte[] body = (name + "-body").getBytes(StandardCharsets.UTF_8);
+                if(name.equals("lastmod")) {
+                    headers.set("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+                    if("Wed, 21 Oct 2015 07:28:00 GMT".equals(ifModifiedSince)) {
+                        respond(exchange, counts, 304, null);
+                        return;
+                    }
+                } else {
+                    headers.set("ETag", "\"v1\"");
+                    if(name.equals("nostore"))
+                        headers.set("Cache-Control", "private, no-store");
+                    else if(name.equals("large"))
+                        body = large;
+                    else if(name.equals("early"))
+                        body = early;
+                    if("\"v1\"".equals(ifNoneMatch) && !name.equals("nostore")) {
+                        respond(exchange, counts, 304, null);
+                        return;
+                    }
+                }
+                respond(exchange, counts, 200, body);
+            }
+        });
+        HttpValidatorCache previous = MoonLakeAuthBaseService.getValidatorCache();
+        HttpValidatorCache cache = new HttpValidatorCache(16, 1024);
+        MoonLakeAuthBaseService.setValidatorCache(cache);
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        try {
+            // ETag 重新验证: 第二次请求附带 If-None-Match, 服务器响应 304 时返回缓存的正文
+            Assert.assertArrayEquals("etag-body".getBytes(StandardCharsets.UTF_8), HttpAccess.get(base + "etag"));
+            Assert.assertEquals("\"v1\"", cache.get(base + "etag").getETag());
+            Assert.assertArrayEquals("etag-body".getBytes(StandardCharsets.UTF_8), HttpAccess.get(base + "etag"));
+            Assert.assertEquals("\"v1\"", conditions.get("etag"));
+            Assert.assertEquals(1, counts.get("200").get());
+            Assert.assertEquals(1, counts.get("304").get());
+            Assert.assertArrayEquals("lastmod-body".getBytes(StandardCharsets.UTF_8), HttpAccess.get(base + "lastmod"));
+            Assert.assertArrayEquals("lastmod-body".getBytes(StandardCharsets.UTF_8), HttpAccess.get(base + "lastmod"));
+            Assert.assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", conditions.get("lastmod"));
+            Assert.assertEquals(2, counts.get("304").get());
+
+            // Cache-Control: no-store 的响应不缓存, 并移除此链接已有的缓存
+            cache.put(base + "nostore", "\"old\"", null, new byte[] { 1 });
+            Assert.assertArrayEquals("nostore-body".getBytes(StandardCharsets.UTF_8), HttpAccess.get(base + "nostore"));
+            Assert.assertNull(cache.get(base + "nostore"));
+            Assert.assertArrayEquals("nostore-body".getBytes(StandardCharsets.UTF_8), HttpAccess.get(base + "nostore"));
+            Assert.assertEquals("\"old\"", conditions.get("nostore"));
+
+            // 正文超过单个正文最大字节数时不缓存, 每次都完整请求
+            Assert.assertArrayEquals(large, HttpAccess.get(base + "large"));
+            Assert.assertNull(cache.get(base + "large"));
+            Assert.assertArrayEquals(large, HttpAccess.get(base + "large"));
+            Assert.assertFalse(conditions.containsKey("large"));
+
+            // 提前关闭的响应流会读完剩余正文再放入缓存 (正文上限足够时)
+            MoonLakeAuthBaseService.setValidatorCache(cache = new HttpValidatorCache(16, early.length));
+            InputStream input = HttpAccess.open(base + "early");
+            Assert.assertEquals(16, input.read(new byte[16]));
+            input.close();
+            Assert.assertArrayEquals(early, cache.get(base + "early").getBody());
+            int notModified = counts.get("304").get();
+            Assert.assertArrayEquals(early, HttpAccess.get(base + "early"));
+            Assert.assertEquals(notModified + 1, counts.get("304").get());
+        } finally {
+            MoonLakeAuthBaseService.setValidatorCache(previous);
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testContentEncoding() throws Exception {
+        // 测试响应正文按 Content-Encoding 解压: gzip, zlib 格式和原始格式的 deflate, 声明编码但没有正文的 304
+        final StringBuilder text = new StringBuilder();
+        for(int i = 0; i < 200; i++)
+            text.append("{\"id\":\"").append(i).append("\",\"name\":\"Player").append(i).append("\"}\n");
+        final byte[] plain = text.toString().getBytes(StandardCharsets.UTF_8);
+        final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+        final Set<String> acceptEncodings = new ConcurrentSkipListSet<>();
+        HttpServer server = startHttpServer(new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                String name = exchange.getRequestURI().getPath().substring(1);
+                acceptEncodings.add(String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+                Headers headers = exchange.getResponseHeaders();
+                if(name.equals("identity")) {
+                    respond(exchange, counts, 200, plain);
+                } else if(name.equals("gzip") || name.equals("empty304")) {
+                    headers.set("Content-Encoding", "gzip");
+                    headers.set("ETag", "\"v1\"");
+                    if("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match")))
+                        respond(exchange, counts, 304, null); // 声明了编码但没有正文
+                    else
+                        respond(exchange, counts, 200, gzip(plain));
+                } else {
+                    headers.set("Content-Encoding", "deflate");
+                    respond(exchange, counts, 200, deflate(plain, name.equals("raw")));
+                }
+            }
+        });
+        HttpValidatorCache previous = MoonLakeAuthBaseService.getValidatorCache();
+        HttpValidatorCache cache = new HttpValidatorCache();
+        MoonLakeAuthBaseService.setValidatorCache(cache);
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        try {
+            Assert.assertArrayEquals(plain, HttpAccess.get(base + "identity"));
+            Assert.assertArrayEquals(plain, HttpAccess.get(base + "gzip"));
+            Assert.assertArrayEquals(plain, HttpAccess.get(base + "zlib"));
+            Assert.assertArrayEquals(plain, HttpAccess.get(base + "raw"));
+            Assert.assertEquals(Collections.singleton("gzip, deflate"), acceptEncodings);
+
+            // 验证器缓存保存解压后的正文, 304 没有正文时直接返回缓存
+            Assert.assertArrayEquals(plain, HttpAccess.get(base + "empty304"));
+            Assert.assertArrayEquals(plain, cache.get(base + "empty304").getBody());
+            Assert.assertArrayEquals(plain, HttpAccess.get(base + "empty304"));
+            Assert.assertEquals(1, counts.get("304").get());
+        } finally {
+            MoonLakeAuthBaseService.setValidatorCache(previous);
+            server.stop(0);
+        }
+    }
+
+    /**
+     * 在本地随机端口启动使用指定处理器的 HTTP 服务器
+     *
+     * @param handler HTTP 处理器
+     * @return HTTP 服务器
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static HttpServer startHttpServer(HttpHandler handler) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", handler);
+        server.start();
+        return server;
+    }
+
+    /**
+     * 发送指定响应码和正文并按响应码计数
+     *
+     * @param exchange HTTP 交换
+     * @param counts 响应码计数
+     * @param code 响应码
+     * @param body 正文, {@code null} 则没有正文
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static void respond(HttpExchange exchange, Map<String, AtomicInteger> counts, int code, byte[] body) throws IOException {
+        counts.putIfAbsent(String.valueOf(code), new AtomicInteger());
+        counts.get(String.valueOf(code)).incrementAndGet();
+        exchange.sendResponseHeaders(code, body != null ? body.length : -1L);
+        if(body != null)
+            exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    /**
+     * 使用 gzip 压缩指定数据
+     *
+     * @param data 数据
+     * @return 压缩后的数据
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(output);
+        gzip.write(data);
+        gzip.close();
+        return output.toByteArray();
+    }
+
+    /**
+     * 使用 deflate 压缩指定数据
+     *
+     * @param data 数据
+     * @param raw 是否为不带 zlib 头的原始 deflate 数据
+     * @return 压缩后的数据
+     * @throws IOException 如果 IO 错误则抛出异常
+     */
+    private static byte[] deflate(byte[] data, boolean raw) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DeflaterOutputStream deflate = new DeflaterOutputStream(output, new Deflater(Deflater.DEFAULT_COMPRESSION, raw));
+        deflate.write(data);
+        deflate.close();
+        return output.toByteArray();
+    }
+
+    /**
+     * 访问认证服务的 GET 请求 (经过验证器缓存和 Content-Encoding 解压)
+     */
+    private abstract static class HttpAccess extends MoonLakeAuthBaseService {
+        static byte[] get(String url) throws Exception {
+            return makeBinaryRequest(Proxy.NO_PROXY, url);
+        }
+
+        static InputStream open(String url) throws Exception {
+            Method method = MoonLakeAuthBaseService.class.getDeclaredMethod("openGetStream", Proxy.class, String.class, boolean.class);
+            method.setAccessible(true);
+            return (InputStream) method.invoke(null, Proxy.NO_PROXY, url, false);
+        }
+    }
+}